@@ -0,0 +1,269 @@
+package org.caotc.unit4j.benchmark;
+
+import java.math.BigDecimal;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import lombok.experimental.UtilityClass;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+
+/**
+ * 序列化基准测试使用的DTO.每种编码各有包含1个与10个金额属性的类,{@link Encoding#PLAIN}为使用{@link BigDecimal}
+ * 与{@link String}属性的基准,其余按属性注解中的{@link CodecStrategy}编码{@link Amount}.
+ * VALUE策略不输出单位,反序列化时以秒为源单位,基准测试中的{@link Amount}都以秒为单位
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@UtilityClass
+public class AmountDtos {
+
+  @Data
+  @NoArgsConstructor
+  @Accessors(fluent = false)
+  public static class PlainOne {
+
+    private BigDecimal amountValue;
+    private String amountUnit;
+
+    @NonNull
+    public static PlainOne create(@NonNull Amount amount) {
+      PlainOne dto = new PlainOne();
+      dto.amountValue = amount.bigDecimalValue();
+      dto.amountUnit = amount.unit().id();
+      return dto;
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @Accessors(fluent = false)
+  public static class PlainTen {
+
+    private BigDecimal amount0Value;
+    private String amount0Unit;
+    private BigDecimal amount1Value;
+    private String amount1Unit;
+    private BigDecimal amount2Value;
+    private String amount2Unit;
+    private BigDecimal amount3Value;
+    private String amount3Unit;
+    private BigDecimal amount4Value;
+    private String amount4Unit;
+    private BigDecimal amount5Value;
+    private String amount5Unit;
+    private BigDecimal amount6Value;
+    private String amount6Unit;
+    private BigDecimal amount7Value;
+    private String amount7Unit;
+    private BigDecimal amount8Value;
+    private String amount8Unit;
+    private BigDecimal amount9Value;
+    private String amount9Unit;
+
+    @NonNull
+    public static PlainTen create(@NonNull Amount amount) {
+      BigDecimal value = amount.bigDecimalValue();
+      String unit = amount.unit().id();
+      PlainTen dto = new PlainTen();
+      dto.amount0Value = dto.amount1Value = dto.amount2Value = dto.amount3Value = value;
+      dto.amount4Value = dto.amount5Value = dto.amount6Value = dto.amount7Value = value;
+      dto.amount8Value = dto.amount9Value = value;
+      dto.amount0Unit = dto.amount1Unit = dto.amount2Unit = dto.amount3Unit = unit;
+      dto.amount4Unit = dto.amount5Unit = dto.amount6Unit = dto.amount7Unit = unit;
+      dto.amount8Unit = dto.amount9Unit = unit;
+      return dto;
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @Accessors(fluent = false)
+  public static class ValueOne {
+
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount;
+
+    @NonNull
+    public static ValueOne create(@NonNull Amount amount) {
+      ValueOne dto = new ValueOne();
+      dto.amount = amount;
+      return dto;
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @Accessors(fluent = false)
+  public static class ValueTen {
+
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount0;
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount1;
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount2;
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount3;
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount4;
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount5;
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount6;
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount7;
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount8;
+    @AmountSerialize(strategy = CodecStrategy.VALUE)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "SECOND")
+    private Amount amount9;
+
+    @NonNull
+    public static ValueTen create(@NonNull Amount amount) {
+      ValueTen dto = new ValueTen();
+      dto.amount0 = dto.amount1 = dto.amount2 = dto.amount3 = dto.amount4 = amount;
+      dto.amount5 = dto.amount6 = dto.amount7 = dto.amount8 = dto.amount9 = amount;
+      return dto;
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @Accessors(fluent = false)
+  public static class ObjectOne {
+
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount;
+
+    @NonNull
+    public static ObjectOne create(@NonNull Amount amount) {
+      ObjectOne dto = new ObjectOne();
+      dto.amount = amount;
+      return dto;
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @Accessors(fluent = false)
+  public static class ObjectTen {
+
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount0;
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount1;
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount2;
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount3;
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount4;
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount5;
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount6;
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount7;
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount8;
+    @AmountSerialize(strategy = CodecStrategy.OBJECT)
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    private Amount amount9;
+
+    @NonNull
+    public static ObjectTen create(@NonNull Amount amount) {
+      ObjectTen dto = new ObjectTen();
+      dto.amount0 = dto.amount1 = dto.amount2 = dto.amount3 = dto.amount4 = amount;
+      dto.amount5 = dto.amount6 = dto.amount7 = dto.amount8 = dto.amount9 = amount;
+      return dto;
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @Accessors(fluent = false)
+  public static class FlatOne {
+
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount;
+
+    @NonNull
+    public static FlatOne create(@NonNull Amount amount) {
+      FlatOne dto = new FlatOne();
+      dto.amount = amount;
+      return dto;
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @Accessors(fluent = false)
+  public static class FlatTen {
+
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount0;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount1;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount2;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount3;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount4;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount5;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount6;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount7;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount8;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    private Amount amount9;
+
+    @NonNull
+    public static FlatTen create(@NonNull Amount amount) {
+      FlatTen dto = new FlatTen();
+      dto.amount0 = dto.amount1 = dto.amount2 = dto.amount3 = dto.amount4 = amount;
+      dto.amount5 = dto.amount6 = dto.amount7 = dto.amount8 = dto.amount9 = amount;
+      return dto;
+    }
+  }
+}
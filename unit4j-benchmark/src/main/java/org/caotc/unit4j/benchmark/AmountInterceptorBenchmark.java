@@ -0,0 +1,333 @@
+package org.caotc.unit4j.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import lombok.Data;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.experimental.Accessors;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.LocalCacheScope;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.caotc.unit4j.support.mybatis.AmountInterceptor;
+import org.caotc.unit4j.support.mybatis.AmountTypeHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link AmountInterceptor}每条语句开销的基准测试.在内存H2数据库中执行插入、更新与按主键查询,
+ * 以手工映射{@link BigDecimal}与{@link String}列、只注册{@link AmountTypeHandler}为基准,
+ * 对比使用拦截器的VALUE与FLAT策略在简单执行器与批量执行器下的吞吐量.每次调用执行{@link #STATEMENTS}条语句,
+ * 结果按单条语句计算,运行{@link #main}时通过{@link GCProfiler}输出每条语句的内存分配(gc.alloc.rate.norm)
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(AmountInterceptorBenchmark.STATEMENTS)
+public class AmountInterceptorBenchmark {
+
+  static final int STATEMENTS = 100;
+
+  private static final String CREATE_BENCHMARK_ENTITY_TABLE = "create table benchmark_entity("
+      + "id bigint auto_increment primary key,name varchar(32),weight decimal(20,4),"
+      + "weight_value decimal(20,4),weight_unit varchar(32))";
+
+  @Param
+  private Scenario scenario;
+  @Param({"SIMPLE", "BATCH"})
+  private ExecutorType executorType;
+
+  private SqlSession session;
+  private Object mapper;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(AmountInterceptorBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class).build()).run();
+  }
+
+  @Setup(Level.Trial)
+  @SneakyThrows
+  public void setUp() {
+    SqlSessionFactory sqlSessionFactory = sqlSessionFactory();
+    session = sqlSessionFactory.openSession(executorType, true);
+    try (Statement statement = session.getConnection().createStatement()) {
+      statement.execute(CREATE_BENCHMARK_ENTITY_TABLE);
+    }
+    mapper = session.getMapper(scenario.mapperType());
+    //更新与查询的数据,id为1到STATEMENTS
+    try (SqlSession seed = sqlSessionFactory.openSession(true)) {
+      Object seedMapper = seed.getMapper(scenario.mapperType());
+      for (int i = 0; i < STATEMENTS; i++) {
+        scenario.insert(seedMapper, i);
+      }
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  @SneakyThrows
+  public void deleteInserted() {
+    try (Statement statement = session.getConnection().createStatement()) {
+      statement.execute("delete from benchmark_entity where id > " + STATEMENTS);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  @SneakyThrows
+  public void tearDown() {
+    try (Statement statement = session.getConnection().createStatement()) {
+      statement.execute("drop table benchmark_entity");
+    }
+    session.close();
+  }
+
+  @Benchmark
+  public void insert() {
+    for (int i = 0; i < STATEMENTS; i++) {
+      scenario.insert(mapper, i);
+    }
+    session.flushStatements();
+  }
+
+  @Benchmark
+  public void update() {
+    for (int i = 0; i < STATEMENTS; i++) {
+      scenario.update(mapper, i + 1, i);
+    }
+    session.flushStatements();
+  }
+
+  @Benchmark
+  public void select(Blackhole blackhole) {
+    for (int i = 0; i < STATEMENTS; i++) {
+      blackhole.consume(scenario.select(mapper, i + 1));
+    }
+  }
+
+  private SqlSessionFactory sqlSessionFactory() {
+    Environment environment = new Environment("benchmark", new JdbcTransactionFactory(),
+        new UnpooledDataSource("org.h2.Driver",
+            "jdbc:h2:mem:amount_interceptor_benchmark;DB_CLOSE_DELAY=-1", null, null));
+    Configuration configuration = new Configuration(environment);
+    //每次查询都访问数据库,不使用会话缓存的结果
+    configuration.setLocalCacheScope(LocalCacheScope.STATEMENT);
+    configuration.getTypeHandlerRegistry().register(AmountTypeHandler.class);
+    if (scenario.intercepted()) {
+      configuration.addInterceptor(new AmountInterceptor());
+    }
+    configuration.addMapper(scenario.mapperType());
+    return new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  public enum Scenario {
+    /**
+     * 不使用拦截器,手工映射数值列与单位列
+     */
+    PLAIN(false, PlainEntityMapper.class) {
+      @Override
+      void insert(@NonNull Object mapper, int index) {
+        ((PlainEntityMapper) mapper).insert(new PlainEntity().setName("plain" + index)
+            .setWeightValue(BigDecimal.valueOf(index)).setWeightUnit("SECOND"));
+      }
+
+      @Override
+      void update(@NonNull Object mapper, long id, int index) {
+        ((PlainEntityMapper) mapper).update(new PlainEntity().setId(id)
+            .setWeightValue(BigDecimal.valueOf(index)).setWeightUnit("MINUTE"));
+      }
+
+      @Override
+      Object select(@NonNull Object mapper, long id) {
+        return ((PlainEntityMapper) mapper).selectById(id);
+      }
+    },
+    /**
+     * 不使用拦截器,只通过{@link AmountTypeHandler}读写VALUE策略的数值列
+     */
+    VALUE_TYPE_HANDLER(false, ValueEntityMapper.class) {
+      @Override
+      void insert(@NonNull Object mapper, int index) {
+        VALUE.insert(mapper, index);
+      }
+
+      @Override
+      void update(@NonNull Object mapper, long id, int index) {
+        VALUE.update(mapper, id, index);
+      }
+
+      @Override
+      Object select(@NonNull Object mapper, long id) {
+        return VALUE.select(mapper, id);
+      }
+    },
+    /**
+     * 使用拦截器,VALUE策略
+     */
+    VALUE(true, ValueEntityMapper.class) {
+      @Override
+      void insert(@NonNull Object mapper, int index) {
+        ((ValueEntityMapper) mapper).insert(new ValueEntity().setName("value" + index)
+            .setWeight(Amount.create(index, UnitConstant.SECOND)));
+      }
+
+      @Override
+      void update(@NonNull Object mapper, long id, int index) {
+        ((ValueEntityMapper) mapper).update(new ValueEntity().setId(id)
+            .setWeight(Amount.create(index, UnitConstant.MINUTE)));
+      }
+
+      @Override
+      Object select(@NonNull Object mapper, long id) {
+        return ((ValueEntityMapper) mapper).selectById(id);
+      }
+    },
+    /**
+     * 使用拦截器,FLAT策略
+     */
+    FLAT(true, FlatEntityMapper.class) {
+      @Override
+      void insert(@NonNull Object mapper, int index) {
+        ((FlatEntityMapper) mapper).insert(new FlatEntity().setName("flat" + index)
+            .setWeight(Amount.create(index, UnitConstant.SECOND)));
+      }
+
+      @Override
+      void update(@NonNull Object mapper, long id, int index) {
+        ((FlatEntityMapper) mapper).update(new FlatEntity().setId(id)
+            .setWeight(Amount.create(index, UnitConstant.MINUTE)));
+      }
+
+      @Override
+      Object select(@NonNull Object mapper, long id) {
+        return ((FlatEntityMapper) mapper).selectById(id);
+      }
+    };
+
+    private final boolean intercepted;
+    private final Class<?> mapperType;
+
+    Scenario(boolean intercepted, @NonNull Class<?> mapperType) {
+      this.intercepted = intercepted;
+      this.mapperType = mapperType;
+    }
+
+    boolean intercepted() {
+      return intercepted;
+    }
+
+    Class<?> mapperType() {
+      return mapperType;
+    }
+
+    abstract void insert(@NonNull Object mapper, int index);
+
+    abstract void update(@NonNull Object mapper, long id, int index);
+
+    abstract Object select(@NonNull Object mapper, long id);
+  }
+
+  public interface PlainEntityMapper {
+
+    @Insert("insert into benchmark_entity(name, weight_value, weight_unit)"
+        + " values (#{name}, #{weightValue}, #{weightUnit})")
+    int insert(PlainEntity entity);
+
+    @Update("update benchmark_entity set weight_value = #{weightValue},"
+        + " weight_unit = #{weightUnit} where id = #{id}")
+    int update(PlainEntity entity);
+
+    @Select("select id, name, weight_value as weightValue, weight_unit as weightUnit"
+        + " from benchmark_entity where id = #{id}")
+    PlainEntity selectById(long id);
+  }
+
+  public interface ValueEntityMapper {
+
+    @Insert("insert into benchmark_entity(name, weight) values (#{name}, #{weight})")
+    int insert(ValueEntity entity);
+
+    @Update("update benchmark_entity set weight = #{weight} where id = #{id}")
+    int update(ValueEntity entity);
+
+    @Select("select id, name, weight from benchmark_entity where id = #{id}")
+    ValueEntity selectById(long id);
+  }
+
+  public interface FlatEntityMapper {
+
+    @Insert("insert into benchmark_entity(name, weight) values (#{name}, #{weight})")
+    int insert(FlatEntity entity);
+
+    @Update("update benchmark_entity set weight = #{weight} where id = #{id}")
+    int update(FlatEntity entity);
+
+    @Select("select id, name, weight from benchmark_entity where id = #{id}")
+    FlatEntity selectById(long id);
+  }
+
+  @Data
+  @Accessors(fluent = false)
+  public static class PlainEntity {
+
+    private Long id;
+    private String name;
+    private BigDecimal weightValue;
+    private String weightUnit;
+  }
+
+  @Data
+  @Accessors(fluent = false)
+  public static class ValueEntity {
+
+    private Long id;
+    private String name;
+    private Amount weight;
+  }
+
+  @Data
+  @Accessors(fluent = false)
+  public static class FlatEntity {
+
+    private Long id;
+    private String name;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    private Amount weight;
+  }
+}
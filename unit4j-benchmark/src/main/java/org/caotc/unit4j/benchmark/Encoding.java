@@ -0,0 +1,78 @@
+package org.caotc.unit4j.benchmark;
+
+import java.util.function.Function;
+import lombok.NonNull;
+import org.caotc.unit4j.benchmark.AmountDtos.FlatOne;
+import org.caotc.unit4j.benchmark.AmountDtos.FlatTen;
+import org.caotc.unit4j.benchmark.AmountDtos.ObjectOne;
+import org.caotc.unit4j.benchmark.AmountDtos.ObjectTen;
+import org.caotc.unit4j.benchmark.AmountDtos.PlainOne;
+import org.caotc.unit4j.benchmark.AmountDtos.PlainTen;
+import org.caotc.unit4j.benchmark.AmountDtos.ValueOne;
+import org.caotc.unit4j.benchmark.AmountDtos.ValueTen;
+import org.caotc.unit4j.core.Amount;
+
+/**
+ * 序列化基准测试中DTO的编码方式
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+public enum Encoding {
+  /**
+   * 使用{@link java.math.BigDecimal}与{@link String}属性的基准
+   */
+  PLAIN(PlainOne.class, PlainTen.class, PlainOne::create, PlainTen::create),
+  /**
+   * {@link org.caotc.unit4j.support.CodecStrategy#VALUE}策略
+   */
+  VALUE(ValueOne.class, ValueTen.class, ValueOne::create, ValueTen::create),
+  /**
+   * {@link org.caotc.unit4j.support.CodecStrategy#OBJECT}策略
+   */
+  OBJECT(ObjectOne.class, ObjectTen.class, ObjectOne::create, ObjectTen::create),
+  /**
+   * {@link org.caotc.unit4j.support.CodecStrategy#FLAT}策略
+   */
+  FLAT(FlatOne.class, FlatTen.class, FlatOne::create, FlatTen::create);
+
+  /**
+   * 包含1个金额属性的DTO类
+   */
+  private final Class<?> oneType;
+  /**
+   * 包含10个金额属性的DTO类
+   */
+  private final Class<?> tenType;
+  private final Function<Amount, ?> oneFactory;
+  private final Function<Amount, ?> tenFactory;
+
+  Encoding(@NonNull Class<?> oneType, @NonNull Class<?> tenType,
+      @NonNull Function<Amount, ?> oneFactory, @NonNull Function<Amount, ?> tenFactory) {
+    this.oneType = oneType;
+    this.tenType = tenType;
+    this.oneFactory = oneFactory;
+    this.tenFactory = tenFactory;
+  }
+
+  @NonNull
+  public Class<?> oneType() {
+    return oneType;
+  }
+
+  @NonNull
+  public Class<?> tenType() {
+    return tenType;
+  }
+
+  @NonNull
+  public Object one(@NonNull Amount amount) {
+    return oneFactory.apply(amount);
+  }
+
+  @NonNull
+  public Object ten(@NonNull Amount amount) {
+    return tenFactory.apply(amount);
+  }
+}
@@ -0,0 +1,116 @@
+package org.caotc.unit4j.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.deserializer.ParseProcess;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializeFilter;
+import com.google.common.base.Preconditions;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.fastjson.Unit4jFilter;
+import org.caotc.unit4j.support.fastjson.Unit4jModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * fastjson中{@link Unit4jModule}与{@link Unit4jFilter}序列化与反序列化的基准测试.
+ * {@link #serialize(PayloadCounters)}使用注册了模块的{@link SerializeConfig},
+ * {@link #serializeWithFilter(PayloadCounters)}只在序列化时传入{@link Unit4jFilter},
+ * {@link #deserialize(PayloadCounters)}把{@link Unit4jFilter}作为ParseProcess传入.
+ * {@link Encoding#PLAIN}不注册模块也不使用过滤器,DTO规模见{@link Shape}.运行{@link #main}时通过{@link
+ * GCProfiler}输出每次操作的内存分配(gc.alloc.rate.norm),通过{@link PayloadCounters}输出json的字节数
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FastjsonBenchmark {
+
+  @Param
+  private Encoding encoding;
+  @Param
+  private Shape shape;
+
+  private SerializeConfig serializeConfig;
+  private SerializeConfig filterSerializeConfig;
+  private SerializeFilter[] serializeFilters;
+  private ParserConfig parserConfig;
+  private ParseProcess parseProcess;
+  private Object dto;
+  private String json;
+  private int jsonBytes;
+  private Type type;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(FastjsonBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class).build()).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Unit4jModule unit4jModule = Unit4jModule.create(new Unit4jProperties());
+    serializeConfig = new SerializeConfig();
+    filterSerializeConfig = new SerializeConfig();
+    parserConfig = new ParserConfig();
+    if (encoding == Encoding.PLAIN) {
+      serializeFilters = new SerializeFilter[0];
+      parseProcess = null;
+    } else {
+      unit4jModule.registerTo(serializeConfig, encoding.oneType(), encoding.tenType());
+      unit4jModule.registerTo(parserConfig);
+      serializeFilters = new SerializeFilter[]{unit4jModule.unit4jFilter()};
+      parseProcess = unit4jModule.unit4jFilter();
+    }
+    dto = shape.create(encoding);
+    json = JSON.toJSONString(dto, serializeConfig);
+    jsonBytes = json.getBytes(StandardCharsets.UTF_8).length;
+    type = shape.type(encoding);
+    Preconditions.checkState(json.equals(JSON.toJSONString(dto, filterSerializeConfig,
+        serializeFilters)), "%s %s serialize with filter differs:%s", encoding, shape, json);
+    //反序列化后再序列化得到相同的json,保证测试的是完整的往返
+    Preconditions.checkState(json.equals(JSON.toJSONString(JSON.parseObject(json, type,
+        parserConfig, parseProcess, JSON.DEFAULT_PARSER_FEATURE), serializeConfig)),
+        "%s %s can't round trip:%s", encoding, shape, json);
+  }
+
+  @Benchmark
+  public String serialize(PayloadCounters counters) {
+    counters.record(jsonBytes);
+    return JSON.toJSONString(dto, serializeConfig);
+  }
+
+  @Benchmark
+  public String serializeWithFilter(PayloadCounters counters) {
+    counters.record(jsonBytes);
+    return JSON.toJSONString(dto, filterSerializeConfig, serializeFilters);
+  }
+
+  @Benchmark
+  public Object deserialize(PayloadCounters counters) {
+    counters.record(jsonBytes);
+    return JSON.parseObject(json, type, parserConfig, parseProcess, JSON.DEFAULT_PARSER_FEATURE);
+  }
+}
@@ -0,0 +1,87 @@
+package org.caotc.unit4j.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.jackson.Unit4jModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * jackson中{@link Unit4jModule}序列化与反序列化的基准测试.{@link Encoding#PLAIN}使用未注册模块的{@link
+ * ObjectMapper},其余编码注册模块,DTO规模见{@link Shape}.运行{@link #main}时通过{@link GCProfiler}
+ * 输出每次操作的内存分配(gc.alloc.rate.norm),通过{@link PayloadCounters}输出json的字节数
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+  @Param
+  private Encoding encoding;
+  @Param
+  private Shape shape;
+
+  private ObjectMapper mapper;
+  private Object dto;
+  private String json;
+  private int jsonBytes;
+  private JavaType type;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JacksonBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class).build()).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    mapper = new ObjectMapper();
+    if (encoding != Encoding.PLAIN) {
+      Unit4jModule.create(new Unit4jProperties()).registerTo(mapper);
+    }
+    dto = shape.create(encoding);
+    json = mapper.writeValueAsString(dto);
+    jsonBytes = json.getBytes(StandardCharsets.UTF_8).length;
+    type = mapper.getTypeFactory().constructType(shape.type(encoding));
+    //反序列化后再序列化得到相同的json,保证测试的是完整的往返
+    Preconditions.checkState(json.equals(mapper.writeValueAsString(mapper.readValue(json, type))),
+        "%s %s can't round trip:%s", encoding, shape, json);
+  }
+
+  @Benchmark
+  public String serialize(PayloadCounters counters) throws IOException {
+    counters.record(jsonBytes);
+    return mapper.writeValueAsString(dto);
+  }
+
+  @Benchmark
+  public Object deserialize(PayloadCounters counters) throws IOException {
+    counters.record(jsonBytes);
+    return mapper.readValue(json, type);
+  }
+}
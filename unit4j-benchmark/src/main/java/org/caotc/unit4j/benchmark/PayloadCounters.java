@@ -0,0 +1,49 @@
+package org.caotc.unit4j.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 序列化基准测试中记录json负载大小的辅助计数器,与吞吐量一起输出.
+ * jmh按线程与迭代累加{@link AuxCounters.Type#EVENTS}计数器,每次操作的字节数为{@link #payloadBytes}/{@link
+ * #payloads}
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class PayloadCounters {
+
+  /**
+   * 序列化输出或反序列化输入的json的UTF-8字节数之和
+   */
+  public long payloadBytes;
+  /**
+   * 记录的负载个数
+   */
+  public long payloads;
+
+  @Setup(Level.Iteration)
+  public void reset() {
+    payloadBytes = 0;
+    payloads = 0;
+  }
+
+  /**
+   * 记录一次操作的负载
+   *
+   * @param bytes json的UTF-8字节数
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  void record(int bytes) {
+    payloadBytes += bytes;
+    payloads++;
+  }
+}
@@ -0,0 +1,103 @@
+package org.caotc.unit4j.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeParameter;
+import com.google.common.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.constant.UnitConstant;
+
+/**
+ * 序列化基准测试中DTO的规模
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+public enum Shape {
+  /**
+   * 包含1个金额属性的DTO
+   */
+  ONE {
+    @Override
+    public Object create(@NonNull Encoding encoding) {
+      return encoding.one(amount(0));
+    }
+
+    @Override
+    public Type type(@NonNull Encoding encoding) {
+      return encoding.oneType();
+    }
+  },
+  /**
+   * 包含10个金额属性的DTO
+   */
+  TEN {
+    @Override
+    public Object create(@NonNull Encoding encoding) {
+      return encoding.ten(amount(0));
+    }
+
+    @Override
+    public Type type(@NonNull Encoding encoding) {
+      return encoding.tenType();
+    }
+  },
+  /**
+   * 1000个包含1个金额属性的DTO组成的列表
+   */
+  PAGE {
+    @Override
+    public Object create(@NonNull Encoding encoding) {
+      return IntStream.range(0, PAGE_SIZE).mapToObj(index -> encoding.one(amount(index)))
+          .collect(ImmutableList.toImmutableList());
+    }
+
+    @Override
+    public Type type(@NonNull Encoding encoding) {
+      return listType(encoding.oneType());
+    }
+  };
+
+  public static final int PAGE_SIZE = 1000;
+
+  /**
+   * 创建DTO
+   *
+   * @param encoding 编码方式
+   * @return DTO
+   */
+  @NonNull
+  public abstract Object create(@NonNull Encoding encoding);
+
+  /**
+   * 获取反序列化的目标类型
+   *
+   * @param encoding 编码方式
+   * @return 反序列化的目标类型
+   */
+  @NonNull
+  public abstract Type type(@NonNull Encoding encoding);
+
+  /**
+   * 以秒为单位的金额,数值保留1位小数,序列化后反序列化得到相同的数值
+   *
+   * @param index 序号
+   * @return 金额
+   */
+  @NonNull
+  private static Amount amount(int index) {
+    return Amount.create(BigDecimal.valueOf(index * 10L + 5, 1), UnitConstant.SECOND);
+  }
+
+  @NonNull
+  private static <T> Type listType(@NonNull Class<T> elementType) {
+    return new TypeToken<List<T>>() {
+    }.where(new TypeParameter<T>() {
+    }, elementType).getType();
+  }
+}
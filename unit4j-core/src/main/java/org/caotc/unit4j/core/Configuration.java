@@ -15,6 +15,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NonNull;
@@ -533,6 +534,12 @@ public final class Configuration implements WithId {
         "%s and %s can't convert,%s and %s are not type equals",
         source, target, source, target);
 
+    //已经计算过的转换配置直接返回,预热后的查询不再刷新间接转换配置
+    UnitConvertConfig unitConvertConfig = SOURCE_TO_TARGET_TO_CONFIG_TABLE.get(source, target);
+    if (unitConvertConfig != null) {
+      return unitConvertConfig;
+    }
+
     addUnitConvertConfig(source, source, UnitConvertConfig.empty());
     addUnitConvertConfig(target, target, UnitConvertConfig.empty());
 
@@ -606,6 +613,19 @@ public final class Configuration implements WithId {
     return unitToGroups.get(unit);
   }
 
+  /**
+   * 获取所有已注册单位组中的单位
+   *
+   * @return 所有已注册单位组中的单位
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public ImmutableSet<Unit> groupedUnits() {
+    return ImmutableSet.copyOf(unitToGroups.keySet());
+  }
+
   /**
    * 注册单位组
    *
@@ -639,6 +659,47 @@ public final class Configuration implements WithId {
     return this;
   }
 
+  /**
+   * 预热单位相关的缓存.计算传入单位两两之间以及与所属单位组中单位之间的转换配置,并解析单位的别名,
+   * 避免首次使用时的延迟
+   *
+   * @param units 需要预热的单位集合
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public Configuration warmUp(@NonNull Collection<? extends Unit> units) {
+    long start = System.nanoTime();
+    for (Unit unit : units) {
+      unit.aliasesFromConfiguration(this);
+      UnitGroup unitGroup = getUnitGroup(unit);
+      if (unitGroup != null) {
+        unitGroup.forEach(groupUnit -> getConvertConfig(unit, groupUnit));
+      }
+      units.stream().filter(target -> unit.type().equals(target.type()))
+          .forEach(target -> getConvertConfig(unit, target));
+    }
+    log.debug("warm up {} units in {}ms", units.size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return this;
+  }
+
+  /**
+   * 预热所有已注册单位组中单位相关的缓存
+   *
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-23
+   * @see #warmUp(Collection)
+   * @since 1.0.0
+   */
+  @NonNull
+  public Configuration warmUp() {
+    return warmUp(groupedUnits());
+  }
+
   /**
    * 比较两个单位大小
    *
@@ -0,0 +1,248 @@
+package org.caotc.unit4j.core.common.reflect;
+
+import com.google.common.reflect.Invokable;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 属性访问函数的生成工具类.优先使用{@link LambdaMetafactory}生成可被JIT内联的直接调用,
+ * 无法生成时(如非public的方法或者类加载器不可见的类)退化为{@link MethodHandle}调用
+ *
+ * @author caotc
+ * @date 2019-07-21
+ * @since 1.0.0
+ */
+@Slf4j
+@UtilityClass
+class PropertyAccessors {
+
+  /**
+   * 生成访问函数使用的{@link MethodHandles.Lookup}
+   */
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  /**
+   * get方法的通用方法类型
+   */
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  /**
+   * set方法的通用方法类型
+   */
+  private static final MethodType SETTER_TYPE = MethodType
+      .methodType(void.class, Object.class, Object.class);
+
+  /**
+   * 生成get方法的访问函数
+   *
+   * @param getInvokable get方法
+   * @return 访问函数
+   * @author caotc
+   * @date 2019-07-21
+   * @since 1.0.0
+   */
+  @NonNull
+  static <T, R> Function<T, R> getter(@NonNull Invokable<T, ?> getInvokable) {
+    return getter(method(getInvokable));
+  }
+
+  /**
+   * 生成get方法的访问函数
+   *
+   * @param getMethod get方法
+   * @return 访问函数
+   * @author caotc
+   * @date 2019-07-21
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull
+  @SneakyThrows
+  static <T, R> Function<T, R> getter(@NonNull Method getMethod) {
+    if (lambdaAccessible(getMethod)) {
+      try {
+        MethodHandle handle = LOOKUP.unreflect(getMethod);
+        CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "apply",
+            MethodType.methodType(Function.class), GETTER_TYPE, handle, handle.type().wrap());
+        return (Function<T, R>) callSite.getTarget().invoke();
+      } catch (Throwable e) {
+        log.debug("can't create lambda getter for {}, use MethodHandle instead", getMethod, e);
+      }
+    }
+    getMethod.setAccessible(true);
+    MethodHandle handle = LOOKUP.unreflect(getMethod).asType(GETTER_TYPE);
+    return object -> (R) invokeGetter(handle, object);
+  }
+
+  /**
+   * 生成属性的读取函数
+   *
+   * @param field 属性
+   * @return 读取函数
+   * @author caotc
+   * @date 2019-07-21
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull
+  @SneakyThrows
+  static <T, R> Function<T, R> getter(@NonNull Field field) {
+    field.setAccessible(true);
+    MethodHandle handle = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+    return object -> (R) invokeGetter(handle, object);
+  }
+
+  /**
+   * 生成set方法的访问函数
+   *
+   * @param setInvokable set方法
+   * @return 访问函数
+   * @author caotc
+   * @date 2019-07-21
+   * @since 1.0.0
+   */
+  @NonNull
+  static <T, R> BiConsumer<T, R> setter(@NonNull Invokable<T, ?> setInvokable) {
+    return setter(method(setInvokable));
+  }
+
+  /**
+   * 生成set方法的访问函数
+   *
+   * @param setMethod set方法
+   * @return 访问函数
+   * @author caotc
+   * @date 2019-07-21
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull
+  @SneakyThrows
+  static <T, R> BiConsumer<T, R> setter(@NonNull Method setMethod) {
+    if (lambdaAccessible(setMethod)) {
+      try {
+        MethodHandle handle = LOOKUP.unreflect(setMethod);
+        CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "accept",
+            MethodType.methodType(BiConsumer.class), SETTER_TYPE, handle,
+            handle.type().wrap().changeReturnType(void.class));
+        return (BiConsumer<T, R>) callSite.getTarget().invoke();
+      } catch (Throwable e) {
+        log.debug("can't create lambda setter for {}, use MethodHandle instead", setMethod, e);
+      }
+    }
+    setMethod.setAccessible(true);
+    MethodHandle handle = LOOKUP.unreflect(setMethod).asType(SETTER_TYPE);
+    return (object, value) -> invokeSetter(handle, object, value);
+  }
+
+  /**
+   * 生成属性的写入函数
+   *
+   * @param field 属性
+   * @return 写入函数
+   * @author caotc
+   * @date 2019-07-21
+   * @apiNote final属性无法生成{@link MethodHandle}, 此时使用{@link Field#set(Object, Object)}
+   * @since 1.0.0
+   */
+  @NonNull
+  static <T, R> BiConsumer<T, R> setter(@NonNull Field field) {
+    field.setAccessible(true);
+    try {
+      MethodHandle handle = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+      return (object, value) -> invokeSetter(handle, object, value);
+    } catch (IllegalAccessException e) {
+      log.debug("can't create MethodHandle setter for {}, use Field instead", field, e);
+      return (object, value) -> set(field, object, value);
+    }
+  }
+
+  /**
+   * 获取{@link Invokable}对应的{@link Method}.{@link Invokable}没有公开其包装的方法,所以重新查找
+   *
+   * @param invokable 方法
+   * @return 对应的方法
+   * @author caotc
+   * @date 2019-07-21
+   * @since 1.0.0
+   */
+  @NonNull
+  @SneakyThrows
+  private static Method method(@NonNull Invokable<?, ?> invokable) {
+    Class<?>[] parameterTypes = invokable.getParameters().stream()
+        .map(parameter -> parameter.getType().getRawType()).toArray(Class[]::new);
+    return invokable.getDeclaringClass().getDeclaredMethod(invokable.getName(), parameterTypes);
+  }
+
+  /**
+   * 是否可以使用{@link LambdaMetafactory}生成访问函数.生成的类以本类为宿主,
+   * 所以方法需要对本类公开,且方法签名中的类需要对本类的类加载器可见
+   *
+   * @param method 方法
+   * @return 是否可以使用{@link LambdaMetafactory}生成访问函数
+   * @author caotc
+   * @date 2019-07-21
+   * @since 1.0.0
+   */
+  private static boolean lambdaAccessible(@NonNull Method method) {
+    if (!Modifier.isPublic(method.getModifiers()) || !Modifier
+        .isPublic(method.getDeclaringClass().getModifiers())) {
+      return false;
+    }
+    if (!visible(method.getDeclaringClass()) || !visible(method.getReturnType())) {
+      return false;
+    }
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      if (!visible(parameterType)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 传入的类对本类的类加载器是否可见
+   *
+   * @param type 类
+   * @return 是否可见
+   * @author caotc
+   * @date 2019-07-21
+   * @since 1.0.0
+   */
+  private static boolean visible(@NonNull Class<?> type) {
+    if (type.isPrimitive()) {
+      return true;
+    }
+    try {
+      return Class.forName(type.getName(), false, PropertyAccessors.class.getClassLoader())
+          == type;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  @SneakyThrows
+  private static Object invokeGetter(@NonNull MethodHandle handle, Object object) {
+    return (Object) handle.invokeExact(object);
+  }
+
+  @SneakyThrows
+  private static void invokeSetter(@NonNull MethodHandle handle, Object object, Object value) {
+    handle.invokeExact(object, value);
+  }
+
+  @SneakyThrows
+  private static void set(@NonNull Field field, Object object, Object value) {
+    field.set(object, value);
+  }
+}
@@ -8,10 +8,14 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.function.Function;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NonNull;
-import lombok.SneakyThrows;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 /**
  * 属性获取器,可由get{@link Method}或者{@link Field}的包装实现,可以以统一的方式使用
@@ -208,6 +212,13 @@ public abstract class PropertyReader<T, R> extends Element<T> {
      */
     @NonNull
     Field field;
+    /**
+     * 读取函数,首次读取时生成
+     */
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    transient volatile Function<T, R> getter;
 
     FieldPropertyReader(@NonNull Field field) {
       super(field);
@@ -215,17 +226,20 @@ public abstract class PropertyReader<T, R> extends Element<T> {
     }
 
     @NonNull
-    @SuppressWarnings("unchecked")
     @Override
-    @SneakyThrows
     public Optional<R> readInternal(@NonNull T object) {
-      return Optional.ofNullable((R) field.get(object));
+      Function<T, R> getter = this.getter;
+      if (getter == null) {
+        getter = PropertyAccessors.getter(field);
+        this.getter = getter;
+      }
+      return Optional.ofNullable(getter.apply(object));
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public @NonNull TypeToken<? extends R> propertyType() {
-      return TypeToken.of((Class<? extends R>) field.getType());
+      return (TypeToken<? extends R>) TypeToken.of(field.getGenericType());
     }
 
     @Override
@@ -264,6 +278,13 @@ public abstract class PropertyReader<T, R> extends Element<T> {
      * 属性名称
      */
     @NonNull String propertyName;
+    /**
+     * 访问函数,首次读取时生成
+     */
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    transient volatile Function<T, R> getter;
 
     InvokablePropertyReader(@NonNull Invokable<T, R> invokable,
         @NonNull String propertyName) {
@@ -280,9 +301,13 @@ public abstract class PropertyReader<T, R> extends Element<T> {
 
     @NonNull
     @Override
-    @SneakyThrows
     public Optional<R> readInternal(@NonNull T object) {
-      return Optional.ofNullable(getInvokable.invoke(object));
+      Function<T, R> getter = this.getter;
+      if (getter == null) {
+        getter = PropertyAccessors.getter(getInvokable);
+        this.getter = getter;
+      }
+      return Optional.ofNullable(getter.apply(object));
     }
 
     @Override
@@ -7,10 +7,14 @@ import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NonNull;
-import lombok.SneakyThrows;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 /**
  * 属性设置器,可由get{@link Method}或者{@link Field}的包装实现,可以以统一的方式使用
@@ -212,6 +216,13 @@ public abstract class PropertyWriter<T, R> extends Element<T> {
      */
     @NonNull
     Field field;
+    /**
+     * 写入函数,首次写入时生成
+     */
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    transient volatile BiConsumer<T, R> setter;
 
     FieldPropertyWriter(@NonNull Field field) {
       super(field);
@@ -219,16 +230,20 @@ public abstract class PropertyWriter<T, R> extends Element<T> {
     }
 
     @Override
-    @SneakyThrows
     public @NonNull PropertyWriter<T, R> writeInternal(@NonNull T obj, @NonNull R value) {
-      field.set(obj, value);
+      BiConsumer<T, R> setter = this.setter;
+      if (setter == null) {
+        setter = PropertyAccessors.setter(field);
+        this.setter = setter;
+      }
+      setter.accept(obj, value);
       return this;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public @NonNull TypeToken<? extends R> propertyType() {
-      return TypeToken.of((Class<? extends R>) field.getType());
+      return (TypeToken<? extends R>) TypeToken.of(field.getGenericType());
     }
 
     @Override
@@ -269,6 +284,13 @@ public abstract class PropertyWriter<T, R> extends Element<T> {
      */
     @NonNull
     String propertyName;
+    /**
+     * 访问函数,首次写入时生成
+     */
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    transient volatile BiConsumer<T, R> setter;
 
     InvokablePropertyWriter(@NonNull Invokable<T, ?> invokable,
         @NonNull String propertyName) {
@@ -285,9 +307,13 @@ public abstract class PropertyWriter<T, R> extends Element<T> {
     }
 
     @Override
-    @SneakyThrows
     public @NonNull PropertyWriter<T, R> writeInternal(@NonNull T obj, @NonNull R value) {
-      setInvokable.invoke(obj, value);
+      BiConsumer<T, R> setter = this.setter;
+      if (setter == null) {
+        setter = PropertyAccessors.setter(setInvokable);
+        this.setter = setter;
+      }
+      setter.accept(obj, value);
       return this;
     }
 
@@ -9,9 +9,14 @@ import java.lang.annotation.Annotation;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
 
 /**
@@ -25,10 +30,11 @@ import lombok.Value;
 public class ReadableProperty<T, R> {
 
   /**
-   * 权限级别元素排序器,{@link AccessLevel#PUBLIC}最前
+   * 权限级别元素排序器,{@link AccessLevel#PUBLIC}最前.权限级别相同时按字符串排序,
+   * 避免不同元素被排序集合视为相同而丢弃
    */
   private static final Ordering<Element<?>> ORDERING = Ordering.natural()
-      .onResultOf(Element::accessLevel);
+      .<Element<?>>onResultOf(Element::accessLevel).compound(Ordering.usingToString());
 
   /**
    * 工厂方法
@@ -78,6 +84,13 @@ public class ReadableProperty<T, R> {
 
   @NonNull
   ImmutableSortedSet<PropertyReader<T, R>> propertyReaders;
+  /**
+   * 注解类型到注解对象的缓存
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  ConcurrentMap<Class<? extends Annotation>, Optional<? extends Annotation>> annotationCache = new ConcurrentHashMap<>();
 
   ReadableProperty(
       @NonNull ImmutableSortedSet<PropertyReader<T, R>> propertyReaders) {
@@ -93,8 +106,13 @@ public class ReadableProperty<T, R> {
   }
 
   public @NonNull Optional<R> read(@NonNull T object) {
-    return propertyReaders.stream().map(propertyGetter -> propertyGetter.read(object))
-        .filter(Optional::isPresent).map(Optional::get).findFirst();
+    for (PropertyReader<T, R> propertyReader : propertyReaders) {
+      Optional<R> value = propertyReader.read(object);
+      if (value.isPresent()) {
+        return value;
+      }
+    }
+    return Optional.empty();
   }
 
   public @NonNull TypeToken<? extends R> propertyType() {
@@ -109,8 +127,14 @@ public class ReadableProperty<T, R> {
     return (ReadableProperty<T, R1>) this;
   }
 
+  @SuppressWarnings("unchecked")
   public @NonNull <X extends Annotation> Optional<X> annotation(
       @NonNull Class<X> annotationClass) {
+    return (Optional<X>) annotationCache.computeIfAbsent(annotationClass, this::findAnnotation);
+  }
+
+  @NonNull
+  private <X extends Annotation> Optional<X> findAnnotation(@NonNull Class<X> annotationClass) {
     return propertyReaders.stream()
         .map(fieldWrapper -> fieldWrapper.annotation(annotationClass))
         .filter(Optional::isPresent).map(Optional::get).findFirst();
@@ -9,9 +9,14 @@ import java.lang.annotation.Annotation;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
 
 /**
@@ -26,10 +31,11 @@ import lombok.Value;
 public class WritableProperty<T, R> {
 
   /**
-   * 权限级别元素排序器,{@link AccessLevel#PUBLIC}最前
+   * 权限级别元素排序器,{@link AccessLevel#PUBLIC}最前.权限级别相同时按字符串排序,
+   * 避免不同元素被排序集合视为相同而丢弃
    */
   private static final Ordering<Element<?>> ORDERING = Ordering.natural()
-      .onResultOf(Element::accessLevel);
+      .<Element<?>>onResultOf(Element::accessLevel).compound(Ordering.usingToString());
 
   /**
    * 工厂方法
@@ -79,6 +85,13 @@ public class WritableProperty<T, R> {
 
   @NonNull
   ImmutableSortedSet<PropertyWriter<T, R>> propertyWriters;
+  /**
+   * 注解类型到注解对象的缓存
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  ConcurrentMap<Class<? extends Annotation>, Optional<? extends Annotation>> annotationCache = new ConcurrentHashMap<>();
 
   WritableProperty(
       @NonNull ImmutableSortedSet<PropertyWriter<T, R>> propertyWriters) {
@@ -110,8 +123,14 @@ public class WritableProperty<T, R> {
     return (WritableProperty<T, R1>) this;
   }
 
+  @SuppressWarnings("unchecked")
   public @NonNull <X extends Annotation> Optional<X> annotation(
       @NonNull Class<X> annotationClass) {
+    return (Optional<X>) annotationCache.computeIfAbsent(annotationClass, this::findAnnotation);
+  }
+
+  @NonNull
+  private <X extends Annotation> Optional<X> findAnnotation(@NonNull Class<X> annotationClass) {
     return propertyWriters.stream()
         .map(propertyWriter -> propertyWriter.annotation(annotationClass))
         .filter(Optional::isPresent).map(Optional::get).findFirst();
@@ -3,6 +3,7 @@ package org.caotc.unit4j.core.common.util;
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.reflect.Invokable;
 import com.google.common.reflect.TypeToken;
@@ -10,6 +11,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import lombok.NonNull;
@@ -34,6 +37,16 @@ import org.caotc.unit4j.core.common.reflect.WritableProperty;
 @Beta
 public class ReflectionUtil {
 
+  /**
+   * 类到该类属性缓存的映射.使用{@link ClassValue}保存,缓存随类一起被回收,不会阻止应用服务器中的类卸载
+   */
+  private static final ClassValue<PropertyCache> PROPERTY_CACHES = new ClassValue<PropertyCache>() {
+    @Override
+    protected PropertyCache computeValue(Class<?> type) {
+      return new PropertyCache();
+    }
+  };
+
   /**
    * 从传入的类中获取包括所有超类和接口的所有属性
    *
@@ -340,10 +353,31 @@ public class ReflectionUtil {
    * MethodNameStyle#JAVA_BEAN}
    * @since 1.0.0
    */
+  @SuppressWarnings("unchecked")
   @NonNull
   public static <T> ImmutableSet<ReadableProperty<T, ?>> readablePropertiesFromClass(
       @NonNull Class<T> clazz, boolean fieldExistCheck,
       @NonNull MethodNameStyle... methodNameStyles) {
+    return (ImmutableSet<ReadableProperty<T, ?>>) (ImmutableSet<?>) PROPERTY_CACHES.get(clazz)
+        .readableProperties.computeIfAbsent(cacheKey(fieldExistCheck, methodNameStyles),
+            key -> resolveReadableProperties(clazz, fieldExistCheck, methodNameStyles));
+  }
+
+  /**
+   * 解析传入的类中包括所有超类和接口的所有get方法与属性的包装{@link PropertyReader},不使用缓存
+   *
+   * @param clazz 需要获取get方法的类
+   * @param fieldExistCheck 是否检查是否有对应{@link Field}存在
+   * @param methodNameStyles get方法格式集合
+   * @return 包括所有超类和接口的所有get方法与属性的包装 {@link PropertyReader}
+   * @author caotc
+   * @date 2019-07-20
+   * @since 1.0.0
+   */
+  @NonNull
+  private static <T> ImmutableSet<ReadableProperty<T, ?>> resolveReadableProperties(
+      @NonNull Class<T> clazz, boolean fieldExistCheck,
+      @NonNull MethodNameStyle... methodNameStyles) {
 
     Function<PropertyReader<T, ?>, ImmutableList<?>> propertyGetterToKeyFunction = propertyGetter -> ImmutableList
         .of(propertyGetter.propertyName(), propertyGetter.propertyType());
@@ -421,10 +455,12 @@ public class ReflectionUtil {
   public static <T, R> Optional<ReadableProperty<T, R>> readablePropertyFromClass(
       @NonNull Class<T> clazz, @NonNull String fieldName, boolean fieldExistCheck,
       @NonNull MethodNameStyle... methodNameStyles) {
-    return readablePropertiesFromClass(clazz, fieldExistCheck, methodNameStyles).stream()
-        .filter(propertyGetter -> propertyGetter.propertyName().equals(fieldName))
-        .map(propertyGetter -> (ReadableProperty<T, R>) propertyGetter)
-        .findAny();
+    return Optional.ofNullable((ReadableProperty<T, R>) PROPERTY_CACHES.get(clazz)
+        .readablePropertiesByName.computeIfAbsent(cacheKey(fieldExistCheck, methodNameStyles),
+            key -> readablePropertiesFromClass(clazz, fieldExistCheck, methodNameStyles).stream()
+                .collect(ImmutableMap.toImmutableMap(ReadableProperty::propertyName,
+                    Function.identity(), (property, otherProperty) -> property)))
+        .get(fieldName));
   }
 
   /**
@@ -471,10 +507,31 @@ public class ReflectionUtil {
    * MethodNameStyle#JAVA_BEAN}
    * @since 1.0.0
    */
+  @SuppressWarnings("unchecked")
   @NonNull
   public static <T> ImmutableSet<WritableProperty<T, ?>> writablePropertiesFromClass(
       @NonNull Class<T> clazz, boolean fieldExistCheck,
       @NonNull MethodNameStyle... methodNameStyles) {
+    return (ImmutableSet<WritableProperty<T, ?>>) (ImmutableSet<?>) PROPERTY_CACHES.get(clazz)
+        .writableProperties.computeIfAbsent(cacheKey(fieldExistCheck, methodNameStyles),
+            key -> resolveWritableProperties(clazz, fieldExistCheck, methodNameStyles));
+  }
+
+  /**
+   * 解析传入的类中包括所有超类和接口的所有set方法与属性的包装{@link PropertyWriter},不使用缓存
+   *
+   * @param clazz 需要获取set方法的类
+   * @param fieldExistCheck 是否检查是否有对应{@link Field}存在
+   * @param methodNameStyles set方法格式集合
+   * @return 包括所有超类和接口的所有set方法与属性的包装 {@link PropertyWriter}
+   * @author caotc
+   * @date 2019-07-20
+   * @since 1.0.0
+   */
+  @NonNull
+  private static <T> ImmutableSet<WritableProperty<T, ?>> resolveWritableProperties(
+      @NonNull Class<T> clazz, boolean fieldExistCheck,
+      @NonNull MethodNameStyle... methodNameStyles) {
     Function<PropertyWriter<T, ?>, ImmutableList<?>> propertySetterToKeyFunction = propertyWriter -> ImmutableList
         .of(propertyWriter.propertyName(), propertyWriter.propertyType());
 
@@ -551,10 +608,12 @@ public class ReflectionUtil {
   public static <T, R> Optional<WritableProperty<T, R>> writablePropertyFromClass(
       @NonNull Class<T> clazz, @NonNull String fieldName, boolean fieldExistCheck,
       @NonNull MethodNameStyle... methodNameStyles) {
-    return writablePropertiesFromClass(clazz, fieldExistCheck, methodNameStyles).stream()
-        .filter(propertyWriter -> propertyWriter.propertyName().equals(fieldName))
-        .map(propertyWriter -> (WritableProperty<T, R>) propertyWriter)
-        .findAny();
+    return Optional.ofNullable((WritableProperty<T, R>) PROPERTY_CACHES.get(clazz)
+        .writablePropertiesByName.computeIfAbsent(cacheKey(fieldExistCheck, methodNameStyles),
+            key -> writablePropertiesFromClass(clazz, fieldExistCheck, methodNameStyles).stream()
+                .collect(ImmutableMap.toImmutableMap(WritableProperty::propertyName,
+                    Function.identity(), (property, otherProperty) -> property)))
+        .get(fieldName));
   }
 
   /**
@@ -626,4 +685,47 @@ public class ReflectionUtil {
     return Arrays.stream(methodNameStyles)
         .anyMatch(methodNameStyle -> methodNameStyle.isSetInvokable(invokable));
   }
+
+  /**
+   * 属性缓存的键
+   *
+   * @param fieldExistCheck 是否检查是否有对应{@link Field}存在
+   * @param methodNameStyles 方法格式集合
+   * @return 属性缓存的键
+   * @author caotc
+   * @date 2019-07-20
+   * @since 1.0.0
+   */
+  @NonNull
+  private static ImmutableList<?> cacheKey(boolean fieldExistCheck,
+      @NonNull MethodNameStyle... methodNameStyles) {
+    return ImmutableList.of(fieldExistCheck, ImmutableList.copyOf(methodNameStyles));
+  }
+
+  /**
+   * 单个类的属性缓存,键为{@link #cacheKey(boolean, MethodNameStyle...)}
+   *
+   * @author caotc
+   * @date 2019-07-20
+   * @since 1.0.0
+   */
+  private static final class PropertyCache {
+
+    /**
+     * 可读取属性集合缓存
+     */
+    final ConcurrentMap<ImmutableList<?>, ImmutableSet<? extends ReadableProperty<?, ?>>> readableProperties = new ConcurrentHashMap<>();
+    /**
+     * 属性名称到可读取属性的缓存
+     */
+    final ConcurrentMap<ImmutableList<?>, ImmutableMap<String, ? extends ReadableProperty<?, ?>>> readablePropertiesByName = new ConcurrentHashMap<>();
+    /**
+     * 可写入属性集合缓存
+     */
+    final ConcurrentMap<ImmutableList<?>, ImmutableSet<? extends WritableProperty<?, ?>>> writableProperties = new ConcurrentHashMap<>();
+    /**
+     * 属性名称到可写入属性的缓存
+     */
+    final ConcurrentMap<ImmutableList<?>, ImmutableMap<String, ? extends WritableProperty<?, ?>>> writablePropertiesByName = new ConcurrentHashMap<>();
+  }
 }
@@ -1,16 +1,22 @@
 package org.caotc.unit4j.core.common.util;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Optional;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
-import org.caotc.unit4j.core.Amount;
 import org.caotc.unit4j.core.Configuration;
 import org.caotc.unit4j.core.constant.StringConstant;
+import org.caotc.unit4j.core.convert.UnitConverter;
 import org.caotc.unit4j.core.math.number.AbstractNumber;
 import org.caotc.unit4j.core.unit.CompositeStandardUnit;
 import org.caotc.unit4j.core.unit.StandardUnit;
@@ -34,6 +40,17 @@ public class UnitUtil {
    * unit1/unit2的正则,视为unit1*unit2⁻¹的特殊形态
    */
   private static final String UNIT_REGEX = "\\w+" + StringConstant.SLASH + "\\w+";
+  /**
+   * 单位转换器缓存的最大数量
+   */
+  private static final int CONVERTER_CACHE_MAXIMUM_SIZE = 1024;
+  /**
+   * (源单位字符串,目标单位字符串)到预编译单位转换器的缓存
+   */
+  private static final LoadingCache<ImmutableList<String>, UnitConverter> CONVERTER_CACHE = CacheBuilder
+      .newBuilder().maximumSize(CONVERTER_CACHE_MAXIMUM_SIZE)
+      .build(CacheLoader.from(units -> UnitConverter
+          .create(parseUnit(units.get(0)), parseUnit(units.get(1)), DEFAULT_CONFIGURATION)));
 
   /**
    * 根据别名获取标准单位
@@ -95,9 +112,29 @@ public class UnitUtil {
   private static AbstractNumber convertUnit(@NonNull AbstractNumber value,
       @NonNull String currentUnit,
       @NonNull String targetUnit) {
-    Unit current = parseUnit(currentUnit);
-    Unit target = parseUnit(targetUnit);
-    return Amount.create(value, current).convertTo(target).value();
+    return converter(currentUnit, targetUnit).convert(value);
+  }
+
+  /**
+   * 获取预编译的单位转换器,相同的单位字符串对只会解析一次
+   *
+   * @param currentUnit 当前单位
+   * @param targetUnit 目标单位
+   * @return 单位转换器
+   * @throws IllegalArgumentException 如果传入的字符串无法解析为单位
+   * @author caotc
+   * @date 2019-06-02
+   * @since 1.0.0
+   */
+  @NonNull
+  public static UnitConverter converter(@NonNull String currentUnit,
+      @NonNull String targetUnit) {
+    try {
+      return CONVERTER_CACHE.getUnchecked(ImmutableList.of(currentUnit, targetUnit));
+    } catch (UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
   }
 
   /**
@@ -0,0 +1,172 @@
+package org.caotc.unit4j.core.convert;
+
+import java.math.BigInteger;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import org.caotc.unit4j.core.Configuration;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.math.number.Fraction;
+import org.caotc.unit4j.core.unit.Unit;
+
+/**
+ * 预编译的单位转换器.在创建时将{@link UnitConvertConfig}的转换比例和零点差值预先计算为基本类型,
+ * 转换{@code long}和{@code double}时不再创建任何中间对象
+ *
+ * @author caotc
+ * @date 2019-06-02
+ * @since 1.0.0
+ */
+@Value
+public class UnitConverter {
+
+  /**
+   * 工厂方法
+   *
+   * @param source 源单位
+   * @param target 目标单位
+   * @param configuration 配置
+   * @return 单位转换器
+   * @author caotc
+   * @date 2019-06-02
+   * @since 1.0.0
+   */
+  @NonNull
+  public static UnitConverter create(@NonNull Unit source, @NonNull Unit target,
+      @NonNull Configuration configuration) {
+    if (source.equals(target)) {
+      return create(UnitConvertConfig.empty());
+    }
+    return create(configuration.getConvertConfig(source, target));
+  }
+
+  /**
+   * 工厂方法
+   *
+   * @param convertConfig 单位转换配置
+   * @return 单位转换器
+   * @author caotc
+   * @date 2019-06-02
+   * @since 1.0.0
+   */
+  @NonNull
+  public static UnitConverter create(@NonNull UnitConvertConfig convertConfig) {
+    return new UnitConverter(convertConfig);
+  }
+
+  /**
+   * 单位转换配置
+   */
+  @NonNull
+  UnitConvertConfig convertConfig;
+  /**
+   * {@code double}运算使用的转换比例
+   */
+  @Getter(AccessLevel.NONE)
+  double doubleRatio;
+  /**
+   * {@code double}运算使用的零点差值
+   */
+  @Getter(AccessLevel.NONE)
+  double doubleZeroDifference;
+  /**
+   * 是否可以使用{@code long}精确运算,即{@code (value * multiplicand + augend) / divisor}的系数都在{@code
+   * long}范围内
+   */
+  @Getter(AccessLevel.NONE)
+  boolean longExact;
+  /**
+   * {@code long}运算的乘数
+   */
+  @Getter(AccessLevel.NONE)
+  long multiplicand;
+  /**
+   * {@code long}运算的加数
+   */
+  @Getter(AccessLevel.NONE)
+  long augend;
+  /**
+   * {@code long}运算的除数,必然为正数
+   */
+  @Getter(AccessLevel.NONE)
+  long divisor;
+
+  private UnitConverter(@NonNull UnitConvertConfig convertConfig) {
+    this.convertConfig = convertConfig;
+    this.doubleRatio = convertConfig.ratio().doubleValue();
+    this.doubleZeroDifference = convertConfig.zeroDifference().doubleValue();
+
+    //(value + zn / zd) * rn / rd = (value * zd * rn + zn * rn) / (zd * rd)
+    Fraction ratio = convertConfig.ratio().toFractionExact();
+    Fraction zeroDifference = convertConfig.zeroDifference().toFractionExact();
+    BigInteger ratioNumerator = ratio.numerator().bigIntegerValue();
+    BigInteger ratioDenominator = ratio.denominator().bigIntegerValue();
+    BigInteger zeroDifferenceNumerator = zeroDifference.numerator().bigIntegerValue();
+    BigInteger zeroDifferenceDenominator = zeroDifference.denominator().bigIntegerValue();
+
+    BigInteger bigMultiplicand = zeroDifferenceDenominator.multiply(ratioNumerator);
+    BigInteger bigAugend = zeroDifferenceNumerator.multiply(ratioNumerator);
+    BigInteger bigDivisor = zeroDifferenceDenominator.multiply(ratioDenominator);
+    BigInteger gcd = bigMultiplicand.gcd(bigAugend).gcd(bigDivisor);
+    if (gcd.signum() != 0) {
+      bigMultiplicand = bigMultiplicand.divide(gcd);
+      bigAugend = bigAugend.divide(gcd);
+      bigDivisor = bigDivisor.divide(gcd);
+    }
+    this.longExact = bigMultiplicand.bitLength() < Long.SIZE && bigAugend.bitLength() < Long.SIZE
+        && bigDivisor.bitLength() < Long.SIZE;
+    this.multiplicand = longExact ? bigMultiplicand.longValue() : 0L;
+    this.augend = longExact ? bigAugend.longValue() : 0L;
+    this.divisor = longExact ? bigDivisor.longValue() : 1L;
+  }
+
+  /**
+   * 精确转换{@code long}值
+   *
+   * @param value 需要转换的值
+   * @return 转换后的值
+   * @throws ArithmeticException 如果转换结果不是整数或超出了{@code long}范围
+   * @author caotc
+   * @date 2019-06-02
+   * @since 1.0.0
+   */
+  public long convert(long value) {
+    if (!longExact) {
+      return convert(org.caotc.unit4j.core.math.number.BigInteger.valueOf(value))
+          .longValueExact();
+    }
+    long dividend = Math.addExact(Math.multiplyExact(value, multiplicand), augend);
+    if (dividend % divisor != 0) {
+      throw new ArithmeticException("Rounding necessary");
+    }
+    return dividend / divisor;
+  }
+
+  /**
+   * 转换{@code double}值
+   *
+   * @param value 需要转换的值
+   * @return 转换后的值
+   * @author caotc
+   * @date 2019-06-02
+   * @since 1.0.0
+   */
+  public double convert(double value) {
+    return (value + doubleZeroDifference) * doubleRatio;
+  }
+
+  /**
+   * 转换数值对象
+   *
+   * @param value 需要转换的值
+   * @return 转换后的值
+   * @author caotc
+   * @date 2019-06-02
+   * @since 1.0.0
+   */
+  @NonNull
+  public AbstractNumber convert(@NonNull AbstractNumber value) {
+    return convertConfig.apply(value);
+  }
+}
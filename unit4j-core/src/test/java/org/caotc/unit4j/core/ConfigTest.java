@@ -105,6 +105,20 @@ class ConfigTest {
     Assertions.assertNotNull(configuration.getUnitGroup(UnitConstant.HOUR));
   }
 
+  @Test
+  void warmUp() {
+    ImmutableSet<Unit> units = ImmutableSet
+        .of(UnitConstant.SECOND, UnitConstant.MINUTE, UnitConstant.HOUR, UnitConstant.METER);
+    Assertions.assertSame(configuration, configuration.warmUp(units));
+    Assertions.assertTrue(configuration.SOURCE_TO_TARGET_TO_CONFIG_TABLE()
+        .contains(UnitConstant.HOUR, UnitConstant.SECOND));
+    Assertions.assertTrue(configuration.SOURCE_TO_TARGET_TO_CONFIG_TABLE()
+        .contains(UnitConstant.METER, UnitConstant.METER));
+    Assertions.assertFalse(configuration.SOURCE_TO_TARGET_TO_CONFIG_TABLE()
+        .contains(UnitConstant.METER, UnitConstant.SECOND));
+    Assertions.assertSame(configuration, configuration.warmUp());
+  }
+
   @Test
   void setAlias() {
 
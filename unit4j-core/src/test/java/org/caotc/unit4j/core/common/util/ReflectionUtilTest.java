@@ -164,6 +164,33 @@ class ReflectionUtilTest {
     Assertions.assertEquals(3, readableProperties.size());
   }
 
+  @Test
+  void readablePropertiesFromClassCache() {
+    Assertions.assertSame(ReflectionUtil.readablePropertiesFromClass(Sub.class),
+        ReflectionUtil.readablePropertiesFromClass(Sub.class));
+    Assertions.assertNotSame(ReflectionUtil.readablePropertiesFromClass(Sub.class),
+        ReflectionUtil.readablePropertiesFromClass(Sub.class, true, MethodNameStyle.FLUENT));
+    Assertions.assertSame(ReflectionUtil.writablePropertiesFromClass(Sub.class),
+        ReflectionUtil.writablePropertiesFromClass(Sub.class));
+    Assertions.assertSame(ReflectionUtil.readablePropertyFromClass(Sub.class, "stringField").get(),
+        ReflectionUtil.readablePropertyFromClass(Sub.class, "stringField").get());
+  }
+
+  @Test
+  void readAndWriteProperty() {
+    Sub sub = new Sub();
+    ReadableProperty<Sub, Object> stringField = ReflectionUtil
+        .<Sub, Object>readablePropertyFromClass(Sub.class, "stringField").get();
+    Assertions.assertEquals("sub", stringField.read(sub).orElse(null));
+    WritableProperty<Sub, Object> intField = ReflectionUtil
+        .<Sub, Object>writablePropertyFromClass(Sub.class, "intField").get();
+    intField.write(sub, 1);
+    Assertions.assertEquals(1, sub.getIntField());
+    ReadableProperty<Sub, Object> intFieldReader = ReflectionUtil
+        .<Sub, Object>readablePropertyFromClass(Sub.class, "intField").get();
+    Assertions.assertEquals(1, intFieldReader.read(sub).orElse(null));
+  }
+
   @Test
   void readablePropertyFromClass() {
     Optional<ReadableProperty<Sub, Object>> stringField = ReflectionUtil
@@ -1,7 +1,9 @@
 package org.caotc.unit4j.core.common.util;
 
+import java.math.BigDecimal;
 import lombok.extern.slf4j.Slf4j;
 import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.core.convert.UnitConverter;
 import org.caotc.unit4j.core.unit.CompositeStandardUnit;
 import org.caotc.unit4j.core.unit.Unit;
 import org.junit.jupiter.api.Assertions;
@@ -21,6 +23,24 @@ class UnitUtilTest {
         .unitComponentToExponent(UnitConstant.DAY, -1).build(), unit);
   }
 
+  @Test
+  void converter() {
+    UnitConverter converter = UnitUtil.converter("HOUR", "SECOND");
+    Assertions.assertSame(converter, UnitUtil.converter("HOUR", "SECOND"));
+    Assertions.assertEquals(7200L, converter.convert(2L));
+    Assertions.assertEquals(5400D, converter.convert(1.5D));
+    Assertions.assertEquals(0,
+        new BigDecimal("5400").compareTo(UnitUtil.convertUnit("1.5", "HOUR", "SECOND")));
+
+    UnitConverter reverseConverter = UnitUtil.converter("SECOND", "HOUR");
+    Assertions.assertEquals(2L, reverseConverter.convert(7200L));
+    Assertions.assertThrows(ArithmeticException.class, () -> reverseConverter.convert(7201L));
+    Assertions.assertThrows(ArithmeticException.class,
+        () -> converter.convert(Long.MAX_VALUE));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> UnitUtil.converter("HOUR", "NOT_EXIST_UNIT"));
+  }
+
   @Test
   void convertUnit() {
   }
@@ -0,0 +1,140 @@
+package org.caotc.unit4j.support.spring;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 启动时扫描{@link Unit4jSpringProperties#getPreloadPackages()}中的类,预加载其中{@link Amount}属性的编码解码计划与配置,
+ * 避免部署后首次请求的延迟.{@link Unit4jSpringProperties#isPreloadAsync()}时扫描与预加载在传入的线程池中执行
+ *
+ * @author caotc
+ * @date 2019-07-23
+ * @see Unit4jProperties#preload(Iterable)
+ * @see Unit4jProperties#preloadAsync(Executor, Iterable)
+ * @since 1.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class Unit4jPreloader implements SmartInitializingSingleton {
+
+  /**
+   * 配置
+   */
+  @NonNull
+  Unit4jSpringProperties unit4jSpringProperties;
+  /**
+   * 异步预加载使用的线程池
+   */
+  @NonNull
+  Executor executor;
+  /**
+   * 预加载完成的future
+   */
+  CompletableFuture<Void> future = new CompletableFuture<>();
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (unit4jSpringProperties.isPreloadAsync()) {
+      long start = System.nanoTime();
+      CompletableFuture.supplyAsync(this::scan, executor).thenCompose(types -> CompletableFuture
+          .allOf(unit4jProperties()
+              .map(unit4jProperties -> unit4jProperties.preloadAsync(executor, types))
+              .toArray(CompletableFuture[]::new)).thenRun(() -> preloaded(types, start)))
+          .whenComplete((result, throwable) -> {
+            if (throwable == null) {
+              future.complete(null);
+            } else {
+              log.warn("unit4j preload failed", throwable);
+              future.completeExceptionally(throwable);
+            }
+          });
+    } else {
+      long start = System.nanoTime();
+      ImmutableSet<Class<?>> types = scan();
+      unit4jProperties().forEach(unit4jProperties -> unit4jProperties.preload(types));
+      preloaded(types, start);
+      future.complete(null);
+    }
+  }
+
+  /**
+   * 预加载完成的future
+   *
+   * @return 预加载完成的future
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public CompletableFuture<Void> future() {
+    return future;
+  }
+
+  /**
+   * 需要预加载的属性
+   *
+   * @return 数据库与json的属性
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  private Stream<Unit4jProperties> unit4jProperties() {
+    return Stream.of(unit4jSpringProperties.getDb(), unit4jSpringProperties.getJson())
+        .filter(Objects::nonNull);
+  }
+
+  /**
+   * 记录预加载完成
+   *
+   * @param types 预加载的类
+   * @param start 开始时间
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  private static void preloaded(@NonNull ImmutableSet<Class<?>> types, long start) {
+    log.info("unit4j preloaded {} classes in {}ms", types.size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  /**
+   * 扫描配置的包中的所有类
+   *
+   * @return 扫描到的类
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  private ImmutableSet<Class<?>> scan() {
+    ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(
+        false);
+    scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+    ImmutableSet.Builder<Class<?>> types = ImmutableSet.builder();
+    for (String preloadPackage : unit4jSpringProperties.getPreloadPackages()) {
+      for (BeanDefinition beanDefinition : scanner.findCandidateComponents(preloadPackage)) {
+        try {
+          types.add(ClassUtils.forName(beanDefinition.getBeanClassName(),
+              ClassUtils.getDefaultClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+          log.warn("can't load class {} for preload", beanDefinition.getBeanClassName(), e);
+        }
+      }
+    }
+    return types.build();
+  }
+}
@@ -1,10 +1,17 @@
 package org.caotc.unit4j.support.spring;
 
+import java.util.concurrent.Executor;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 /**
  * @author caotc
@@ -23,4 +30,23 @@ public class Unit4jSpringAutoConfiguration {
 
   @Autowired
   Unit4jSpringProperties unit4jSpringProperties;
+
+  /**
+   * 预加载器,异步预加载使用应用的任务线程池,不存在时使用{@link SimpleAsyncTaskExecutor}.
+   * 自定义同类型的bean可以替换
+   *
+   * @param applicationTaskExecutor 应用的任务线程池
+   * @return 预加载器
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @Bean
+  @ConditionalOnMissingBean
+  public Unit4jPreloader unit4jPreloader(
+      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+          ObjectProvider<Executor> applicationTaskExecutor) {
+    return new Unit4jPreloader(unit4jSpringProperties,
+        applicationTaskExecutor.getIfAvailable(SimpleAsyncTaskExecutor::new));
+  }
 }
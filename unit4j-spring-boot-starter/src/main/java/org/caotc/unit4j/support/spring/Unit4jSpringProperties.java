@@ -1,9 +1,12 @@
 package org.caotc.unit4j.support.spring;
 
+import com.google.common.collect.Lists;
+import java.util.List;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import lombok.experimental.FieldDefaults;
+import org.caotc.unit4j.core.Amount;
 import org.caotc.unit4j.support.Unit4jProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -21,4 +24,12 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class Unit4jSpringProperties {
   Unit4jProperties db;
   Unit4jProperties json;
+  /**
+   * 启动时预加载的包,包中的类的{@link Amount}属性会被预先解析
+   */
+  List<String> preloadPackages = Lists.newArrayList();
+  /**
+   * 是否在后台线程中预加载
+   */
+  boolean preloadAsync;
 }
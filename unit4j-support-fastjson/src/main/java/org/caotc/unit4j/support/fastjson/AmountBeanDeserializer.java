@@ -0,0 +1,78 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.parser.deserializer.FieldDeserializer;
+import com.alibaba.fastjson.parser.deserializer.JavaBeanDeserializer;
+import com.alibaba.fastjson.util.FieldInfo;
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import lombok.NonNull;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+
+/**
+ * 包含{@link Amount}集合属性的bean在fastjson中的反序列化器.fastjson对{@link java.util.List}属性直接按数组解析,
+ * 不查找注册的反序列化器,因此在创建bean反序列化器后把{@link Amount}集合属性的属性反序列化器替换为使用
+ * {@link AmountCollectionDeserializer}的属性反序列化器,以读取{@link CollectionCodecStrategy#COLUMNAR}策略输出的json
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see Unit4jModule#registerTo(ParserConfig, Class[])
+ * @since 1.0.0
+ */
+public class AmountBeanDeserializer extends JavaBeanDeserializer {
+
+  public AmountBeanDeserializer(@NonNull ParserConfig config, @NonNull Class<?> clazz,
+      @NonNull ImmutableMap<String, AmountCollectionDeserializer> collectionProperties) {
+    super(config, clazz);
+    for (int i = 0; i < sortedFieldDeserializers.length; i++) {
+      FieldInfo fieldInfo = sortedFieldDeserializers[i].fieldInfo;
+      AmountCollectionDeserializer collectionDeserializer = collectionProperties
+          .get(fieldInfo.name);
+      if (collectionDeserializer != null) {
+        sortedFieldDeserializers[i] = new AmountCollectionFieldDeserializer(clazz, fieldInfo,
+            collectionDeserializer);
+      }
+    }
+  }
+
+  /**
+   * 使用{@link AmountCollectionDeserializer}的属性反序列化器
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static class AmountCollectionFieldDeserializer extends FieldDeserializer {
+
+    /**
+     * 集合反序列化器
+     */
+    AmountCollectionDeserializer collectionDeserializer;
+
+    AmountCollectionFieldDeserializer(@NonNull Class<?> clazz, @NonNull FieldInfo fieldInfo,
+        @NonNull AmountCollectionDeserializer collectionDeserializer) {
+      super(clazz, fieldInfo);
+      this.collectionDeserializer = collectionDeserializer;
+    }
+
+    @Override
+    public void parseField(DefaultJSONParser parser, Object object, Type objectType,
+        Map<String, Object> fieldValues) {
+      Collection<Amount> amounts = collectionDeserializer.read(parser, fieldInfo.fieldType);
+      if (object == null) {
+        fieldValues.put(fieldInfo.name, amounts);
+      } else {
+        setValue(object, amounts);
+      }
+    }
+
+    @Override
+    public int getFastMatchToken() {
+      return collectionDeserializer.getFastMatchToken();
+    }
+  }
+}
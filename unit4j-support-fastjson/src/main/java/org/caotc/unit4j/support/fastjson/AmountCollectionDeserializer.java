@@ -0,0 +1,180 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.deserializer.ObjectDeserializer;
+import com.alibaba.fastjson.util.TypeUtils;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+import org.caotc.unit4j.support.SharedUnitAmounts;
+
+/**
+ * {@link Amount}集合在fastjson中的反序列化器,与{@link AmountCollectionSerializer}对应.
+ * 读取{@link CollectionCodecStrategy#COLUMNAR}策略输出的{"unit":单位,"values":[数值...]},也兼容按元素输出的数组.
+ * 由{@link AmountDeserializePlan}在创建时为每个{@link Amount}集合属性确定
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountBeanDeserializer
+ * @since 1.0.0
+ */
+@Value
+public class AmountCollectionDeserializer implements ObjectDeserializer {
+
+  /**
+   * 元素的反序列化器
+   */
+  @NonNull
+  AmountDeserializer amountDeserializer;
+  /**
+   * 列式输出时的单位属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String unitName;
+  /**
+   * 列式输出时的数值数组属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String valuesName;
+
+  /**
+   * 构造器
+   *
+   * @param amountDeserializer 元素的反序列化器
+   * @param columnarCodecConfig 确定列式输出属性名称的配置,与{@link AmountCollectionSerializer}相同
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public AmountCollectionDeserializer(@NonNull AmountDeserializer amountDeserializer,
+      @NonNull AmountCodecConfig columnarCodecConfig) {
+    this.amountDeserializer = amountDeserializer;
+    this.unitName = columnarCodecConfig.outputUnitName();
+    this.valuesName = SharedUnitAmounts.valuesName(columnarCodecConfig);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T deserialze(DefaultJSONParser parser, Type type, Object fieldName) {
+    return (T) read(parser, type);
+  }
+
+  @Override
+  public int getFastMatchToken() {
+    return JSONToken.LBRACE;
+  }
+
+  /**
+   * 从解析器的当前token开始读取数量对象集合,读取完成后解析器位于下一个token
+   *
+   * @param parser fastjson解析器
+   * @param type 集合类型
+   * @return 数量对象集合,json中为null时返回null
+   * @throws JSONException 如果json格式与策略不符
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  public Collection<Amount> read(@NonNull DefaultJSONParser parser, @NonNull Type type) {
+    JSONLexer lexer = parser.lexer;
+    if (lexer.token() == JSONToken.NULL) {
+      lexer.nextToken(JSONToken.COMMA);
+      return null;
+    }
+    Collection<Amount> amounts = (Collection<Amount>) TypeUtils.createCollection(type);
+    if (lexer.token() == JSONToken.LBRACKET) {
+      lexer.nextToken();
+      while (lexer.token() != JSONToken.RBRACKET) {
+        if (lexer.token() == JSONToken.COMMA) {
+          lexer.nextToken();
+          continue;
+        }
+        amounts.add(amountDeserializer.read(parser));
+      }
+      lexer.nextToken(JSONToken.COMMA);
+      return amounts;
+    }
+
+    if (lexer.token() != JSONToken.LBRACE) {
+      throw new JSONException("syntax error, expect { or [, actual " + lexer.tokenName());
+    }
+    lexer.nextToken();
+    Unit unit = null;
+    List<AbstractNumber> values = new ArrayList<>();
+    while (lexer.token() != JSONToken.RBRACE) {
+      if (lexer.token() == JSONToken.COMMA) {
+        lexer.nextToken();
+        continue;
+      }
+      if (lexer.token() != JSONToken.LITERAL_STRING && lexer.token() != JSONToken.IDENTIFIER) {
+        throw new JSONException("syntax error, expect field name, actual " + lexer.tokenName());
+      }
+      String name = lexer.stringVal();
+      lexer.nextTokenWithColon();
+      if (lexer.token() == JSONToken.NULL) {
+        lexer.nextToken();
+      } else if (unitName.equals(name)) {
+        unit = amountDeserializer.readUnit(lexer);
+        lexer.nextToken();
+      } else if (valuesName.equals(name)) {
+        readValues(lexer, values);
+      } else {
+        //忽略未知属性
+        parser.parse();
+      }
+    }
+    lexer.nextToken(JSONToken.COMMA);
+    for (AbstractNumber value : values) {
+      amounts.add(value == null ? null : amountDeserializer.create(value, unit));
+    }
+    return amounts;
+  }
+
+  /**
+   * 读取数值数组,读取完成后解析器位于下一个token
+   *
+   * @param lexer fastjson词法分析器
+   * @param values 读取的数值,null元素的数值为null
+   * @throws JSONException 如果当前token不是数组
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static void readValues(@NonNull JSONLexer lexer, @NonNull List<AbstractNumber> values) {
+    if (lexer.token() != JSONToken.LBRACKET) {
+      throw new JSONException("syntax error, expect [, actual " + lexer.tokenName());
+    }
+    lexer.nextToken();
+    while (lexer.token() != JSONToken.RBRACKET) {
+      if (lexer.token() == JSONToken.COMMA) {
+        lexer.nextToken();
+        continue;
+      }
+      values.add(lexer.token() == JSONToken.NULL ? null : AmountDeserializer.readValue(lexer));
+      lexer.nextToken();
+    }
+    lexer.nextToken();
+  }
+}
@@ -0,0 +1,150 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+import org.caotc.unit4j.support.SharedUnitAmounts;
+import org.caotc.unit4j.support.common.constant.JsonConstant;
+
+/**
+ * {@link Amount}集合在fastjson中的序列化器.由{@link AmountSerializePlan}在创建时为每个{@link Amount}集合属性确定,
+ * 通过{@link Unit4jFilter}绑定到属性值.整个集合只选择一次目标单位,按{@link CollectionCodecStrategy}输出.
+ * {@link CollectionCodecStrategy#COLUMNAR}策略总是输出{"unit":单位,"values":[数值...]},空集合的单位为null,
+ * null元素的数值为null,元素单位类型不一致时抛出异常; {@link CollectionCodecStrategy#SHARED_UNIT}策略无法共用单位时按元素逐个序列化
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountCollectionDeserializer
+ * @since 1.0.0
+ */
+@Value
+public class AmountCollectionSerializer implements ObjectSerializer {
+
+  /**
+   * 元素的序列化器
+   */
+  @NonNull
+  AmountSerializer amountSerializer;
+  /**
+   * 集合序列化策略
+   */
+  @NonNull
+  CollectionCodecStrategy collectionStrategy;
+  /**
+   * 列式输出时的单位属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String unitName;
+  /**
+   * 列式输出时的数值数组属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String valuesName;
+
+  /**
+   * 构造器
+   *
+   * @param amountSerializer 元素的序列化器
+   * @param collectionStrategy 集合序列化策略
+   * @param columnarCodecConfig 确定列式输出属性名称的配置,使用单独{@link Amount}对象的配置,
+   * 属性名称不带集合属性名称前缀
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public AmountCollectionSerializer(@NonNull AmountSerializer amountSerializer,
+      @NonNull CollectionCodecStrategy collectionStrategy,
+      @NonNull AmountCodecConfig columnarCodecConfig) {
+    this.amountSerializer = amountSerializer;
+    this.collectionStrategy = collectionStrategy;
+    this.unitName = columnarCodecConfig.outputUnitName();
+    this.valuesName = SharedUnitAmounts.valuesName(columnarCodecConfig);
+  }
+
+  @Override
+  public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType,
+      int features) throws IOException {
+    SerializeWriter out = serializer.out;
+    if (object == null) {
+      out.writeNull();
+      return;
+    }
+    Collection<?> value = (Collection<?>) object;
+    Optional<SharedUnitAmounts> sharedUnitAmounts = collectionStrategy
+        == CollectionCodecStrategy.ELEMENT ? Optional.empty()
+        : SharedUnitAmounts.create(value, amountSerializer.amountCodecConfig());
+    if (collectionStrategy == CollectionCodecStrategy.COLUMNAR) {
+      SharedUnitAmounts amounts = sharedUnitAmounts.orElseThrow(() -> new JSONException(String
+          .format("%s strategy needs amounts of one unit type, actual %s",
+              CollectionCodecStrategy.COLUMNAR, value)));
+      out.write(JsonConstant.OBJECT_BEGIN);
+      out.writeFieldName(unitName);
+      if (amounts.unit() == null) {
+        out.writeNull();
+      } else {
+        amountSerializer.unitSerializer()
+            .write(serializer, amounts.unit(), fieldName, fieldType, features);
+      }
+      out.write(JsonConstant.FIELD_SEPARATOR);
+      out.writeFieldName(valuesName);
+      writeArray(serializer, amounts.values(), amountSerializer.amountValueSerializer(), fieldType,
+          features);
+      out.write(JsonConstant.OBJECT_END);
+      return;
+    }
+    writeArray(serializer, sharedUnitAmounts.<Collection<?>>map(SharedUnitAmounts::amounts)
+        .orElse(value), amountSerializer, fieldType, features);
+  }
+
+  /**
+   * 使用元素序列化器写出数组
+   *
+   * @param serializer fastjson序列化器
+   * @param elements 元素,null元素写出为null
+   * @param elementSerializer 元素序列化器
+   * @param fieldType 属性类型
+   * @param features 序列化特性
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static void writeArray(@NonNull JSONSerializer serializer,
+      @NonNull Collection<?> elements, @NonNull ObjectSerializer elementSerializer, Type fieldType,
+      int features) throws IOException {
+    SerializeWriter out = serializer.out;
+    out.write('[');
+    int i = 0;
+    for (Object element : elements) {
+      if (i != 0) {
+        out.write(JsonConstant.FIELD_SEPARATOR);
+      }
+      if (element == null) {
+        out.writeNull();
+      } else {
+        elementSerializer.write(serializer, element, i, fieldType, features);
+      }
+      i++;
+    }
+    out.write(']');
+  }
+}
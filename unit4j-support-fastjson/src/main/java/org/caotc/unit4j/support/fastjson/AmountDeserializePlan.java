@@ -0,0 +1,140 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.common.reflect.WritableProperty;
+import org.caotc.unit4j.core.common.util.ReflectionUtil;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+import org.caotc.unit4j.support.SharedUnitAmounts;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
+import org.caotc.unit4j.support.plan.AmountCodecPlans;
+import org.caotc.unit4j.support.plan.AmountPropertyPlan;
+
+/**
+ * 一个类中所有{@link Amount}属性和{@link Amount}集合属性在fastjson中的反序列化计划,记录创建时{@link Unit4jProperties}的版本,
+ * 版本不一致时由{@link Unit4jDeserializer}重新创建
+ *
+ * @param <T> 计划对应的类
+ * @author caotc
+ * @date 2019-07-24
+ * @see Unit4jDeserializer
+ * @since 1.0.0
+ */
+@Value
+public class AmountDeserializePlan<T> {
+
+  /**
+   * 工厂方法
+   *
+   * @param type 计划对应的类
+   * @param unit4jProperties 属性
+   * @return 反序列化计划
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static <T> AmountDeserializePlan<T> create(@NonNull Class<T> type,
+      @NonNull Unit4jProperties unit4jProperties) {
+    //先读取版本,创建过程中属性被修改时计划会被视为过期
+    long propertiesVersion = unit4jProperties.getVersion();
+    ImmutableMap<String, AmountPropertyDeserializePlan<T>> properties = AmountCodecPlans
+        .get(type).properties().stream().filter(AmountPropertyPlan::writable)
+        .map(propertyPlan -> AmountPropertyDeserializePlan.create(propertyPlan, unit4jProperties))
+        .collect(ImmutableMap.toImmutableMap(
+            propertyPlan -> propertyPlan.propertyPlan().propertyName(), Function.identity()));
+    ImmutableMap.Builder<String, AmountPropertyDeserializePlan<T>> flatFields = ImmutableMap
+        .builder();
+    properties.values().stream().filter(AmountPropertyDeserializePlan::flat)
+        .forEach(propertyPlan -> flatFields.put(propertyPlan.valueName(), propertyPlan)
+            .put(propertyPlan.unitName(), propertyPlan));
+    return new AmountDeserializePlan<>(propertiesVersion, type, properties, flatFields.build(),
+        collectionProperties(type, unit4jProperties));
+  }
+
+  /**
+   * 创建类中{@link Amount}集合属性的反序列化器,只有{@link CollectionCodecStrategy#COLUMNAR}策略需要
+   *
+   * @param type 类
+   * @param unit4jProperties 属性
+   * @return 属性名称与集合反序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static ImmutableMap<String, AmountCollectionDeserializer> collectionProperties(
+      @NonNull Class<?> type, @NonNull Unit4jProperties unit4jProperties) {
+    if (unit4jProperties.getCollectionStrategy() != CollectionCodecStrategy.COLUMNAR) {
+      return ImmutableMap.of();
+    }
+    AmountCodecConfig columnarCodecConfig = unit4jProperties.createAmountCodecConfig();
+    return ReflectionUtil.writablePropertiesFromClass(type).stream()
+        .filter(property -> SharedUnitAmounts.isAmountCollection(property.propertyType()))
+        .collect(ImmutableMap.toImmutableMap(WritableProperty::propertyName,
+            property -> new AmountCollectionDeserializer(new AmountDeserializer(unit4jProperties
+                .createAmountCodecConfig(property.propertyName(),
+                    property.annotation(AmountDeserialize.class).orElse(null))),
+                columnarCodecConfig),
+            (property, otherProperty) -> property));
+  }
+
+  /**
+   * 创建计划时{@link Unit4jProperties}的版本
+   */
+  long propertiesVersion;
+  /**
+   * 计划对应的类
+   */
+  @NonNull
+  Class<T> type;
+  /**
+   * 属性名称与属性反序列化计划
+   */
+  @NonNull
+  ImmutableMap<String, AmountPropertyDeserializePlan<T>> properties;
+  /**
+   * {@link org.caotc.unit4j.support.CodecStrategy#FLAT}策略展开后的数值和单位属性名称与属性反序列化计划
+   */
+  @NonNull
+  ImmutableMap<String, AmountPropertyDeserializePlan<T>> flatFields;
+  /**
+   * {@link Amount}集合属性名称与集合反序列化器
+   */
+  @NonNull
+  ImmutableMap<String, AmountCollectionDeserializer> collectionProperties;
+
+  /**
+   * 获取指定名称的属性反序列化计划
+   *
+   * @param propertyName 属性名称
+   * @return 属性反序列化计划
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public Optional<AmountPropertyDeserializePlan<T>> property(@NonNull String propertyName) {
+    return Optional.ofNullable(properties.get(propertyName));
+  }
+
+  /**
+   * 获取{@link org.caotc.unit4j.support.CodecStrategy#FLAT}策略展开后的属性对应的属性反序列化计划
+   *
+   * @param fieldName 展开后的数值或者单位属性名称
+   * @return 属性反序列化计划
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public Optional<AmountPropertyDeserializePlan<T>> flatProperty(@NonNull String fieldName) {
+    return Optional.ofNullable(flatFields.get(fieldName));
+  }
+}
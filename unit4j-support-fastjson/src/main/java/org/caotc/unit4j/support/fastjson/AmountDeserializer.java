@@ -0,0 +1,249 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.deserializer.ObjectDeserializer;
+import com.google.common.collect.Maps;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentMap;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.convert.UnitConverter;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.math.number.BigDecimal;
+import org.caotc.unit4j.core.math.number.BigInteger;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CodecStrategy;
+
+/**
+ * {@link Amount}在fastjson中的反序列化器.按{@link CodecStrategy}直接从{@link JSONLexer}的token中读取,
+ * 不创建{@link com.alibaba.fastjson.JSONObject}
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value
+public class AmountDeserializer implements ObjectDeserializer {
+
+  /**
+   * 序列化反序列化配置
+   */
+  @NonNull
+  AmountCodecConfig amountCodecConfig;
+  /**
+   * 数值属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String valueName;
+  /**
+   * 单位属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String unitName;
+  /**
+   * 源单位与转换到目标单位的预编译单位转换器的缓存
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  ConcurrentMap<Unit, UnitConverter> targetUnitConverters = Maps.newConcurrentMap();
+
+  public AmountDeserializer(@NonNull AmountCodecConfig amountCodecConfig) {
+    this.amountCodecConfig = amountCodecConfig;
+    //OBJECT策略的属性位于独立的对象中,不需要带上外层属性名称
+    boolean nested = amountCodecConfig.strategy() == CodecStrategy.OBJECT;
+    this.valueName = nested ? AmountCodecConfig.AMOUNT_VALUE_FIELD_NAME
+        : amountCodecConfig.outputValueName();
+    this.unitName = nested ? AmountCodecConfig.AMOUNT_UNIT_FIELD_NAME
+        : amountCodecConfig.outputUnitName();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T deserialze(DefaultJSONParser parser, Type type, Object fieldName) {
+    return (T) read(parser);
+  }
+
+  @Override
+  public int getFastMatchToken() {
+    return amountCodecConfig.strategy() == CodecStrategy.VALUE ? JSONToken.LITERAL_INT
+        : JSONToken.LBRACE;
+  }
+
+  /**
+   * 从解析器的当前token开始读取数量对象,读取完成后解析器位于下一个token
+   *
+   * @param parser fastjson解析器
+   * @return 数量对象,json中为null时返回null
+   * @throws JSONException 如果json格式与策略不符或者缺少数值属性
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Amount read(@NonNull DefaultJSONParser parser) {
+    JSONLexer lexer = parser.lexer;
+    if (lexer.token() == JSONToken.NULL) {
+      lexer.nextToken(JSONToken.COMMA);
+      return null;
+    }
+    if (amountCodecConfig.strategy() == CodecStrategy.VALUE) {
+      AbstractNumber value = readValue(lexer);
+      lexer.nextToken(JSONToken.COMMA);
+      return create(value, null);
+    }
+
+    if (lexer.token() != JSONToken.LBRACE) {
+      throw new JSONException("syntax error, expect {, actual " + lexer.tokenName());
+    }
+    lexer.nextToken();
+    AbstractNumber value = null;
+    Unit unit = null;
+    while (lexer.token() != JSONToken.RBRACE) {
+      if (lexer.token() == JSONToken.COMMA) {
+        lexer.nextToken();
+        continue;
+      }
+      if (lexer.token() != JSONToken.LITERAL_STRING && lexer.token() != JSONToken.IDENTIFIER) {
+        throw new JSONException("syntax error, expect field name, actual " + lexer.tokenName());
+      }
+      String name = lexer.stringVal();
+      lexer.nextTokenWithColon();
+      if (valueName.equals(name)) {
+        value = readValue(lexer);
+        lexer.nextToken();
+      } else if (unitName.equals(name)) {
+        unit = readUnit(lexer);
+        lexer.nextToken();
+      } else {
+        //忽略未知属性
+        parser.parse();
+      }
+    }
+    if (value == null) {
+      throw new JSONException(String.format("missing property '%s'", valueName));
+    }
+    lexer.nextToken(JSONToken.COMMA);
+    return create(value, unit);
+  }
+
+  /**
+   * 创建数量对象.没有单位时使用配置的源单位或者目标单位,配置了目标单位时使用预编译的单位转换器转换到目标单位
+   *
+   * @param value 数值
+   * @param unit 单位
+   * @return 数量对象
+   * @throws JSONException 如果没有单位并且没有配置源单位或者目标单位
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public Amount create(@NonNull AbstractNumber value, Unit unit) {
+    Unit sourceUnit = unit != null ? unit : amountCodecConfig.sourceUnit() != null
+        ? amountCodecConfig.sourceUnit() : amountCodecConfig.targetUnit();
+    if (sourceUnit == null) {
+      throw new JSONException(String
+          .format("missing property '%s' and no sourceUnitId or targetUnitId", unitName));
+    }
+    Unit targetUnit = amountCodecConfig.targetUnit();
+    if (targetUnit == null || targetUnit.equals(sourceUnit)) {
+      return Amount.create(value, sourceUnit);
+    }
+    UnitConverter converter = targetUnitConverters.computeIfAbsent(sourceUnit,
+        source -> UnitConverter.create(source, targetUnit, amountCodecConfig.configuration()));
+    return Amount.create(converter.convert(value), targetUnit);
+  }
+
+  /**
+   * 根据别名获取单位
+   *
+   * @param alias 别名
+   * @return 单位
+   * @throws JSONException 如果别名无法对应到单位
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public Unit unit(@NonNull String alias) {
+    try {
+      return amountCodecConfig.unitCodecConfig().deserialize(alias);
+    } catch (IllegalArgumentException e) {
+      throw new JSONException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * 读取当前token的数值
+   *
+   * @param lexer fastjson词法分析器
+   * @return 数值
+   * @throws JSONException 如果当前token不是数值
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  static AbstractNumber readValue(@NonNull JSONLexer lexer) {
+    switch (lexer.token()) {
+      case JSONToken.LITERAL_INT:
+        Number number = lexer.integerValue();
+        if (number instanceof java.math.BigInteger) {
+          return BigInteger.valueOf((java.math.BigInteger) number);
+        }
+        return BigInteger.valueOf(number.longValue());
+      case JSONToken.LITERAL_FLOAT:
+        return BigDecimal.valueOf(lexer.decimalValue());
+      case JSONToken.LITERAL_STRING:
+        String text = lexer.stringVal().trim();
+        try {
+          return BigDecimal.valueOf(text);
+        } catch (NumberFormatException e) {
+          throw new JSONException(text + " is not a valid number", e);
+        }
+      default:
+        throw new JSONException("syntax error, expect number, actual " + lexer.tokenName());
+    }
+  }
+
+  /**
+   * 读取当前token的单位,字符串为单位别名,整数为单位字典中的编号
+   *
+   * @param lexer fastjson词法分析器
+   * @return 单位
+   * @throws JSONException 如果当前token无法对应到单位
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  Unit readUnit(@NonNull JSONLexer lexer) {
+    if (lexer.token() == JSONToken.LITERAL_STRING) {
+      return unit(lexer.stringVal());
+    }
+    if (lexer.token() == JSONToken.LITERAL_INT) {
+      try {
+        return amountCodecConfig.unitCodecConfig().unitDictionary().unit(lexer.intValue());
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        throw new JSONException(e.getMessage(), e);
+      }
+    }
+    throw new JSONException("syntax error, expect unit, actual " + lexer.tokenName());
+  }
+}
@@ -0,0 +1,69 @@
+package org.caotc.unit4j.support.fastjson;
+
+import lombok.NonNull;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.plan.AmountPropertyPlan;
+
+/**
+ * 一个{@link Amount}属性在fastjson中的反序列化计划.反序列化配置和反序列化器在创建时确定
+ *
+ * @param <T> 属性所在的类
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountDeserializePlan
+ * @since 1.0.0
+ */
+@Value
+public class AmountPropertyDeserializePlan<T> {
+
+  /**
+   * 工厂方法
+   *
+   * @param propertyPlan 属性计划
+   * @param unit4jProperties 属性
+   * @return 属性反序列化计划
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static <T> AmountPropertyDeserializePlan<T> create(
+      @NonNull AmountPropertyPlan<T> propertyPlan, @NonNull Unit4jProperties unit4jProperties) {
+    AmountCodecConfig amountCodecConfig = unit4jProperties
+        .createAmountCodecConfig(propertyPlan.propertyName(),
+            propertyPlan.amountDeserialize().orElse(null));
+    return new AmountPropertyDeserializePlan<>(propertyPlan,
+        new AmountDeserializer(amountCodecConfig),
+        amountCodecConfig.strategy() == CodecStrategy.FLAT, amountCodecConfig.outputValueName(),
+        amountCodecConfig.outputUnitName());
+  }
+
+  /**
+   * 属性计划
+   */
+  @NonNull
+  AmountPropertyPlan<T> propertyPlan;
+  /**
+   * 属性的反序列化器
+   */
+  @NonNull
+  AmountDeserializer amountDeserializer;
+  /**
+   * 是否{@link CodecStrategy#FLAT}策略
+   */
+  boolean flat;
+  /**
+   * {@link CodecStrategy#FLAT}策略下数值的属性名称
+   */
+  @NonNull
+  String valueName;
+  /**
+   * {@link CodecStrategy#FLAT}策略下单位的属性名称
+   */
+  @NonNull
+  String unitName;
+}
@@ -0,0 +1,80 @@
+package org.caotc.unit4j.support.fastjson;
+
+import lombok.NonNull;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.plan.AmountPropertyPlan;
+
+/**
+ * 一个{@link Amount}属性在fastjson中的序列化计划.序列化配置和序列化器在创建时确定,序列化时不再重复创建
+ *
+ * @param <T> 属性所在的类
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountSerializePlan
+ * @since 1.0.0
+ */
+@Value
+public class AmountPropertySerializePlan<T> {
+
+  /**
+   * 工厂方法
+   *
+   * @param propertyPlan 属性计划
+   * @param unit4jProperties 属性
+   * @return 属性序列化计划
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static <T> AmountPropertySerializePlan<T> create(
+      @NonNull AmountPropertyPlan<T> propertyPlan, @NonNull Unit4jProperties unit4jProperties) {
+    AmountCodecConfig amountCodecConfig = propertyPlan.codecConfig(unit4jProperties);
+    return new AmountPropertySerializePlan<>(propertyPlan, new AmountSerializer(amountCodecConfig),
+        amountCodecConfig.strategy() == CodecStrategy.FLAT, amountCodecConfig.outputValueName(),
+        amountCodecConfig.outputUnitName());
+  }
+
+  /**
+   * 属性计划
+   */
+  @NonNull
+  AmountPropertyPlan<T> propertyPlan;
+  /**
+   * 属性的序列化器
+   */
+  @NonNull
+  AmountSerializer amountSerializer;
+  /**
+   * 是否{@link CodecStrategy#FLAT}策略
+   */
+  boolean flat;
+  /**
+   * {@link CodecStrategy#FLAT}策略下数值的属性名称
+   */
+  @NonNull
+  String valueName;
+  /**
+   * {@link CodecStrategy#FLAT}策略下单位的属性名称
+   */
+  @NonNull
+  String unitName;
+
+  /**
+   * 获取绑定了该属性序列化器的值
+   *
+   * @param amount 数量对象
+   * @return 绑定了序列化器的值
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public BoundValue bind(@NonNull Amount amount) {
+    return BoundValue.of(amount, amountSerializer);
+  }
+}
@@ -0,0 +1,141 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.common.reflect.ReadableProperty;
+import org.caotc.unit4j.core.common.util.ReflectionUtil;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+import org.caotc.unit4j.support.SharedUnitAmounts;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.caotc.unit4j.support.plan.AmountCodecPlan;
+import org.caotc.unit4j.support.plan.AmountCodecPlans;
+import org.caotc.unit4j.support.plan.AmountPropertyPlan;
+
+/**
+ * 一个类中所有{@link Amount}属性和{@link Amount}集合属性在fastjson中的序列化计划,记录创建时{@link Unit4jProperties}的版本,
+ * 版本变化后需要重新创建
+ *
+ * @param <T> 计划对应的类
+ * @author caotc
+ * @date 2019-07-24
+ * @see Unit4jFilter
+ * @since 1.0.0
+ */
+@Value
+public class AmountSerializePlan<T> {
+
+  /**
+   * 工厂方法
+   *
+   * @param type 计划对应的类
+   * @param unit4jProperties 属性
+   * @return 序列化计划
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static <T> AmountSerializePlan<T> create(@NonNull Class<T> type,
+      @NonNull Unit4jProperties unit4jProperties) {
+    //先读取版本,创建过程中属性被修改时计划会被视为过期
+    long propertiesVersion = unit4jProperties.getVersion();
+    AmountCodecPlan<T> codecPlan = AmountCodecPlans.get(type);
+    ImmutableMap<String, AmountPropertySerializePlan<T>> properties = codecPlan.properties()
+        .stream().filter(AmountPropertyPlan::readable)
+        .map(propertyPlan -> AmountPropertySerializePlan.create(propertyPlan, unit4jProperties))
+        .collect(ImmutableMap.toImmutableMap(
+            propertyPlan -> propertyPlan.propertyPlan().propertyName(), Function.identity()));
+    ImmutableList<AmountPropertySerializePlan<T>> flatProperties = properties.values().stream()
+        .filter(AmountPropertySerializePlan::flat).collect(ImmutableList.toImmutableList());
+    return new AmountSerializePlan<>(propertiesVersion, type, properties, flatProperties,
+        collectionProperties(type, unit4jProperties));
+  }
+
+  /**
+   * 创建类中{@link Amount}集合属性的序列化器,{@link CollectionCodecStrategy#ELEMENT}策略不需要
+   *
+   * @param type 类
+   * @param unit4jProperties 属性
+   * @return 属性名称与集合序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static ImmutableMap<String, AmountCollectionSerializer> collectionProperties(
+      @NonNull Class<?> type, @NonNull Unit4jProperties unit4jProperties) {
+    CollectionCodecStrategy collectionStrategy = unit4jProperties.getCollectionStrategy();
+    if (collectionStrategy == CollectionCodecStrategy.ELEMENT) {
+      return ImmutableMap.of();
+    }
+    AmountCodecConfig columnarCodecConfig = unit4jProperties.createAmountCodecConfig();
+    return ReflectionUtil.readablePropertiesFromClass(type).stream()
+        .filter(property -> SharedUnitAmounts.isAmountCollection(property.propertyType()))
+        .collect(ImmutableMap.toImmutableMap(ReadableProperty::propertyName,
+            property -> new AmountCollectionSerializer(new AmountSerializer(unit4jProperties
+                .createAmountCodecConfig(property.propertyName(),
+                    property.annotation(AmountSerialize.class).orElse(null))),
+                collectionStrategy, columnarCodecConfig),
+            (property, otherProperty) -> property));
+  }
+
+  /**
+   * 创建计划时{@link Unit4jProperties}的版本
+   */
+  long propertiesVersion;
+  /**
+   * 计划对应的类
+   */
+  @NonNull
+  Class<T> type;
+  /**
+   * 属性名称与属性序列化计划
+   */
+  @NonNull
+  ImmutableMap<String, AmountPropertySerializePlan<T>> properties;
+  /**
+   * {@link org.caotc.unit4j.support.CodecStrategy#FLAT}策略的属性序列化计划
+   */
+  @NonNull
+  ImmutableList<AmountPropertySerializePlan<T>> flatProperties;
+  /**
+   * {@link Amount}集合属性名称与集合序列化器
+   */
+  @NonNull
+  ImmutableMap<String, AmountCollectionSerializer> collectionProperties;
+
+  /**
+   * 获取指定名称的属性序列化计划
+   *
+   * @param propertyName 属性名称
+   * @return 属性序列化计划
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public Optional<AmountPropertySerializePlan<T>> property(@NonNull String propertyName) {
+    return Optional.ofNullable(properties.get(propertyName));
+  }
+
+  /**
+   * 获取指定名称的{@link Amount}集合属性的序列化器
+   *
+   * @param propertyName 属性名称
+   * @return 集合序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public Optional<AmountCollectionSerializer> collectionProperty(@NonNull String propertyName) {
+    return Optional.ofNullable(collectionProperties.get(propertyName));
+  }
+}
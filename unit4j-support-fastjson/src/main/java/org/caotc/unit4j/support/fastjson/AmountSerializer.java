@@ -2,17 +2,23 @@ package org.caotc.unit4j.support.fastjson;
 
 import com.alibaba.fastjson.serializer.JSONSerializer;
 import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import lombok.NonNull;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
 import org.caotc.unit4j.support.AmountCodecConfig;
-import org.caotc.unit4j.support.SerializeCommands;
+import org.caotc.unit4j.support.AmountWriter;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.common.constant.JsonConstant;
 
 /**
- * 单独{@link Amount}对象在fastjson中的序列化器 //TODO 考虑Spring环境时配置刷新问题
+ * 单独{@link Amount}对象在fastjson中的序列化器.作为{@link AmountWriter}由{@link CodecStrategy}驱动直接调用{@link
+ * SerializeWriter}写出 //TODO 考虑Spring环境时配置刷新问题
  *
  * @author caotc
  * @date 2019-04-24
@@ -20,7 +26,7 @@ import org.caotc.unit4j.support.SerializeCommands;
  */
 @Value
 @Slf4j
-public class AmountSerializer implements ObjectSerializer {
+public class AmountSerializer implements ObjectSerializer, AmountWriter<JSONSerializer> {
 
   /**
    * 序列化反序列化配置
@@ -47,11 +53,50 @@ public class AmountSerializer implements ObjectSerializer {
   @Override
   public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType,
       int features) throws IOException {
-    Amount amount = (Amount) object;
-    SerializeCommands serializeCommands = amountCodecConfig
-        .serializeCommandsFromAmount(amount);
-    ObjectSerializer objectWriter = serializer.getObjectWriter(SerializeCommands.class);
-    objectWriter.write(serializer, serializeCommands, fieldName, fieldType, features);
+    SerializeWriter out = serializer.out;
+    if (object == null) {
+      out.writeNull();
+      return;
+    }
+    //FLAT策略单独写出时没有外层对象,放在一个对象中
+    boolean wrap = amountCodecConfig.strategy() == CodecStrategy.FLAT;
+    if (wrap) {
+      out.write(JsonConstant.OBJECT_BEGIN);
+    }
+    amountCodecConfig.write((Amount) object, this, serializer);
+    if (wrap) {
+      out.write(JsonConstant.OBJECT_END);
+    }
+  }
+
+  @Override
+  public void startObject(JSONSerializer serializer) {
+    serializer.out.write(JsonConstant.OBJECT_BEGIN);
+  }
+
+  @Override
+  public void endObject(JSONSerializer serializer) {
+    serializer.out.write(JsonConstant.OBJECT_END);
+  }
+
+  @Override
+  public void field(JSONSerializer serializer, @NonNull String name) {
+    serializer.out.writeFieldName(name);
+  }
+
+  @Override
+  public void fieldSeparator(JSONSerializer serializer) {
+    serializer.out.write(JsonConstant.FIELD_SEPARATOR);
+  }
+
+  @Override
+  public void value(JSONSerializer serializer, @NonNull AbstractNumber value) throws IOException {
+    amountValueSerializer.write(serializer, value, null, null, 0);
+  }
+
+  @Override
+  public void unit(JSONSerializer serializer, @NonNull Unit unit) throws IOException {
+    unitSerializer.write(serializer, unit, null, null, 0);
   }
 
 }
@@ -2,16 +2,24 @@ package org.caotc.unit4j.support.fastjson;
 
 import com.alibaba.fastjson.serializer.JSONSerializer;
 import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
 import org.caotc.unit4j.core.Amount;
 import org.caotc.unit4j.core.math.number.AbstractNumber;
 import org.caotc.unit4j.support.AmountValueCodecConfig;
 
 /**
- * 单独{@link Amount#value()}对象在fastjson的序列化器
+ * 单独{@link Amount#value()}对象在fastjson的序列化器.根据{@link AmountValueCodecConfig#valueType()}预先选定写出方式,
+ * 直接调用{@link SerializeWriter}的写出方法
  *
  * @author caotc
  * @date 2019-04-24
@@ -25,11 +33,94 @@ public class AmountValueSerializer implements ObjectSerializer {
    */
   @NonNull
   AmountValueCodecConfig amountValueCodecConfig;
+  /**
+   * 根据数值类型预先选定的写出方式
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  ValueWriter valueWriter;
+
+  public AmountValueSerializer(@NonNull AmountValueCodecConfig amountValueCodecConfig) {
+    this.amountValueCodecConfig = amountValueCodecConfig;
+    this.valueWriter = valueWriter(amountValueCodecConfig.valueType(),
+        amountValueCodecConfig.mathContext());
+  }
 
   @Override
   public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType,
       int features) throws IOException {
-    AbstractNumber value = (AbstractNumber) object;
-    serializer.write(amountValueCodecConfig.createSerializeCommands(value));
+    if (object == null) {
+      serializer.out.writeNull();
+      return;
+    }
+    valueWriter.write((AbstractNumber) object, serializer);
+  }
+
+  /**
+   * 根据数值类型选定写出方式.unit4j自身的数值类型按{@link java.math.BigDecimal}写出
+   *
+   * @param valueType 数值类型
+   * @param mathContext 数学计算上下文对象
+   * @return 写出方式
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static ValueWriter valueWriter(@NonNull Class<?> valueType,
+      @NonNull MathContext mathContext) {
+    RoundingMode roundingMode = mathContext.getRoundingMode();
+    if (byte.class.equals(valueType) || Byte.class.equals(valueType)) {
+      return (value, serializer) -> serializer.out.writeInt(value.byteValue(roundingMode));
+    }
+    if (short.class.equals(valueType) || Short.class.equals(valueType)) {
+      return (value, serializer) -> serializer.out.writeInt(value.shortValue(roundingMode));
+    }
+    if (int.class.equals(valueType) || Integer.class.equals(valueType)) {
+      return (value, serializer) -> serializer.out.writeInt(value.intValue(roundingMode));
+    }
+    if (long.class.equals(valueType) || Long.class.equals(valueType)) {
+      return (value, serializer) -> serializer.out.writeLong(value.longValue(roundingMode));
+    }
+    if (java.math.BigInteger.class.equals(valueType)) {
+      return (value, serializer) -> serializer.out
+          .write(value.bigIntegerValue(roundingMode).toString());
+    }
+    if (java.math.BigDecimal.class.equals(valueType) || AbstractNumber.class
+        .isAssignableFrom(valueType)) {
+      return (value, serializer) -> serializer.out
+          .write(value.bigDecimalValue(mathContext).toString());
+    }
+    if (String.class.equals(valueType)) {
+      return (value, serializer) -> serializer.out
+          .writeString(value.bigDecimalValue(mathContext).toPlainString());
+    }
+    //浮点数等其他类型交给fastjson处理非有限值等情况
+    return (value, serializer) -> serializer.write(value.value(valueType, mathContext));
+  }
+
+  /**
+   * 数值写出方式
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @FunctionalInterface
+  private interface ValueWriter {
+
+    /**
+     * 写出数值
+     *
+     * @param value 数值
+     * @param serializer fastjson序列化器
+     * @author caotc
+     * @date 2019-07-24
+     * @since 1.0.0
+     */
+    void write(@NonNull AbstractNumber value, @NonNull JSONSerializer serializer)
+        throws IOException;
   }
 }
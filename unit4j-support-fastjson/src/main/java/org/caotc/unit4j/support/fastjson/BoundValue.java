@@ -0,0 +1,37 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.alibaba.fastjson.serializer.JSONSerializable;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * 绑定了序列化器的值.过滤器返回该对象后,fastjson直接使用绑定的序列化器写出,不再按值的类型查找序列化器
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value(staticConstructor = "of")
+public class BoundValue implements JSONSerializable {
+
+  /**
+   * 值
+   */
+  @NonNull
+  Object value;
+  /**
+   * 序列化器
+   */
+  @NonNull
+  ObjectSerializer serializer;
+
+  @Override
+  public void write(JSONSerializer serializer, Object fieldName, Type fieldType, int features)
+      throws IOException {
+    this.serializer.write(serializer, value, fieldName, fieldType, features);
+  }
+}
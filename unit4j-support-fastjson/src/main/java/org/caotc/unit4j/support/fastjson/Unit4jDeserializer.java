@@ -0,0 +1,244 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.ParseContext;
+import com.alibaba.fastjson.parser.deserializer.ObjectDeserializer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.math.number.BigDecimal;
+import org.caotc.unit4j.support.Unit4jProperties;
+
+/**
+ * {@link Amount}在fastjson中的反序列化器入口.根据正在解析的对象所属类的{@link AmountDeserializePlan}选择属性的反序列化器,
+ * 并把{@link org.caotc.unit4j.support.CodecStrategy#FLAT}策略展开的数值和单位属性重新组装为{@link Amount}.
+ * 反序列化计划与默认反序列化器按{@link Unit4jProperties}的版本缓存,属性修改后重新创建
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see Unit4jFilter
+ * @since 1.0.0
+ */
+@Value
+public class Unit4jDeserializer implements ObjectDeserializer {
+
+  /**
+   * 属性
+   */
+  @NonNull
+  Unit4jProperties unit4jProperties;
+  /**
+   * 不属于任何类的{@link Amount}的反序列化器及其创建时的属性版本
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonFinal
+  volatile DefaultDeserializer defaultDeserializer;
+  /**
+   * 类与反序列化计划的缓存,计划的版本与属性不一致时重新创建
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  ClassValue<AmountDeserializePlan<?>> plans = new ClassValue<AmountDeserializePlan<?>>() {
+    @Override
+    protected AmountDeserializePlan<?> computeValue(Class<?> type) {
+      return AmountDeserializePlan.create(type, unit4jProperties);
+    }
+  };
+  /**
+   * 正在解析的对象与已经读取的展开属性值,弱引用对象以免解析中断时内存泄漏
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Cache<Object, Map<String, Object>> flatFieldValues = CacheBuilder.newBuilder().weakKeys()
+      .build();
+
+  public Unit4jDeserializer(@NonNull Unit4jProperties unit4jProperties) {
+    this.unit4jProperties = unit4jProperties;
+  }
+
+  @Override
+  public <T> T deserialze(DefaultJSONParser parser, Type type, Object fieldName) {
+    return amountDeserializer(parser.getContext(), fieldName)
+        .deserialze(parser, type, fieldName);
+  }
+
+  @Override
+  public int getFastMatchToken() {
+    return amountDeserializer().getFastMatchToken();
+  }
+
+  /**
+   * 获取不属于任何类的{@link Amount}的反序列化器,属性修改后重新创建
+   *
+   * @return 反序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public AmountDeserializer amountDeserializer() {
+    long propertiesVersion = unit4jProperties.getVersion();
+    DefaultDeserializer current = defaultDeserializer;
+    if (current == null || current.propertiesVersion() != propertiesVersion) {
+      current = DefaultDeserializer.create(propertiesVersion,
+          new AmountDeserializer(unit4jProperties.createAmountCodecConfig()));
+      defaultDeserializer = current;
+    }
+    return current.amountDeserializer();
+  }
+
+  /**
+   * 获取类的反序列化计划
+   *
+   * @param type 类
+   * @return 反序列化计划
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull
+  public <T> AmountDeserializePlan<T> plan(@NonNull Class<T> type) {
+    AmountDeserializePlan<?> plan = plans.get(type);
+    if (plan.propertiesVersion() != unit4jProperties.getVersion()) {
+      plans.remove(type);
+      plan = plans.get(type);
+    }
+    return (AmountDeserializePlan<T>) plan;
+  }
+
+  /**
+   * 获取展开属性值的类型,不是展开属性时返回null
+   *
+   * @param object 正在解析的对象
+   * @param key 属性名称
+   * @return 属性值的类型
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Type flatFieldType(@NonNull Object object, @NonNull String key) {
+    return plan(object.getClass()).flatProperty(key)
+        .map(propertyPlan -> propertyPlan.valueName().equals(key) ? java.math.BigDecimal.class
+            : String.class).orElse(null);
+  }
+
+  /**
+   * 处理展开属性值.数值读取后即写入对象,单位读取后使用该单位重新写入
+   *
+   * @param object 正在解析的对象
+   * @param key 属性名称
+   * @param value 属性值
+   * @return 是否是展开属性
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  public boolean processFlatField(@NonNull Object object, @NonNull String key, Object value) {
+    Optional<AmountPropertyDeserializePlan<Object>> flatProperty = plan(
+        (Class<Object>) object.getClass()).flatProperty(key);
+    if (!flatProperty.isPresent()) {
+      return false;
+    }
+    AmountPropertyDeserializePlan<Object> propertyPlan = flatProperty.get();
+    Map<String, Object> values = flatFieldValues.asMap()
+        .computeIfAbsent(object, owner -> Maps.newHashMap());
+    if (value != null) {
+      values.put(key, value);
+    }
+    Object amountValue = values.get(propertyPlan.valueName());
+    Object unit = values.get(propertyPlan.unitName());
+    if (amountValue == null || (unit == null && !hasDefaultUnit(propertyPlan))) {
+      return true;
+    }
+    AmountDeserializer deserializer = propertyPlan.amountDeserializer();
+    BigDecimal number;
+    try {
+      number = BigDecimal.valueOf(amountValue.toString().trim());
+    } catch (NumberFormatException e) {
+      throw new JSONException(amountValue + " is not a valid number", e);
+    }
+    propertyPlan.propertyPlan().write(object,
+        deserializer.create(number, unit == null ? null : deserializer.unit(unit.toString())));
+    if (unit != null) {
+      values.remove(propertyPlan.valueName());
+      values.remove(propertyPlan.unitName());
+      if (values.isEmpty()) {
+        flatFieldValues.invalidate(object);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 获取正在解析的属性的反序列化器,无法确定所属类时使用默认反序列化器
+   *
+   * @param context 解析上下文
+   * @param fieldName 属性名称
+   * @return 反序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private AmountDeserializer amountDeserializer(ParseContext context, Object fieldName) {
+    if (context == null || context.object == null || !(fieldName instanceof String)) {
+      return amountDeserializer();
+    }
+    return plan(context.object.getClass()).property((String) fieldName)
+        .map(AmountPropertyDeserializePlan::amountDeserializer)
+        .orElseGet(this::amountDeserializer);
+  }
+
+  /**
+   * 属性是否配置了没有单位时使用的默认单位
+   *
+   * @param propertyPlan 属性反序列化计划
+   * @return 是否配置了默认单位
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static boolean hasDefaultUnit(@NonNull AmountPropertyDeserializePlan<?> propertyPlan) {
+    return propertyPlan.amountDeserializer().amountCodecConfig().sourceUnit() != null
+        || propertyPlan.amountDeserializer().amountCodecConfig().targetUnit() != null;
+  }
+
+  /**
+   * 默认反序列化器
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @Value(staticConstructor = "create")
+  private static class DefaultDeserializer {
+
+    /**
+     * {@link Unit4jProperties}的版本
+     */
+    long propertiesVersion;
+    /**
+     * 反序列化器
+     */
+    @NonNull
+    AmountDeserializer amountDeserializer;
+  }
+}
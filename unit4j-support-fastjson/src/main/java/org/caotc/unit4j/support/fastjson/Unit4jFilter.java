@@ -7,20 +7,22 @@ import com.alibaba.fastjson.serializer.BeforeFilter;
 import com.alibaba.fastjson.serializer.ContextValueFilter;
 import com.alibaba.fastjson.serializer.PropertyFilter;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.caotc.unit4j.core.Amount;
-import org.caotc.unit4j.core.common.util.ReflectionUtil;
-import org.caotc.unit4j.support.AmountCodecConfig;
-import org.caotc.unit4j.support.SerializeCommand;
-import org.caotc.unit4j.support.SerializeCommands;
 import org.caotc.unit4j.support.Unit4jProperties;
-import org.caotc.unit4j.support.annotation.AmountSerialize;
 
 /**
- * {@link Amount}在fastjson中的属性过滤器,为了实现不同类中的{@link Amount}属性通过注解实现不同策略序列化 ,在fastjson中需要通过Filter实现
- * //TODO 考虑Spring环境时配置刷新问题
+ * {@link Amount}在fastjson中的属性过滤器,为了实现不同类中的{@link Amount}属性通过注解实现不同策略序列化 ,在fastjson中需要通过Filter实现.
+ * 每个类的{@link AmountSerializePlan}按{@link Unit4jProperties}的版本缓存,属性修改后重新创建,每个{@link Amount}属性只序列化一次.
+ * 作为{@link ExtraProcessor}使用时,把展开的数值和单位属性重新组装为{@link Amount}
  *
  * @author caotc
  * @date 2019-05-07
@@ -36,70 +38,96 @@ public class Unit4jFilter extends BeforeFilter implements ContextValueFilter, Pr
    */
   @NonNull
   Unit4jProperties unit4jProperties;
+  /**
+   * 类与序列化计划的缓存,计划的版本与属性不一致时重新创建
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  ClassValue<AmountSerializePlan<?>> plans = new ClassValue<AmountSerializePlan<?>>() {
+    @Override
+    protected AmountSerializePlan<?> computeValue(Class<?> type) {
+      return AmountSerializePlan.create(type, unit4jProperties);
+    }
+  };
+  /**
+   * {@link Amount}反序列化器,用于重新组装展开的属性
+   */
+  @NonNull
+  Unit4jDeserializer unit4jDeserializer;
+
+  public Unit4jFilter(@NonNull Unit4jProperties unit4jProperties) {
+    this.unit4jProperties = unit4jProperties;
+    this.unit4jDeserializer = new Unit4jDeserializer(unit4jProperties);
+  }
 
   @Override
   public Object process(BeanContext context, Object object, String name, Object value) {
-    AmountCodecConfig amountCodecConfig = ReflectionUtil
-        .readablePropertyFromClass(object.getClass(), name)
-        .flatMap(fieldWrapper -> fieldWrapper.annotation(AmountSerialize.class))
-        .map(amountSerialize -> unit4jProperties.createAmountCodecConfig(name, amountSerialize))
-        .orElseGet(unit4jProperties::createAmountCodecConfig);
-    return amountCodecConfig.serializeCommandsFromAmount((Amount) value);
+    //集合属性是否按集合序列化策略输出在创建序列化计划时已经确定
+    if (value instanceof Collection) {
+      return plan(object).collectionProperty(name)
+          .<Object>map(serializer -> BoundValue.of(value, serializer)).orElse(value);
+    }
+    if (!(value instanceof Amount)) {
+      return value;
+    }
+    return plan(object).property(name)
+        .<Object>map(propertyPlan -> propertyPlan.bind((Amount) value)).orElse(value);
   }
 
   @Override
   public boolean apply(Object object, String name, Object value) {
-    AmountCodecConfig amountCodecConfig = ReflectionUtil
-        .readablePropertyFromClass(object.getClass(), name)
-        .flatMap(fieldWrapper -> fieldWrapper.annotation(AmountSerialize.class))
-        .map(amountSerialize -> unit4jProperties.createAmountCodecConfig(name, amountSerialize))
-        .orElseGet(unit4jProperties::createAmountCodecConfig);
-    return amountCodecConfig.serializeCommandsFromAmount((Amount) value).commands().stream()
-        .noneMatch(SerializeCommand.REMOVE_ORIGINAL_FIELD::equals);
+    //FLAT策略的属性已经在writeBefore中写出
+    return !(value instanceof Amount) || !plan(object).property(name)
+        .filter(AmountPropertySerializePlan::flat).isPresent();
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public void writeBefore(Object object) {
-    ReflectionUtil.readablePropertiesFromClass((Class<Object>) object.getClass())
-        .stream()
-        .filter(fieldWrapper -> fieldWrapper.annotation(AmountSerialize.class).isPresent()
-            || Amount.class.equals(fieldWrapper.propertyType().getRawType()))
-        .forEach(fieldWrapper -> {
-          fieldWrapper.read(object).map(Amount.class::cast).ifPresent(amount -> {
-            AmountCodecConfig amountCodecConfig = fieldWrapper.annotation(AmountSerialize.class)
-                .map(amountSerialize -> unit4jProperties
-                    .createAmountCodecConfig(fieldWrapper.propertyName(), amountSerialize))
-                .orElseGet(unit4jProperties::createAmountCodecConfig);
-            SerializeCommands serializeCommands = amountCodecConfig
-                .serializeCommandsFromAmount(amount);
-            if (serializeCommands.commands().stream()
-                .anyMatch(SerializeCommand.REMOVE_ORIGINAL_FIELD::equals)) {
-              serializeCommands.commands().forEach(command -> {
-                if (command.type() == SerializeCommand.Type.WRITE_FIELD) {
-                  writeKeyValue(command.fieldName(), command.fieldValue());
-                }
-              });
-            }
-          });
-        });
+    for (AmountPropertySerializePlan<Object> propertyPlan : plan(object).flatProperties()) {
+      Optional<Amount> amount = propertyPlan.propertyPlan().read(object);
+      if (!amount.isPresent()) {
+        continue;
+      }
+      AmountSerializer amountSerializer = propertyPlan.amountSerializer();
+      Amount codecAmount = amountSerializer.amountCodecConfig().beforeCodec(amount.get());
+      writeKeyValue(propertyPlan.valueName(),
+          BoundValue.of(codecAmount.value(), amountSerializer.amountValueSerializer()));
+      writeKeyValue(propertyPlan.unitName(),
+          BoundValue.of(codecAmount.unit(), amountSerializer.unitSerializer()));
+    }
+  }
+
+  /**
+   * 获取对象所属类的序列化计划
+   *
+   * @param object 对象
+   * @return 序列化计划
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull
+  private AmountSerializePlan<Object> plan(@NonNull Object object) {
+    Class<?> type = object.getClass();
+    AmountSerializePlan<?> plan = plans.get(type);
+    if (plan.propertiesVersion() != unit4jProperties.getVersion()) {
+      plans.remove(type);
+      plan = plans.get(type);
+    }
+    return (AmountSerializePlan<Object>) plan;
   }
 
   @Override
   public void processExtra(Object object, String key, Object value) {
-    log.debug("ExtraProcessor start");
-    log.debug("object:{}", object);
-    log.debug("key:{}", key);
-    log.debug("value:{}", value);
-    log.debug("ExtraProcessor end");
+    if (!unit4jDeserializer.processFlatField(object, key, value)) {
+      log.debug("ignore extra property {} of {}", key, object.getClass());
+    }
   }
 
   @Override
   public Type getExtraType(Object object, String key) {
-    log.debug("ExtraTypeProvider start");
-    log.debug("object:{}", object);
-    log.debug("key:{}", key);
-    log.debug("ExtraTypeProvider end");
-    return null;
+    return unit4jDeserializer.flatFieldType(object, key);
   }
 }
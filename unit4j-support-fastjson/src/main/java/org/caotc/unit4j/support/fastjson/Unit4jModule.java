@@ -1,6 +1,8 @@
 package org.caotc.unit4j.support.fastjson;
 
+import com.alibaba.fastjson.parser.ParserConfig;
 import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.google.common.collect.ImmutableMap;
 import java.util.Arrays;
 import lombok.NonNull;
 import lombok.Value;
@@ -9,6 +11,7 @@ import org.caotc.unit4j.core.unit.BasePrefixUnit;
 import org.caotc.unit4j.core.unit.BaseStandardUnit;
 import org.caotc.unit4j.core.unit.CompositePrefixUnit;
 import org.caotc.unit4j.core.unit.CompositeStandardUnit;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
 import org.caotc.unit4j.support.SerializeCommands;
 import org.caotc.unit4j.support.Unit4jProperties;
 
@@ -81,4 +84,27 @@ public class Unit4jModule {
     serializeConfig.put(SerializeCommands.class, serializeCommandsSerializer());
     Arrays.stream(classes).forEach(clazz -> serializeConfig.addFilter(clazz, unit4jFilter()));
   }
+
+  /**
+   * 注册到fastjson反序列化配置.解析时需要把{@link #unit4jFilter()}作为ParseProcess传入,
+   * 才能读取{@link org.caotc.unit4j.support.CodecStrategy#FLAT}策略展开的属性.
+   * 含有{@link Amount}集合属性的类需要传入,才能读取{@link CollectionCodecStrategy#COLUMNAR}策略输出的集合
+   *
+   * @param parserConfig fastjson反序列化配置
+   * @param classes 含有{@link Amount}集合属性的类
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public void registerTo(@NonNull ParserConfig parserConfig, @NonNull Class<?>... classes) {
+    parserConfig.putDeserializer(Amount.class, unit4jFilter().unit4jDeserializer());
+    for (Class<?> clazz : classes) {
+      ImmutableMap<String, AmountCollectionDeserializer> collectionProperties = unit4jFilter()
+          .unit4jDeserializer().plan(clazz).collectionProperties();
+      if (!collectionProperties.isEmpty()) {
+        parserConfig.putDeserializer(clazz,
+            new AmountBeanDeserializer(parserConfig, clazz, collectionProperties));
+      }
+    }
+  }
 }
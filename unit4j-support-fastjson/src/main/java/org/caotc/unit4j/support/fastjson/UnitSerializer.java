@@ -28,8 +28,12 @@ public class UnitSerializer implements ObjectSerializer {
   @Override
   public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType,
       int features) throws IOException {
+    if (object == null) {
+      serializer.out.writeNull();
+      return;
+    }
     Unit unit = (Unit) object;
-    serializer.write(unitCodecConfig.serialize(unit));
+    serializer.out.writeString(unitCodecConfig.serialize(unit));
   }
 
 }
@@ -0,0 +1,140 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import lombok.Data;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class AmountCollectionSerializerTest {
+
+  AmountListField field = AmountListField.create(ImmutableList
+      .of(Amount.create(1500, UnitConstant.SECOND), Amount.create(1, UnitConstant.HOUR),
+          Amount.create(30, UnitConstant.MINUTE)));
+
+  @Test
+  void serializeElement() {
+    String json = JSON.toJSONString(field, config(CollectionCodecStrategy.ELEMENT));
+    log.info("element:{}", json);
+    Assertions.assertEquals("{\"amounts\":[1500,1,30]}", json);
+  }
+
+  @Test
+  void serializeSharedUnit() {
+    String json = JSON.toJSONString(field, config(CollectionCodecStrategy.SHARED_UNIT));
+    log.info("sharedUnit:{}", json);
+    Assertions.assertEquals("{\"amounts\":[25,60,30]}", json);
+  }
+
+  @Test
+  void serializeColumnar() {
+    String json = JSON.toJSONString(field, config(CollectionCodecStrategy.COLUMNAR));
+    log.info("columnar:{}", json);
+    Assertions.assertEquals("{\"amounts\":{\"unit\":\"MINUTE\",\"values\":[25,60,30]}}", json);
+  }
+
+  @Test
+  void serializeColumnarEmptyAndNull() {
+    SerializeConfig config = config(CollectionCodecStrategy.COLUMNAR);
+    //空集合和含有null元素的集合与其他集合输出相同的结构
+    Assertions.assertEquals("{\"amounts\":{\"unit\":null,\"values\":[]}}",
+        JSON.toJSONString(AmountListField.create(ImmutableList.of()), config));
+    String json = JSON.toJSONString(AmountListField.create(Arrays
+        .asList(Amount.create(30, UnitConstant.MINUTE), null, Amount.create(1, UnitConstant.HOUR))),
+        config, SerializerFeature.WriteMapNullValue);
+    log.info("columnar with null:{}", json);
+    Assertions.assertEquals("{\"amounts\":{\"unit\":\"MINUTE\",\"values\":[30,null,60]}}",
+        json);
+  }
+
+  @Test
+  void serializeColumnarMixedUnitType() {
+    Assertions.assertThrows(JSONException.class, () -> JSON.toJSONString(AmountListField.create(
+        ImmutableList.of(Amount.create(1, UnitConstant.SECOND),
+            Amount.create(1, UnitConstant.METER))), config(CollectionCodecStrategy.COLUMNAR)));
+  }
+
+  @Test
+  void serializeColumnarAnnotation() {
+    String json = JSON.toJSONString(AnnotationAmountListField.create(field.getAmounts()),
+        config(CollectionCodecStrategy.COLUMNAR));
+    log.info("columnar annotation:{}", json);
+    Assertions.assertEquals("{\"amounts\":{\"unit\":\"SECOND\",\"values\":[1500,3600,1800]}}",
+        json);
+  }
+
+  @Test
+  void deserializeColumnar() {
+    Unit4jModule module = Unit4jModule
+        .create(new Unit4jProperties().setCollectionStrategy(CollectionCodecStrategy.COLUMNAR));
+    ParserConfig parserConfig = new ParserConfig();
+    module.registerTo(parserConfig, AmountListBean.class);
+    AmountListBean bean = JSON.parseObject(
+        "{\"amounts\":{\"unit\":\"MINUTE\",\"values\":[25,null,30]},\"name\":\"test\","
+            + "\"amountSet\":{\"unit\":null,\"values\":[]}}", AmountListBean.class,
+        parserConfig);
+    log.info("bean:{}", bean);
+    Assertions.assertEquals(3, bean.getAmounts().size());
+    Assertions.assertEquals(UnitConstant.MINUTE, bean.getAmounts().get(0).unit());
+    Assertions.assertEquals(0, bean.getAmounts().get(2).bigDecimalValue()
+        .compareTo(java.math.BigDecimal.valueOf(30)));
+    Assertions.assertNull(bean.getAmounts().get(1));
+    Assertions.assertEquals(Collections.emptySet(), bean.getAmountSet());
+    Assertions.assertEquals("test", bean.getName());
+    //兼容按元素输出的数组
+    bean = JSON.parseObject("{\"amounts\":[null]}", AmountListBean.class, parserConfig);
+    Assertions.assertEquals(Collections.singletonList(null), bean.getAmounts());
+  }
+
+  SerializeConfig config(CollectionCodecStrategy collectionStrategy) {
+    SerializeConfig config = new SerializeConfig();
+    Unit4jModule.create(new Unit4jProperties().setCollectionStrategy(collectionStrategy))
+        .registerTo(config, AmountListField.class, AnnotationAmountListField.class);
+    return config;
+  }
+
+  @Value(staticConstructor = "create")
+  @Accessors(fluent = false, chain = true)
+  public static class AmountListField {
+
+    List<Amount> amounts;
+  }
+
+  @Value(staticConstructor = "create")
+  @Accessors(fluent = false, chain = true)
+  public static class AnnotationAmountListField {
+
+    @AmountSerialize(targetUnitId = "SECOND", valueType = Long.class)
+    List<Amount> amounts;
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false)
+  public static class AmountListBean {
+
+    List<Amount> amounts;
+
+    Set<Amount> amountSet;
+
+    String name;
+  }
+}
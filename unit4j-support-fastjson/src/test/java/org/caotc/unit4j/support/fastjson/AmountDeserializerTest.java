@@ -0,0 +1,114 @@
+package org.caotc.unit4j.support.fastjson;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.parser.ParserConfig;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class AmountDeserializerTest {
+
+  Unit4jProperties unit4jProperties = new Unit4jProperties();
+  Unit4jModule module = Unit4jModule.create(unit4jProperties);
+  ParserConfig parserConfig = new ParserConfig();
+
+  @BeforeEach
+  void init() {
+    module.registerTo(parserConfig);
+  }
+
+  @Test
+  void deserialize() {
+    AmountDeserializeField field = parse("{\"valueAmount\":2,"
+        + "\"objectAmount\":{\"value\":123.56,\"unit\":\"SECOND\",\"ignored\":[1,{}]},"
+        + "\"flatAmountValue\":\"1.5\",\"name\":\"test\",\"flatAmountUnit\":\"HOUR\"}");
+    log.info("field:{}", field);
+    assertAmountEquals(Amount.create(120, UnitConstant.SECOND), field.getValueAmount());
+    assertAmountEquals(Amount.create("123.56", UnitConstant.SECOND), field.getObjectAmount());
+    assertAmountEquals(Amount.create("1.5", UnitConstant.HOUR), field.getFlatAmount());
+    Assertions.assertEquals("test", field.getName());
+  }
+
+  @Test
+  void deserializeFlatUnitFirst() {
+    AmountDeserializeField field = parse(
+        "{\"flatAmountUnit\":\"MINUTE\",\"flatAmountValue\":3}");
+    assertAmountEquals(Amount.create(3, UnitConstant.MINUTE), field.getFlatAmount());
+  }
+
+  @Test
+  void deserializeNull() {
+    AmountDeserializeField field = parse("{\"valueAmount\":null,\"objectAmount\":null}");
+    Assertions.assertNull(field.getValueAmount());
+    Assertions.assertNull(field.getObjectAmount());
+  }
+
+  @Test
+  void deserializeUnknownUnit() {
+    Assertions.assertThrows(JSONException.class,
+        () -> parse("{\"objectAmount\":{\"value\":1,\"unit\":\"UNKNOWN\"}}"));
+  }
+
+  @Test
+  void deserializeMissingValue() {
+    Assertions.assertThrows(JSONException.class,
+        () -> parse("{\"objectAmount\":{\"amount\":1,\"unit\":\"SECOND\"}}"));
+  }
+
+  @Test
+  void deserializeAfterModified() {
+    unit4jProperties.setFieldStrategy(CodecStrategy.FLAT);
+    AmountDeserializeField field = parse(
+        "{\"noAnnotationAmountValue\":2,\"noAnnotationAmountUnit\":\"MINUTE\"}");
+    assertAmountEquals(Amount.create(2, UnitConstant.MINUTE), field.getNoAnnotationAmount());
+    //属性修改后重新创建反序列化计划与默认反序列化器
+    unit4jProperties.setFieldStrategy(CodecStrategy.OBJECT).setStrategy(CodecStrategy.OBJECT);
+    field = parse("{\"noAnnotationAmount\":{\"value\":3,\"unit\":\"HOUR\"}}");
+    assertAmountEquals(Amount.create(3, UnitConstant.HOUR), field.getNoAnnotationAmount());
+    Assertions.assertEquals(CodecStrategy.OBJECT, module.unit4jFilter().unit4jDeserializer()
+        .amountDeserializer().amountCodecConfig().strategy());
+  }
+
+  AmountDeserializeField parse(String json) {
+    return JSON.parseObject(json, AmountDeserializeField.class, parserConfig,
+        module.unit4jFilter(), JSON.DEFAULT_PARSER_FEATURE);
+  }
+
+  static void assertAmountEquals(Amount expected, Amount actual) {
+    Assertions.assertNotNull(actual);
+    Assertions.assertEquals(expected.unit(), actual.unit());
+    Assertions.assertEquals(0, expected.value().compareTo(actual.value()),
+        () -> expected + " not equals " + actual);
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false)
+  public static class AmountDeserializeField {
+
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "MINUTE",
+        targetUnitId = "SECOND")
+    Amount valueAmount;
+
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    Amount objectAmount;
+
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    Amount flatAmount;
+
+    Amount noAnnotationAmount;
+
+    String name;
+  }
+}
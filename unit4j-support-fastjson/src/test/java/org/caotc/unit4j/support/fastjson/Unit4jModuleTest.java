@@ -1,12 +1,14 @@
 package org.caotc.unit4j.support.fastjson;
 
+import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
 import com.alibaba.fastjson.serializer.SerializeConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.caotc.unit4j.core.Amount;
 import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.CodecStrategy;
 import org.caotc.unit4j.support.Unit4jProperties;
-import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 @Slf4j
@@ -18,14 +20,37 @@ class Unit4jModuleTest {
   Amount amount = Amount.create("123.00", UnitConstant.SECOND);
   AmountField amountFieldTest = AmountField.create(amount);
 
-  @BeforeEach
-  void init() {
+  @Test
+  void write() {
+    //全局配置中每个类的过滤器只能注册一次
     unit4jModule.registerTo(globalInstance, AmountField.class);
+    String amountJson = JSONObject.toJSONString(amount);
+    log.info("amount:{}", amountJson);
+    Assertions.assertEquals("123.00", amountJson);
+    String amountFieldJson = JSONObject.toJSONString(amountFieldTest);
+    log.info("amountFieldTest:{}", amountFieldJson);
+    Assertions.assertEquals("{\"annotationFlatAmountValue\":\"123.00\","
+        + "\"annotationFlatAmountUnit\":\"SECOND\","
+        + "\"annotationObjectAmount\":{\"value\":123,\"unit\":\"SECOND\"},"
+        + "\"annotationValueAmount\":123.00,\"noAnnotationAmount\":123.00}", amountFieldJson);
   }
 
   @Test
-  void write() {
-    log.info("amount:{}", JSONObject.toJSONString(amount));
-    log.info("amountFieldTest:{}", JSONObject.toJSONString(amountFieldTest));
+  void writeAfterModified() {
+    Unit4jProperties properties = new Unit4jProperties().setFieldStrategy(CodecStrategy.OBJECT);
+    SerializeConfig serializeConfig = new SerializeConfig();
+    Unit4jModule.create(properties).registerTo(serializeConfig, AmountField.class);
+    String objectJson = JSON.toJSONString(amountFieldTest, serializeConfig);
+    log.info("object:{}", objectJson);
+    Assertions.assertTrue(
+        objectJson.contains("\"noAnnotationAmount\":{\"value\":123.00,\"unit\":\"SECOND\"}"),
+        objectJson);
+    //属性修改后重新创建序列化计划
+    properties.setFieldStrategy(CodecStrategy.FLAT);
+    String flatJson = JSON.toJSONString(amountFieldTest, serializeConfig);
+    log.info("flat:{}", flatJson);
+    Assertions.assertTrue(flatJson.contains(
+        "\"noAnnotationAmountValue\":123.00,\"noAnnotationAmountUnit\":\"SECOND\""), flatJson);
+    Assertions.assertFalse(flatJson.contains("\"noAnnotationAmount\":"), flatJson);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,201 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+import org.caotc.unit4j.support.SharedUnitAmounts;
+
+/**
+ * {@link Amount}集合在jackson中的反序列化器,与{@link AmountCollectionSerializer}对应.
+ * 读取{@link CollectionCodecStrategy#COLUMNAR}策略输出的{"unit":单位,"values":[数值...]},
+ * 也兼容按元素输出的数组.集合属性上的注解对元素生效
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value
+public class AmountCollectionDeserializer extends StdDeserializer<Collection<Amount>> implements
+    ContextualDeserializer {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * 上下文反序列化器,用于获取集合属性对应的元素反序列化器
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  Unit4jContextualDeserializer unit4jContextualDeserializer;
+  /**
+   * 元素的反序列化器
+   */
+  @NonNull
+  AmountDeserializer amountDeserializer;
+  /**
+   * 集合类型
+   */
+  @NonNull
+  JavaType collectionType;
+  /**
+   * 列式输出时的单位属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String unitName;
+  /**
+   * 列式输出时的数值数组属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String valuesName;
+
+  public AmountCollectionDeserializer(
+      @NonNull Unit4jContextualDeserializer unit4jContextualDeserializer,
+      @NonNull JavaType collectionType) {
+    super(collectionType);
+    this.unit4jContextualDeserializer = unit4jContextualDeserializer;
+    this.amountDeserializer = unit4jContextualDeserializer.amountDeserializer();
+    this.collectionType = collectionType;
+    //与AmountCollectionSerializer相同,使用单独Amount对象的属性名称
+    AmountCodecConfig amountCodecConfig = amountDeserializer.amountCodecConfig();
+    this.unitName = amountCodecConfig.outputUnitName();
+    this.valuesName = SharedUnitAmounts.valuesName(amountCodecConfig);
+  }
+
+  private AmountCollectionDeserializer(@NonNull AmountCollectionDeserializer src,
+      @NonNull AmountDeserializer amountDeserializer) {
+    super(src.collectionType);
+    this.unit4jContextualDeserializer = src.unit4jContextualDeserializer;
+    this.amountDeserializer = amountDeserializer;
+    this.collectionType = src.collectionType;
+    this.unitName = src.unitName;
+    this.valuesName = src.valuesName;
+  }
+
+  @Override
+  public JsonDeserializer<?> createContextual(DeserializationContext ctxt,
+      BeanProperty property) {
+    AmountDeserializer propertyDeserializer = property == null
+        ? unit4jContextualDeserializer.amountDeserializer()
+        : unit4jContextualDeserializer.amountDeserializer(property);
+    return propertyDeserializer.equals(amountDeserializer) ? this
+        : new AmountCollectionDeserializer(this, propertyDeserializer);
+  }
+
+  @Override
+  public Collection<Amount> deserialize(JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    Collection<Amount> amounts = createCollection(ctxt);
+    JsonToken token = p.currentToken();
+    if (token == JsonToken.START_ARRAY) {
+      for (token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+        amounts.add(
+            token == JsonToken.VALUE_NULL ? null : amountDeserializer.deserialize(p, ctxt));
+      }
+      return amounts;
+    }
+    if (token == JsonToken.START_OBJECT) {
+      token = p.nextToken();
+    } else if (token != JsonToken.FIELD_NAME) {
+      return unexpectedToken(p, ctxt);
+    }
+    Unit unit = null;
+    List<AbstractNumber> values = new ArrayList<>();
+    for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String name = p.getCurrentName();
+      token = p.nextToken();
+      if (token == JsonToken.VALUE_NULL) {
+        continue;
+      }
+      if (unitName.equals(name)) {
+        unit = amountDeserializer.readUnit(p, ctxt);
+      } else if (valuesName.equals(name)) {
+        if (token != JsonToken.START_ARRAY) {
+          return unexpectedToken(p, ctxt);
+        }
+        for (token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+          values.add(
+              token == JsonToken.VALUE_NULL ? null : AmountDeserializer.readValue(p, ctxt));
+        }
+      } else {
+        p.skipChildren();
+      }
+    }
+    for (AbstractNumber value : values) {
+      amounts.add(value == null ? null : amountDeserializer.create(value, unit, p, ctxt));
+    }
+    return amounts;
+  }
+
+  @Override
+  public Collection<Amount> getEmptyValue(DeserializationContext ctxt) {
+    return createCollection(ctxt);
+  }
+
+  /**
+   * 处理与策略不符的token
+   *
+   * @param p json解析器
+   * @param ctxt 反序列化上下文
+   * @return 问题处理器返回的集合
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  private Collection<Amount> unexpectedToken(@NonNull JsonParser p,
+      @NonNull DeserializationContext ctxt) throws IOException {
+    return (Collection<Amount>) ctxt.handleUnexpectedToken(collectionType, p);
+  }
+
+  /**
+   * 创建集合类型的空集合.接口类型使用{@link ArrayList}或者{@link LinkedHashSet}
+   *
+   * @param ctxt 反序列化上下文
+   * @return 空集合
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull
+  private Collection<Amount> createCollection(@NonNull DeserializationContext ctxt) {
+    Class<?> rawClass = collectionType.getRawClass();
+    if (rawClass.isAssignableFrom(ArrayList.class)) {
+      return new ArrayList<>();
+    }
+    if (rawClass.isAssignableFrom(LinkedHashSet.class)) {
+      return new LinkedHashSet<>();
+    }
+    return (Collection<Amount>) ClassUtil
+        .createInstance(rawClass, ctxt.canOverrideAccessModifiers());
+  }
+}
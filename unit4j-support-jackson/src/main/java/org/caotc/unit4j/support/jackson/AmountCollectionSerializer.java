@@ -0,0 +1,155 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+import org.caotc.unit4j.support.SharedUnitAmounts;
+
+/**
+ * {@link Amount}集合在jackson中的序列化器.整个集合只选择一次目标单位,按{@link CollectionCodecStrategy}输出.
+ * 集合属性上的注解对元素生效.{@link CollectionCodecStrategy#COLUMNAR}策略总是输出{"unit":单位,"values":[数值...]},
+ * 空集合的单位为null,null元素的数值为null,元素单位类型不一致时抛出异常; {@link CollectionCodecStrategy#SHARED_UNIT}
+ * 策略无法共用单位时按元素逐个序列化
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountCollectionDeserializer
+ * @since 1.0.0
+ */
+@Value
+public class AmountCollectionSerializer extends StdSerializer<Collection<?>> implements
+    ContextualSerializer {
+
+  /**
+   * 上下文序列化器,用于获取集合属性对应的元素序列化器
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  Unit4jContextualSerializer unit4jContextualSerializer;
+  /**
+   * 元素的序列化器
+   */
+  @NonNull
+  AmountSerializer amountSerializer;
+  /**
+   * 集合序列化策略
+   */
+  @NonNull
+  CollectionCodecStrategy collectionStrategy;
+  /**
+   * 列式输出时编码后的单位属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  SerializableString unitName;
+  /**
+   * 列式输出时编码后的数值数组属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  SerializableString valuesName;
+
+  public AmountCollectionSerializer(@NonNull Unit4jContextualSerializer unit4jContextualSerializer,
+      @NonNull CollectionCodecStrategy collectionStrategy) {
+    super(Collection.class, false);
+    this.unit4jContextualSerializer = unit4jContextualSerializer;
+    this.amountSerializer = unit4jContextualSerializer.amountSerializer();
+    this.collectionStrategy = collectionStrategy;
+    //列式输出的属性位于独立的对象中,使用单独Amount对象的属性名称,不带集合属性名称前缀
+    AmountCodecConfig amountCodecConfig = amountSerializer.amountCodecConfig();
+    this.unitName = new SerializedString(amountCodecConfig.outputUnitName());
+    this.valuesName = new SerializedString(SharedUnitAmounts.valuesName(amountCodecConfig));
+  }
+
+  private AmountCollectionSerializer(@NonNull AmountCollectionSerializer src,
+      @NonNull AmountSerializer amountSerializer) {
+    super(Collection.class, false);
+    this.unit4jContextualSerializer = src.unit4jContextualSerializer;
+    this.amountSerializer = amountSerializer;
+    this.collectionStrategy = src.collectionStrategy;
+    this.unitName = src.unitName;
+    this.valuesName = src.valuesName;
+  }
+
+  @Override
+  public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) {
+    AmountSerializer propertySerializer = property == null
+        ? unit4jContextualSerializer.amountSerializer()
+        : unit4jContextualSerializer.amountSerializer(property);
+    return propertySerializer.equals(amountSerializer) ? this
+        : new AmountCollectionSerializer(this, propertySerializer);
+  }
+
+  @Override
+  public void serialize(Collection<?> value, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    Optional<SharedUnitAmounts> sharedUnitAmounts = collectionStrategy
+        == CollectionCodecStrategy.ELEMENT ? Optional.empty()
+        : SharedUnitAmounts.create(value, amountSerializer.amountCodecConfig());
+    if (collectionStrategy == CollectionCodecStrategy.COLUMNAR) {
+      if (!sharedUnitAmounts.isPresent()) {
+        provider.reportMappingProblem("%s strategy needs amounts of one unit type, actual %s",
+            CollectionCodecStrategy.COLUMNAR, value);
+      }
+      SharedUnitAmounts amounts = sharedUnitAmounts.get();
+      gen.writeStartObject();
+      gen.writeFieldName(unitName);
+      if (amounts.unit() == null) {
+        gen.writeNull();
+      } else {
+        amountSerializer.unitSerializer().serialize(amounts.unit(), gen, provider);
+      }
+      gen.writeFieldName(valuesName);
+      gen.writeStartArray();
+      for (AbstractNumber number : amounts.values()) {
+        if (number == null) {
+          gen.writeNull();
+        } else {
+          amountSerializer.amountValueSerializer().serialize(number, gen, provider);
+        }
+      }
+      gen.writeEndArray();
+      gen.writeEndObject();
+      return;
+    }
+    gen.writeStartArray();
+    for (Object element : sharedUnitAmounts.<Collection<?>>map(SharedUnitAmounts::amounts)
+        .orElse(value)) {
+      if (element == null) {
+        provider.defaultSerializeNull(gen);
+      } else {
+        amountSerializer.serialize((Amount) element, gen, provider);
+      }
+    }
+    gen.writeEndArray();
+  }
+
+  @Override
+  public boolean isEmpty(SerializerProvider provider, Collection<?> value) {
+    return value.isEmpty();
+  }
+}
@@ -0,0 +1,248 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.google.common.collect.Maps;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentMap;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.convert.UnitConverter;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.math.number.BigDecimal;
+import org.caotc.unit4j.core.math.number.BigInteger;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CodecStrategy;
+
+/**
+ * {@link Amount}在jackson中的反序列化器.按{@link CodecStrategy}直接从{@link JsonParser}的token中读取,
+ * 不创建树模型
+ *
+ * @author caotc
+ * @date 2019-07-23
+ * @since 1.0.0
+ */
+@Value
+public class AmountDeserializer extends StdDeserializer<Amount> {
+
+  /**
+   * 序列化反序列化配置
+   */
+  @NonNull
+  AmountCodecConfig amountCodecConfig;
+  /**
+   * 数值属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String valueName;
+  /**
+   * 单位属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  String unitName;
+  /**
+   * 源单位与转换到目标单位的预编译单位转换器的缓存
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  ConcurrentMap<Unit, UnitConverter> targetUnitConverters = Maps.newConcurrentMap();
+
+  public AmountDeserializer(@NonNull AmountCodecConfig amountCodecConfig) {
+    this(amountCodecConfig, NameTransformer.NOP);
+  }
+
+  private AmountDeserializer(@NonNull AmountCodecConfig amountCodecConfig,
+      @NonNull NameTransformer nameTransformer) {
+    super(Amount.class);
+    this.amountCodecConfig = amountCodecConfig;
+    //OBJECT策略的属性位于独立的对象中,不需要带上外层属性名称
+    boolean nested = amountCodecConfig.strategy() == CodecStrategy.OBJECT;
+    this.valueName = nameTransformer.transform(
+        nested ? AmountCodecConfig.AMOUNT_VALUE_FIELD_NAME : amountCodecConfig.outputValueName());
+    this.unitName = nameTransformer.transform(
+        nested ? AmountCodecConfig.AMOUNT_UNIT_FIELD_NAME : amountCodecConfig.outputUnitName());
+  }
+
+  @Override
+  public Amount deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (amountCodecConfig.strategy() == CodecStrategy.VALUE) {
+      AbstractNumber value = readValue(p, ctxt);
+      Unit unit = amountCodecConfig.sourceUnit() == null ? amountCodecConfig.targetUnit()
+          : amountCodecConfig.sourceUnit();
+      if (unit == null) {
+        return (Amount) ctxt.handleUnexpectedToken(Amount.class, p.currentToken(), p,
+            "%s strategy needs sourceUnitId or targetUnitId", CodecStrategy.VALUE);
+      }
+      return convert(value, unit);
+    }
+
+    JsonToken token = p.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = p.nextToken();
+    } else if (token != JsonToken.FIELD_NAME) {
+      return (Amount) ctxt.handleUnexpectedToken(Amount.class, p);
+    }
+    AbstractNumber value = null;
+    Unit unit = null;
+    for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String name = p.getCurrentName();
+      p.nextToken();
+      if (valueName.equals(name)) {
+        value = readValue(p, ctxt);
+      } else if (unitName.equals(name)) {
+        unit = readUnit(p, ctxt);
+      } else {
+        p.skipChildren();
+      }
+    }
+    //展开的FLAT策略属性在json中不存在时数量为null
+    if (value == null && unit == null && amountCodecConfig.strategy() == CodecStrategy.FLAT) {
+      return null;
+    }
+    return create(value, unit, p, ctxt);
+  }
+
+  /**
+   * 由分别读取的数值与单位创建数量对象,没有读取到单位时使用源单位
+   *
+   * @param value 数值,没有读取到时为null
+   * @param unit 单位,没有读取到时为null
+   * @param p json解析器
+   * @param ctxt 反序列化上下文
+   * @return 数量对象
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  Amount create(AbstractNumber value, Unit unit, @NonNull JsonParser p,
+      @NonNull DeserializationContext ctxt) throws IOException {
+    if (value == null) {
+      return (Amount) ctxt.handleUnexpectedToken(Amount.class, p.currentToken(), p,
+          "missing property '%s'", valueName);
+    }
+    Unit sourceUnit = unit == null ? amountCodecConfig.sourceUnit() : unit;
+    if (sourceUnit == null) {
+      return (Amount) ctxt.handleUnexpectedToken(Amount.class, p.currentToken(), p,
+          "missing property '%s'", unitName);
+    }
+    return convert(value, sourceUnit);
+  }
+
+  @Override
+  public JsonDeserializer<Amount> unwrappingDeserializer(NameTransformer unwrapper) {
+    //VALUE策略只读取一个值,无法展开
+    if (amountCodecConfig.strategy() == CodecStrategy.VALUE) {
+      return this;
+    }
+    return new AmountDeserializer(amountCodecConfig, unwrapper);
+  }
+
+  /**
+   * 读取当前token的数值.整数优先使用{@link JsonParser#getLongValue()},小数使用{@link
+   * JsonParser#getDecimalValue()}
+   *
+   * @param p json解析器
+   * @param ctxt 反序列化上下文
+   * @return 数值
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  static AbstractNumber readValue(@NonNull JsonParser p,
+      @NonNull DeserializationContext ctxt) throws IOException {
+    switch (p.currentToken()) {
+      case VALUE_NUMBER_INT:
+        NumberType numberType = p.getNumberType();
+        if (numberType == NumberType.INT || numberType == NumberType.LONG) {
+          return BigInteger.valueOf(p.getLongValue());
+        }
+        return BigInteger.valueOf(p.getBigIntegerValue());
+      case VALUE_NUMBER_FLOAT:
+        return BigDecimal.valueOf(p.getDecimalValue());
+      case VALUE_STRING:
+        String text = p.getText().trim();
+        try {
+          return BigDecimal.valueOf(text);
+        } catch (NumberFormatException e) {
+          return (AbstractNumber) ctxt
+              .handleWeirdStringValue(AbstractNumber.class, text, "not a valid number");
+        }
+      default:
+        return (AbstractNumber) ctxt.handleUnexpectedToken(AbstractNumber.class, p);
+    }
+  }
+
+  /**
+   * 读取当前token的单位,字符串为单位别名,整数为单位字典中的编号
+   *
+   * @param p json解析器
+   * @param ctxt 反序列化上下文
+   * @return 单位
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  Unit readUnit(@NonNull JsonParser p, @NonNull DeserializationContext ctxt)
+      throws IOException {
+    //紧凑编码写出的单位字典编号
+    if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+      int id = p.getIntValue();
+      try {
+        return amountCodecConfig.unitCodecConfig().unitDictionary().unit(id);
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        return (Unit) ctxt.handleWeirdNumberValue(Unit.class, id, e.getMessage());
+      }
+    }
+    if (p.currentToken() != JsonToken.VALUE_STRING) {
+      return (Unit) ctxt.handleUnexpectedToken(Unit.class, p);
+    }
+    String alias = p.getText();
+    try {
+      return amountCodecConfig.unitCodecConfig().deserialize(alias);
+    } catch (IllegalArgumentException e) {
+      return (Unit) ctxt.handleWeirdStringValue(Unit.class, alias, e.getMessage());
+    }
+  }
+
+  /**
+   * 创建数量对象,配置了目标单位时使用预编译的单位转换器转换到目标单位
+   *
+   * @param value 数值
+   * @param unit 单位
+   * @return 数量对象
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  private Amount convert(@NonNull AbstractNumber value, @NonNull Unit unit) {
+    Unit targetUnit = amountCodecConfig.targetUnit();
+    if (targetUnit == null || targetUnit.equals(unit)) {
+      return Amount.create(value, unit);
+    }
+    UnitConverter converter = targetUnitConverters.computeIfAbsent(unit,
+        source -> UnitConverter.create(source, targetUnit, amountCodecConfig.configuration()));
+    return Amount.create(converter.convert(value), targetUnit);
+  }
+}
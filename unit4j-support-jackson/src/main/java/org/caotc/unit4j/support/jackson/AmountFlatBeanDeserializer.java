@@ -0,0 +1,61 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import java.io.IOException;
+import lombok.NonNull;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.CodecStrategy;
+
+/**
+ * 包含{@link CodecStrategy#FLAT}策略的{@link Amount}属性的bean反序列化器.委托原bean反序列化器读取bean,
+ * 读取完成后把{@link AmountFlatSettableProperty}暂存的数值和单位组合为{@link Amount}设置到原属性
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see Unit4jBeanDeserializerModifier
+ * @since 1.0.0
+ */
+public class AmountFlatBeanDeserializer extends DelegatingDeserializer {
+
+  private static final long serialVersionUID = 1L;
+
+  public AmountFlatBeanDeserializer(@NonNull JsonDeserializer<?> delegatee) {
+    super(delegatee);
+  }
+
+  @Override
+  protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+    return new AmountFlatBeanDeserializer(newDelegatee);
+  }
+
+  @Override
+  public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    return AmountFlatSettableProperty.finish(_delegatee.deserialize(p, ctxt), p, ctxt);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Object deserialize(JsonParser p, DeserializationContext ctxt, Object intoValue)
+      throws IOException {
+    return AmountFlatSettableProperty
+        .finish(((JsonDeserializer<Object>) _delegatee).deserialize(p, ctxt, intoValue), p, ctxt);
+  }
+
+  @Override
+  public Object deserializeWithType(JsonParser p, DeserializationContext ctxt,
+      TypeDeserializer typeDeserializer) throws IOException {
+    return AmountFlatSettableProperty
+        .finish(_delegatee.deserializeWithType(p, ctxt, typeDeserializer), p, ctxt);
+  }
+
+  @Override
+  public JsonDeserializer<Object> unwrappingDeserializer(NameTransformer unwrapper) {
+    JsonDeserializer<?> unwrapping = _delegatee.unwrappingDeserializer(unwrapper);
+    return unwrapping == _delegatee ? this : new AmountFlatBeanDeserializer(unwrapping);
+  }
+}
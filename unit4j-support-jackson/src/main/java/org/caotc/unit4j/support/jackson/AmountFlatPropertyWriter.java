@@ -0,0 +1,128 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import lombok.NonNull;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CodecStrategy;
+
+/**
+ * {@link CodecStrategy#FLAT}策略的{@link Amount}属性展开后的虚拟属性写出器.一个{@link Amount}属性替换为数值和单位两个写出器,
+ * 属性名称在创建序列化器时预先编码
+ *
+ * @author caotc
+ * @date 2019-07-23
+ * @see Unit4jBeanSerializerModifier
+ * @since 1.0.0
+ */
+public class AmountFlatPropertyWriter extends BeanPropertyWriter {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * 工厂方法,创建写出数值的虚拟属性写出器
+   *
+   * @param original 原{@link Amount}属性的写出器
+   * @param amountSerializer 原属性对应的序列化器
+   * @return 写出数值的虚拟属性写出器
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public static AmountFlatPropertyWriter valueWriter(@NonNull BeanPropertyWriter original,
+      @NonNull AmountSerializer amountSerializer) {
+    return new AmountFlatPropertyWriter(original, amountSerializer, false);
+  }
+
+  /**
+   * 工厂方法,创建写出单位的虚拟属性写出器
+   *
+   * @param original 原{@link Amount}属性的写出器
+   * @param amountSerializer 原属性对应的序列化器
+   * @return 写出单位的虚拟属性写出器
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public static AmountFlatPropertyWriter unitWriter(@NonNull BeanPropertyWriter original,
+      @NonNull AmountSerializer amountSerializer) {
+    return new AmountFlatPropertyWriter(original, amountSerializer, true);
+  }
+
+  /**
+   * 原属性对应的序列化器
+   */
+  transient AmountSerializer amountSerializer;
+  /**
+   * 是否写出单位,否则写出数值
+   */
+  boolean unit;
+
+  private AmountFlatPropertyWriter(@NonNull BeanPropertyWriter original,
+      @NonNull AmountSerializer amountSerializer, boolean unit) {
+    super(original, new SerializedString(
+        unit ? amountSerializer.amountCodecConfig().outputUnitName()
+            : amountSerializer.amountCodecConfig().outputValueName()));
+    this.amountSerializer = amountSerializer;
+    this.unit = unit;
+  }
+
+  @Override
+  public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov)
+      throws Exception {
+    Amount amount = (Amount) get(bean);
+    if (amount == null) {
+      if (_nullSerializer != null) {
+        gen.writeFieldName(_name);
+        _nullSerializer.serialize(null, gen, prov);
+      }
+      return;
+    }
+    gen.writeFieldName(_name);
+    write(amount, gen, prov);
+  }
+
+  @Override
+  public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov)
+      throws Exception {
+    Amount amount = (Amount) get(bean);
+    if (amount == null) {
+      if (_nullSerializer != null) {
+        _nullSerializer.serialize(null, gen, prov);
+      } else {
+        gen.writeNull();
+      }
+      return;
+    }
+    write(amount, gen, prov);
+  }
+
+  /**
+   * 写出数值或单位.写出单位时不需要进行单位转换
+   *
+   * @param amount 数量
+   * @param gen json生成器
+   * @param prov 序列化上下文
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  private void write(@NonNull Amount amount, @NonNull JsonGenerator gen,
+      @NonNull SerializerProvider prov) throws Exception {
+    AmountCodecConfig amountCodecConfig = amountSerializer.amountCodecConfig();
+    if (unit) {
+      Unit targetUnit = amountCodecConfig.targetUnit();
+      amountSerializer.unitSerializer()
+          .serialize(targetUnit == null ? amount.unit() : targetUnit, gen, prov);
+    } else {
+      amountSerializer.amountValueSerializer()
+          .serialize(amountCodecConfig.beforeCodec(amount).value(), gen, prov);
+    }
+  }
+}
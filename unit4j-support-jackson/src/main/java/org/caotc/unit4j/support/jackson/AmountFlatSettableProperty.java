@@ -0,0 +1,252 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.deser.NullValueProvider;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.google.common.collect.Maps;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CodecStrategy;
+
+/**
+ * {@link CodecStrategy#FLAT}策略的{@link Amount}属性展开后的虚拟属性.一个{@link Amount}属性替换为数值和单位两个属性,
+ * 读取的数值和单位暂存在反序列化上下文中,bean读取完成后由{@link AmountFlatBeanDeserializer}组合为{@link Amount}设置到原属性
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see Unit4jBeanDeserializerModifier
+ * @since 1.0.0
+ */
+public class AmountFlatSettableProperty extends SettableBeanProperty {
+
+  private static final long serialVersionUID = 1L;
+  /**
+   * 反序列化上下文中暂存数值和单位的属性键
+   */
+  private static final Object PENDING_ATTRIBUTE_KEY = AmountFlatSettableProperty.class;
+
+  /**
+   * 工厂方法,创建读取数值的虚拟属性
+   *
+   * @param original 原{@link Amount}属性
+   * @param amountDeserializer 原属性对应的反序列化器
+   * @return 读取数值的虚拟属性
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static AmountFlatSettableProperty valueProperty(@NonNull SettableBeanProperty original,
+      @NonNull AmountDeserializer amountDeserializer) {
+    return new AmountFlatSettableProperty(original, amountDeserializer, false);
+  }
+
+  /**
+   * 工厂方法,创建读取单位的虚拟属性
+   *
+   * @param original 原{@link Amount}属性
+   * @param amountDeserializer 原属性对应的反序列化器
+   * @return 读取单位的虚拟属性
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static AmountFlatSettableProperty unitProperty(@NonNull SettableBeanProperty original,
+      @NonNull AmountDeserializer amountDeserializer) {
+    return new AmountFlatSettableProperty(original, amountDeserializer, true);
+  }
+
+  /**
+   * 将bean中暂存的数值和单位组合为{@link Amount}设置到原属性.没有读取到数值和单位的属性保持不变
+   *
+   * @param bean 读取完成的bean
+   * @param p json解析器
+   * @param ctxt 反序列化上下文
+   * @return bean
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  static Object finish(Object bean, @NonNull JsonParser p, @NonNull DeserializationContext ctxt)
+      throws IOException {
+    Map<Object, Map<String, Pending>> pendings = pendings(ctxt, false);
+    Map<String, Pending> beanPendings = pendings == null ? null : pendings.remove(bean);
+    if (beanPendings == null) {
+      return bean;
+    }
+    for (Pending pending : beanPendings.values()) {
+      AmountFlatSettableProperty property = pending.property;
+      property.original.set(bean,
+          property.amountDeserializer.create(pending.value, pending.unit, p, ctxt));
+    }
+    return bean;
+  }
+
+  /**
+   * 获取反序列化上下文中暂存的(bean,(原属性名称,数值和单位))
+   *
+   * @param ctxt 反序列化上下文
+   * @param create 不存在时是否创建
+   * @return 暂存的数值和单位
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<Object, Map<String, Pending>> pendings(@NonNull DeserializationContext ctxt,
+      boolean create) {
+    Map<Object, Map<String, Pending>> pendings = (Map<Object, Map<String, Pending>>) ctxt
+        .getAttribute(PENDING_ATTRIBUTE_KEY);
+    if (pendings == null && create) {
+      pendings = Maps.newIdentityHashMap();
+      ctxt.setAttribute(PENDING_ATTRIBUTE_KEY, pendings);
+    }
+    return pendings;
+  }
+
+  /**
+   * 原{@link Amount}属性
+   */
+  SettableBeanProperty original;
+  /**
+   * 原属性对应的反序列化器
+   */
+  transient AmountDeserializer amountDeserializer;
+  /**
+   * 是否读取单位,否则读取数值
+   */
+  boolean unit;
+
+  @SuppressWarnings("unchecked")
+  private AmountFlatSettableProperty(@NonNull SettableBeanProperty original,
+      @NonNull AmountDeserializer amountDeserializer, boolean unit) {
+    super(PropertyName.construct(name(amountDeserializer.amountCodecConfig(), unit)),
+        original.getType(), original.getMetadata(),
+        (JsonDeserializer<Object>) (JsonDeserializer<?>) amountDeserializer);
+    this.original = original;
+    this.amountDeserializer = amountDeserializer;
+    this.unit = unit;
+  }
+
+  private AmountFlatSettableProperty(@NonNull AmountFlatSettableProperty src,
+      @NonNull PropertyName newName) {
+    super(src, newName);
+    this.original = src.original;
+    this.amountDeserializer = src.amountDeserializer;
+    this.unit = src.unit;
+  }
+
+  private AmountFlatSettableProperty(@NonNull AmountFlatSettableProperty src,
+      NullValueProvider nullValueProvider) {
+    super(src, src._valueDeserializer, nullValueProvider);
+    this.original = src.original;
+    this.amountDeserializer = src.amountDeserializer;
+    this.unit = src.unit;
+  }
+
+  @NonNull
+  private static String name(@NonNull AmountCodecConfig amountCodecConfig, boolean unit) {
+    return unit ? amountCodecConfig.outputUnitName() : amountCodecConfig.outputValueName();
+  }
+
+  @Override
+  public SettableBeanProperty withValueDeserializer(JsonDeserializer<?> deser) {
+    //数值和单位由原属性对应的反序列化器读取,不使用jackson查找的反序列化器
+    return this;
+  }
+
+  @Override
+  public SettableBeanProperty withName(PropertyName newName) {
+    return new AmountFlatSettableProperty(this, newName);
+  }
+
+  @Override
+  public SettableBeanProperty withNullProvider(NullValueProvider nva) {
+    return new AmountFlatSettableProperty(this, nva);
+  }
+
+  @Override
+  public void fixAccess(DeserializationConfig config) {
+    original.fixAccess(config);
+  }
+
+  @Override
+  public AnnotatedMember getMember() {
+    return original.getMember();
+  }
+
+  @Override
+  public <A extends Annotation> A getAnnotation(Class<A> acls) {
+    return original.getAnnotation(acls);
+  }
+
+  @Override
+  public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance)
+      throws IOException {
+    //null表示数量为null,不需要暂存
+    if (p.hasToken(JsonToken.VALUE_NULL)) {
+      return;
+    }
+    Pending pending = pendings(ctxt, true)
+        .computeIfAbsent(instance, key -> Maps.newHashMapWithExpectedSize(1))
+        .computeIfAbsent(original.getName(), key -> new Pending(this));
+    if (unit) {
+      pending.unit = amountDeserializer.readUnit(p, ctxt);
+    } else {
+      pending.value = AmountDeserializer.readValue(p, ctxt);
+    }
+  }
+
+  @Override
+  public Object deserializeSetAndReturn(JsonParser p, DeserializationContext ctxt,
+      Object instance) throws IOException {
+    deserializeAndSet(p, ctxt, instance);
+    return instance;
+  }
+
+  @Override
+  public void set(Object instance, Object value) {
+    throw new IllegalStateException(String.format(
+        "%s strategy property '%s' is buffered in DeserializationContext and set by %s",
+        CodecStrategy.FLAT, getName(), AmountFlatBeanDeserializer.class.getSimpleName()));
+  }
+
+  @Override
+  public Object setAndReturn(Object instance, Object value) {
+    set(instance, value);
+    return instance;
+  }
+
+  /**
+   * 一个{@link Amount}属性暂存的数值和单位
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @RequiredArgsConstructor
+  private static class Pending {
+
+    @NonNull
+    AmountFlatSettableProperty property;
+    @NonFinal
+    AbstractNumber value;
+    @NonFinal
+    Unit unit;
+  }
+}
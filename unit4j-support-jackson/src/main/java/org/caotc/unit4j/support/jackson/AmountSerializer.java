@@ -1,25 +1,38 @@
 package org.caotc.unit4j.support.jackson;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
-import lombok.extern.slf4j.Slf4j;
 import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
 import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.AmountWriter;
+import org.caotc.unit4j.support.CodecStrategy;
 
 /**
- * {@link Amount}在jackson中的序列化器 //TODO 考虑Spring环境时配置刷新问题
+ * {@link Amount}在jackson中的序列化器.作为{@link AmountWriter}由{@link CodecStrategy}驱动直接调用{@link
+ * JsonGenerator}写出,属性名称在创建时预先编码 //TODO 考虑Spring环境时配置刷新问题
  *
  * @author caotc
  * @date 2019-04-24
  * @since 1.0.0
  */
 @Value
-@Slf4j
-public class AmountSerializer extends StdSerializer<Amount> {
+public class AmountSerializer extends StdSerializer<Amount> implements
+    AmountWriter<JsonGenerator> {
 
   /**
    * 序列化反序列化配置
@@ -36,22 +49,102 @@ public class AmountSerializer extends StdSerializer<Amount> {
    */
   @NonNull
   UnitSerializer unitSerializer;
+  /**
+   * 是否展开到外层对象中写出,仅{@link CodecStrategy#OBJECT}和{@link CodecStrategy#FLAT}有效
+   */
+  boolean unwrapping;
+  /**
+   * 策略写出的属性名称与编码后的属性名称
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  ImmutableMap<String, SerializableString> fieldNames;
 
   public AmountSerializer(@NonNull AmountCodecConfig amountCodecConfig) {
+    this(amountCodecConfig, false, NameTransformer.NOP);
+  }
+
+  private AmountSerializer(@NonNull AmountCodecConfig amountCodecConfig, boolean unwrapping,
+      @NonNull NameTransformer nameTransformer) {
     super(Amount.class);
     this.amountCodecConfig = amountCodecConfig;
-    this.amountValueSerializer = new AmountValueSerializer(amountCodecConfig.valueCodecConfig());
-    unitSerializer = new UnitSerializer(amountCodecConfig.unitCodecConfig());
+    this.amountValueSerializer = new AmountValueSerializer(amountCodecConfig.valueCodecConfig(),
+        amountCodecConfig.binaryCompact());
+    this.unitSerializer = new UnitSerializer(amountCodecConfig.unitCodecConfig(),
+        amountCodecConfig.binaryCompact());
+    this.unwrapping = unwrapping;
+    //OBJECT策略的属性位于独立的对象中,不需要带上外层属性名称
+    boolean nested = amountCodecConfig.strategy() == CodecStrategy.OBJECT;
+    String valueName = nested ? AmountCodecConfig.AMOUNT_VALUE_FIELD_NAME
+        : amountCodecConfig.outputValueName();
+    String unitName = nested ? AmountCodecConfig.AMOUNT_UNIT_FIELD_NAME
+        : amountCodecConfig.outputUnitName();
+    this.fieldNames = ImmutableMap.of(
+        valueName, new SerializedString(nameTransformer.transform(valueName)),
+        unitName, new SerializedString(nameTransformer.transform(unitName)));
   }
 
   @Override
   public void serialize(Amount value, JsonGenerator gen, SerializerProvider provider)
       throws IOException {
-    log.debug("AmountSerializer");
-    log.debug("value:{}", value);
-    log.debug("gen:{}", gen);
-    log.debug("provider:{}", provider);
-    gen.writeObject(amountCodecConfig.serializeCommandsFromAmount(value));
+    //FLAT策略单独写出时没有外层对象,放在一个对象中
+    boolean wrap = !unwrapping && amountCodecConfig.strategy() == CodecStrategy.FLAT;
+    if (wrap) {
+      gen.writeStartObject();
+    }
+    amountCodecConfig.write(value, this, gen);
+    if (wrap) {
+      gen.writeEndObject();
+    }
   }
 
+  @Override
+  public void startObject(JsonGenerator gen) throws IOException {
+    if (!unwrapping) {
+      gen.writeStartObject();
+    }
+  }
+
+  @Override
+  public void endObject(JsonGenerator gen) throws IOException {
+    if (!unwrapping) {
+      gen.writeEndObject();
+    }
+  }
+
+  @Override
+  public void field(JsonGenerator gen, @NonNull String name) throws IOException {
+    SerializableString fieldName = fieldNames.get(name);
+    if (fieldName == null) {
+      gen.writeFieldName(name);
+    } else {
+      gen.writeFieldName(fieldName);
+    }
+  }
+
+  @Override
+  public void value(JsonGenerator gen, @NonNull AbstractNumber value) throws IOException {
+    amountValueSerializer.write(value, gen);
+  }
+
+  @Override
+  public void unit(JsonGenerator gen, @NonNull Unit unit) throws IOException {
+    unitSerializer.write(unit, gen);
+  }
+
+  @Override
+  public boolean isUnwrappingSerializer() {
+    return unwrapping;
+  }
+
+  @Override
+  public JsonSerializer<Amount> unwrappingSerializer(NameTransformer unwrapper) {
+    //VALUE策略只写出一个值,无法展开
+    if (amountCodecConfig.strategy() == CodecStrategy.VALUE) {
+      return this;
+    }
+    return new AmountSerializer(amountCodecConfig, true, unwrapper);
+  }
 }
@@ -4,14 +4,21 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import java.io.IOException;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
 import org.caotc.unit4j.core.Amount;
 import org.caotc.unit4j.core.math.number.AbstractNumber;
 import org.caotc.unit4j.support.AmountValueCodecConfig;
 
 /**
- * {@link Amount#value()}在jackson的序列化器
+ * {@link Amount#value()}在jackson的序列化器.根据{@link AmountValueCodecConfig#valueType()}预先选定写出方式,
+ * 直接调用{@link JsonGenerator}的写出方法,不创建中间的序列化指令对象.开启紧凑编码时,在二进制数据格式中整数数值写出为long
  *
  * @author caotc
  * @date 2019-04-24
@@ -25,16 +32,159 @@ public class AmountValueSerializer extends StdSerializer<AbstractNumber> {
    */
   @NonNull
   AmountValueCodecConfig amountValueCodecConfig;
+  /**
+   * 根据数值类型预先选定的写出方式
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  ValueWriter valueWriter;
+  /**
+   * 二进制数据格式使用的写出方式
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  ValueWriter binaryValueWriter;
 
   public AmountValueSerializer(@NonNull AmountValueCodecConfig amountValueCodecConfig) {
+    this(amountValueCodecConfig, false);
+  }
+
+  public AmountValueSerializer(@NonNull AmountValueCodecConfig amountValueCodecConfig,
+      boolean binaryCompact) {
     super(AbstractNumber.class);
     this.amountValueCodecConfig = amountValueCodecConfig;
+    this.valueWriter = valueWriter(amountValueCodecConfig.valueType(),
+        amountValueCodecConfig.mathContext());
+    this.binaryValueWriter = binaryCompact && isDecimal(amountValueCodecConfig.valueType())
+        ? compactDecimalWriter(amountValueCodecConfig.mathContext()) : valueWriter;
   }
 
   @Override
   public void serialize(AbstractNumber value, JsonGenerator gen, SerializerProvider provider)
       throws IOException {
-    gen.writeObject(amountValueCodecConfig.createSerializeCommands(value));
+    write(value, gen);
   }
 
+  /**
+   * 写出数值,不依赖{@link SerializerProvider}
+   *
+   * @param value 数值
+   * @param gen json生成器
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public void write(@NonNull AbstractNumber value, @NonNull JsonGenerator gen)
+      throws IOException {
+    (gen.canWriteBinaryNatively() ? binaryValueWriter : valueWriter).write(value, gen);
+  }
+
+  /**
+   * 根据数值类型选定写出方式.unit4j自身的数值类型按{@link java.math.BigDecimal}写出
+   *
+   * @param valueType 数值类型
+   * @param mathContext 数学计算上下文对象
+   * @return 写出方式
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  private static ValueWriter valueWriter(@NonNull Class<?> valueType,
+      @NonNull MathContext mathContext) {
+    RoundingMode roundingMode = mathContext.getRoundingMode();
+    if (byte.class.equals(valueType) || Byte.class.equals(valueType)) {
+      return (value, gen) -> gen.writeNumber(value.byteValue(roundingMode));
+    }
+    if (short.class.equals(valueType) || Short.class.equals(valueType)) {
+      return (value, gen) -> gen.writeNumber(value.shortValue(roundingMode));
+    }
+    if (int.class.equals(valueType) || Integer.class.equals(valueType)) {
+      return (value, gen) -> gen.writeNumber(value.intValue(roundingMode));
+    }
+    if (long.class.equals(valueType) || Long.class.equals(valueType)) {
+      return (value, gen) -> gen.writeNumber(value.longValue(roundingMode));
+    }
+    if (java.math.BigInteger.class.equals(valueType)) {
+      return (value, gen) -> gen.writeNumber(value.bigIntegerValue(roundingMode));
+    }
+    if (float.class.equals(valueType) || Float.class.equals(valueType)) {
+      return (value, gen) -> gen.writeNumber(value.floatValue(mathContext));
+    }
+    if (double.class.equals(valueType) || Double.class.equals(valueType)) {
+      return (value, gen) -> gen.writeNumber(value.doubleValue(mathContext));
+    }
+    if (isDecimal(valueType)) {
+      return (value, gen) -> gen.writeNumber(value.bigDecimalValue(mathContext));
+    }
+    if (String.class.equals(valueType)) {
+      return (value, gen) -> gen.writeString(value.bigDecimalValue(mathContext).toPlainString());
+    }
+    return (value, gen) -> gen.writeObject(value.value(valueType, mathContext));
+  }
+
+  /**
+   * 数值类型是否按{@link java.math.BigDecimal}写出
+   *
+   * @param valueType 数值类型
+   * @return 是否按{@link java.math.BigDecimal}写出
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static boolean isDecimal(@NonNull Class<?> valueType) {
+    return java.math.BigDecimal.class.equals(valueType) || AbstractNumber.class
+        .isAssignableFrom(valueType);
+  }
+
+  /**
+   * 紧凑的十进制数写出方式.long范围内的整数写出为long,其余写出为{@link java.math.BigDecimal},
+   * 二进制数据格式会以非标度值和标度的形式保存
+   *
+   * @param mathContext 数学计算上下文对象
+   * @return 写出方式
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static ValueWriter compactDecimalWriter(@NonNull MathContext mathContext) {
+    return (value, gen) -> {
+      java.math.BigDecimal decimal = value.bigDecimalValue(mathContext);
+      java.math.BigDecimal stripped = decimal.stripTrailingZeros();
+      //18位以内的整数一定在long范围内
+      if (stripped.scale() <= 0 && stripped.precision() - stripped.scale() <= 18) {
+        gen.writeNumber(stripped.longValueExact());
+      } else {
+        gen.writeNumber(decimal);
+      }
+    };
+  }
+
+  /**
+   * 数值写出方式
+   *
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @FunctionalInterface
+  private interface ValueWriter {
+
+    /**
+     * 写出数值
+     *
+     * @param value 数值
+     * @param gen json生成器
+     * @author caotc
+     * @date 2019-07-23
+     * @since 1.0.0
+     */
+    void write(@NonNull AbstractNumber value, @NonNull JsonGenerator gen) throws IOException;
+  }
 }
@@ -0,0 +1,94 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Streams;
+import java.util.Objects;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.CodecStrategy;
+
+/**
+ * {@link Amount}属性在jackson中的反序列化属性修改器,与{@link Unit4jBeanSerializerModifier}对应.
+ * 在创建bean反序列化器时将{@link CodecStrategy#FLAT}策略的{@link Amount}属性替换为数值和单位两个虚拟属性,
+ * 并由{@link AmountFlatBeanDeserializer}在bean读取完成后组合为{@link Amount}.通过构造器或builder创建的bean不支持替换,
+ * 需要使用{@link com.fasterxml.jackson.annotation.JsonUnwrapped}
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountFlatSettableProperty
+ * @since 1.0.0
+ */
+@Value
+@Slf4j
+public class Unit4jBeanDeserializerModifier extends BeanDeserializerModifier {
+
+  /**
+   * 上下文反序列化器,用于获取属性对应的反序列化器
+   */
+  @NonNull
+  Unit4jContextualDeserializer unit4jContextualDeserializer;
+
+  @Override
+  public BeanDeserializerBuilder updateBuilder(DeserializationConfig config,
+      BeanDescription beanDesc, BeanDeserializerBuilder builder) {
+    ValueInstantiator valueInstantiator = builder.getValueInstantiator();
+    if (builder.getBuildMethod() != null
+        || (valueInstantiator != null && valueInstantiator.canCreateFromObjectWith())) {
+      return builder;
+    }
+    for (SettableBeanProperty property : ImmutableList.copyOf(builder.getProperties())) {
+      if (!Objects.equals(property.getType().getRawClass(), Amount.class)
+          || unwrapping(config, property)) {
+        continue;
+      }
+      AmountDeserializer amountDeserializer = unit4jContextualDeserializer
+          .amountDeserializer(property);
+      if (amountDeserializer.amountCodecConfig().strategy() != CodecStrategy.FLAT) {
+        continue;
+      }
+      log.debug("flat {}.{}", beanDesc.getBeanClass(), property.getName());
+      builder.removeProperty(property.getFullName());
+      builder.addProperty(AmountFlatSettableProperty.valueProperty(property, amountDeserializer));
+      builder.addProperty(AmountFlatSettableProperty.unitProperty(property, amountDeserializer));
+    }
+    return builder;
+  }
+
+  @Override
+  public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
+      BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+    if (deserializer instanceof BeanDeserializerBase && Streams
+        .stream(((BeanDeserializerBase) deserializer).properties())
+        .anyMatch(AmountFlatSettableProperty.class::isInstance)) {
+      return new AmountFlatBeanDeserializer(deserializer);
+    }
+    return deserializer;
+  }
+
+  /**
+   * 属性是否由{@link com.fasterxml.jackson.annotation.JsonUnwrapped}展开,此时由{@link
+   * AmountDeserializer#unwrappingDeserializer}处理
+   *
+   * @param config 反序列化配置
+   * @param property 属性
+   * @return 是否展开
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static boolean unwrapping(@NonNull DeserializationConfig config,
+      @NonNull SettableBeanProperty property) {
+    return property.getMember() != null && config.getAnnotationIntrospector()
+        .findUnwrappingNameTransformer(property.getMember()) != null;
+  }
+}
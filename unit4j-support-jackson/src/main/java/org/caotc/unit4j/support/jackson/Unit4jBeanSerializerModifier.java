@@ -1,44 +1,75 @@
 package org.caotc.unit4j.support.jackson;
 
 import com.fasterxml.jackson.databind.BeanDescription;
-import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.google.common.collect.Lists;
 import java.util.List;
+import java.util.Objects;
 import lombok.NonNull;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.CodecStrategy;
 
+/**
+ * {@link Amount}属性在jackson中的属性修改器.在创建bean序列化器时将{@link CodecStrategy#FLAT}策略的{@link Amount}属性
+ * 替换为数值和单位两个虚拟属性,序列化时不再需要额外处理.没有注解的属性同样使用带属性名称的配置,
+ * 数值和单位属性名称带有属性名称前缀
+ *
+ * @author caotc
+ * @date 2019-05-12
+ * @see AmountFlatPropertyWriter
+ * @since 1.0.0
+ */
 @Value
 @Slf4j
 public class Unit4jBeanSerializerModifier extends BeanSerializerModifier {
 
+  /**
+   * 上下文序列化器,用于获取属性对应的序列化器
+   */
   @NonNull
-  Unit4jProperties unit4jProperties;
+  Unit4jContextualSerializer unit4jContextualSerializer;
 
   @Override
   public List<BeanPropertyWriter> changeProperties(SerializationConfig config,
       BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
-    log.debug("changeProperties");
-    log.debug("configuration:{}", config);
-    log.debug("beanDesc:{}", beanDesc);
-    log.debug("beanProperties:{}", beanProperties);
-//    return beanProperties.stream().filter(beanPropertyWriter->{
-//      AmountSerialize annotation = beanPropertyWriter.getAnnotation(AmountSerialize.class);
-//      AmountCodecConfig amountCodecConfig = unit4jProperties
-//          .createAmountCodecConfig(beanPropertyWriter.getName(), annotation);
-//      return amountCodecConfig.strategy()!= AmountCodecStrategy.FLAT;
-//    }).collect(Collectors.toList());
-    return beanProperties;
+    List<BeanPropertyWriter> properties = Lists.newArrayListWithCapacity(beanProperties.size());
+    for (BeanPropertyWriter beanPropertyWriter : beanProperties) {
+      if (!Objects.equals(beanPropertyWriter.getType().getRawClass(), Amount.class)
+          || unwrapping(config, beanPropertyWriter)) {
+        properties.add(beanPropertyWriter);
+        continue;
+      }
+      AmountSerializer amountSerializer = unit4jContextualSerializer
+          .amountSerializer(beanPropertyWriter);
+      if (amountSerializer.amountCodecConfig().strategy() != CodecStrategy.FLAT) {
+        properties.add(beanPropertyWriter);
+        continue;
+      }
+      log.debug("flat {}.{}", beanDesc.getBeanClass(), beanPropertyWriter.getName());
+      properties.add(AmountFlatPropertyWriter.valueWriter(beanPropertyWriter, amountSerializer));
+      properties.add(AmountFlatPropertyWriter.unitWriter(beanPropertyWriter, amountSerializer));
+    }
+    return properties;
   }
 
-  @Override
-  public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
-      JsonSerializer<?> serializer) {
-    log.debug("modifySerializer");
-    return super.modifySerializer(config, beanDesc, serializer);
+  /**
+   * 属性是否由{@link com.fasterxml.jackson.annotation.JsonUnwrapped}展开,此时由{@link
+   * AmountSerializer#unwrappingSerializer}处理
+   *
+   * @param config 序列化配置
+   * @param beanPropertyWriter 属性写出器
+   * @return 是否展开
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  private static boolean unwrapping(@NonNull SerializationConfig config,
+      @NonNull BeanPropertyWriter beanPropertyWriter) {
+    return beanPropertyWriter.getMember() != null && config.getAnnotationIntrospector()
+        .findUnwrappingNameTransformer(beanPropertyWriter.getMember()) != null;
   }
-
 }
@@ -0,0 +1,152 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentMap;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
+import org.caotc.unit4j.support.annotation.AmountDeserializeLiteral;
+import org.caotc.unit4j.support.plan.AmountCodecPlan;
+import org.caotc.unit4j.support.plan.AmountCodecPlans;
+import org.caotc.unit4j.support.plan.AmountPropertyPlan;
+
+/**
+ * {@link Amount}在jackson中的上下文反序列化器.通过{@link ContextualDeserializer}给每个属性返回按{@link
+ * AmountDeserialize}注解配置的{@link AmountDeserializer}
+ *
+ * @author caotc
+ * @date 2019-07-23
+ * @since 1.0.0
+ */
+@Value
+public class Unit4jContextualDeserializer extends StdDeserializer<Amount> implements
+    ContextualDeserializer {
+
+  /**
+   * 属性
+   */
+  @NonNull
+  Unit4jProperties unit4jProperties;
+  /**
+   * (属性版本,属性名称,注解属性值)与反序列化器的缓存,只有属性版本的键对应单独的{@link Amount}对象的反序列化器.
+   * 属性修改后旧版本的反序列化器被移除
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  ConcurrentMap<ImmutableList<Object>, AmountDeserializer> amountDeserializers = Maps
+      .newConcurrentMap();
+
+  public Unit4jContextualDeserializer(@NonNull Unit4jProperties unit4jProperties) {
+    super(Amount.class);
+    this.unit4jProperties = unit4jProperties;
+  }
+
+  @Override
+  public Amount deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+    return amountDeserializer().deserialize(p, ctxt);
+  }
+
+  @Override
+  public JsonDeserializer<?> createContextual(DeserializationContext ctxt,
+      BeanProperty property) {
+    if (property == null) {
+      return amountDeserializer();
+    }
+    return amountDeserializer(property);
+  }
+
+  /**
+   * 获取单独的{@link Amount}对象的反序列化器,属性修改后返回新的反序列化器
+   *
+   * @return 反序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public AmountDeserializer amountDeserializer() {
+    return amountDeserializer(ImmutableList.of(unit4jProperties.getVersion()),
+        unit4jProperties::createAmountCodecConfig);
+  }
+
+  /**
+   * 获取属性对应的反序列化器,相同版本的属性下相同的属性名称与注解属性值共用同一个反序列化器
+   *
+   * @param property 属性
+   * @return 反序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  AmountDeserializer amountDeserializer(@NonNull BeanProperty property) {
+    String propertyName = property.getName();
+    Optional<AmountDeserializeLiteral> literal = Optional.ofNullable(amountDeserialize(property))
+        .map(AmountDeserializeLiteral::copyOf);
+    return amountDeserializer(
+        ImmutableList.of(unit4jProperties.getVersion(), propertyName, literal),
+        () -> unit4jProperties.createAmountCodecConfig(propertyName, literal.orElse(null)));
+  }
+
+  /**
+   * 获取键对应的反序列化器,不存在时移除其他版本的反序列化器并创建
+   *
+   * @param key 第一个元素为属性版本的键
+   * @param amountCodecConfig 序列化反序列化配置的创建方法
+   * @return 反序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private AmountDeserializer amountDeserializer(@NonNull ImmutableList<Object> key,
+      @NonNull Supplier<AmountCodecConfig> amountCodecConfig) {
+    AmountDeserializer cached = amountDeserializers.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    Object version = key.get(0);
+    amountDeserializers.keySet().removeIf(cachedKey -> !cachedKey.get(0).equals(version));
+    return amountDeserializers
+        .computeIfAbsent(key, k -> new AmountDeserializer(amountCodecConfig.get()));
+  }
+
+  /**
+   * 获取属性的反序列化注解.优先使用属性所在类的{@link AmountCodecPlan},名称无法对应时使用jackson解析的注解
+   *
+   * @param property 属性
+   * @return 反序列化注解
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  private static AmountDeserialize amountDeserialize(@NonNull BeanProperty property) {
+    AnnotatedMember member = property.getMember();
+    if (member == null) {
+      return property.getAnnotation(AmountDeserialize.class);
+    }
+    return AmountCodecPlans.get(member.getDeclaringClass()).property(property.getName())
+        .flatMap(AmountPropertyPlan::amountDeserialize)
+        .orElseGet(() -> property.getAnnotation(AmountDeserialize.class));
+  }
+}
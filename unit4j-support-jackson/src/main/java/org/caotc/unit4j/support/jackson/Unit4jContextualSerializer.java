@@ -5,16 +5,30 @@ import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
 import com.fasterxml.jackson.databind.ser.ContextualSerializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
 import java.io.IOException;
-import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentMap;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.AmountCodecConfig;
 import org.caotc.unit4j.support.Unit4jProperties;
 import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.caotc.unit4j.support.annotation.AmountSerializeLiteral;
+import org.caotc.unit4j.support.plan.AmountCodecPlan;
+import org.caotc.unit4j.support.plan.AmountCodecPlans;
+import org.caotc.unit4j.support.plan.AmountPropertyPlan;
 
 /**
  * {@link Amount}在jackson中的上下文序列化器. 为了实现不同类中的{@link Amount}属性通过注解实现不同策略序列化 ,在jackson中需要通过{@link
@@ -34,19 +48,26 @@ public class Unit4jContextualSerializer extends StdSerializer<Amount> implements
    */
   @NonNull
   Unit4jProperties unit4jProperties;
+  /**
+   * (属性版本,属性名称,注解属性值)与序列化器的缓存,只有属性版本的键对应单独的{@link Amount}对象的序列化器.
+   * 属性修改后旧版本的序列化器被移除
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
   @NonNull
-  AmountSerializer amountSerializer;
+  ConcurrentMap<ImmutableList<Object>, AmountSerializer> amountSerializers = Maps
+      .newConcurrentMap();
 
   public Unit4jContextualSerializer(@NonNull Unit4jProperties unit4jProperties) {
     super(Amount.class);
     this.unit4jProperties = unit4jProperties;
-    amountSerializer = new AmountSerializer(unit4jProperties.createAmountCodecConfig());
   }
 
   @Override
   public void serialize(Amount value, JsonGenerator gen, SerializerProvider provider)
       throws IOException {
-    amountSerializer.serialize(value, gen, provider);
+    amountSerializer().serialize(value, gen, provider);
   }
 
   @Override
@@ -56,22 +77,106 @@ public class Unit4jContextualSerializer extends StdSerializer<Amount> implements
     log.debug("prov.getActiveView():{}", prov.getActiveView());
     log.debug("property:{}", property);
     //TODO 待确认
+    //集合等容器的元素序列化器传入的是容器属性,容器属性上的注解对元素生效
     if (property != null) {
-      if (Objects.equals(property.getType().getRawClass(), Amount.class)) {
-        AmountSerialize amountSerialize = property.getAnnotation(AmountSerialize.class);
-        //TODO 整个类生效
-//        if (amountSerialize == null) {
-//          amountSerialize = property.getContextAnnotation(AmountSerialize.class);
-//        }
-        if (amountSerialize != null) {
-          return new AmountSerializer(
-              unit4jProperties.createAmountCodecConfig(property.getName(), amountSerialize));
-        } else {
-          return new AmountSerializer(unit4jProperties.createAmountCodecConfig());
-        }
-      }
-      return prov.findValueSerializer(property.getType(), property);
+      return amountSerializer(property);
+    }
+    return amountSerializer();
+  }
+
+  /**
+   * 获取单独的{@link Amount}对象的序列化器,属性修改后返回新的序列化器
+   *
+   * @return 序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public AmountSerializer amountSerializer() {
+    return amountSerializer(ImmutableList.of(unit4jProperties.getVersion()),
+        unit4jProperties::createAmountCodecConfig);
+  }
+
+  /**
+   * 获取属性对应的序列化器.没有注解的属性与{@link Unit4jContextualDeserializer}相同,
+   * 使用{@link Unit4jProperties#getFieldStrategy()}与带属性名称的配置
+   *
+   * @param property 属性
+   * @return 序列化器
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  AmountSerializer amountSerializer(@NonNull BeanProperty property) {
+    AmountSerialize amountSerialize = amountSerialize(property);
+    //TODO 整个类生效
+//    if (amountSerialize == null) {
+//      amountSerialize = property.getContextAnnotation(AmountSerialize.class);
+//    }
+    return amountSerializer(property.getName(), amountSerialize);
+  }
+
+  /**
+   * 获取属性名称与注解属性值对应的序列化器,相同版本的属性下相同的属性名称与注解属性值共用同一个序列化器
+   *
+   * @param propertyName 属性名称
+   * @param amountSerialize 序列化注解,可以为null
+   * @return 序列化器
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  private AmountSerializer amountSerializer(@NonNull String propertyName,
+      AmountSerialize amountSerialize) {
+    Optional<AmountSerializeLiteral> literal = Optional.ofNullable(amountSerialize)
+        .map(AmountSerializeLiteral::copyOf);
+    return amountSerializer(
+        ImmutableList.of(unit4jProperties.getVersion(), propertyName, literal),
+        () -> unit4jProperties.createAmountCodecConfig(propertyName, literal.orElse(null)));
+  }
+
+  /**
+   * 获取键对应的序列化器,不存在时移除其他版本的序列化器并创建
+   *
+   * @param key 第一个元素为属性版本的键
+   * @param amountCodecConfig 序列化反序列化配置的创建方法
+   * @return 序列化器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private AmountSerializer amountSerializer(@NonNull ImmutableList<Object> key,
+      @NonNull Supplier<AmountCodecConfig> amountCodecConfig) {
+    AmountSerializer cached = amountSerializers.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    Object version = key.get(0);
+    amountSerializers.keySet().removeIf(cachedKey -> !cachedKey.get(0).equals(version));
+    return amountSerializers
+        .computeIfAbsent(key, k -> new AmountSerializer(amountCodecConfig.get()));
+  }
+
+  /**
+   * 获取属性的序列化注解.优先使用属性所在类的{@link AmountCodecPlan},名称无法对应时使用jackson解析的注解
+   *
+   * @param property 属性
+   * @return 序列化注解
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  private static AmountSerialize amountSerialize(@NonNull BeanProperty property) {
+    AnnotatedMember member = property.getMember();
+    if (member == null) {
+      return property.getAnnotation(AmountSerialize.class);
     }
-    return amountSerializer;
+    return AmountCodecPlans.get(member.getDeclaringClass()).property(property.getName())
+        .flatMap(AmountPropertyPlan::amountSerialize)
+        .orElseGet(() -> property.getAnnotation(AmountSerialize.class));
   }
 }
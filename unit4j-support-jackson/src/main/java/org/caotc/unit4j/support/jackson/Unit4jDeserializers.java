@@ -0,0 +1,47 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleDeserializers;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import lombok.NonNull;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+
+/**
+ * unit4j在jackson中的反序列化器集合,与{@link Unit4jSerializers}对应.在按类型查找的基础上,
+ * 元素类型为{@link Amount}的集合使用{@link AmountCollectionDeserializer}读取{@link
+ * CollectionCodecStrategy#COLUMNAR}策略输出的json
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+public class Unit4jDeserializers extends SimpleDeserializers {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * 上下文反序列化器,用于创建{@link Amount}集合反序列化器
+   */
+  Unit4jContextualDeserializer unit4jContextualDeserializer;
+
+  public Unit4jDeserializers(@NonNull Unit4jContextualDeserializer unit4jContextualDeserializer) {
+    this.unit4jContextualDeserializer = unit4jContextualDeserializer;
+  }
+
+  @Override
+  public JsonDeserializer<?> findCollectionDeserializer(CollectionType type,
+      DeserializationConfig config, BeanDescription beanDesc,
+      TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer)
+      throws JsonMappingException {
+    if (type.getContentType().hasRawClass(Amount.class)) {
+      return new AmountCollectionDeserializer(unit4jContextualDeserializer, type);
+    }
+    return super.findCollectionDeserializer(type, config, beanDesc, elementTypeDeserializer,
+        elementDeserializer);
+  }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import lombok.NonNull;
 import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
 import org.caotc.unit4j.support.Unit4jProperties;
 
 /**
@@ -18,11 +20,24 @@ public class Unit4jModule extends SimpleModule {
     Unit4jModule unit4jModule = new Unit4jModule();
     Unit4jContextualSerializer unit4jContextualSerializer = new Unit4jContextualSerializer(
         unit4jProperties);
+    if (unit4jProperties.getCollectionStrategy() != CollectionCodecStrategy.ELEMENT) {
+      unit4jModule.setSerializers(new Unit4jSerializers(new AmountCollectionSerializer(
+          unit4jContextualSerializer, unit4jProperties.getCollectionStrategy())));
+    }
     unit4jModule.addSerializer(unit4jContextualSerializer);
-    unit4jModule.addSerializer(unit4jContextualSerializer.amountSerializer());
     unit4jModule
         .addSerializer(unit4jContextualSerializer.amountSerializer().amountValueSerializer());
     unit4jModule.addSerializer(unit4jContextualSerializer.amountSerializer().unitSerializer());
+    unit4jModule
+        .setSerializerModifier(new Unit4jBeanSerializerModifier(unit4jContextualSerializer));
+    Unit4jContextualDeserializer unit4jContextualDeserializer = new Unit4jContextualDeserializer(
+        unit4jProperties);
+    if (unit4jProperties.getCollectionStrategy() == CollectionCodecStrategy.COLUMNAR) {
+      unit4jModule.setDeserializers(new Unit4jDeserializers(unit4jContextualDeserializer));
+    }
+    unit4jModule.addDeserializer(Amount.class, unit4jContextualDeserializer);
+    unit4jModule
+        .setDeserializerModifier(new Unit4jBeanDeserializerModifier(unit4jContextualDeserializer));
     SerializeCommandsSerializer serializeCommandsSerializer = new SerializeCommandsSerializer();
     unit4jModule.addSerializer(serializeCommandsSerializer);
     return unit4jModule;
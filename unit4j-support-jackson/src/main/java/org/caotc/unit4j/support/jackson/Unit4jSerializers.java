@@ -0,0 +1,43 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleSerializers;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import lombok.NonNull;
+import org.caotc.unit4j.core.Amount;
+
+/**
+ * unit4j在jackson中的序列化器集合.在按类型查找的基础上,元素类型为{@link Amount}的集合使用{@link
+ * AmountCollectionSerializer}
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+public class Unit4jSerializers extends SimpleSerializers {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * {@link Amount}集合序列化器
+   */
+  AmountCollectionSerializer amountCollectionSerializer;
+
+  public Unit4jSerializers(@NonNull AmountCollectionSerializer amountCollectionSerializer) {
+    this.amountCollectionSerializer = amountCollectionSerializer;
+  }
+
+  @Override
+  public JsonSerializer<?> findCollectionSerializer(SerializationConfig config,
+      CollectionType type, BeanDescription beanDesc, TypeSerializer elementTypeSerializer,
+      JsonSerializer<Object> elementValueSerializer) {
+    if (type.getContentType().hasRawClass(Amount.class)) {
+      return amountCollectionSerializer;
+    }
+    return super.findCollectionSerializer(config, type, beanDesc, elementTypeSerializer,
+        elementValueSerializer);
+  }
+}
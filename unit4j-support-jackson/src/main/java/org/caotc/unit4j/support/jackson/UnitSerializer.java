@@ -1,16 +1,28 @@
 package org.caotc.unit4j.support.jackson;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
+import java.util.OptionalInt;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
 import org.caotc.unit4j.core.unit.Unit;
 import org.caotc.unit4j.support.UnitCodecConfig;
+import org.caotc.unit4j.support.UnitDictionary;
 
 /**
- * {@link org.caotc.unit4j.core.unit.Unit}在jackson的序列化器
+ * {@link org.caotc.unit4j.core.unit.Unit}在jackson的序列化器.单位别名编码后缓存,重复写出时不再查找和转义别名,
+ * 运行时组合的单位数量没有上限,缓存数量有上限.开启紧凑编码时,在二进制数据格式中写出{@link UnitDictionary}中的编号,
+ * 字典由已持久化的单位id恢复,通信双方使用相同的单位id时编号一致
  *
  * @author caotc
  * @date 2019-04-24
@@ -19,20 +31,84 @@ import org.caotc.unit4j.support.UnitCodecConfig;
 @Value
 public class UnitSerializer extends StdSerializer<Unit> {
 
+  /**
+   * 编码后别名缓存的最大数量
+   */
+  public static final long SERIALIZED_ALIAS_CACHE_MAXIMUM_SIZE = 1024;
+
   /**
    * {@link org.caotc.unit4j.core.unit.Unit}的序列化反序列化配置
    */
   @NonNull
   UnitCodecConfig unitCodecConfig;
+  /**
+   * 二进制数据格式中是否写出单位字典中的编号
+   */
+  boolean binaryCompact;
+  /**
+   * 单位与编码后别名的缓存
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  Cache<Unit, SerializableString> serializedAliases = CacheBuilder.newBuilder()
+      .maximumSize(SERIALIZED_ALIAS_CACHE_MAXIMUM_SIZE).build();
 
   public UnitSerializer(@NonNull UnitCodecConfig unitCodecConfig) {
+    this(unitCodecConfig, false);
+  }
+
+  public UnitSerializer(@NonNull UnitCodecConfig unitCodecConfig, boolean binaryCompact) {
     super(Unit.class);
     this.unitCodecConfig = unitCodecConfig;
+    this.binaryCompact = binaryCompact;
   }
 
   @Override
   public void serialize(Unit value, JsonGenerator gen, SerializerProvider provider)
       throws IOException {
-    gen.writeString(unitCodecConfig.serialize(value));
+    write(value, gen);
+  }
+
+  /**
+   * 写出单位,不依赖{@link SerializerProvider}
+   *
+   * @param value 单位
+   * @param gen json生成器
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public void write(@NonNull Unit value, @NonNull JsonGenerator gen) throws IOException {
+    if (binaryCompact && gen.canWriteBinaryNatively()) {
+      OptionalInt id = unitCodecConfig.unitDictionary().id(value);
+      //不在字典中的单位仍然写出别名
+      if (id.isPresent()) {
+        gen.writeNumber(id.getAsInt());
+        return;
+      }
+    }
+    gen.writeString(serializedAlias(value));
+  }
+
+  /**
+   * 获取单位编码后的别名
+   *
+   * @param unit 单位
+   * @return 编码后的别名
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public SerializableString serializedAlias(@NonNull Unit unit) {
+    SerializableString serializedAlias = serializedAliases.getIfPresent(unit);
+    if (serializedAlias == null) {
+      serializedAlias = new SerializedString(unitCodecConfig.serialize(unit));
+      serializedAliases.put(unit, serializedAlias);
+    }
+    return serializedAlias;
   }
 }
@@ -0,0 +1,143 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import lombok.Data;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.CollectionCodecStrategy;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class AmountCollectionSerializerTest {
+
+  AmountListField field = AmountListField.create(ImmutableList
+      .of(Amount.create(1500, UnitConstant.SECOND), Amount.create(1, UnitConstant.HOUR),
+          Amount.create(30, UnitConstant.MINUTE)));
+
+  @Test
+  void serializeElement() throws Exception {
+    String json = mapper(CollectionCodecStrategy.ELEMENT).writeValueAsString(field);
+    log.info("element:{}", json);
+    Assertions.assertEquals("{\"amounts\":[1500,1,30]}", json);
+  }
+
+  @Test
+  void serializeSharedUnit() throws Exception {
+    String json = mapper(CollectionCodecStrategy.SHARED_UNIT).writeValueAsString(field);
+    log.info("sharedUnit:{}", json);
+    Assertions.assertEquals("{\"amounts\":[25,60,30]}", json);
+  }
+
+  @Test
+  void serializeColumnar() throws Exception {
+    String json = mapper(CollectionCodecStrategy.COLUMNAR).writeValueAsString(field);
+    log.info("columnar:{}", json);
+    Assertions.assertEquals("{\"amounts\":{\"unit\":\"MINUTE\",\"values\":[25,60,30]}}", json);
+  }
+
+  @Test
+  void serializeColumnarEmptyAndNull() throws Exception {
+    ObjectMapper mapper = mapper(CollectionCodecStrategy.COLUMNAR);
+    //空集合和含有null元素的集合与其他集合输出相同的结构
+    Assertions.assertEquals("{\"amounts\":{\"unit\":null,\"values\":[]}}",
+        mapper.writeValueAsString(AmountListField.create(ImmutableList.of())));
+    String json = mapper.writeValueAsString(AmountListField.create(Arrays.asList(
+        Amount.create(30, UnitConstant.MINUTE), null, Amount.create(1, UnitConstant.HOUR))));
+    log.info("columnar with null:{}", json);
+    Assertions.assertEquals("{\"amounts\":{\"unit\":\"MINUTE\",\"values\":[30,null,60]}}",
+        json);
+  }
+
+  @Test
+  void serializeColumnarMixedUnitType() {
+    Assertions.assertThrows(JsonMappingException.class,
+        () -> mapper(CollectionCodecStrategy.COLUMNAR).writeValueAsString(AmountListField.create(
+            ImmutableList.of(Amount.create(1, UnitConstant.SECOND),
+                Amount.create(1, UnitConstant.METER)))));
+  }
+
+  @Test
+  void serializeColumnarAnnotation() throws Exception {
+    String json = mapper(CollectionCodecStrategy.COLUMNAR)
+        .writeValueAsString(AnnotationAmountListField.create(field.getAmounts()));
+    log.info("columnar annotation:{}", json);
+    Assertions.assertEquals("{\"amounts\":{\"unit\":\"SECOND\",\"values\":[1500,3600,1800]}}",
+        json);
+  }
+
+  @Test
+  void deserializeColumnar() throws Exception {
+    ObjectMapper mapper = mapper(CollectionCodecStrategy.COLUMNAR);
+    AmountListBean bean = mapper.readValue(mapper.writeValueAsString(field), AmountListBean.class);
+    log.info("bean:{}", bean);
+    assertAmountsEquals(ImmutableList.of(Amount.create(25, UnitConstant.MINUTE),
+        Amount.create(60, UnitConstant.MINUTE), Amount.create(30, UnitConstant.MINUTE)),
+        bean.getAmounts());
+    bean = mapper.readValue("{\"amounts\":{\"unit\":\"HOUR\",\"values\":[1,null]},"
+        + "\"amountSet\":{\"unit\":null,\"values\":[]}}", AmountListBean.class);
+    assertAmountsEquals(Arrays.asList(Amount.create(1, UnitConstant.HOUR), null),
+        bean.getAmounts());
+    Assertions.assertEquals(Collections.emptySet(), bean.getAmountSet());
+    //兼容按元素输出的数组
+    bean = mapper.readValue("{\"amounts\":[null]}", AmountListBean.class);
+    assertAmountsEquals(Collections.singletonList(null), bean.getAmounts());
+  }
+
+  static void assertAmountsEquals(List<Amount> expected, List<Amount> actual) {
+    Assertions.assertEquals(expected.size(), actual.size(), () -> actual.toString());
+    for (int i = 0; i < expected.size(); i++) {
+      if (expected.get(i) == null) {
+        Assertions.assertNull(actual.get(i));
+        continue;
+      }
+      Assertions.assertEquals(expected.get(i).unit(), actual.get(i).unit());
+      Assertions.assertEquals(0, expected.get(i).value().compareTo(actual.get(i).value()),
+          () -> actual.toString());
+    }
+  }
+
+  ObjectMapper mapper(CollectionCodecStrategy collectionStrategy) {
+    ObjectMapper mapper = new ObjectMapper();
+    Unit4jModule.create(new Unit4jProperties().setCollectionStrategy(collectionStrategy))
+        .registerTo(mapper);
+    return mapper;
+  }
+
+  @Value(staticConstructor = "create")
+  @Accessors(fluent = false, chain = true)
+  static class AmountListField {
+
+    List<Amount> amounts;
+  }
+
+  @Value(staticConstructor = "create")
+  @Accessors(fluent = false, chain = true)
+  static class AnnotationAmountListField {
+
+    @AmountSerialize(targetUnitId = "SECOND", valueType = Long.class)
+    List<Amount> amounts;
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false)
+  static class AmountListBean {
+
+    List<Amount> amounts;
+
+    Set<Amount> amountSet;
+  }
+}
@@ -0,0 +1,140 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.collect.ImmutableList;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.Configuration;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.UnitDictionary;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class AmountDeserializerTest {
+
+  Unit4jProperties unit4jProperties = new Unit4jProperties();
+  Unit4jModule module = Unit4jModule.create(unit4jProperties);
+  ObjectMapper mapper = new ObjectMapper();
+
+  @BeforeEach
+  void init() {
+    module.registerTo(mapper);
+  }
+
+  @Test
+  void deserialize() throws Exception {
+    AmountDeserializeField field = mapper.readValue("{\"valueAmount\":2,"
+        + "\"objectAmount\":{\"value\":123.56,\"unit\":\"SECOND\",\"ignored\":[1,{}]},"
+        + "\"flatAmountValue\":\"1.5\",\"flatAmountUnit\":\"HOUR\","
+        + "\"unwrappedAmountValue\":3,\"unwrappedAmountUnit\":\"MINUTE\"}",
+        AmountDeserializeField.class);
+    log.info("field:{}", field);
+    assertAmountEquals(Amount.create(120, UnitConstant.SECOND), field.getValueAmount());
+    assertAmountEquals(Amount.create("123.56", UnitConstant.SECOND), field.getObjectAmount());
+    assertAmountEquals(Amount.create("1.5", UnitConstant.HOUR), field.getFlatAmount());
+    assertAmountEquals(Amount.create(3, UnitConstant.MINUTE), field.getUnwrappedAmount());
+  }
+
+  @Test
+  void deserializeValueWithoutUnit() {
+    Assertions.assertThrows(JsonMappingException.class, () -> mapper.readValue("123", Amount.class));
+  }
+
+  @Test
+  void deserializeUnknownUnit() {
+    Assertions.assertThrows(JsonMappingException.class, () -> mapper
+        .readValue("{\"objectAmount\":{\"value\":1,\"unit\":\"UNKNOWN\"}}",
+            AmountDeserializeField.class));
+  }
+
+  @Test
+  void deserializeMissingValue() {
+    Assertions.assertThrows(JsonMappingException.class, () -> mapper
+        .readValue("{\"objectAmount\":{\"amount\":1,\"unit\":\"SECOND\"}}",
+            AmountDeserializeField.class));
+    Assertions.assertThrows(JsonMappingException.class, () -> mapper
+        .readValue("{\"flatAmountUnit\":\"SECOND\"}", AmountDeserializeField.class));
+    Assertions.assertThrows(JsonMappingException.class, () -> mapper
+        .readValue("{\"unwrappedAmountUnit\":\"SECOND\"}", AmountDeserializeField.class));
+  }
+
+  @Test
+  void deserializeAbsentFlat() throws Exception {
+    AmountDeserializeField field = mapper.readValue("{\"flatAmountValue\":null,"
+        + "\"flatAmountUnit\":null}", AmountDeserializeField.class);
+    Assertions.assertNull(field.getFlatAmount());
+    Assertions.assertNull(field.getUnwrappedAmount());
+  }
+
+  @Test
+  void deserializeBinaryCompact() throws Exception {
+    UnitDictionary unitDictionary = UnitDictionary.create(Configuration.defaultInstance());
+    ObjectMapper binaryMapper = new ObjectMapper();
+    Unit4jModule.create(new Unit4jProperties().setStrategy(CodecStrategy.OBJECT)
+        .setBinaryCompact(true).setUnitDictionaryIds(unitDictionary.unitIds()))
+        .registerTo(binaryMapper);
+    for (Amount amount : ImmutableList.of(Amount.create(1500, UnitConstant.SECOND),
+        Amount.create("123.56", UnitConstant.HOUR))) {
+      //TokenBuffer与Smile,CBOR等二进制数据格式一样可以原生写出二进制数据
+      TokenBuffer buffer = new TokenBuffer(binaryMapper, false);
+      binaryMapper.writeValue(buffer, amount);
+      log.info("binary:{}", buffer);
+      try (JsonParser parser = buffer.asParser()) {
+        Assertions.assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        Assertions.assertEquals("value", parser.nextFieldName());
+        parser.nextToken();
+        Assertions.assertEquals(amount.value().bigDecimalValue().scale() <= 0
+            ? NumberType.LONG : NumberType.BIG_DECIMAL, parser.getNumberType());
+        Assertions.assertEquals("unit", parser.nextFieldName());
+        Assertions.assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        Assertions.assertEquals(amount.unit(), unitDictionary.unit(parser.getIntValue()));
+      }
+      assertAmountEquals(amount, binaryMapper.readValue(buffer.asParser(), Amount.class));
+    }
+    //文本格式仍然写出单位别名
+    Assertions.assertEquals("{\"value\":1500,\"unit\":\"SECOND\"}",
+        binaryMapper.writeValueAsString(Amount.create(1500, UnitConstant.SECOND)));
+    //没有通信双方共享的单位id时不能开启紧凑编码
+    Assertions.assertThrows(IllegalStateException.class, () -> new Unit4jProperties()
+        .setBinaryCompact(true).createAmountCodecConfig());
+  }
+
+  static void assertAmountEquals(Amount expected, Amount actual) {
+    Assertions.assertEquals(expected.unit(), actual.unit());
+    Assertions.assertEquals(0, expected.value().compareTo(actual.value()),
+        () -> expected + " not equals " + actual);
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false)
+  static class AmountDeserializeField {
+
+    @AmountDeserialize(strategy = CodecStrategy.VALUE, sourceUnitId = "MINUTE", targetUnitId = "SECOND")
+    Amount valueAmount;
+
+    @AmountDeserialize(strategy = CodecStrategy.OBJECT)
+    Amount objectAmount;
+
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    Amount flatAmount;
+
+    @JsonUnwrapped
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    Amount unwrappedAmount;
+  }
+}
@@ -0,0 +1,77 @@
+package org.caotc.unit4j.support.jackson;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyMetadata;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import lombok.extern.slf4j.Slf4j;
+import org.caotc.unit4j.core.Alias;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class Unit4jContextualSerializerTest {
+
+  Unit4jProperties unit4jProperties = new Unit4jProperties();
+  Unit4jContextualSerializer serializer = new Unit4jContextualSerializer(unit4jProperties);
+  ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  void createContextual() throws Exception {
+    BeanProperty objectProperty = property("annotationObjectAmount");
+    Object first = serializer.createContextual(mapper.getSerializerProvider(), objectProperty);
+    Object second = serializer
+        .createContextual(mapper.copy().getSerializerProvider(), property("annotationObjectAmount"));
+    log.debug("first:{},second:{}", first, second);
+    Assertions.assertSame(first, second);
+    Assertions.assertNotSame(first, serializer
+        .createContextual(mapper.getSerializerProvider(), property("annotationFlatAmount")));
+    //没有注解的属性使用带属性名称的配置,与反序列化相同
+    AmountSerializer noAnnotation = (AmountSerializer) serializer
+        .createContextual(mapper.getSerializerProvider(), property("noAnnotationAmount"));
+    Assertions.assertSame(unit4jProperties
+            .createAmountCodecConfig("noAnnotationAmount", (AmountSerialize) null),
+        noAnnotation.amountCodecConfig());
+  }
+
+  @Test
+  void createContextualAfterModified() throws Exception {
+    AmountSerializer first = (AmountSerializer) serializer
+        .createContextual(mapper.getSerializerProvider(), property("annotationObjectAmount"));
+    AmountSerializer noAnnotation = (AmountSerializer) serializer
+        .createContextual(mapper.getSerializerProvider(), property("noAnnotationAmount"));
+    AmountSerializer root = serializer.amountSerializer();
+    Assertions.assertSame(root, serializer.createContextual(mapper.getSerializerProvider(), null));
+    unit4jProperties.setUnitAliasType(Alias.Type.SYMBOL);
+    AmountSerializer second = (AmountSerializer) serializer
+        .createContextual(mapper.getSerializerProvider(), property("annotationObjectAmount"));
+    log.debug("first:{},second:{}", first, second);
+    //属性修改后不再使用旧版本的序列化器
+    Assertions.assertNotSame(first, second);
+    Assertions
+        .assertEquals(Alias.Type.ENGLISH_NAME, first.unitSerializer().unitCodecConfig().type());
+    Assertions.assertEquals(Alias.Type.SYMBOL, second.unitSerializer().unitCodecConfig().type());
+    //没有注解的属性与单独的Amount对象同样使用新版本的序列化器
+    Assertions.assertEquals(Alias.Type.SYMBOL, ((AmountSerializer) serializer
+        .createContextual(mapper.getSerializerProvider(), property("noAnnotationAmount")))
+        .unitSerializer().unitCodecConfig().type());
+    Assertions.assertNotSame(noAnnotation, serializer
+        .createContextual(mapper.getSerializerProvider(), property("noAnnotationAmount")));
+    AmountSerializer modifiedRoot = (AmountSerializer) serializer
+        .createContextual(mapper.getSerializerProvider(), null);
+    Assertions.assertNotSame(root, modifiedRoot);
+    Assertions.assertEquals(Alias.Type.SYMBOL, modifiedRoot.unitSerializer().unitCodecConfig()
+        .type());
+  }
+
+  BeanProperty property(String name) {
+    BeanPropertyDefinition definition = mapper.getSerializationConfig()
+        .introspect(mapper.constructType(AmountField.class)).findProperties().stream()
+        .filter(property -> property.getName().equals(name)).findAny().get();
+    return new BeanProperty.Std(PropertyName.construct(name), definition.getPrimaryType(), null,
+        definition.getAccessor(), PropertyMetadata.STD_OPTIONAL);
+  }
+}
@@ -1,10 +1,19 @@
 package org.caotc.unit4j.support.jackson;
 
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.caotc.unit4j.core.Amount;
 import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.CodecStrategy;
 import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -24,7 +33,119 @@ class Unit4jModuleTest {
 
   @Test
   void serialize() throws Exception {
-    log.info("amount:{}", mapper.writeValueAsString(amount));
-    log.info("amountFieldTest:{}", mapper.writeValueAsString(amountFieldTest));
+    String amountJson = mapper.writeValueAsString(amount);
+    log.info("amount:{}", amountJson);
+    Assertions.assertEquals("123.56", amountJson);
+    String amountFieldJson = mapper.writeValueAsString(amountFieldTest);
+    log.info("amountFieldTest:{}", amountFieldJson);
+    Assertions.assertEquals("{\"noAnnotationAmount\":123.56,\"annotationValueAmount\":123.56,"
+            + "\"annotationObjectAmount\":{\"value\":124,\"unit\":\"SECOND\"},"
+            + "\"annotationFlatAmountValue\":\"123.56\",\"annotationFlatAmountUnit\":\"SECOND\"}",
+        amountFieldJson);
   }
-}
\ No newline at end of file
+
+  @Test
+  void serializeUnwrapped() throws Exception {
+    String json = mapper.writeValueAsString(UnwrappedAmountField.create(amount));
+    log.info("unwrappedAmountField:{}", json);
+    Assertions.assertEquals(
+        "{\"amountValue\":\"123.56\",\"amountUnit\":\"SECOND\",\"name\":\"unwrapped\"}", json);
+  }
+
+  @Test
+  void flatRoundTrip() throws Exception {
+    FlatAmountField field = new FlatAmountField().setFlatAmount(amount)
+        .setMinuteAmount(Amount.create(90, UnitConstant.SECOND));
+    String json = mapper.writeValueAsString(field);
+    log.info("flatAmountField:{}", json);
+    Assertions.assertEquals("{\"name\":\"flat\",\"flatAmountValue\":123.56,"
+        + "\"flatAmountUnit\":\"SECOND\",\"minuteAmountValue\":1.5,"
+        + "\"minuteAmountUnit\":\"MINUTE\",\"nullAmountValue\":null,"
+        + "\"nullAmountUnit\":null}", json);
+    FlatAmountField deserialized = mapper.readValue(json, FlatAmountField.class);
+    log.info("deserialized:{}", deserialized);
+    Assertions.assertEquals("flat", deserialized.getName());
+    AmountDeserializerTest.assertAmountEquals(amount, deserialized.getFlatAmount());
+    AmountDeserializerTest.assertAmountEquals(Amount.create("1.5", UnitConstant.MINUTE),
+        deserialized.getMinuteAmount());
+    Assertions.assertNull(deserialized.getNullAmount());
+    Assertions.assertEquals(json, mapper.writeValueAsString(deserialized));
+  }
+
+  @Test
+  void fieldStrategyRoundTrip() throws Exception {
+    ObjectMapper objectMapper = new ObjectMapper();
+    Unit4jModule.create(new Unit4jProperties().setFieldStrategy(CodecStrategy.OBJECT))
+        .registerTo(objectMapper);
+    TwoAmountField field = new TwoAmountField().setWeight(Amount.create(5, UnitConstant.SECOND))
+        .setHeight(Amount.create(7, UnitConstant.SECOND));
+    String json = objectMapper.writeValueAsString(field);
+    log.info("twoAmountField:{}", json);
+    //没有注解的属性在序列化与反序列化时都使用fieldStrategy
+    Assertions.assertEquals("{\"weight\":{\"value\":5,\"unit\":\"SECOND\"},"
+        + "\"height\":{\"value\":7,\"unit\":\"SECOND\"}}", json);
+    TwoAmountField deserialized = objectMapper.readValue(json, TwoAmountField.class);
+    AmountDeserializerTest.assertAmountEquals(field.getWeight(), deserialized.getWeight());
+    AmountDeserializerTest.assertAmountEquals(field.getHeight(), deserialized.getHeight());
+  }
+
+  @Test
+  void unannotatedFlatRoundTrip() throws Exception {
+    ObjectMapper objectMapper = new ObjectMapper();
+    Unit4jModule.create(new Unit4jProperties().setStrategy(CodecStrategy.FLAT)
+        .setFieldStrategy(CodecStrategy.FLAT)).registerTo(objectMapper);
+    TwoAmountField field = new TwoAmountField().setWeight(Amount.create(5, UnitConstant.SECOND))
+        .setHeight(Amount.create(7, UnitConstant.SECOND));
+    String json = objectMapper.writeValueAsString(field);
+    log.info("flat twoAmountField:{}", json);
+    //没有注解的属性使用带属性名称前缀的数值与单位属性,不会重复
+    Assertions.assertEquals("{\"weightValue\":5,\"weightUnit\":\"SECOND\","
+        + "\"heightValue\":7,\"heightUnit\":\"SECOND\"}", json);
+    TwoAmountField deserialized = objectMapper.readValue(json, TwoAmountField.class);
+    AmountDeserializerTest.assertAmountEquals(field.getWeight(), deserialized.getWeight());
+    AmountDeserializerTest.assertAmountEquals(field.getHeight(), deserialized.getHeight());
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false, chain = true)
+  static class FlatAmountField {
+
+    String name = "flat";
+
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    Amount flatAmount;
+
+    @AmountSerialize(strategy = CodecStrategy.FLAT, targetUnitId = "MINUTE")
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    Amount minuteAmount;
+
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    @AmountDeserialize(strategy = CodecStrategy.FLAT)
+    Amount nullAmount;
+  }
+
+  @Value(staticConstructor = "create")
+  @Accessors(fluent = false, chain = true)
+  static class UnwrappedAmountField {
+
+    @JsonUnwrapped
+    @AmountSerialize(strategy = CodecStrategy.FLAT, valueType = String.class)
+    Amount amount;
+
+    public String getName() {
+      return "unwrapped";
+    }
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false, chain = true)
+  static class TwoAmountField {
+
+    Amount weight;
+
+    Amount height;
+  }
+}
@@ -0,0 +1,56 @@
+package org.caotc.unit4j.support.mybatis;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.UnknownTypeHandler;
+import org.caotc.unit4j.core.Amount;
+
+/**
+ * 与{@link Amount}列比较的条件参数的类型处理器.参数为{@link Amount}时转换到列的存储单位后写入数值,
+ * 其余参数按实际类型写入.由{@link AmountSqlRewriter}为声明类型未知的条件参数创建,
+ * 读取结果或存储过程输出参数时与声明类型未知的参数相同,按实际类型读取
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountSqlRewriter
+ * @since 1.0.0
+ */
+@Value
+class AmountPredicateTypeHandler extends BaseTypeHandler<Object> {
+
+  @NonNull
+  AmountTypeHandler amountTypeHandler;
+  @NonNull
+  UnknownTypeHandler unknownTypeHandler;
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, Object parameter,
+      JdbcType jdbcType) throws SQLException {
+    if (parameter instanceof Amount) {
+      amountTypeHandler.setNonNullParameter(ps, i, (Amount) parameter, jdbcType);
+    } else {
+      unknownTypeHandler.setNonNullParameter(ps, i, parameter, jdbcType);
+    }
+  }
+
+  @Override
+  public Object getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    return unknownTypeHandler.getNullableResult(rs, columnName);
+  }
+
+  @Override
+  public Object getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    return unknownTypeHandler.getNullableResult(rs, columnIndex);
+  }
+
+  @Override
+  public Object getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    return unknownTypeHandler.getNullableResult(cs, columnIndex);
+  }
+}
@@ -0,0 +1,1038 @@
+package org.caotc.unit4j.support.mybatis;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitor;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.MultiExpressionList;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectVisitor;
+import net.sf.jsqlparser.statement.update.Update;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.reflection.MetaClass;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.scripting.defaults.RawSqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.UnknownTypeHandler;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.common.base.CaseFormat;
+import org.caotc.unit4j.core.constant.StringConstant;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.core.exception.NeverHappenException;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.AmountWriter;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.mybatis.SqlRewrite.AmountBinding;
+import org.caotc.unit4j.support.mybatis.sql.visitor.ColumnParameterExpressionVisitor;
+import org.caotc.unit4j.support.mybatis.sql.visitor.FlatNormalizeSelectVisitor;
+import org.caotc.unit4j.support.mybatis.sql.visitor.FlatSelectVisitor;
+import org.caotc.unit4j.support.mybatis.sql.visitor.JdbcParameterExpressionVisitor;
+import org.caotc.unit4j.support.mybatis.sql.visitor.RecursionExpressionVisitor;
+import org.caotc.unit4j.support.mybatis.sql.visitor.WhereSelectVisitor;
+import org.caotc.unit4j.support.plan.AmountCodecPlans;
+import org.caotc.unit4j.support.plan.AmountPropertyPlan;
+
+/**
+ * {@link Amount}的sql改写器.配置加载完成后调用{@link #rewrite(Configuration)},将语句的{@link SqlSource}替换为
+ * {@link AmountSqlSource},并为结果类型中的{@link Amount}属性增加结果映射.查询与更新条件中与{@link Amount}列比较的参数
+ * 在java中转换到列的存储单位.sql结构只在加载时改写一次,执行时只绑定参数值.
+ * 未调用时{@link AmountInterceptor}在语句首次执行时改写语句的副本,运行中不修改共享的原语句
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountSqlSource
+ * @see AmountInterceptor
+ * @since 1.0.0
+ */
+@Value
+@Slf4j
+public class AmountSqlRewriter {
+
+  /**
+   * 改写sql结构时使用的占位数量,只用于驱动{@link CodecStrategy}得到写出的参数,值不会被使用
+   */
+  private static final Amount PLACEHOLDER_AMOUNT = Amount.create(0, UnitConstant.NON);
+  /**
+   * 将{@link Amount}写出为sql参数的写出器,只改写sql结构与参数映射,不绑定值
+   */
+  private static final AmountWriter<SqlParamContext> SQL_PARAM_WRITER = new AmountWriter<SqlParamContext>() {
+
+    /**
+     * 只有 {@link CodecStrategy#OBJECT}才会调用,DB序列化暂时不支持此策略
+     */
+    @Override
+    public void startObject(SqlParamContext context) {
+      throw new IllegalArgumentException("database strategy can't use " + CodecStrategy.OBJECT);
+    }
+
+    @Override
+    public void endObject(SqlParamContext context) {
+      throw new IllegalArgumentException("database strategy can't use " + CodecStrategy.OBJECT);
+    }
+
+    @Override
+    public void field(SqlParamContext context, @NonNull String name) {
+      context.fieldName = name;
+    }
+
+    @Override
+    public void value(SqlParamContext context, @NonNull AbstractNumber value) {
+      context.write(context.amountCodecConfig.valueCodecConfig().valueType());
+    }
+
+    @Override
+    public void unit(SqlParamContext context, @NonNull Unit unit) {
+      context.write(context.amountCodecConfig.unitColumnCode() ? Short.class : String.class);
+    }
+
+    @Override
+    public void removeOriginal(SqlParamContext context) {
+      context.removeOriginal();
+    }
+  };
+
+  @NonNull
+  Unit4jProperties unit4jProperties;
+  /**
+   * 已处理的语句与改写后的语句,不需要改写的语句对应其本身.改写结果引用原语句,弱引用键无法被回收,
+   * 因此与配置中的语句一样强引用,属性版本不一致时重新改写
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Cache<MappedStatement, RewrittenStatement> mappedStatements = CacheBuilder.newBuilder()
+      .build();
+  /**
+   * 已处理的查询语句与只改写了结果映射的语句,不需要改写的语句对应其本身,属性版本不一致时重新改写
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Cache<MappedStatement, RewrittenStatement> resultMapStatements = CacheBuilder.newBuilder()
+      .build();
+
+  /**
+   * 使用默认属性创建改写器,数据库列名为下划线格式
+   *
+   * @return 改写器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static AmountSqlRewriter create() {
+    return new AmountSqlRewriter(new Unit4jProperties()
+        .setFieldNameSplitter(CaseFormat.LOWER_UNDERSCORE::split)
+        .setFieldNameJoiner((valueFieldNameWords, objectFieldNameWords) -> CaseFormat.LOWER_UNDERSCORE
+            .join(Stream.concat(objectFieldNameWords.stream(), valueFieldNameWords.stream()))));
+  }
+
+  /**
+   * 改写配置中的所有语句,将改写后的{@link SqlSource}与结果映射设置到原语句.
+   * 必须在所有映射加载完成后,语句被执行之前调用,运行中共享的语句由{@link #mappedStatement}生成副本
+   *
+   * @param configuration 配置
+   * @return 传入的配置
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public Configuration rewrite(@NonNull Configuration configuration) {
+    //同一个语句以全名和短名注册了两次,短名冲突时的值不是MappedStatement
+    Set<MappedStatement> mappedStatements = Sets.newIdentityHashSet();
+    for (Object mappedStatement : configuration.getMappedStatements()) {
+      if (mappedStatement instanceof MappedStatement) {
+        mappedStatements.add((MappedStatement) mappedStatement);
+      }
+    }
+    for (MappedStatement mappedStatement : mappedStatements) {
+      MappedStatement rewritten = mappedStatement(mappedStatement);
+      if (rewritten != mappedStatement) {
+        MetaObject metaObject = SystemMetaObject.forObject(mappedStatement);
+        metaObject.setValue("sqlSource", rewritten.getSqlSource());
+        metaObject.setValue("resultMaps", rewritten.getResultMaps());
+      }
+    }
+    return configuration;
+  }
+
+  /**
+   * 获取改写了{@link SqlSource}与结果映射的语句,首次调用时改写.改写后的语句是原语句的副本,
+   * 执行时不修改共享的原语句,同一个语句总是得到同一个副本
+   *
+   * @param mappedStatement 语句
+   * @return 改写后的语句,不需要改写时为传入的语句
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public MappedStatement mappedStatement(@NonNull MappedStatement mappedStatement) {
+    if (mappedStatement.getSqlSource() instanceof AmountSqlSource) {
+      return mappedStatement;
+    }
+    return cached(mappedStatements, mappedStatement, () -> {
+      List<ResultMap> resultMaps = rewriteResultMaps(mappedStatement);
+      Optional<AmountSqlSource> amountSqlSource = amountSqlSource(mappedStatement);
+      if (!amountSqlSource.isPresent() && resultMaps == mappedStatement.getResultMaps()) {
+        return mappedStatement;
+      }
+      return copy(mappedStatement,
+          amountSqlSource.<SqlSource>map(Function.identity())
+              .orElseGet(mappedStatement::getSqlSource), resultMaps);
+    });
+  }
+
+  /**
+   * 获取语句改写后的{@link SqlSource}
+   *
+   * @param mappedStatement 语句
+   * @return 改写后的{@link SqlSource},语句不需要改写时为空
+   * @author caotc
+   * @date 2019-07-24
+   * @see #mappedStatement(MappedStatement)
+   * @since 1.0.0
+   */
+  @NonNull
+  public Optional<AmountSqlSource> sqlSource(@NonNull MappedStatement mappedStatement) {
+    SqlSource sqlSource = mappedStatement(mappedStatement).getSqlSource();
+    return sqlSource instanceof AmountSqlSource ? Optional.of((AmountSqlSource) sqlSource)
+        : Optional.empty();
+  }
+
+  /**
+   * 获取只改写了结果映射的查询语句,sql中已查询数值列与单位列时,只改写结果映射就可以组装{@link Amount}.
+   * 改写后的语句是原语句的副本
+   *
+   * @param mappedStatement 语句
+   * @return 改写后的语句,不需要改写时为传入的语句
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public MappedStatement resultMaps(@NonNull MappedStatement mappedStatement) {
+    return cached(resultMapStatements, mappedStatement, () -> {
+      List<ResultMap> resultMaps = rewriteResultMaps(mappedStatement);
+      return resultMaps == mappedStatement.getResultMaps() ? mappedStatement
+          : copy(mappedStatement, mappedStatement.getSqlSource(), resultMaps);
+    });
+  }
+
+  /**
+   * 从缓存中获取语句,不存在或改写时的属性版本与当前版本不一致时改写
+   *
+   * @param cache 缓存
+   * @param mappedStatement 语句
+   * @param loader 改写语句
+   * @return 改写后的语句
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private MappedStatement cached(@NonNull Cache<MappedStatement, RewrittenStatement> cache,
+      @NonNull MappedStatement mappedStatement, @NonNull Callable<MappedStatement> loader) {
+    //先读取版本,改写过程中属性被修改时结果会被视为过期
+    long propertiesVersion = unit4jProperties.getVersion();
+    RewrittenStatement rewritten = cache.getIfPresent(mappedStatement);
+    if (rewritten != null && rewritten.propertiesVersion() != propertiesVersion) {
+      cache.asMap().remove(mappedStatement, rewritten);
+    }
+    try {
+      return cache.get(mappedStatement,
+          () -> RewrittenStatement.create(propertiesVersion, loader.call())).mappedStatement();
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * 复制语句并替换{@link SqlSource}与结果映射
+   *
+   * @param mappedStatement 语句
+   * @param sqlSource 新的{@link SqlSource}
+   * @param resultMaps 新的结果映射
+   * @return 语句的副本
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static MappedStatement copy(@NonNull MappedStatement mappedStatement,
+      @NonNull SqlSource sqlSource, @NonNull List<ResultMap> resultMaps) {
+    return new MappedStatement.Builder(mappedStatement.getConfiguration(),
+        mappedStatement.getId(), sqlSource, mappedStatement.getSqlCommandType())
+        .resource(mappedStatement.getResource())
+        .fetchSize(mappedStatement.getFetchSize())
+        .timeout(mappedStatement.getTimeout())
+        .statementType(mappedStatement.getStatementType())
+        .resultSetType(mappedStatement.getResultSetType())
+        .parameterMap(mappedStatement.getParameterMap())
+        .resultMaps(resultMaps)
+        .cache(mappedStatement.getCache())
+        .flushCacheRequired(mappedStatement.isFlushCacheRequired())
+        .useCache(mappedStatement.isUseCache())
+        .resultOrdered(mappedStatement.isResultOrdered())
+        .keyGenerator(mappedStatement.getKeyGenerator())
+        .keyProperty(delimited(mappedStatement.getKeyProperties()))
+        .keyColumn(delimited(mappedStatement.getKeyColumns()))
+        .databaseId(mappedStatement.getDatabaseId())
+        .lang(mappedStatement.getLang())
+        .resultSets(delimited(mappedStatement.getResultSets()))
+        .build();
+  }
+
+  private static String delimited(String[] values) {
+    return values == null ? null : String.join(StringConstant.HALF_WIDTH_COMMA, values);
+  }
+
+  /**
+   * 改写语句的sql
+   *
+   * @param mappedStatement 语句
+   * @return 改写后的{@link SqlSource},语句不需要改写时为空
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private Optional<AmountSqlSource> amountSqlSource(@NonNull MappedStatement mappedStatement) {
+    SqlCommandType sqlCommandType = mappedStatement.getSqlCommandType();
+    if (SqlCommandType.SELECT != sqlCommandType
+        && SqlCommandType.INSERT != sqlCommandType
+        && SqlCommandType.UPDATE != sqlCommandType) {
+      return Optional.empty();
+    }
+    //多个resultMap时为存储过程,不处理
+    if (SqlCommandType.SELECT == sqlCommandType && mappedStatement.getResultMaps().size() != 1) {
+      return Optional.empty();
+    }
+    SqlSource sqlSource = mappedStatement.getSqlSource();
+    if (!staticSql(mappedStatement)) {
+      return Optional.of(new AmountSqlSource(sqlSource, mappedStatement, this, false));
+    }
+    AmountSqlSource amountSqlSource = new AmountSqlSource(sqlSource, mappedStatement, this, true);
+    return amountSqlSource.staticSqlRewrite().isPresent() ? Optional.of(amountSqlSource)
+        : Optional.empty();
+  }
+
+  /**
+   * 语句是否是加载时就可以改写的静态sql.静态sql在参数类型确定时可以直接改写,查询语句的改写与参数无关
+   *
+   * @param mappedStatement 语句
+   * @return 是否是静态sql
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static boolean staticSql(@NonNull MappedStatement mappedStatement) {
+    SqlSource sqlSource = mappedStatement.getSqlSource();
+    return (sqlSource instanceof RawSqlSource || sqlSource instanceof StaticSqlSource)
+        && (beanParameterType(mappedStatement).isPresent()
+        || SqlCommandType.SELECT == mappedStatement.getSqlCommandType());
+  }
+
+  /**
+   * 改写静态sql
+   *
+   * @param mappedStatement 语句
+   * @param sqlSource 原{@link SqlSource}
+   * @return 改写结果,不需要改写或无法解析时为空
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  Optional<SqlRewrite> staticSqlRewrite(@NonNull MappedStatement mappedStatement,
+      @NonNull SqlSource sqlSource) {
+    Optional<Class<?>> parameterType = beanParameterType(mappedStatement);
+    BoundSql boundSql = sqlSource.getBoundSql(null);
+    return sqlRewrite(mappedStatement, boundSql.getSql(), boundSql.getParameterMappings(),
+        parameterType.orElse(null), property -> parameterType
+            .flatMap(type -> amountPropertyPlan(mappedStatement, type, property)));
+  }
+
+  /**
+   * 改写查询语句的结果映射
+   *
+   * @param mappedStatement 语句
+   * @return 改写后的结果映射,不需要改写时为原结果映射
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private List<ResultMap> rewriteResultMaps(@NonNull MappedStatement mappedStatement) {
+    if (SqlCommandType.SELECT != mappedStatement.getSqlCommandType()
+        || mappedStatement.getResultMaps().size() != 1) {
+      return mappedStatement.getResultMaps();
+    }
+    return rewriteResultMap(mappedStatement).<List<ResultMap>>map(Collections::singletonList)
+        .orElseGet(mappedStatement::getResultMaps);
+  }
+
+  /**
+   * 为结果类型中未映射的{@link Amount}属性增加结果映射.{@link CodecStrategy#VALUE}策略的属性以存储单位读取,
+   * {@link CodecStrategy#FLAT}策略的属性从数值列与单位列读取
+   *
+   * @param mappedStatement 查询语句
+   * @return 改写后的结果映射,不需要改写时为空
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private Optional<ResultMap> rewriteResultMap(@NonNull MappedStatement mappedStatement) {
+    Configuration configuration = mappedStatement.getConfiguration();
+    ResultMap resultMap = mappedStatement.getResultMaps().get(0);
+    List<ResultMapping> resultMappings = Lists.newArrayList(resultMap.getResultMappings());
+    codecConfigs(configuration, resultMap.getType()).forEach((property, amountCodecConfig) -> {
+      if (resultMap.getMappedProperties().contains(property)) {
+        return;
+      }
+      if (CodecStrategy.FLAT == amountCodecConfig.strategy()) {
+        resultMappings.add(new ResultMapping.Builder(configuration, property,
+            amountCodecConfig.outputValueName(), new FlatAmountTypeHandler(amountCodecConfig))
+            .javaType(Amount.class).build());
+      } else {
+        resultMappings.add(new ResultMapping.Builder(configuration, property,
+            column(configuration, property), AmountTypeHandler.create(amountCodecConfig))
+            .javaType(Amount.class).build());
+      }
+    });
+    if (resultMappings.size() == resultMap.getResultMappings().size()) {
+      return Optional.empty();
+    }
+    return Optional.of(new ResultMap.Builder(configuration, resultMap.getId(),
+        resultMap.getType(), resultMappings, resultMap.getAutoMapping())
+        .discriminator(resultMap.getDiscriminator()).build());
+  }
+
+  /**
+   * 解析并改写动态sql生成的sql
+   *
+   * @param mappedStatement 语句
+   * @param boundSql 原{@link SqlSource}生成的sql
+   * @return 改写结果,不需要改写或无法解析时为空
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  Optional<SqlRewrite> sqlRewrite(@NonNull MappedStatement mappedStatement,
+      @NonNull BoundSql boundSql) {
+    Class<?> parameterType = boundSql.getParameterObject() == null ? null
+        : boundSql.getParameterObject().getClass();
+    return sqlRewrite(mappedStatement, boundSql.getSql(), boundSql.getParameterMappings(),
+        parameterType, property -> amountPropertyPlan(mappedStatement, boundSql, property));
+  }
+
+  /**
+   * 解析并改写sql
+   *
+   * @param mappedStatement 语句
+   * @param sql sql
+   * @param parameterMappings 原参数映射
+   * @param parameterType 参数类型,更新语句以其中的{@link Amount}属性确定条件中的列,可以为null
+   * @param propertyPlanResolver 参数属性对应的{@link Amount}属性计划
+   * @return 改写结果,不需要改写或无法解析时为空
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private Optional<SqlRewrite> sqlRewrite(@NonNull MappedStatement mappedStatement,
+      @NonNull String sql, List<ParameterMapping> parameterMappings, Class<?> parameterType,
+      @NonNull Function<String, Optional<AmountPropertyPlan<?>>> propertyPlanResolver) {
+    Statement statement;
+    try {
+      statement = CCJSqlParserUtil.parse(sql);
+    } catch (JSQLParserException e) {
+      log.warn("can't parse sql of {}, skip amount rewrite", mappedStatement.getId(), e);
+      return Optional.empty();
+    }
+    ImmutableList<ParameterMapping> originalParameterMappings = Optional
+        .ofNullable(parameterMappings).map(ImmutableList::copyOf).orElseGet(ImmutableList::of);
+
+    if (SqlCommandType.SELECT == mappedStatement.getSqlCommandType()) {
+      ImmutableMap<String, AmountCodecConfig> amountCodecConfigs = codecConfigs(
+          mappedStatement.getConfiguration(), mappedStatement.getResultMaps().get(0).getType());
+      ImmutableList<AmountCodecConfig> flatAmountCodecConfigs = amountCodecConfigs.values()
+          .stream().filter(amountCodecConfig -> CodecStrategy.FLAT == amountCodecConfig.strategy())
+          .collect(ImmutableList.toImmutableList());
+      Select select = (Select) statement;
+      flatAmountCodecConfigs.forEach(amountCodecConfig -> select.getSelectBody()
+          .accept(flatSelectVisitor(amountCodecConfig)));
+      List<ParameterMapping> rewrittenParameterMappings = Lists
+          .newArrayList(originalParameterMappings);
+      boolean predicateRewritten = rewritePredicates(mappedStatement,
+          expressionVisitor -> select.getSelectBody()
+              .accept(new WhereSelectVisitor(expressionVisitor)), amountCodecConfigs,
+          originalParameterMappings, rewrittenParameterMappings);
+      if (flatAmountCodecConfigs.isEmpty() && !predicateRewritten) {
+        return Optional.empty();
+      }
+      return Optional.of(SqlRewrite.create(statement.toString(),
+          predicateRewritten ? parameterMappingSlots(originalParameterMappings,
+              rewrittenParameterMappings) : null,
+          ImmutableList.copyOf(rewrittenParameterMappings), ImmutableList.of()));
+    }
+
+    final List<Column> columns;
+    final List<List<Expression>> rows;
+    if (statement instanceof Insert) {
+      Insert insert = (Insert) statement;
+      columns = insert.getColumns();
+      if (insert.getItemsList() instanceof ExpressionList) {
+        rows = Collections
+            .singletonList(((ExpressionList) insert.getItemsList()).getExpressions());
+      } else if (insert.getItemsList() instanceof MultiExpressionList) {
+        rows = ((MultiExpressionList) insert.getItemsList()).getExprList().stream()
+            .map(ExpressionList::getExpressions).collect(Collectors.toList());
+      } else {
+        log.debug("insert items of {} are not supported, skip amount rewrite",
+            mappedStatement.getId());
+        return Optional.empty();
+      }
+    } else if (statement instanceof Update) {
+      Update update = (Update) statement;
+      columns = update.getColumns();
+      rows = Collections.singletonList(update.getExpressions());
+    } else {
+      return Optional.empty();
+    }
+    if (columns == null) {
+      return Optional.empty();
+    }
+
+    List<ParameterMapping> rewrittenParameterMappings = Lists
+        .newArrayList(originalParameterMappings);
+    ImmutableList.Builder<AmountBinding> amountBindings = ImmutableList.builder();
+    boolean rewritten = false;
+    for (SqlParam sqlParam : createSqlParams(originalParameterMappings, columns, rows)) {
+      //多行插入的每一行结构相同,以第一行的参数确定属性计划
+      Optional<AmountPropertyPlan<?>> propertyPlan = propertyPlanResolver
+          .apply(sqlParam.parameterMappings.get(0).getProperty());
+      if (!propertyPlan.isPresent()) {
+        continue;
+      }
+      AmountCodecConfig amountCodecConfig = unit4jProperties
+          .createAmountCodecConfig(sqlParam.column.getColumnName(),
+              propertyPlan.get().amountSerialize().orElse(null));
+      rewritten = true;
+      //VALUE策略只替换参数的类型处理器,不改写sql,执行时也不需要额外绑定参数
+      if (CodecStrategy.VALUE == amountCodecConfig.strategy()) {
+        AmountTypeHandler typeHandler = AmountTypeHandler.create(amountCodecConfig);
+        for (ParameterMapping parameterMapping : sqlParam.parameterMappings) {
+          rewrittenParameterMappings.set(rewrittenParameterMappings.indexOf(parameterMapping),
+              new ParameterMapping.Builder(mappedStatement.getConfiguration(),
+                  parameterMapping.getProperty(), typeHandler).javaType(Amount.class).build());
+        }
+        continue;
+      }
+      SqlParamContext context = new SqlParamContext(columns, rows, rewrittenParameterMappings,
+          sqlParam, mappedStatement.getConfiguration(), amountCodecConfig);
+      try {
+        amountCodecConfig.strategy()
+            .write(PLACEHOLDER_AMOUNT, amountCodecConfig, SQL_PARAM_WRITER, context);
+      } catch (IOException e) {
+        throw NeverHappenException.instance();
+      }
+      for (int row = 0; row < rows.size(); row++) {
+        amountBindings.add(AmountBinding.create(
+            sqlParam.parameterMappings.get(row).getProperty(), amountCodecConfig,
+            context.parameterNames.get(row).build()));
+      }
+    }
+    if (statement instanceof Update && parameterType != null) {
+      Expression where = ((Update) statement).getWhere();
+      rewritten |= where != null && rewritePredicates(mappedStatement, where::accept,
+          codecConfigs(mappedStatement.getConfiguration(), parameterType),
+          originalParameterMappings, rewrittenParameterMappings);
+    }
+    if (!rewritten) {
+      return Optional.empty();
+    }
+    return Optional.of(SqlRewrite.create(statement.toString(),
+        parameterMappingSlots(originalParameterMappings, rewrittenParameterMappings),
+        ImmutableList.copyOf(rewrittenParameterMappings), amountBindings.build()));
+  }
+
+  /**
+   * 改写与{@link Amount}列比较的条件参数的类型处理器.参数在java中一次转换到列的存储单位,
+   * 数据库直接比较列中的数值,可以使用列上的索引.{@link CodecStrategy#FLAT}策略的列只有配置了目标单位,
+   * 所有行以同一单位存储时才改写
+   *
+   * @param mappedStatement 语句
+   * @param where 以表达式访问器访问条件
+   * @param amountCodecConfigs 条件中的列所属类型的{@link Amount}属性配置
+   * @param originalParameterMappings 原参数映射
+   * @param rewrittenParameterMappings 改写后的参数映射
+   * @return 是否改写了参数映射
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static boolean rewritePredicates(@NonNull MappedStatement mappedStatement,
+      @NonNull Consumer<ExpressionVisitor> where,
+      @NonNull ImmutableMap<String, AmountCodecConfig> amountCodecConfigs,
+      @NonNull List<ParameterMapping> originalParameterMappings,
+      @NonNull List<ParameterMapping> rewrittenParameterMappings) {
+    Configuration configuration = mappedStatement.getConfiguration();
+    Map<String, AmountCodecConfig> columns = Maps.newTreeMap(String.CASE_INSENSITIVE_ORDER);
+    amountCodecConfigs.forEach((property, amountCodecConfig) -> {
+      if (CodecStrategy.FLAT == amountCodecConfig.strategy()) {
+        if (amountCodecConfig.targetUnit() != null) {
+          columns.putIfAbsent(amountCodecConfig.outputValueName(), amountCodecConfig);
+        }
+      } else if (amountCodecConfig.targetUnit() != null
+          || amountCodecConfig.sourceUnit() != null) {
+        columns.putIfAbsent(column(configuration, property), amountCodecConfig);
+      }
+    });
+    if (columns.isEmpty()) {
+      return false;
+    }
+    ColumnParameterExpressionVisitor columnParameterExpressionVisitor =
+        new ColumnParameterExpressionVisitor(columns.keySet());
+    where.accept(RecursionExpressionVisitor.create(columnParameterExpressionVisitor));
+    boolean rewritten = false;
+    for (Map.Entry<Integer, String> columnParameter : columnParameterExpressionVisitor
+        .columnParameters().entrySet()) {
+      //参数下标从1开始
+      int index = columnParameter.getKey() - 1;
+      if (index < 0 || index >= originalParameterMappings.size()) {
+        continue;
+      }
+      ParameterMapping parameterMapping = originalParameterMappings.get(index);
+      int rewrittenIndex = rewrittenParameterMappings.indexOf(parameterMapping);
+      Class<?> javaType = parameterMapping.getJavaType();
+      if (rewrittenIndex < 0
+          || !(Amount.class.equals(javaType) || Object.class.equals(javaType))) {
+        continue;
+      }
+      AmountTypeHandler typeHandler = AmountTypeHandler
+          .create(columns.get(columnParameter.getValue()));
+      //声明类型未知时参数不一定是Amount,其余参数按实际类型写入
+      rewrittenParameterMappings.set(rewrittenIndex, new ParameterMapping.Builder(configuration,
+          parameterMapping.getProperty(), Amount.class.equals(javaType) ? typeHandler
+          : new AmountPredicateTypeHandler(typeHandler, new UnknownTypeHandler(configuration)))
+          .javaType(javaType).jdbcType(parameterMapping.getJdbcType()).build());
+      rewritten = true;
+    }
+    return rewritten;
+  }
+
+  /**
+   * 获取{@link CodecStrategy#FLAT}策略的查询语句访问器.配置了目标单位或源单位时,使用数值列的表达式,聚合函数与排序
+   * 在数据库中换算到该单位后计算
+   *
+   * @param amountCodecConfig 序列化反序列化配置
+   * @return 查询语句访问器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static SelectVisitor flatSelectVisitor(@NonNull AmountCodecConfig amountCodecConfig) {
+    FlatSelectVisitor flatSelectVisitor = new FlatSelectVisitor(amountCodecConfig);
+    Unit unit = amountCodecConfig.targetUnit() != null ? amountCodecConfig.targetUnit()
+        : amountCodecConfig.sourceUnit();
+    if (unit == null) {
+      return flatSelectVisitor;
+    }
+    FlatAmountNormalizer flatAmountNormalizer = FlatAmountNormalizer
+        .create(amountCodecConfig, unit);
+    return new FlatNormalizeSelectVisitor(flatSelectVisitor,
+        ImmutableSortedSet.orderedBy(String.CASE_INSENSITIVE_ORDER)
+            .add(amountCodecConfig.outputName(), amountCodecConfig.outputValueName()).build(),
+        amountCodecConfig.outputValueName(), amountCodecConfig.outputUnitName(),
+        flatAmountNormalizer, flatAmountNormalizer.unitValue());
+  }
+
+  /**
+   * 获取改写后每个参数映射对应的原参数映射下标
+   *
+   * @param originalParameterMappings 原参数映射
+   * @param rewrittenParameterMappings 改写后的参数映射
+   * @return 原参数映射下标,新参数映射为-1
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static ImmutableList<Integer> parameterMappingSlots(
+      @NonNull List<ParameterMapping> originalParameterMappings,
+      @NonNull List<ParameterMapping> rewrittenParameterMappings) {
+    return rewrittenParameterMappings.stream().map(originalParameterMappings::indexOf)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * 获取{@link CodecStrategy#VALUE}策略的属性对应的列名
+   *
+   * @param configuration 配置
+   * @param property 属性名称
+   * @return 列名
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static String column(@NonNull Configuration configuration, @NonNull String property) {
+    return configuration.isMapUnderscoreToCamelCase()
+        ? CaseFormat.LOWER_UNDERSCORE.join(CaseFormat.LOWER_CAMEL.split(property)) : property;
+  }
+
+  /**
+   * 获取类型中可写{@link Amount}属性的配置
+   *
+   * @param configuration 配置
+   * @param type 结果类型
+   * @return 属性名称与序列化反序列化配置
+   * @throws IllegalArgumentException 如果有属性使用{@link CodecStrategy#OBJECT}策略
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private ImmutableMap<String, AmountCodecConfig> codecConfigs(
+      @NonNull Configuration configuration, @NonNull Class<?> type) {
+    if (configuration.getTypeHandlerRegistry().hasTypeHandler(type)
+        || Map.class.isAssignableFrom(type)) {
+      return ImmutableMap.of();
+    }
+    ImmutableMap.Builder<String, AmountCodecConfig> amountCodecConfigs = ImmutableMap.builder();
+    for (AmountPropertyPlan<?> propertyPlan : AmountCodecPlans.get(type).properties()) {
+      if (!propertyPlan.writable()) {
+        continue;
+      }
+      AmountCodecConfig amountCodecConfig = propertyPlan.codecConfig(unit4jProperties);
+      if (CodecStrategy.OBJECT == amountCodecConfig.strategy()) {
+        throw new IllegalArgumentException("database strategy can't use " + CodecStrategy.OBJECT);
+      }
+      amountCodecConfigs.put(propertyPlan.propertyName(), amountCodecConfig);
+    }
+    return amountCodecConfigs.build();
+  }
+
+  /**
+   * 获取语句声明的参数类型,只有不是单值与{@link Map}的类型才能在加载时确定属性
+   *
+   * @param mappedStatement 语句
+   * @return 参数类型
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static Optional<Class<?>> beanParameterType(@NonNull MappedStatement mappedStatement) {
+    Class<?> type = mappedStatement.getParameterMap() == null ? null
+        : mappedStatement.getParameterMap().getType();
+    if (type == null || Object.class.equals(type) || Map.class.isAssignableFrom(type)
+        || mappedStatement.getConfiguration().getTypeHandlerRegistry().hasTypeHandler(type)) {
+      return Optional.empty();
+    }
+    return Optional.of(type);
+  }
+
+  /**
+   * 根据参数类型获取参数对应的{@link Amount}属性计划
+   *
+   * @param mappedStatement 语句
+   * @param parameterType 参数类型
+   * @param property 参数映射中的属性名称
+   * @return 属性计划,参数不是{@link Amount}属性时为空
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static Optional<AmountPropertyPlan<?>> amountPropertyPlan(
+      @NonNull MappedStatement mappedStatement, @NonNull Class<?> parameterType,
+      @NonNull String property) {
+    int index = property.lastIndexOf(StringConstant.DOT);
+    Class<?> directParameterType = parameterType;
+    if (index >= 0) {
+      try {
+        directParameterType = MetaClass
+            .forClass(parameterType, mappedStatement.getConfiguration().getReflectorFactory())
+            .getGetterType(property.substring(0, index));
+      } catch (ReflectionException e) {
+        return Optional.empty();
+      }
+    }
+    return Optional.ofNullable(AmountCodecPlans.get(directParameterType)
+        .property(property.substring(index + 1)).orElse(null));
+  }
+
+  /**
+   * 根据参数对象获取参数对应的{@link Amount}属性计划,foreach等生成的附加参数优先
+   *
+   * @param mappedStatement 语句
+   * @param boundSql 原{@link SqlSource}生成的sql
+   * @param property 参数映射中的属性名称
+   * @return 属性计划,参数不是{@link Amount}属性时为空
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  private static Optional<AmountPropertyPlan<?>> amountPropertyPlan(
+      @NonNull MappedStatement mappedStatement, @NonNull BoundSql boundSql,
+      @NonNull String property) {
+    int index = property.lastIndexOf(StringConstant.DOT);
+    Object directParameterObject = boundSql.getParameterObject();
+    if (index >= 0) {
+      //获取复杂属性名的最后一层属性名之前的属性
+      String directProperty = property.substring(0, index);
+      directParameterObject = boundSql.hasAdditionalParameter(directProperty)
+          ? boundSql.getAdditionalParameter(directProperty)
+          : mappedStatement.getConfiguration().newMetaObject(directParameterObject)
+              .getValue(directProperty);
+    }
+    if (directParameterObject == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(AmountCodecPlans.get(directParameterObject.getClass())
+        .property(property.substring(index + 1)).orElse(null));
+  }
+
+  /**
+   * 按列对应的参数表达式为以参数赋值的列匹配每一行的参数映射,只匹配所有行都以参数赋值的列.
+   * 参数按解析时的下标对应参数映射,函数与运算等表达式中的参数不会使之后的列错位
+   *
+   * @param parameterMappings 参数映射
+   * @param columns 列
+   * @param rows 每一行与列一一对应的值表达式
+   * @return sql参数
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static ImmutableList<SqlParam> createSqlParams(
+      @NonNull List<ParameterMapping> parameterMappings, @NonNull List<Column> columns,
+      @NonNull List<List<Expression>> rows) {
+    List<ImmutableList.Builder<ParameterMapping>> columnParameterMappings = Lists
+        .newArrayListWithCapacity(columns.size());
+    boolean[] parameterized = new boolean[columns.size()];
+    for (int i = 0; i < columns.size(); i++) {
+      columnParameterMappings.add(ImmutableList.builder());
+      parameterized[i] = true;
+    }
+    int parameterCount = 0;
+    for (List<Expression> row : rows) {
+      for (int i = 0; i < row.size(); i++) {
+        Expression expression = row.get(i);
+        //参数下标从1开始,没有下标时按出现顺序计数
+        int parameterIndex = expression instanceof JdbcParameter
+            && ((JdbcParameter) expression).getIndex() != null
+            ? ((JdbcParameter) expression).getIndex() - 1 : parameterCount;
+        parameterCount += jdbcParameterCount(expression);
+        if (i >= columns.size()) {
+          continue;
+        }
+        if (!(expression instanceof JdbcParameter) || parameterIndex < 0
+            || parameterIndex >= parameterMappings.size()) {
+          parameterized[i] = false;
+          continue;
+        }
+        columnParameterMappings.get(i).add(parameterMappings.get(parameterIndex));
+      }
+    }
+    ImmutableList.Builder<SqlParam> sqlParams = ImmutableList.builder();
+    for (int i = 0; i < columns.size(); i++) {
+      if (parameterized[i] && !rows.isEmpty()) {
+        sqlParams.add(SqlParam.create(columns.get(i), columnParameterMappings.get(i).build()));
+      }
+    }
+    return sqlParams.build();
+  }
+
+  /**
+   * 获取表达式中的参数个数,包括函数与运算等表达式中的参数
+   *
+   * @param expression 表达式
+   * @return 参数个数
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static int jdbcParameterCount(@NonNull Expression expression) {
+    if (expression instanceof JdbcParameter) {
+      return 1;
+    }
+    JdbcParameterExpressionVisitor jdbcParameterExpressionVisitor =
+        new JdbcParameterExpressionVisitor();
+    expression.accept(RecursionExpressionVisitor.create(jdbcParameterExpressionVisitor));
+    return jdbcParameterExpressionVisitor.jdbcParameters().size();
+  }
+
+  /**
+   * 一个{@link Amount}列写出为sql参数时的上下文
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private static class SqlParamContext {
+
+    @NonNull
+    List<Column> columns;
+    @NonNull
+    List<List<Expression>> rows;
+    @NonNull
+    List<ParameterMapping> parameterMappings;
+    @NonNull
+    SqlParam sqlParam;
+    @NonNull
+    Configuration configuration;
+    @NonNull
+    AmountCodecConfig amountCodecConfig;
+    /**
+     * 每一行按写出顺序排列的绑定值的参数名称
+     */
+    List<ImmutableList.Builder<String>> parameterNames;
+    /**
+     * 待写出的属性名称
+     */
+    @NonFinal
+    String fieldName;
+
+    private SqlParamContext(@NonNull List<Column> columns, @NonNull List<List<Expression>> rows,
+        @NonNull List<ParameterMapping> parameterMappings, @NonNull SqlParam sqlParam,
+        @NonNull Configuration configuration, @NonNull AmountCodecConfig amountCodecConfig) {
+      this.columns = columns;
+      this.rows = rows;
+      this.parameterMappings = parameterMappings;
+      this.sqlParam = sqlParam;
+      this.configuration = configuration;
+      this.amountCodecConfig = amountCodecConfig;
+      this.parameterNames = Stream.generate(ImmutableList::<String>builder).limit(rows.size())
+          .collect(Collectors.toList());
+    }
+
+    /**
+     * 增加一列,每一行增加一个参数,新参数位于该行原有参数之后,之后行的参数与条件参数之前
+     *
+     * @param javaType 参数类型
+     */
+    private void write(@NonNull Class<?> javaType) {
+      Preconditions.checkState(fieldName != null, "field name must be written before value");
+      columns.add(new Column(fieldName));
+      int parameterCount = 0;
+      for (int row = 0; row < rows.size(); row++) {
+        List<Expression> expressions = rows.get(row);
+        expressions.add(new JdbcParameter());
+        parameterCount += expressions.stream().mapToInt(AmountSqlRewriter::jdbcParameterCount)
+            .sum();
+        //多行时参数名称加上行号区分
+        String parameterName = rows.size() == 1 ? fieldName
+            : fieldName + StringConstant.UNDERSCORE + row;
+        parameterMappings.add(parameterCount - 1,
+            new ParameterMapping.Builder(configuration, parameterName, javaType).build());
+        parameterNames.get(row).add(parameterName);
+      }
+      fieldName = null;
+    }
+
+    /**
+     * 删除原列与每一行的原参数
+     */
+    private void removeOriginal() {
+      int index = columns.indexOf(sqlParam.column);
+      columns.remove(index);
+      rows.forEach(expressions -> expressions.remove(index));
+      parameterMappings.removeAll(sqlParam.parameterMappings);
+    }
+  }
+
+  /**
+   * 以参数赋值的列与其每一行的参数映射
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @Value(staticConstructor = "create")
+  private static class SqlParam {
+
+    @NonNull
+    Column column;
+    @NonNull
+    ImmutableList<ParameterMapping> parameterMappings;
+  }
+
+  /**
+   * 语句的改写结果
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @Value(staticConstructor = "create")
+  private static class RewrittenStatement {
+
+    /**
+     * {@link Unit4jProperties}的版本
+     */
+    long propertiesVersion;
+    /**
+     * 改写后的语句,不需要改写时为原语句
+     */
+    @NonNull
+    MappedStatement mappedStatement;
+  }
+}
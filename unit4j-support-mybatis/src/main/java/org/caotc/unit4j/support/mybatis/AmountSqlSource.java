@@ -0,0 +1,219 @@
+package org.caotc.unit4j.support.mybatis;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.support.Unit4jProperties;
+
+/**
+ * 改写{@link Amount}参数的{@link SqlSource}.静态sql在创建时已改写完成,执行时只绑定参数值;
+ * 动态sql按生成的sql缓存改写结果,相同的sql只解析一次.两者的改写结果都与{@link Unit4jProperties}的版本对应,
+ * 属性修改后重新改写
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountSqlRewriter
+ * @since 1.0.0
+ */
+@Value
+public class AmountSqlSource implements SqlSource {
+
+  /**
+   * 动态sql改写结果缓存的默认最大数量
+   */
+  public static final long DEFAULT_SQL_REWRITE_CACHE_SIZE = 1024;
+  /**
+   * 标记{@link BoundSql}已改写的附加参数名称
+   */
+  private static final String REWRITTEN_PARAMETER_NAME = "_unit4j_rewritten";
+
+  /**
+   * 原{@link SqlSource}
+   */
+  @NonNull
+  SqlSource delegate;
+  @NonNull
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  MappedStatement mappedStatement;
+  @NonNull
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  AmountSqlRewriter amountSqlRewriter;
+  /**
+   * 是否是静态sql
+   */
+  boolean staticSql;
+  /**
+   * 静态sql的改写结果及对应的{@link Unit4jProperties}版本,动态sql时为null
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonFinal
+  volatile StaticSqlRewrite staticSqlRewrite;
+  /**
+   * 动态sql的改写结果缓存
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Cache<RewriteKey, Optional<SqlRewrite>> sqlRewrites = CacheBuilder.newBuilder()
+      .maximumSize(DEFAULT_SQL_REWRITE_CACHE_SIZE).build();
+
+  AmountSqlSource(@NonNull SqlSource delegate, @NonNull MappedStatement mappedStatement,
+      @NonNull AmountSqlRewriter amountSqlRewriter, boolean staticSql) {
+    this.delegate = delegate;
+    this.mappedStatement = mappedStatement;
+    this.amountSqlRewriter = amountSqlRewriter;
+    this.staticSql = staticSql;
+  }
+
+  @Override
+  public BoundSql getBoundSql(Object parameterObject) {
+    Optional<SqlRewrite> staticSqlRewrite = staticSqlRewrite();
+    if (staticSqlRewrite.isPresent()) {
+      SqlRewrite sqlRewrite = staticSqlRewrite.get();
+      BoundSql boundSql = new BoundSql(mappedStatement.getConfiguration(),
+          sqlRewrite.sql(), sqlRewrite.parameterMappings(), parameterObject);
+      sqlRewrite.bind(boundSql, mappedStatement.getConfiguration());
+      boundSql.setAdditionalParameter(REWRITTEN_PARAMETER_NAME, Boolean.TRUE);
+      return boundSql;
+    }
+    BoundSql boundSql = delegate.getBoundSql(parameterObject);
+    apply(boundSql);
+    return boundSql;
+  }
+
+  /**
+   * 获取静态sql当前{@link Unit4jProperties}版本的改写结果,版本变化时重新改写.
+   * 并发时可能重复改写,结果相同
+   *
+   * @return 改写结果,动态sql或不需要改写时为空
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  Optional<SqlRewrite> staticSqlRewrite() {
+    if (!staticSql) {
+      return Optional.empty();
+    }
+    long propertiesVersion = amountSqlRewriter.unit4jProperties().getVersion();
+    StaticSqlRewrite current = staticSqlRewrite;
+    if (current == null || current.propertiesVersion() != propertiesVersion) {
+      current = StaticSqlRewrite.create(propertiesVersion,
+          amountSqlRewriter.staticSqlRewrite(mappedStatement, delegate));
+      staticSqlRewrite = current;
+    }
+    return current.sqlRewrite();
+  }
+
+  /**
+   * 是否是已改写的{@link BoundSql}
+   *
+   * @param boundSql sql
+   * @return 是否已改写
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public boolean rewritten(@NonNull BoundSql boundSql) {
+    return boundSql.hasAdditionalParameter(REWRITTEN_PARAMETER_NAME);
+  }
+
+  /**
+   * 改写原{@link SqlSource}生成的{@link BoundSql},已改写的不会重复改写
+   *
+   * @param boundSql 原{@link SqlSource}生成的{@link BoundSql}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public void apply(@NonNull BoundSql boundSql) {
+    if (rewritten(boundSql)) {
+      return;
+    }
+    Optional<SqlRewrite> sqlRewrite = staticSql ? staticSqlRewrite()
+        : dynamicSqlRewrite(boundSql);
+    sqlRewrite.ifPresent(rewrite -> rewrite.apply(boundSql, mappedStatement.getConfiguration()));
+    boundSql.setAdditionalParameter(REWRITTEN_PARAMETER_NAME, Boolean.TRUE);
+  }
+
+  /**
+   * 获取动态sql的改写结果,相同的sql,参数类型与{@link Unit4jProperties}版本只改写一次
+   *
+   * @param boundSql 原{@link SqlSource}生成的{@link BoundSql}
+   * @return 改写结果,不需要改写时为空
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private Optional<SqlRewrite> dynamicSqlRewrite(@NonNull BoundSql boundSql) {
+    Object parameterObject = boundSql.getParameterObject();
+    RewriteKey key = RewriteKey.create(boundSql.getSql(),
+        parameterObject == null ? null : parameterObject.getClass(),
+        amountSqlRewriter.unit4jProperties().getVersion());
+    Optional<SqlRewrite> sqlRewrite = sqlRewrites.getIfPresent(key);
+    if (sqlRewrite == null) {
+      sqlRewrite = amountSqlRewriter.sqlRewrite(mappedStatement, boundSql);
+      sqlRewrites.put(key, sqlRewrite);
+    }
+    return sqlRewrite;
+  }
+
+  /**
+   * 静态sql的改写结果
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @Value(staticConstructor = "create")
+  private static class StaticSqlRewrite {
+
+    /**
+     * {@link Unit4jProperties}的版本
+     */
+    long propertiesVersion;
+    /**
+     * 改写结果,不需要改写时为空
+     */
+    @NonNull
+    Optional<SqlRewrite> sqlRewrite;
+  }
+
+  /**
+   * 动态sql改写结果缓存的键
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @Value(staticConstructor = "create")
+  private static class RewriteKey {
+
+    @NonNull
+    String sql;
+    /**
+     * 参数类型,决定了{@link Amount}参数的注解
+     */
+    Class<?> parameterType;
+    /**
+     * {@link Unit4jProperties}的版本
+     */
+    long propertiesVersion;
+  }
+}
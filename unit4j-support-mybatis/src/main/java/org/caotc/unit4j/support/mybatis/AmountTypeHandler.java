@@ -1,62 +1,192 @@
 package org.caotc.unit4j.support.mybatis;
 
+import com.google.common.collect.Maps;
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
-import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.type.BaseTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.MappedTypes;
 import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.Configuration;
 import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.core.convert.UnitConverter;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
 
 /**
- * 如果没有该TypeHandler,会导致mybatis解析{@link org.apache.ibatis.mapping.BoundSql}时直接报错,无法在{@link
- * Interceptor}中对sql进行操作
+ * {@link Amount}的类型处理器.写入时将数量转换到存储单位后以{@link PreparedStatement#setBigDecimal}或{@link
+ * PreparedStatement#setLong}写入数值,读取时以存储单位组装数量,没有小数部分的数值使用{@link
+ * org.caotc.unit4j.core.math.number.BigInteger}.各源单位到存储单位的转换器在首次使用时预编译.
+ * 无参构造的实例没有存储单位,按原单位写入数值,读取为{@link UnitConstant#NON}单位.
+ * 需要存储单位时使用{@link #create(AmountCodecConfig)},由{@link AmountSerialize#targetUnitId()}声明
  *
  * @author caotc
  * @date 2018-10-09
- * @implSpec
- * @implNote
+ * @see AmountSqlRewriter
  * @since 1.0.0
  **/
 @Value
 @MappedTypes(value = {Amount.class})
 public class AmountTypeHandler extends BaseTypeHandler<Amount> {
 
+  /**
+   * 存储单位,为null时不转换单位
+   */
+  Unit storageUnit;
+  /**
+   * 数据库中的数值类型,{@link Long}或{@code long}时使用{@link PreparedStatement#setLong},其余使用{@link
+   * PreparedStatement#setBigDecimal}
+   */
+  @NonNull
+  Class<?> valueType;
+  @NonNull
+  MathContext mathContext;
+  @NonNull
+  Configuration configuration;
+  /**
+   * 源单位与到存储单位的转换器
+   */
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  ConcurrentMap<Unit, UnitConverter> storageUnitConverters = Maps.newConcurrentMap();
+
+  public AmountTypeHandler() {
+    this(null, BigDecimal.class, Unit4jProperties.DEFAULT_MATH_CONTEXT,
+        Configuration.defaultInstance());
+  }
+
+  private AmountTypeHandler(Unit storageUnit, @NonNull Class<?> valueType,
+      @NonNull MathContext mathContext, @NonNull Configuration configuration) {
+    this.storageUnit = storageUnit;
+    this.valueType = valueType;
+    this.mathContext = mathContext;
+    this.configuration = configuration;
+  }
+
+  /**
+   * 工厂方法,存储单位为配置的目标单位,没有目标单位时为源单位
+   *
+   * @param amountCodecConfig 序列化反序列化配置
+   * @return 类型处理器
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static AmountTypeHandler create(@NonNull AmountCodecConfig amountCodecConfig) {
+    return new AmountTypeHandler(amountCodecConfig.targetUnit() != null
+        ? amountCodecConfig.targetUnit() : amountCodecConfig.sourceUnit(),
+        amountCodecConfig.valueCodecConfig().valueType(),
+        amountCodecConfig.valueCodecConfig().mathContext(), amountCodecConfig.configuration());
+  }
+
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Amount parameter,
-      JdbcType jdbcType)
-      throws SQLException {
-    if (Objects.isNull(jdbcType)) {
-      ps.setObject(i, parameter);
+      JdbcType jdbcType) throws SQLException {
+    AbstractNumber value = storageValue(parameter);
+    if (longValueType()) {
+      ps.setLong(i, value.value(Long.class, mathContext));
     } else {
-      ps.setObject(i, parameter, jdbcType.TYPE_CODE);
+      ps.setBigDecimal(i, value.value(BigDecimal.class, mathContext));
     }
   }
 
   @Override
-  public Amount getNullableResult(ResultSet rs, String columnName)
-      throws SQLException {
-    //TODO 取不到类型，没有注解支持，无法知道取出来的值的单位
-    return Amount.create(rs.getInt(columnName), UnitConstant.NON);
+  public Amount getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    if (longValueType()) {
+      long value = rs.getLong(columnName);
+      return rs.wasNull() ? null : Amount.create(value, resultUnit());
+    }
+    BigDecimal value = rs.getBigDecimal(columnName);
+    return value == null ? null : Amount.create(number(value), resultUnit());
   }
 
   @Override
-  public Amount getNullableResult(ResultSet rs, int columnIndex)
-      throws SQLException {
-    //TODO 取不到类型，没有注解支持，无法知道取出来的值的单位
-    return Amount.create(rs.getInt(columnIndex), UnitConstant.NON);
+  public Amount getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    if (longValueType()) {
+      long value = rs.getLong(columnIndex);
+      return rs.wasNull() ? null : Amount.create(value, resultUnit());
+    }
+    BigDecimal value = rs.getBigDecimal(columnIndex);
+    return value == null ? null : Amount.create(number(value), resultUnit());
   }
 
   @Override
-  public Amount getNullableResult(CallableStatement cs, int columnIndex)
-      throws SQLException {
-    //TODO 取不到类型，没有注解支持，无法知道取出来的值的单位
-    return Amount.create(cs.getInt(columnIndex), UnitConstant.NON);
+  public Amount getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    if (longValueType()) {
+      long value = cs.getLong(columnIndex);
+      return cs.wasNull() ? null : Amount.create(value, resultUnit());
+    }
+    BigDecimal value = cs.getBigDecimal(columnIndex);
+    return value == null ? null : Amount.create(number(value), resultUnit());
   }
 
+  /**
+   * 获取转换到存储单位后的数值
+   *
+   * @param amount 数量
+   * @return 存储单位的数值
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private AbstractNumber storageValue(@NonNull Amount amount) {
+    if (storageUnit == null || storageUnit.equals(amount.unit())) {
+      return amount.value();
+    }
+    return storageUnitConverters.computeIfAbsent(amount.unit(),
+        source -> UnitConverter.create(source, storageUnit, configuration))
+        .convert(amount.value());
+  }
+
+  private boolean longValueType() {
+    return longValueType(valueType);
+  }
+
+  /**
+   * 数据库中的数值类型是否是{@link Long}或{@code long}
+   *
+   * @param valueType 数值类型
+   * @return 是否使用{@link PreparedStatement#setLong}与{@link ResultSet#getLong}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  static boolean longValueType(@NonNull Class<?> valueType) {
+    return Long.class.equals(valueType) || long.class.equals(valueType);
+  }
+
+  /**
+   * 转换读取的数值,没有小数部分时使用开销更小的{@link org.caotc.unit4j.core.math.number.BigInteger}
+   *
+   * @param value 读取的数值
+   * @return 数值
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  static AbstractNumber number(@NonNull BigDecimal value) {
+    return value.scale() <= 0
+        ? org.caotc.unit4j.core.math.number.BigInteger.valueOf(value.toBigIntegerExact())
+        : org.caotc.unit4j.core.math.number.BigDecimal.valueOf(value);
+  }
+
+  @NonNull
+  private Unit resultUnit() {
+    return storageUnit == null ? UnitConstant.NON : storageUnit;
+  }
 }
@@ -0,0 +1,202 @@
+package org.caotc.unit4j.support.mybatis;
+
+import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.Value;
+import net.sf.jsqlparser.expression.CaseExpression;
+import net.sf.jsqlparser.expression.DoubleValue;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.expression.WhenClause;
+import net.sf.jsqlparser.expression.operators.arithmetic.Addition;
+import net.sf.jsqlparser.expression.operators.arithmetic.Division;
+import net.sf.jsqlparser.expression.operators.arithmetic.Multiplication;
+import net.sf.jsqlparser.schema.Column;
+import org.caotc.unit4j.core.Configuration;
+import org.caotc.unit4j.core.convert.UnitConvertConfig;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.math.number.BigInteger;
+import org.caotc.unit4j.core.math.number.Fraction;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CodecStrategy;
+
+/**
+ * {@link CodecStrategy#FLAT}策略的数值列换算表达式.按单位列的值选择配置中到统一单位的转换比例,生成{@code value *
+ * CASE unit WHEN ... THEN numerator END / CASE unit WHEN ... THEN denominator END}形式的表达式,
+ * 比例以分数表示,如1/60不会因为小数位数产生误差,数据库逐行换算后可以直接聚合与排序.分母都为1时不生成除法,
+ * 单位零点不同时先加上零点差值.单位列的值不在配置的单位组中时换算结果为null
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see org.caotc.unit4j.support.mybatis.sql.visitor.FlatNormalizeSelectVisitor
+ * @since 1.0.0
+ */
+@Value
+class FlatAmountNormalizer implements Function<Column, Expression> {
+
+  @NonNull
+  AmountCodecConfig amountCodecConfig;
+  /**
+   * 统一单位
+   */
+  @NonNull
+  Unit unit;
+  /**
+   * 单位列的值与到统一单位的转换比例的分子
+   */
+  @NonNull
+  ImmutableList<WhenClause> numerators;
+  /**
+   * 单位列的值与到统一单位的转换比例的分母,所有分母都为1时为空
+   */
+  @NonNull
+  ImmutableList<WhenClause> denominators;
+  /**
+   * 单位列的值与到统一单位的零点差值,所有单位零点相同时为空
+   */
+  @NonNull
+  ImmutableList<WhenClause> zeroDifferences;
+
+  /**
+   * 工厂方法,转换比例与零点差值由配置中与统一单位类型相同的单位生成
+   *
+   * @param amountCodecConfig 序列化反序列化配置
+   * @param unit 统一单位
+   * @return 换算表达式
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  static FlatAmountNormalizer create(@NonNull AmountCodecConfig amountCodecConfig,
+      @NonNull Unit unit) {
+    Configuration configuration = amountCodecConfig.configuration();
+    MathContext mathContext = amountCodecConfig.valueCodecConfig().mathContext();
+    ImmutableList.Builder<WhenClause> numerators = ImmutableList.builder();
+    ImmutableList.Builder<WhenClause> denominators = ImmutableList.builder();
+    ImmutableList.Builder<WhenClause> zeroDifferences = ImmutableList.builder();
+    boolean zeroPointSame = true;
+    boolean integral = true;
+    //按id排序,相同配置生成相同的sql
+    List<Unit> sources = configuration.groupedUnits().stream()
+        .filter(source -> source.type().equals(unit.type()))
+        .sorted(Comparator.comparing(Unit::id)).collect(ImmutableList.toImmutableList());
+    for (Unit source : sources) {
+      UnitConvertConfig unitConvertConfig;
+      Expression unitValue;
+      try {
+        unitConvertConfig = configuration.getConvertConfig(source, unit);
+        unitValue = unitValue(amountCodecConfig, source);
+      } catch (IllegalArgumentException e) {
+        continue;
+      }
+      Fraction ratio = unitConvertConfig.ratio().toFractionExact();
+      numerators.add(whenClause(unitValue, ratio.numerator(), mathContext));
+      denominators.add(whenClause(unitValue, ratio.denominator(), mathContext));
+      integral &= BigInteger.ONE.compareTo(ratio.denominator()) == 0;
+      zeroDifferences.add(whenClause(unitValue, unitConvertConfig.zeroDifference(), mathContext));
+      zeroPointSame &= unitConvertConfig.isZeroPointSame();
+    }
+    return new FlatAmountNormalizer(amountCodecConfig, unit, numerators.build(),
+        integral ? ImmutableList.of() : denominators.build(),
+        zeroPointSame ? ImmutableList.of() : zeroDifferences.build());
+  }
+
+  /**
+   * 获取单位在单位列中的值,单位列保存编号时为{@link org.caotc.unit4j.support.UnitDictionary}中的编号
+   *
+   * @param amountCodecConfig 序列化反序列化配置
+   * @param unit 单位
+   * @return 单位列中的值
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  static Expression unitValue(@NonNull AmountCodecConfig amountCodecConfig, @NonNull Unit unit) {
+    if (amountCodecConfig.unitColumnCode()) {
+      return new LongValue(
+          UnitTypeHandler.code(amountCodecConfig.unitCodecConfig().unitDictionary(), unit));
+    }
+    StringValue stringValue = new StringValue("''");
+    stringValue.setValue(amountCodecConfig.unitCodecConfig().serialize(unit).replace("'", "''"));
+    return stringValue;
+  }
+
+  /**
+   * 获取统一单位在单位列中的值
+   *
+   * @return 统一单位在单位列中的值
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  Expression unitValue() {
+    return unitValue(amountCodecConfig, unit);
+  }
+
+  @Override
+  public Expression apply(@NonNull Column column) {
+    Column valueColumn = new Column(column.getTable(), amountCodecConfig.outputValueName());
+    Column unitColumn = new Column(column.getTable(), amountCodecConfig.outputUnitName());
+    Expression value = valueColumn;
+    if (!zeroDifferences.isEmpty()) {
+      CaseExpression zeroDifference = caseExpression(unitColumn, zeroDifferences);
+      zeroDifference.setElseExpression(new LongValue(0));
+      Addition addition = new Addition();
+      addition.setLeftExpression(valueColumn);
+      addition.setRightExpression(zeroDifference);
+      value = new Parenthesis(addition);
+    }
+    Multiplication multiplication = new Multiplication();
+    multiplication.setLeftExpression(value);
+    multiplication.setRightExpression(caseExpression(unitColumn, numerators));
+    if (denominators.isEmpty()) {
+      return multiplication;
+    }
+    Division division = new Division();
+    division.setLeftExpression(multiplication);
+    division.setRightExpression(caseExpression(unitColumn, denominators));
+    return division;
+  }
+
+  @NonNull
+  private static CaseExpression caseExpression(@NonNull Column unitColumn,
+      @NonNull List<WhenClause> whenClauses) {
+    CaseExpression caseExpression = new CaseExpression();
+    caseExpression.setSwitchExpression(unitColumn);
+    caseExpression.setWhenClauses(whenClauses);
+    return caseExpression;
+  }
+
+  /**
+   * 创建单位列值对应换算系数的分支.系数总是写出为带小数点的小数字面量,整数数值列与系数运算时不会按整数除法截断
+   *
+   * @param unitValue 单位列中的值
+   * @param number 换算系数
+   * @param mathContext 数学运算的上下文
+   * @return 分支
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static WhenClause whenClause(@NonNull Expression unitValue,
+      @NonNull AbstractNumber number, @NonNull MathContext mathContext) {
+    BigDecimal value = number.value(BigDecimal.class, mathContext);
+    WhenClause whenClause = new WhenClause();
+    whenClause.setWhenExpression(unitValue);
+    whenClause.setThenExpression(
+        new DoubleValue((value.scale() > 0 ? value : value.setScale(1)).toPlainString()));
+    return whenClause;
+  }
+}
@@ -0,0 +1,174 @@
+package org.caotc.unit4j.support.mybatis;
+
+import com.google.common.collect.Maps;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentMap;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeException;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.convert.UnitConverter;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.math.number.BigInteger;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.UnitDictionary;
+
+/**
+ * {@link CodecStrategy#FLAT}策略的结果处理器.与{@link AmountTypeHandler}相同按配置的数值类型从数值列读取数值,
+ * 从同一行的单位列读取单位别名或单位字典编号,组装为{@link Amount}.
+ * 需要转换到目标单位时,各源单位的转换器在首次使用时预编译.由{@link AmountSqlRewriter}在改写结果映射时创建,
+ * 只用于读取结果,参数由{@link SqlRewrite}拆分为数值与单位两个参数写入.
+ * 每行读取时直接组装,{@link org.apache.ibatis.cursor.Cursor}与{@link
+ * org.apache.ibatis.session.ResultHandler}同样逐行转换
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountSqlRewriter
+ * @since 1.0.0
+ */
+@Value
+public class FlatAmountTypeHandler extends BaseTypeHandler<Amount> {
+
+  @NonNull
+  AmountCodecConfig amountCodecConfig;
+  /**
+   * 源单位与到目标单位的转换器
+   */
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  ConcurrentMap<Unit, UnitConverter> targetUnitConverters = Maps.newConcurrentMap();
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, Amount parameter,
+      JdbcType jdbcType) {
+    throw new TypeException(String.format(
+        "%s strategy parameter %s is bound as value and unit parameters by %s,"
+            + " intercept the statement with %s", CodecStrategy.FLAT, parameter,
+        SqlRewrite.class.getSimpleName(), AmountInterceptor.class.getSimpleName()));
+  }
+
+  @Override
+  public Amount getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    AbstractNumber value;
+    if (longValueType()) {
+      long longValue = rs.getLong(columnName);
+      value = rs.wasNull() ? null : BigInteger.valueOf(longValue);
+    } else {
+      BigDecimal bigDecimalValue = rs.getBigDecimal(columnName);
+      value = bigDecimalValue == null ? null : AmountTypeHandler.number(bigDecimalValue);
+    }
+    return value == null ? null : amount(value, unit(rs));
+  }
+
+  @Override
+  public Amount getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    AbstractNumber value;
+    if (longValueType()) {
+      long longValue = rs.getLong(columnIndex);
+      value = rs.wasNull() ? null : BigInteger.valueOf(longValue);
+    } else {
+      BigDecimal bigDecimalValue = rs.getBigDecimal(columnIndex);
+      value = bigDecimalValue == null ? null : AmountTypeHandler.number(bigDecimalValue);
+    }
+    return value == null ? null : amount(value, unit(rs));
+  }
+
+  @Override
+  public Amount getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    AbstractNumber value;
+    if (longValueType()) {
+      long longValue = cs.getLong(columnIndex);
+      value = cs.wasNull() ? null : BigInteger.valueOf(longValue);
+    } else {
+      BigDecimal bigDecimalValue = cs.getBigDecimal(columnIndex);
+      value = bigDecimalValue == null ? null : AmountTypeHandler.number(bigDecimalValue);
+    }
+    return value == null ? null : amount(value, unit(cs));
+  }
+
+  private boolean longValueType() {
+    return AmountTypeHandler.longValueType(amountCodecConfig.valueCodecConfig().valueType());
+  }
+
+  /**
+   * 从同一行的单位列读取单位,单位列保存编号时为{@link UnitDictionary}中的SMALLINT编号
+   *
+   * @param rs 结果集
+   * @return 单位,单位列为null时返回null
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private Unit unit(@NonNull ResultSet rs) throws SQLException {
+    if (amountCodecConfig.unitColumnCode()) {
+      short code = rs.getShort(amountCodecConfig.outputUnitName());
+      return rs.wasNull() ? null : unit(code);
+    }
+    return unit(rs.getString(amountCodecConfig.outputUnitName()));
+  }
+
+  /**
+   * 从存储过程同名的输出参数读取单位,单位列保存编号时输出参数为{@link UnitDictionary}中的SMALLINT编号
+   *
+   * @param cs 存储过程语句
+   * @return 单位,输出参数为null时返回null
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private Unit unit(@NonNull CallableStatement cs) throws SQLException {
+    if (amountCodecConfig.unitColumnCode()) {
+      short code = cs.getShort(amountCodecConfig.outputUnitName());
+      return cs.wasNull() ? null : unit(code);
+    }
+    return unit(cs.getString(amountCodecConfig.outputUnitName()));
+  }
+
+  @NonNull
+  private Unit unit(short code) {
+    return amountCodecConfig.unitCodecConfig().unitDictionary().unit(code);
+  }
+
+  private Unit unit(String unitAlias) {
+    return unitAlias == null ? null : amountCodecConfig.unitCodecConfig().deserialize(unitAlias);
+  }
+
+  /**
+   * 组装{@link Amount},没有单位时使用配置的源单位或目标单位
+   *
+   * @param value 数值
+   * @param resultUnit 单位列中的单位
+   * @return 数量
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private Amount amount(@NonNull AbstractNumber value, Unit resultUnit) {
+    Unit unit = resultUnit != null ? resultUnit
+        : amountCodecConfig.sourceUnit() != null ? amountCodecConfig.sourceUnit()
+            : amountCodecConfig.targetUnit();
+    if (unit == null) {
+      throw new IllegalArgumentException(String.format(
+          "missing column '%s' and no sourceUnitId or targetUnitId",
+          amountCodecConfig.outputUnitName()));
+    }
+    Unit targetUnit = amountCodecConfig.targetUnit();
+    if (targetUnit == null || targetUnit.equals(unit)) {
+      return Amount.create(value, unit);
+    }
+    UnitConverter converter = targetUnitConverters.computeIfAbsent(unit,
+        source -> UnitConverter.create(source, targetUnit, amountCodecConfig.configuration()));
+    return Amount.create(converter.convert(value), targetUnit);
+  }
+}
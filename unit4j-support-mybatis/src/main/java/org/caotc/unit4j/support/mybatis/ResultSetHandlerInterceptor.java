@@ -1,35 +1,55 @@
 package org.caotc.unit4j.support.mybatis;
 
-import java.sql.Statement;
-import java.util.List;
 import java.util.Properties;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.Intercepts;
 import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Plugin;
 import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.caotc.unit4j.core.Amount;
 
 /**
- * 结果集拦截器
+ * 结果集拦截器.在执行器执行查询之前把语句替换为改写了结果映射的副本,{@link org.caotc.unit4j.support.CodecStrategy#FLAT}
+ * 策略的数值列与单位列在读取每一行时直接组装为{@link Amount},{@link org.apache.ibatis.cursor.Cursor}与{@link
+ * org.apache.ibatis.session.ResultHandler}逐行转换,不需要先得到完整的结果列表.
+ * 只需要读取结果而不改写sql时单独使用,与{@link AmountInterceptor}一起使用时结果映射已改写,不做任何操作.
+ * 共享的原语句不会被修改
  *
  * @author caotc
  * @date 2019-07-24
+ * @see AmountSqlRewriter#resultMaps(MappedStatement)
  * @since 1.0.0
  */
 @Intercepts({
-    @Signature(type = ResultSetHandler.class, method = "handleResultSets", args = {Statement.class})
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class,
+        Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class,
+        Object.class, RowBounds.class})
 })
 @Slf4j
 public class ResultSetHandlerInterceptor implements Interceptor {
 
+  AmountSqlRewriter amountSqlRewriter;
+
+  public ResultSetHandlerInterceptor() {
+    this(AmountSqlRewriter.create());
+  }
+
+  public ResultSetHandlerInterceptor(@NonNull AmountSqlRewriter amountSqlRewriter) {
+    this.amountSqlRewriter = amountSqlRewriter;
+  }
+
   @Override
   public Object intercept(Invocation invocation) throws Throwable {
-    ResultSetHandler handler = (ResultSetHandler) invocation.getTarget();
-    Statement statement = (Statement) invocation.getArgs()[0];
-    List<?> result = (List<?>) invocation.proceed();
-    return result;
+    Object[] args = invocation.getArgs();
+    args[0] = amountSqlRewriter.resultMaps((MappedStatement) args[0]);
+    return invocation.proceed();
   }
 
   @Override
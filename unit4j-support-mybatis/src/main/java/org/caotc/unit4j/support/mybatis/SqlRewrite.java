@@ -0,0 +1,246 @@
+package org.caotc.unit4j.support.mybatis;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.util.List;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.exception.NeverHappenException;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.AmountValueCodecConfig;
+import org.caotc.unit4j.support.AmountWriter;
+import org.caotc.unit4j.support.CodecStrategy;
+
+/**
+ * 可重放的sql改写结果.记录改写后的sql,参数映射的变化和需要绑定值的{@link Amount}参数,执行时不需要再解析sql
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see AmountSqlRewriter
+ * @since 1.0.0
+ */
+@Value(staticConstructor = "create")
+class SqlRewrite {
+
+  /**
+   * 将{@link Amount}参数的值绑定到已改写的sql的写出器
+   */
+  private static final AmountWriter<BindContext> BIND_WRITER = new AmountWriter<BindContext>() {
+
+    @Override
+    public void startObject(BindContext context) {
+      throw new IllegalArgumentException("database strategy can't use " + CodecStrategy.OBJECT);
+    }
+
+    @Override
+    public void endObject(BindContext context) {
+      throw new IllegalArgumentException("database strategy can't use " + CodecStrategy.OBJECT);
+    }
+
+    @Override
+    public void field(BindContext context, @NonNull String name) {
+      //参数名称在改写时已经确定
+    }
+
+    @Override
+    public void value(BindContext context, @NonNull AbstractNumber value) {
+      context.bind(codecValue(context.amountBinding.amountCodecConfig, value));
+    }
+
+    @Override
+    public void unit(BindContext context, @NonNull Unit unit) {
+      context.bind(codecUnit(context.amountBinding.amountCodecConfig, unit));
+    }
+  };
+
+  /**
+   * 改写后的sql
+   */
+  @NonNull
+  String sql;
+  /**
+   * 改写后每个参数映射对应的原参数映射下标,-1表示使用{@link #parameterMappings}中的新参数映射.null表示参数映射不变
+   */
+  ImmutableList<Integer> parameterMappingSlots;
+  /**
+   * 改写时的参数映射
+   */
+  ImmutableList<ParameterMapping> parameterMappings;
+  /**
+   * 需要绑定值的{@link Amount}参数
+   */
+  @NonNull
+  ImmutableList<AmountBinding> amountBindings;
+
+  /**
+   * 将数值转换为配置中的数值类型
+   *
+   * @param amountCodecConfig 序列化反序列化配置
+   * @param value 数值
+   * @return 转换后的数值
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  static Object codecValue(@NonNull AmountCodecConfig amountCodecConfig,
+      @NonNull AbstractNumber value) {
+    AmountValueCodecConfig valueCodecConfig = amountCodecConfig.valueCodecConfig();
+    return value.value(valueCodecConfig.valueType(), valueCodecConfig.mathContext());
+  }
+
+  /**
+   * 将单位转换为数据库中保存的别名,单位列保存编号时为{@link org.caotc.unit4j.support.UnitDictionary}中的SMALLINT编号
+   *
+   * @param amountCodecConfig 序列化反序列化配置
+   * @param unit 单位
+   * @return 单位别名或编号
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  static Object codecUnit(@NonNull AmountCodecConfig amountCodecConfig, @NonNull Unit unit) {
+    if (amountCodecConfig.unitColumnCode()) {
+      return UnitTypeHandler.code(amountCodecConfig.unitCodecConfig().unitDictionary(), unit);
+    }
+    return amountCodecConfig.unitCodecConfig().serialize(unit);
+  }
+
+  /**
+   * 获取改写后的参数映射
+   *
+   * @param originalParameterMappings 原参数映射
+   * @return 改写后的参数映射
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  List<ParameterMapping> parameterMappings(
+      @NonNull List<ParameterMapping> originalParameterMappings) {
+    if (parameterMappingSlots == null) {
+      return originalParameterMappings;
+    }
+    List<ParameterMapping> rewrittenParameterMappings = Lists
+        .newArrayListWithCapacity(parameterMappingSlots.size());
+    for (int i = 0; i < parameterMappingSlots.size(); i++) {
+      int slot = parameterMappingSlots.get(i);
+      rewrittenParameterMappings.add(slot < 0 ? parameterMappings.get(i)
+          : originalParameterMappings.get(slot));
+    }
+    return rewrittenParameterMappings;
+  }
+
+  /**
+   * 将改写结果应用到原sql生成的{@link BoundSql}上并绑定{@link Amount}参数的值
+   *
+   * @param boundSql 原sql生成的{@link BoundSql}
+   * @param configuration 配置
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  void apply(@NonNull BoundSql boundSql, @NonNull Configuration configuration) {
+    MetaObject boundSqlMetaObject = SystemMetaObject.forObject(boundSql);
+    boundSqlMetaObject.setValue("sql", sql);
+    if (parameterMappingSlots != null) {
+      boundSqlMetaObject
+          .setValue("parameterMappings", parameterMappings(boundSql.getParameterMappings()));
+    }
+    bind(boundSql, configuration);
+  }
+
+  /**
+   * 绑定{@link Amount}参数的值,值为null时所有对应参数都绑定为null
+   *
+   * @param boundSql 改写后的{@link BoundSql}
+   * @param configuration 配置
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  void bind(@NonNull BoundSql boundSql, @NonNull Configuration configuration) {
+    if (amountBindings.isEmpty()) {
+      return;
+    }
+    MetaObject metaObject = configuration.newMetaObject(boundSql.getParameterObject());
+    for (AmountBinding amountBinding : amountBindings) {
+      //foreach等生成的附加参数优先,与DefaultParameterHandler一致
+      Amount amount = (Amount) (boundSql.hasAdditionalParameter(amountBinding.property)
+          ? boundSql.getAdditionalParameter(amountBinding.property)
+          : metaObject.getValue(amountBinding.property));
+      if (amount == null) {
+        amountBinding.parameterNames
+            .forEach(parameterName -> boundSql.setAdditionalParameter(parameterName, null));
+        continue;
+      }
+      try {
+        amountBinding.amountCodecConfig
+            .write(amount, BIND_WRITER, new BindContext(boundSql, amountBinding));
+      } catch (IOException e) {
+        throw NeverHappenException.instance();
+      }
+    }
+  }
+
+  /**
+   * 需要绑定值的{@link Amount}参数
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @Value(staticConstructor = "create")
+  static class AmountBinding {
+
+    /**
+     * 参数对象中的属性名称
+     */
+    @NonNull
+    String property;
+    @NonNull
+    AmountCodecConfig amountCodecConfig;
+    /**
+     * 按写出顺序排列的绑定值的参数名称
+     */
+    @NonNull
+    ImmutableList<String> parameterNames;
+  }
+
+  /**
+   * 一个{@link Amount}参数的值绑定到已改写的sql时的上下文
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @RequiredArgsConstructor
+  private static class BindContext {
+
+    @NonNull
+    BoundSql boundSql;
+    @NonNull
+    AmountBinding amountBinding;
+    /**
+     * 下一个绑定的参数名称下标
+     */
+    @NonFinal
+    int index;
+
+    private void bind(@NonNull Object value) {
+      boundSql.setAdditionalParameter(amountBinding.parameterNames.get(index++), value);
+    }
+  }
+}
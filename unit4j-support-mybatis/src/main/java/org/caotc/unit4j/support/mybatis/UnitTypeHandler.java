@@ -4,26 +4,28 @@ import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Objects;
+import java.util.OptionalInt;
+import lombok.NonNull;
 import lombok.Value;
-import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.type.BaseTypeHandler;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.MappedTypes;
+import org.caotc.unit4j.core.Configuration;
 import org.caotc.unit4j.core.unit.BasePrefixUnit;
 import org.caotc.unit4j.core.unit.BaseStandardUnit;
 import org.caotc.unit4j.core.unit.CompositePrefixUnit;
 import org.caotc.unit4j.core.unit.CompositeStandardUnit;
 import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.UnitDictionary;
 
 /**
- * 如果没有该TypeHandler,会导致mybatis解析{@link org.apache.ibatis.mapping.BoundSql}时直接报错,无法在{@link
- * Interceptor}中对sql进行操作
+ * {@link Unit}的类型处理器,以{@link UnitDictionary}中的编号作为SMALLINT读写.读取时按编号直接取出单位.
+ * 数据库中的编号在配置增加单位后必须保持不变,所以字典需要使用{@link UnitDictionary#create(Configuration,
+ * java.util.List)}从单位字典表恢复.无参构造的实例没有字典,读写时抛出异常,需要注册由字典创建的实例
  *
  * @author caotc
  * @date 2018-10-09
- * @implSpec
- * @implNote
+ * @see UnitDictionary
  * @since 1.0.0
  **/
 @Value
@@ -31,28 +33,81 @@ import org.caotc.unit4j.core.unit.Unit;
     CompositeStandardUnit.class, CompositePrefixUnit.class})
 public class UnitTypeHandler extends BaseTypeHandler<Unit> {
 
+  /**
+   * 由已持久化的单位id恢复的单位字典,无参构造时为null
+   */
+  UnitDictionary unitDictionary;
+
+  public UnitTypeHandler() {
+    this.unitDictionary = null;
+  }
+
+  public UnitTypeHandler(@NonNull UnitDictionary unitDictionary) {
+    this.unitDictionary = unitDictionary;
+  }
+
+  /**
+   * 获取单位字典
+   *
+   * @return 单位字典
+   * @throws IllegalStateException 如果是无参构造的实例
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public UnitDictionary unitDictionary() {
+    if (unitDictionary == null) {
+      throw new IllegalStateException(String.format("%s requires a %s restored from persisted"
+              + " unit ids, register new %s(UnitDictionary.create(configuration, unitIds))",
+          UnitTypeHandler.class.getSimpleName(), UnitDictionary.class.getSimpleName(),
+          UnitTypeHandler.class.getSimpleName()));
+    }
+    return unitDictionary;
+  }
+
+  /**
+   * 获取单位在字典中的SMALLINT编号
+   *
+   * @param unitDictionary 单位字典
+   * @param unit 单位
+   * @return 编号
+   * @throws IllegalArgumentException 如果单位不在字典中或编号超出SMALLINT范围
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  static short code(@NonNull UnitDictionary unitDictionary, @NonNull Unit unit) {
+    OptionalInt id = unitDictionary.id(unit);
+    if (!id.isPresent() || id.getAsInt() > Short.MAX_VALUE) {
+      throw new IllegalArgumentException(String.format(
+          "unit %s has no smallint code in dictionary version %s", unit.id(),
+          unitDictionary.version()));
+    }
+    return (short) id.getAsInt();
+  }
+
   @Override
   public void setNonNullParameter(PreparedStatement ps, int i, Unit parameter, JdbcType jdbcType)
       throws SQLException {
-    if (Objects.isNull(jdbcType)) {
-      ps.setObject(i, parameter);
-    } else {
-      ps.setObject(i, parameter, jdbcType.TYPE_CODE);
-    }
+    ps.setShort(i, code(unitDictionary(), parameter));
   }
 
   @Override
   public Unit getNullableResult(ResultSet rs, String columnName) throws SQLException {
-    return null;
+    short code = rs.getShort(columnName);
+    return rs.wasNull() ? null : unitDictionary().unit(code);
   }
 
   @Override
   public Unit getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
-    return null;
+    short code = rs.getShort(columnIndex);
+    return rs.wasNull() ? null : unitDictionary().unit(code);
   }
 
   @Override
   public Unit getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
-    return null;
+    short code = cs.getShort(columnIndex);
+    return cs.wasNull() ? null : unitDictionary().unit(code);
   }
 }
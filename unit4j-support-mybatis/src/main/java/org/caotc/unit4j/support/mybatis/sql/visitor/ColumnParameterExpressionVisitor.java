@@ -0,0 +1,100 @@
+package org.caotc.unit4j.support.mybatis.sql.visitor;
+
+import com.google.common.collect.Maps;
+import java.util.Map;
+import java.util.Set;
+import lombok.NonNull;
+import lombok.Value;
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.operators.relational.Between;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThan;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.MinorThan;
+import net.sf.jsqlparser.expression.operators.relational.MinorThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.NotEqualsTo;
+import net.sf.jsqlparser.schema.Column;
+
+/**
+ * 收集与参数比较的列的表达式访问器.只处理一侧为列另一侧为参数的比较,以及列的between与in,
+ * 递归访问条件时配合{@link RecursionExpressionVisitor}使用
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value
+public class ColumnParameterExpressionVisitor extends AbstractExpressionVisitor {
+
+  /**
+   * 需要收集的列名
+   */
+  @NonNull
+  Set<String> columnNames;
+  /**
+   * 参数在sql中的下标与比较的列名
+   */
+  Map<Integer, String> columnParameters = Maps.newLinkedHashMap();
+
+  @Override
+  public void visit(EqualsTo equalsTo) {
+    comparison(equalsTo);
+  }
+
+  @Override
+  public void visit(NotEqualsTo notEqualsTo) {
+    comparison(notEqualsTo);
+  }
+
+  @Override
+  public void visit(GreaterThan greaterThan) {
+    comparison(greaterThan);
+  }
+
+  @Override
+  public void visit(GreaterThanEquals greaterThanEquals) {
+    comparison(greaterThanEquals);
+  }
+
+  @Override
+  public void visit(MinorThan minorThan) {
+    comparison(minorThan);
+  }
+
+  @Override
+  public void visit(MinorThanEquals minorThanEquals) {
+    comparison(minorThanEquals);
+  }
+
+  @Override
+  public void visit(Between between) {
+    columnParameter(between.getLeftExpression(), between.getBetweenExpressionStart());
+    columnParameter(between.getLeftExpression(), between.getBetweenExpressionEnd());
+  }
+
+  @Override
+  public void visit(InExpression inExpression) {
+    if (inExpression.getRightItemsList() instanceof ExpressionList) {
+      ((ExpressionList) inExpression.getRightItemsList()).getExpressions()
+          .forEach(expression -> columnParameter(inExpression.getLeftExpression(), expression));
+    }
+  }
+
+  private void comparison(@NonNull BinaryExpression binaryExpression) {
+    columnParameter(binaryExpression.getLeftExpression(), binaryExpression.getRightExpression());
+    columnParameter(binaryExpression.getRightExpression(), binaryExpression.getLeftExpression());
+  }
+
+  private void columnParameter(Expression column, Expression parameter) {
+    if (column instanceof Column && parameter instanceof JdbcParameter
+        && ((JdbcParameter) parameter).getIndex() != null
+        && columnNames.contains(((Column) column).getColumnName())) {
+      columnParameters
+          .put(((JdbcParameter) parameter).getIndex(), ((Column) column).getColumnName());
+    }
+  }
+}
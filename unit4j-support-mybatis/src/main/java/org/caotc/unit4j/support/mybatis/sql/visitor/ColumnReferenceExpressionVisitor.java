@@ -0,0 +1,38 @@
+package org.caotc.unit4j.support.mybatis.sql.visitor;
+
+import java.util.Set;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import net.sf.jsqlparser.schema.Column;
+
+/**
+ * 判断表达式是否引用了列的表达式访问器,递归访问时配合{@link RecursionExpressionVisitor}使用
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value
+public class ColumnReferenceExpressionVisitor extends AbstractExpressionVisitor {
+
+  /**
+   * 需要判断的列名
+   */
+  @NonNull
+  Set<String> columnNames;
+  /**
+   * 是否引用了列
+   */
+  @NonFinal
+  boolean referenced;
+
+  public ColumnReferenceExpressionVisitor(@NonNull Set<String> columnNames) {
+    this.columnNames = columnNames;
+  }
+
+  @Override
+  public void visit(Column tableColumn) {
+    referenced |= columnNames.contains(tableColumn.getColumnName());
+  }
+}
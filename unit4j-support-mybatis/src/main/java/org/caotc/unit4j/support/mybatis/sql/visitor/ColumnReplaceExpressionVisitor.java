@@ -0,0 +1,41 @@
+package org.caotc.unit4j.support.mybatis.sql.visitor;
+
+import java.util.Set;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.Value;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.schema.Column;
+
+/**
+ * 将列替换为表达式的表达式访问器.访问器无法替换父表达式中的子表达式,因此将列名改写为替换表达式的sql,
+ * 递归访问时配合{@link RecursionExpressionVisitor}使用
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value
+public class ColumnReplaceExpressionVisitor extends AbstractExpressionVisitor {
+
+  /**
+   * 需要替换的列名
+   */
+  @NonNull
+  Set<String> columnNames;
+  /**
+   * 根据原列获取替换表达式
+   */
+  @NonNull
+  Function<Column, Expression> replacement;
+
+  @Override
+  public void visit(Column tableColumn) {
+    if (columnNames.contains(tableColumn.getColumnName())) {
+      Expression expression = replacement.apply(tableColumn);
+      tableColumn.setTable(null);
+      tableColumn.setColumnName(new Parenthesis(expression).toString());
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package org.caotc.unit4j.support.mybatis.sql.visitor;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.Value;
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SelectExpressionItem;
+import net.sf.jsqlparser.statement.select.SelectItem;
+
+/**
+ * {@link org.caotc.unit4j.support.CodecStrategy#FLAT}策略在数据库中统一单位的查询语句访问器.
+ * 查询项的表达式或聚合函数中使用数值列,或按数值列排序时,将数值列替换为按单位列换算到统一单位的表达式,
+ * 单位列查询为统一单位的常量,数据库直接返回换算并聚合后的数值.其余查询与{@link FlatSelectVisitor}相同
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value
+public class FlatNormalizeSelectVisitor extends AbstractSelectVisitor {
+
+  @NonNull
+  FlatSelectVisitor flatSelectVisitor;
+  /**
+   * 数值列在sql中可能使用的列名
+   */
+  @NonNull
+  Set<String> columnNames;
+  /**
+   * 结果中的数值列名
+   */
+  @NonNull
+  String valueColumnName;
+  /**
+   * 结果中的单位列名
+   */
+  @NonNull
+  String unitColumnName;
+  /**
+   * 根据原列获取换算到统一单位的表达式
+   */
+  @NonNull
+  Function<Column, Expression> normalizer;
+  /**
+   * 统一单位在单位列中的值
+   */
+  @NonNull
+  Expression unit;
+
+  @Override
+  public void visit(PlainSelect plainSelect) {
+    if (!normalize(plainSelect)) {
+      plainSelect.accept(flatSelectVisitor);
+      return;
+    }
+    RecursionExpressionVisitor columnReplaceExpressionVisitor = RecursionExpressionVisitor
+        .create(new ColumnReplaceExpressionVisitor(columnNames, normalizer));
+    for (SelectItem selectItem : plainSelect.getSelectItems()) {
+      if (!(selectItem instanceof SelectExpressionItem)) {
+        continue;
+      }
+      SelectExpressionItem selectExpressionItem = (SelectExpressionItem) selectItem;
+      if (!references(selectExpressionItem.getExpression())) {
+        continue;
+      }
+      selectExpressionItem.getExpression().accept(columnReplaceExpressionVisitor);
+      if (selectExpressionItem.getAlias() == null
+          || columnNames.contains(selectExpressionItem.getAlias().getName())) {
+        selectExpressionItem.setAlias(new Alias(valueColumnName));
+      }
+    }
+    Optional.ofNullable(plainSelect.getOrderByElements())
+        .ifPresent(orderByElements -> orderByElements.stream().map(OrderByElement::getExpression)
+            .forEach(expression -> expression.accept(columnReplaceExpressionVisitor)));
+    SelectExpressionItem unitItem = new SelectExpressionItem(unit);
+    unitItem.setAlias(new Alias(unitColumnName));
+    plainSelect.getSelectItems().add(unitItem);
+  }
+
+  /**
+   * 是否需要在数据库中统一单位.查询项的表达式或聚合函数中使用数值列,或按数值列排序时逐行读取单位无法得到正确结果
+   *
+   * @param plainSelect 查询
+   * @return 是否需要在数据库中统一单位
+   */
+  private boolean normalize(@NonNull PlainSelect plainSelect) {
+    boolean selectExpression = plainSelect.getSelectItems().stream()
+        .filter(SelectExpressionItem.class::isInstance).map(SelectExpressionItem.class::cast)
+        .map(SelectExpressionItem::getExpression)
+        .anyMatch(expression -> !(expression instanceof Column) && references(expression));
+    return selectExpression || Optional.ofNullable(plainSelect.getOrderByElements())
+        .map(orderByElements -> orderByElements.stream().map(OrderByElement::getExpression)
+            .anyMatch(this::references)).orElse(false);
+  }
+
+  private boolean references(@NonNull Expression expression) {
+    ColumnReferenceExpressionVisitor columnReferenceExpressionVisitor =
+        new ColumnReferenceExpressionVisitor(columnNames);
+    expression.accept(RecursionExpressionVisitor.create(columnReferenceExpressionVisitor));
+    return columnReferenceExpressionVisitor.referenced();
+  }
+}
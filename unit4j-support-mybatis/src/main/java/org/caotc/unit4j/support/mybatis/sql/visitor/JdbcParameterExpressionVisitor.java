@@ -0,0 +1,28 @@
+package org.caotc.unit4j.support.mybatis.sql.visitor;
+
+import com.google.common.collect.Lists;
+import java.util.List;
+import lombok.Value;
+import net.sf.jsqlparser.expression.JdbcParameter;
+
+/**
+ * 按出现顺序收集参数的表达式访问器,包括函数与运算等表达式中的参数,
+ * 递归访问时配合{@link RecursionExpressionVisitor}使用
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value
+public class JdbcParameterExpressionVisitor extends AbstractExpressionVisitor {
+
+  /**
+   * 按出现顺序排列的参数
+   */
+  List<JdbcParameter> jdbcParameters = Lists.newArrayList();
+
+  @Override
+  public void visit(JdbcParameter jdbcParameter) {
+    jdbcParameters.add(jdbcParameter);
+  }
+}
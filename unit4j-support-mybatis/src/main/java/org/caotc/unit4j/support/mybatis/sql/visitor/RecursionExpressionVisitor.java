@@ -1,7 +1,9 @@
 package org.caotc.unit4j.support.mybatis.sql.visitor;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.Value;
 import net.sf.jsqlparser.expression.AllComparisonExpression;
@@ -40,6 +42,7 @@ import net.sf.jsqlparser.expression.TimestampValue;
 import net.sf.jsqlparser.expression.UserVariable;
 import net.sf.jsqlparser.expression.ValueListExpression;
 import net.sf.jsqlparser.expression.WhenClause;
+import net.sf.jsqlparser.expression.WindowOffset;
 import net.sf.jsqlparser.expression.operators.arithmetic.Addition;
 import net.sf.jsqlparser.expression.operators.arithmetic.BitwiseAnd;
 import net.sf.jsqlparser.expression.operators.arithmetic.BitwiseLeftShift;
@@ -64,6 +67,7 @@ import net.sf.jsqlparser.expression.operators.relational.IsNullExpression;
 import net.sf.jsqlparser.expression.operators.relational.JsonOperator;
 import net.sf.jsqlparser.expression.operators.relational.LikeExpression;
 import net.sf.jsqlparser.expression.operators.relational.Matches;
+import net.sf.jsqlparser.expression.operators.relational.NamedExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.MinorThan;
 import net.sf.jsqlparser.expression.operators.relational.MinorThanEquals;
 import net.sf.jsqlparser.expression.operators.relational.NotEqualsTo;
@@ -115,10 +119,12 @@ public class RecursionExpressionVisitor implements ExpressionVisitor {
   @Override
   public void visit(Function function) {
     expressionVisitor.visit(function);
-    visit(function.getKeep());
-    function.getAttribute().accept(this);
-    function.getNamedParameters().getExpressions().forEach(expression -> expression.accept(this));
-    function.getParameters().getExpressions().forEach(expression -> expression.accept(this));
+    Optional.ofNullable(function.getKeep()).ifPresent(this::visit);
+    Optional.ofNullable(function.getAttribute()).ifPresent(expression -> expression.accept(this));
+    Optional.ofNullable(function.getNamedParameters()).map(NamedExpressionList::getExpressions)
+        .ifPresent(expressions -> expressions.forEach(expression -> expression.accept(this)));
+    Optional.ofNullable(function.getParameters()).map(ExpressionList::getExpressions)
+        .ifPresent(expressions -> expressions.forEach(expression -> expression.accept(this)));
   }
 
   @Override
@@ -253,7 +259,8 @@ public class RecursionExpressionVisitor implements ExpressionVisitor {
   @Override
   public void visit(InExpression inExpression) {
     expressionVisitor.visit(inExpression);
-    inExpression.getLeftExpression().accept(this);
+    Optional.ofNullable(inExpression.getLeftExpression())
+        .ifPresent(expression -> expression.accept(this));
   }
 
   @Override
@@ -324,8 +331,10 @@ public class RecursionExpressionVisitor implements ExpressionVisitor {
   @Override
   public void visit(CaseExpression caseExpression) {
     expressionVisitor.visit(caseExpression);
-    caseExpression.getElseExpression().accept(this);
-    caseExpression.getSwitchExpression().accept(this);
+    Optional.ofNullable(caseExpression.getElseExpression())
+        .ifPresent(expression -> expression.accept(this));
+    Optional.ofNullable(caseExpression.getSwitchExpression())
+        .ifPresent(expression -> expression.accept(this));
     caseExpression.getWhenClauses().forEach(this::visit);
   }
 
@@ -406,17 +415,23 @@ public class RecursionExpressionVisitor implements ExpressionVisitor {
   @Override
   public void visit(AnalyticExpression aexpr) {
     expressionVisitor.visit(aexpr);
-    aexpr.getDefaultValue().accept(this);
-    aexpr.getExpression().accept(this);
-    visit(aexpr.getKeep());
-    aexpr.getOffset().accept(this);
-    aexpr.getPartitionExpressionList().getExpressions()
-        .forEach(expression -> expression.accept(this));
-    aexpr.getOrderByElements().stream().map(OrderByElement::getExpression)
-        .forEach(expression -> expression.accept(this));
-    aexpr.getWindowElement().getOffset().getExpression().accept(this);
-    aexpr.getWindowElement().getRange().getStart().getExpression().accept(this);
-    aexpr.getWindowElement().getRange().getEnd().getExpression().accept(this);
+    Optional.ofNullable(aexpr.getDefaultValue()).ifPresent(expression -> expression.accept(this));
+    Optional.ofNullable(aexpr.getExpression()).ifPresent(expression -> expression.accept(this));
+    Optional.ofNullable(aexpr.getKeep()).ifPresent(this::visit);
+    Optional.ofNullable(aexpr.getOffset()).ifPresent(expression -> expression.accept(this));
+    Optional.ofNullable(aexpr.getPartitionExpressionList()).map(ExpressionList::getExpressions)
+        .ifPresent(expressions -> expressions.forEach(expression -> expression.accept(this)));
+    Optional.ofNullable(aexpr.getOrderByElements()).ifPresent(orderByElements -> orderByElements
+        .stream().map(OrderByElement::getExpression)
+        .forEach(expression -> expression.accept(this)));
+    Optional.ofNullable(aexpr.getWindowElement()).ifPresent(windowElement -> {
+      Optional.ofNullable(windowElement.getOffset()).map(WindowOffset::getExpression)
+          .ifPresent(expression -> expression.accept(this));
+      Optional.ofNullable(windowElement.getRange()).ifPresent(windowRange -> Stream
+          .of(windowRange.getStart(), windowRange.getEnd()).filter(Objects::nonNull)
+          .map(WindowOffset::getExpression).filter(Objects::nonNull)
+          .forEach(expression -> expression.accept(this)));
+    });
   }
 
   @Override
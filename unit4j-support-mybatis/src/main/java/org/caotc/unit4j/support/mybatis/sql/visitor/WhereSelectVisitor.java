@@ -0,0 +1,33 @@
+package org.caotc.unit4j.support.mybatis.sql.visitor;
+
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.Value;
+import net.sf.jsqlparser.expression.ExpressionVisitor;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+
+/**
+ * 以表达式访问器访问查询条件的查询语句访问器,集合运算中的每个查询都会被访问
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value
+public class WhereSelectVisitor extends AbstractSelectVisitor {
+
+  @NonNull
+  ExpressionVisitor expressionVisitor;
+
+  @Override
+  public void visit(PlainSelect plainSelect) {
+    Optional.ofNullable(plainSelect.getWhere())
+        .ifPresent(where -> where.accept(expressionVisitor));
+  }
+
+  @Override
+  public void visit(SetOperationList setOpList) {
+    setOpList.getSelects().forEach(selectBody -> selectBody.accept(this));
+  }
+}
@@ -0,0 +1,451 @@
+package org.caotc.unit4j.support.mybatis;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.Data;
+import lombok.SneakyThrows;
+import lombok.experimental.Accessors;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.common.base.CaseFormat;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class AmountInterceptorTest {
+
+  static final String CREATE_FLAT_AMOUNT_ENTITY_TABLE = "create table flat_amount_entity("
+      + "id bigint auto_increment primary key,name varchar(32),weight_value decimal(20,4),"
+      + "weight_unit varchar(32))";
+
+  AmountSqlRewriter amountSqlRewriter = AmountSqlRewriter.create();
+  SqlSessionFactory sqlSessionFactory = sqlSessionFactory(amountSqlRewriter);
+
+  static SqlSessionFactory sqlSessionFactory(AmountSqlRewriter amountSqlRewriter) {
+    Environment environment = new Environment("test", new JdbcTransactionFactory(),
+        new UnpooledDataSource("org.h2.Driver", "jdbc:h2:mem:amount_interceptor", null, null));
+    Configuration configuration = new Configuration(environment);
+    configuration.getTypeHandlerRegistry().register(AmountTypeHandler.class);
+    configuration.addInterceptor(new AmountInterceptor(amountSqlRewriter));
+    configuration.addMapper(AmountEntityMapper.class);
+    configuration.addMapper(FlatAmountEntityMapper.class);
+    configuration.addMapper(StorageUnitAmountEntityMapper.class);
+    return new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @Test
+  @SneakyThrows
+  void insertTwice() {
+    try (SqlSession session = sqlSessionFactory.openSession();
+        Statement statement = session.getConnection().createStatement()) {
+      statement.execute("create table amount_entity(id bigint auto_increment primary key,"
+          + "name varchar(32),weight decimal(20,4))");
+      AmountEntityMapper mapper = session.getMapper(AmountEntityMapper.class);
+      MappedStatement mappedStatement = sqlSessionFactory.getConfiguration().getMappedStatement(
+          AmountEntityMapper.class.getName() + ".insert");
+      Assertions.assertEquals(1, mapper.insert(new AmountEntity().setName("first")
+          .setWeight(Amount.create("1.5", UnitConstant.SECOND))));
+      MappedStatement rewritten = amountSqlRewriter.mappedStatement(mappedStatement);
+      log.debug("rewritten sqlSource:{}", rewritten.getSqlSource());
+      SqlRewrite sqlRewrite = ((AmountSqlSource) rewritten.getSqlSource()).staticSqlRewrite()
+          .get();
+      //第二次执行使用缓存的改写结果,只绑定参数值
+      Assertions.assertEquals(1, mapper.insert(
+          new AmountEntity().setName("second").setWeight(Amount.create(2, UnitConstant.SECOND))));
+      Assertions.assertSame(rewritten, amountSqlRewriter.mappedStatement(mappedStatement));
+      Assertions.assertSame(sqlRewrite,
+          ((AmountSqlSource) rewritten.getSqlSource()).staticSqlRewrite().get());
+      assertWeights(session.getConnection(), new BigDecimal("1.5"), new BigDecimal("2"));
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void flatRewriteOnLoad() {
+    AmountSqlRewriter.create().rewrite(sqlSessionFactory.getConfiguration());
+    try (SqlSession session = sqlSessionFactory.openSession();
+        Statement statement = session.getConnection().createStatement()) {
+      statement.execute(CREATE_FLAT_AMOUNT_ENTITY_TABLE);
+      FlatAmountEntityMapper mapper = session.getMapper(FlatAmountEntityMapper.class);
+      Amount weight = Amount.create("1.5", UnitConstant.SECOND);
+      Assertions.assertEquals(1, mapper.insert(new FlatAmountEntity().setName("flat")
+          .setWeight(weight)));
+      FlatAmountEntity entity = mapper.selectByName("flat");
+      log.debug("entity:{}", entity);
+      Assertions.assertEquals("flat", entity.getName());
+      Assertions.assertEquals(UnitConstant.SECOND, entity.getWeight().unit());
+      Assertions.assertEquals(0, new BigDecimal("1.5")
+          .compareTo(entity.getWeight().bigDecimalValue()));
+    }
+  }
+
+  @Test
+  void rewriteCopyFollowsPropertiesVersion() {
+    MappedStatement mappedStatement = sqlSessionFactory.getConfiguration()
+        .getMappedStatement(FlatAmountEntityMapper.class.getName() + ".insert");
+    AmountSqlRewriter amountSqlRewriter = AmountSqlRewriter.create();
+    MappedStatement rewritten = amountSqlRewriter.mappedStatement(mappedStatement);
+    //执行时改写的是语句的副本,共享的原语句不变
+    Assertions.assertNotSame(mappedStatement, rewritten);
+    Assertions.assertFalse(mappedStatement.getSqlSource() instanceof AmountSqlSource);
+    Assertions.assertSame(rewritten, amountSqlRewriter.mappedStatement(mappedStatement));
+    FlatAmountEntity entity = new FlatAmountEntity().setName("flat")
+        .setWeight(Amount.create(1, UnitConstant.SECOND));
+    String sql = rewritten.getBoundSql(entity).getSql();
+    log.debug("sql:{}", sql);
+    Assertions.assertTrue(sql.contains("weight_value"));
+    //属性修改后静态sql按新的版本重新改写
+    amountSqlRewriter.unit4jProperties().setFieldNameJoiner(
+        (valueFieldNameWords, objectFieldNameWords) -> CaseFormat.LOWER_UNDERSCORE
+            .join(Stream.concat(valueFieldNameWords.stream(), objectFieldNameWords.stream())));
+    sql = rewritten.getBoundSql(entity).getSql();
+    log.debug("sql:{}", sql);
+    Assertions.assertTrue(sql.contains("value_weight"));
+    //缓存的语句副本与结果映射也按新的版本重新改写
+    MappedStatement modified = amountSqlRewriter.mappedStatement(mappedStatement);
+    Assertions.assertNotSame(rewritten, modified);
+    Assertions.assertSame(modified, amountSqlRewriter.mappedStatement(mappedStatement));
+    Assertions.assertTrue(modified.getBoundSql(entity).getSql().contains("value_weight"));
+  }
+
+  @Test
+  void resultMapsFollowPropertiesVersion() {
+    MappedStatement mappedStatement = sqlSessionFactory.getConfiguration()
+        .getMappedStatement(FlatAmountEntityMapper.class.getName() + ".selectByName");
+    AmountSqlRewriter amountSqlRewriter = AmountSqlRewriter.create();
+    MappedStatement rewritten = amountSqlRewriter.resultMaps(mappedStatement);
+    Assertions.assertSame(rewritten, amountSqlRewriter.resultMaps(mappedStatement));
+    amountSqlRewriter.unit4jProperties().setFieldStrategy(CodecStrategy.FLAT);
+    Assertions.assertNotSame(rewritten, amountSqlRewriter.resultMaps(mappedStatement));
+  }
+
+  @Test
+  @SneakyThrows
+  void flatMultiRowInsert() {
+    try (SqlSession session = sqlSessionFactory.openSession();
+        Statement statement = session.getConnection().createStatement()) {
+      statement.execute(CREATE_FLAT_AMOUNT_ENTITY_TABLE);
+      FlatAmountEntityMapper mapper = session.getMapper(FlatAmountEntityMapper.class);
+      Assertions.assertEquals(2, mapper.insertAll(ImmutableList.of(
+          new FlatAmountEntity().setName("first").setWeight(Amount.create(1, UnitConstant.SECOND)),
+          new FlatAmountEntity().setName("second")
+              .setWeight(Amount.create(2, UnitConstant.MINUTE)))));
+      assertFlatAmountEntities(mapper.selectAll(), Amount.create(1, UnitConstant.SECOND),
+          Amount.create(2, UnitConstant.MINUTE));
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void flatInsertWrappedParameter() {
+    try (SqlSession session = sqlSessionFactory.openSession();
+        Statement statement = session.getConnection().createStatement()) {
+      statement.execute(CREATE_FLAT_AMOUNT_ENTITY_TABLE);
+      FlatAmountEntityMapper mapper = session.getMapper(FlatAmountEntityMapper.class);
+      //函数中的参数之后的Amount列仍然对应自己的参数
+      Assertions.assertEquals(1, mapper.insertCoalesceName(new FlatAmountEntity()
+          .setWeight(Amount.create(1, UnitConstant.SECOND))));
+      Assertions.assertEquals(2, mapper.insertAllConcatName(ImmutableList.of(
+          new FlatAmountEntity().setName("first").setWeight(Amount.create(2, UnitConstant.SECOND)),
+          new FlatAmountEntity().setName("second")
+              .setWeight(Amount.create(3, UnitConstant.MINUTE)))));
+      List<FlatAmountEntity> entities = mapper.selectAll();
+      assertFlatAmountEntities(entities, Amount.create(1, UnitConstant.SECOND),
+          Amount.create(2, UnitConstant.SECOND), Amount.create(3, UnitConstant.MINUTE));
+      Assertions.assertEquals(ImmutableList.of("none", "first_", "second_"), entities.stream()
+          .map(FlatAmountEntity::getName).collect(ImmutableList.toImmutableList()));
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void flatBatchInsert() {
+    try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH);
+        Statement statement = session.getConnection().createStatement()) {
+      statement.execute(CREATE_FLAT_AMOUNT_ENTITY_TABLE);
+      FlatAmountEntityMapper mapper = session.getMapper(FlatAmountEntityMapper.class);
+      for (int i = 1; i <= 3; i++) {
+        mapper.insert(new FlatAmountEntity().setName("batch" + i)
+            .setWeight(Amount.create(i, UnitConstant.SECOND)));
+      }
+      //改写后的sql相同,批量执行器复用同一个语句
+      Assertions.assertEquals(1, session.flushStatements().size());
+      assertFlatAmountEntities(mapper.selectAll(), Amount.create(1, UnitConstant.SECOND),
+          Amount.create(2, UnitConstant.SECOND), Amount.create(3, UnitConstant.SECOND));
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void flatStreaming() {
+    try (SqlSession session = sqlSessionFactory.openSession();
+        Statement statement = session.getConnection().createStatement()) {
+      statement.execute(CREATE_FLAT_AMOUNT_ENTITY_TABLE);
+      FlatAmountEntityMapper mapper = session.getMapper(FlatAmountEntityMapper.class);
+      mapper.insertAll(ImmutableList.of(
+          new FlatAmountEntity().setName("first").setWeight(Amount.create(1, UnitConstant.SECOND)),
+          new FlatAmountEntity().setName("second")
+              .setWeight(Amount.create(2, UnitConstant.MINUTE))));
+      List<FlatAmountEntity> entities = Lists.newArrayList();
+      try (Cursor<FlatAmountEntity> cursor = mapper.cursorAll()) {
+        cursor.forEach(entities::add);
+      }
+      assertFlatAmountEntities(entities, Amount.create(1, UnitConstant.SECOND),
+          Amount.create(2, UnitConstant.MINUTE));
+
+      entities.clear();
+      mapper.selectAllWithHandler(context -> entities.add(context.getResultObject()));
+      assertFlatAmountEntities(entities, Amount.create(1, UnitConstant.SECOND),
+          Amount.create(2, UnitConstant.MINUTE));
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void storageUnit() {
+    try (SqlSession session = sqlSessionFactory.openSession();
+        Statement statement = session.getConnection().createStatement()) {
+      statement.execute("create table storage_unit_amount_entity(id bigint auto_increment"
+          + " primary key,name varchar(32),duration decimal(20,4))");
+      StorageUnitAmountEntityMapper mapper = session
+          .getMapper(StorageUnitAmountEntityMapper.class);
+      Assertions.assertEquals(1, mapper.insert(new StorageUnitAmountEntity().setName("storage")
+          .setDuration(Amount.create(90, UnitConstant.SECOND))));
+      try (ResultSet resultSet = statement
+          .executeQuery("select duration from storage_unit_amount_entity")) {
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals(0, new BigDecimal("1.5").compareTo(resultSet.getBigDecimal(1)));
+      }
+      StorageUnitAmountEntity entity = mapper.selectByName("storage");
+      Assertions.assertEquals(UnitConstant.MINUTE, entity.getDuration().unit());
+      Assertions.assertEquals(0, new BigDecimal("1.5")
+          .compareTo(entity.getDuration().bigDecimalValue()));
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void storageUnitPredicate() {
+    try (SqlSession session = sqlSessionFactory.openSession();
+        Statement statement = session.getConnection().createStatement()) {
+      statement.execute("create table storage_unit_amount_entity(id bigint auto_increment"
+          + " primary key,name varchar(32),duration decimal(20,4))");
+      StorageUnitAmountEntityMapper mapper = session
+          .getMapper(StorageUnitAmountEntityMapper.class);
+      mapper.insert(new StorageUnitAmountEntity().setName("short")
+          .setDuration(Amount.create(90, UnitConstant.SECOND)));
+      mapper.insert(new StorageUnitAmountEntity().setName("long")
+          .setDuration(Amount.create(30, UnitConstant.MINUTE)));
+      //条件参数转换到存储单位MINUTE后与列中的数值比较
+      Assertions.assertEquals(2,
+          mapper.selectByMinDuration(Amount.create(60, UnitConstant.SECOND)).size());
+      List<StorageUnitAmountEntity> entities = mapper
+          .selectByMinDuration(Amount.create(120, UnitConstant.SECOND));
+      Assertions.assertEquals(1, entities.size());
+      Assertions.assertEquals("long", entities.get(0).getName());
+      entities = mapper.selectByDurationRange(Amount.create(60, UnitConstant.SECOND),
+          Amount.create(120, UnitConstant.SECOND));
+      Assertions.assertEquals(1, entities.size());
+      Assertions.assertEquals("short", entities.get(0).getName());
+      Assertions.assertEquals(1, mapper.updateNameByDuration(new StorageUnitAmountEntity()
+          .setName("medium").setDuration(Amount.create(90, UnitConstant.SECOND))));
+      Assertions.assertEquals("medium", mapper.selectByMinDuration(
+          Amount.create(60, UnitConstant.SECOND)).get(0).getName());
+    }
+  }
+
+  @Test
+  void flatNormalize() {
+    assertFlatNormalize(CREATE_FLAT_AMOUNT_ENTITY_TABLE);
+  }
+
+  @Test
+  void flatNormalizeBigint() {
+    //整数数值列换算时不能按整数除法截断
+    assertFlatNormalize(CREATE_FLAT_AMOUNT_ENTITY_TABLE.replace("decimal(20,4)", "bigint"));
+  }
+
+  @SneakyThrows
+  void assertFlatNormalize(String createFlatAmountEntityTable) {
+    try (SqlSession session = sqlSessionFactory.openSession();
+        Statement statement = session.getConnection().createStatement()) {
+      statement.execute(createFlatAmountEntityTable);
+      FlatAmountEntityMapper mapper = session.getMapper(FlatAmountEntityMapper.class);
+      mapper.insertAll(ImmutableList.of(
+          new FlatAmountEntity().setName("a").setWeight(Amount.create(30, UnitConstant.SECOND)),
+          new FlatAmountEntity().setName("b").setWeight(Amount.create(1, UnitConstant.MINUTE)),
+          new FlatAmountEntity().setName("a").setWeight(Amount.create(2, UnitConstant.MINUTE))));
+      //单位不同的行在数据库中换算到MINUTE后聚合
+      List<MinuteAmountEntity> sums = mapper.sumByName();
+      Assertions.assertEquals(2, sums.size());
+      Assertions.assertEquals("a", sums.get(0).getName());
+      Assertions.assertEquals(UnitConstant.MINUTE, sums.get(0).getWeight().unit());
+      Assertions.assertEquals(0,
+          new BigDecimal("2.5").compareTo(sums.get(0).getWeight().bigDecimalValue()));
+      Assertions.assertEquals(0,
+          BigDecimal.ONE.compareTo(sums.get(1).getWeight().bigDecimalValue()));
+      List<MinuteAmountEntity> ordered = mapper.selectOrderByWeight();
+      Assertions.assertEquals(ImmutableList.of(new BigDecimal("2"), BigDecimal.ONE,
+          new BigDecimal("0.5")), ordered.stream()
+          .map(entity -> entity.getWeight().bigDecimalValue().stripTrailingZeros())
+          .collect(ImmutableList.toImmutableList()));
+    }
+  }
+
+  void assertFlatAmountEntities(List<FlatAmountEntity> entities, Amount... expected) {
+    Assertions.assertEquals(expected.length, entities.size());
+    for (int i = 0; i < expected.length; i++) {
+      Amount weight = entities.get(i).getWeight();
+      Assertions.assertEquals(expected[i].unit(), weight.unit());
+      Assertions.assertEquals(0,
+          expected[i].bigDecimalValue().compareTo(weight.bigDecimalValue()));
+    }
+  }
+
+  void assertWeights(Connection connection, BigDecimal... expected) throws Exception {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement
+            .executeQuery("select weight from amount_entity order by id")) {
+      for (BigDecimal weight : expected) {
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals(0, weight.compareTo(resultSet.getBigDecimal(1)));
+      }
+      Assertions.assertFalse(resultSet.next());
+    }
+  }
+
+  public interface AmountEntityMapper {
+
+    @Insert("insert into amount_entity(name, weight) values (#{name}, #{weight})")
+    int insert(AmountEntity entity);
+  }
+
+  public interface FlatAmountEntityMapper {
+
+    @Insert("insert into flat_amount_entity(name, weight) values (#{name}, #{weight})")
+    int insert(FlatAmountEntity entity);
+
+    @Insert("<script>insert into flat_amount_entity(name, weight) values"
+        + "<foreach collection='list' item='item' separator=','>"
+        + "(#{item.name}, #{item.weight})</foreach></script>")
+    int insertAll(List<FlatAmountEntity> entities);
+
+    @Insert("insert into flat_amount_entity(name, weight)"
+        + " values (coalesce(#{name}, 'none'), #{weight})")
+    int insertCoalesceName(FlatAmountEntity entity);
+
+    @Insert("<script>insert into flat_amount_entity(name, weight) values"
+        + "<foreach collection='list' item='item' separator=','>"
+        + "(concat(#{item.name}, '_'), #{item.weight})</foreach></script>")
+    int insertAllConcatName(List<FlatAmountEntity> entities);
+
+    @Select("select id, name, weight from flat_amount_entity where name = #{name}")
+    FlatAmountEntity selectByName(String name);
+
+    @Select("select id, name, weight from flat_amount_entity order by id")
+    List<FlatAmountEntity> selectAll();
+
+    @Select("select id, name, weight from flat_amount_entity order by id")
+    Cursor<FlatAmountEntity> cursorAll();
+
+    @Select("select name, sum(weight) as weight from flat_amount_entity"
+        + " group by name order by name")
+    List<MinuteAmountEntity> sumByName();
+
+    @Select("select name, weight from flat_amount_entity order by weight desc")
+    List<MinuteAmountEntity> selectOrderByWeight();
+
+    @Select("select id, name, weight from flat_amount_entity order by id")
+    @ResultType(FlatAmountEntity.class)
+    void selectAllWithHandler(ResultHandler<FlatAmountEntity> resultHandler);
+  }
+
+  public interface StorageUnitAmountEntityMapper {
+
+    @Insert("insert into storage_unit_amount_entity(name, duration) values (#{name}, #{duration})")
+    int insert(StorageUnitAmountEntity entity);
+
+    @Select("select id, name, duration from storage_unit_amount_entity where name = #{name}")
+    StorageUnitAmountEntity selectByName(String name);
+
+    @Select("select id, name, duration from storage_unit_amount_entity"
+        + " where duration > #{minDuration} order by id")
+    List<StorageUnitAmountEntity> selectByMinDuration(Amount minDuration);
+
+    @Select("select id, name, duration from storage_unit_amount_entity"
+        + " where duration between #{min} and #{max} order by id")
+    List<StorageUnitAmountEntity> selectByDurationRange(@Param("min") Amount min,
+        @Param("max") Amount max);
+
+    @Update("update storage_unit_amount_entity set name = #{name} where duration = #{duration}")
+    int updateNameByDuration(StorageUnitAmountEntity entity);
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false)
+  public static class AmountEntity {
+
+    Long id;
+    String name;
+    Amount weight;
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false)
+  public static class FlatAmountEntity {
+
+    Long id;
+    String name;
+    @AmountSerialize(strategy = CodecStrategy.FLAT)
+    Amount weight;
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false)
+  public static class StorageUnitAmountEntity {
+
+    Long id;
+    String name;
+    @AmountSerialize(targetUnitId = "MINUTE")
+    Amount duration;
+  }
+
+  @Data
+  @FieldDefaults(makeFinal = false)
+  @Accessors(fluent = false)
+  public static class MinuteAmountEntity {
+
+    String name;
+    @AmountSerialize(strategy = CodecStrategy.FLAT, targetUnitId = "MINUTE")
+    Amount weight;
+  }
+}
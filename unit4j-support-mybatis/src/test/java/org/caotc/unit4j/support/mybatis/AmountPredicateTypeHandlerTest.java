@@ -0,0 +1,24 @@
+package org.caotc.unit4j.support.mybatis;
+
+import com.google.common.collect.ImmutableMap;
+import lombok.SneakyThrows;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.UnknownTypeHandler;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AmountPredicateTypeHandlerTest {
+
+  AmountPredicateTypeHandler amountPredicateTypeHandler = new AmountPredicateTypeHandler(
+      AmountTypeHandler.create(new Unit4jProperties().createAmountCodecConfig()),
+      new UnknownTypeHandler(new Configuration()));
+
+  @Test
+  @SneakyThrows
+  void callableStatementResult() {
+    //读取时与声明类型未知的参数相同,按实际类型读取
+    Assertions.assertEquals("name", amountPredicateTypeHandler
+        .getResult(FlatAmountTypeHandlerTest.callableStatement(ImmutableMap.of(1, "name")), 1));
+  }
+}
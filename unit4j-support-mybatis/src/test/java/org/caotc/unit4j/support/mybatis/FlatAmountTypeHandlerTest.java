@@ -0,0 +1,99 @@
+package org.caotc.unit4j.support.mybatis;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.util.Map;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.type.TypeException;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.core.math.number.BigInteger;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class FlatAmountTypeHandlerTest {
+
+  AmountCodecConfig amountCodecConfig = new Unit4jProperties().setStrategy(CodecStrategy.FLAT)
+      .createAmountCodecConfig();
+  FlatAmountTypeHandler flatAmountTypeHandler = new FlatAmountTypeHandler(amountCodecConfig);
+
+  @Test
+  @SneakyThrows
+  void callableStatementResult() {
+    CallableStatement callableStatement = callableStatement(ImmutableMap
+        .of(1, new BigDecimal("1.5"), amountCodecConfig.outputUnitName(),
+            amountCodecConfig.unitCodecConfig().serialize(UnitConstant.SECOND)));
+    Amount amount = flatAmountTypeHandler.getResult(callableStatement, 1);
+    log.debug("amount:{}", amount);
+    Assertions.assertEquals(UnitConstant.SECOND, amount.unit());
+    Assertions.assertEquals(0, new BigDecimal("1.5").compareTo(amount.bigDecimalValue()));
+    Assertions.assertNull(flatAmountTypeHandler.getResult(callableStatement(ImmutableMap.of()), 1));
+  }
+
+  @Test
+  @SneakyThrows
+  void integralResult() {
+    Amount amount = flatAmountTypeHandler.getResult(callableStatement(ImmutableMap
+        .of(1, new BigDecimal("2"), amountCodecConfig.outputUnitName(),
+            amountCodecConfig.unitCodecConfig().serialize(UnitConstant.SECOND))), 1);
+    Assertions.assertTrue(amount.value() instanceof BigInteger, amount.toString());
+    //数值类型为Long时按long读取
+    AmountCodecConfig longAmountCodecConfig = new Unit4jProperties()
+        .setStrategy(CodecStrategy.FLAT).setValueType(Long.class).createAmountCodecConfig();
+    amount = new FlatAmountTypeHandler(longAmountCodecConfig).getResult(callableStatement(
+        ImmutableMap.of(1, 3L, longAmountCodecConfig.outputUnitName(),
+            longAmountCodecConfig.unitCodecConfig().serialize(UnitConstant.SECOND))), 1);
+    Assertions.assertTrue(amount.value() instanceof BigInteger, amount.toString());
+    Assertions.assertEquals(0, new BigDecimal("3").compareTo(amount.bigDecimalValue()));
+    Assertions.assertEquals(UnitConstant.SECOND, amount.unit());
+  }
+
+  @Test
+  @SneakyThrows
+  void unitColumnCodeResult() {
+    AmountCodecConfig codeAmountCodecConfig = new Unit4jProperties()
+        .setStrategy(CodecStrategy.FLAT).setUnitColumnCode(true)
+        .setUnitDictionaryIds(ImmutableList.of(UnitConstant.MINUTE.id(), UnitConstant.SECOND.id()))
+        .createAmountCodecConfig();
+    Amount amount = new FlatAmountTypeHandler(codeAmountCodecConfig).getResult(callableStatement(
+        ImmutableMap.of(1, new BigDecimal("2"), codeAmountCodecConfig.outputUnitName(),
+            (short) 1)), 1);
+    Assertions.assertEquals(UnitConstant.SECOND, amount.unit());
+  }
+
+  @Test
+  void parameter() {
+    //FLAT策略的参数由SqlRewrite拆分写入,不能直接写入
+    TypeException exception = Assertions.assertThrows(TypeException.class,
+        () -> flatAmountTypeHandler.setParameter(null, 1, Amount.create(1, UnitConstant.SECOND),
+            null));
+    log.debug("exception:", exception);
+  }
+
+  /**
+   * 按参数位置或参数名称返回输出参数值的存储过程语句
+   *
+   * @param outParameters 参数位置或参数名称与输出参数值
+   * @return 存储过程语句
+   */
+  static CallableStatement callableStatement(Map<Object, Object> outParameters) {
+    Object[] lastValue = new Object[1];
+    return (CallableStatement) Proxy.newProxyInstance(
+        FlatAmountTypeHandlerTest.class.getClassLoader(), new Class<?>[]{CallableStatement.class},
+        (proxy, method, args) -> {
+          if ("wasNull".equals(method.getName())) {
+            return lastValue[0] == null;
+          }
+          lastValue[0] = outParameters.get(args[0]);
+          return lastValue[0];
+        });
+  }
+}
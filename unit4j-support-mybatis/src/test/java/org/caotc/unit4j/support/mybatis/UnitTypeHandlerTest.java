@@ -0,0 +1,81 @@
+package org.caotc.unit4j.support.mybatis;
+
+import com.google.common.collect.ImmutableList;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.type.JdbcType;
+import org.caotc.unit4j.core.Configuration;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.UnitDictionary;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class UnitTypeHandlerTest {
+
+  @Test
+  @SneakyThrows
+  void smallintCode() {
+    Configuration configuration = Configuration.defaultInstance();
+    UnitTypeHandler unitTypeHandler = new UnitTypeHandler(UnitDictionary
+        .create(configuration, UnitDictionary.create(configuration).unitIds()));
+    try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:unit_type_handler");
+        Statement statement = connection.createStatement()) {
+      statement.execute("create table unit_entity(id bigint primary key,unit smallint)");
+      try (PreparedStatement insert = connection
+          .prepareStatement("insert into unit_entity(id,unit) values(?,?)")) {
+        insert.setLong(1, 1);
+        unitTypeHandler.setParameter(insert, 2, UnitConstant.SECOND, null);
+        insert.executeUpdate();
+        insert.setLong(1, 2);
+        unitTypeHandler.setParameter(insert, 2, null, JdbcType.SMALLINT);
+        insert.executeUpdate();
+      }
+      try (ResultSet resultSet = statement
+          .executeQuery("select unit from unit_entity order by id")) {
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals(UnitConstant.SECOND, unitTypeHandler.getResult(resultSet, "unit"));
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertNull(unitTypeHandler.getResult(resultSet, 1));
+      }
+    }
+  }
+
+  @Test
+  void persistedUnitIds() {
+    Configuration configuration = Configuration.defaultInstance();
+    UnitDictionary unitDictionary = UnitDictionary.create(configuration);
+    UnitDictionary restored = UnitDictionary.create(configuration, unitDictionary.unitIds());
+    Assertions.assertEquals(unitDictionary, restored);
+    UnitDictionary reordered = UnitDictionary.create(configuration,
+        unitDictionary.unitIds().reverse());
+    Assertions.assertEquals(unitDictionary.units().size(), reordered.units().size());
+    Assertions.assertEquals(UnitConstant.SECOND,
+        reordered.unit(UnitTypeHandler.code(reordered, UnitConstant.SECOND)));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> UnitDictionary.create(configuration, Arrays.asList("not_a_unit")));
+  }
+
+  @Test
+  void requirePersistedUnitIds() {
+    //没有已持久化的单位id时不使用按id排序的编号
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> new UnitTypeHandler().unitDictionary());
+    Unit4jProperties unit4jProperties = new Unit4jProperties().setUnitColumnCode(true);
+    Assertions.assertThrows(IllegalStateException.class,
+        unit4jProperties::createAmountCodecConfig);
+    Assertions.assertThrows(IllegalStateException.class, () -> new Unit4jProperties()
+        .createAmountCodecConfig().unitCodecConfig().unitDictionary());
+    UnitDictionary unitDictionary = unit4jProperties
+        .setUnitDictionaryIds(ImmutableList.of(UnitConstant.SECOND.id()))
+        .createAmountCodecConfig().unitCodecConfig().unitDictionary();
+    Assertions.assertEquals(0, UnitTypeHandler.code(unitDictionary, UnitConstant.SECOND));
+  }
+}
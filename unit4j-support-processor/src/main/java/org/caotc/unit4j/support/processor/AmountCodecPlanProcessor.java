@@ -0,0 +1,444 @@
+package org.caotc.unit4j.support.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.SimpleAnnotationValueVisitor8;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * 编译期生成{@code AmountCodecPlanProvider}的注解处理器.为每个含有{@code Amount}属性的类生成直接调用get/set方法或属性的编码解码计划,
+ * 并注册到{@code META-INF/services}中,运行时通过{@code AmountCodecPlans}加载,无需反射扫描
+ *
+ * @author caotc
+ * @date 2019-07-22
+ * @apiNote 编译期无法直接访问的属性(如私有属性且没有公开的get/set方法)在生成的计划中使用反射访问
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes("*")
+public class AmountCodecPlanProcessor extends AbstractProcessor {
+
+  /**
+   * 生成的提供者类名后缀,运行时按该后缀查找提供者,与{@code AmountCodecPlanProvider.CLASS_NAME_SUFFIX}一致
+   */
+  static final String PROVIDER_SUFFIX = "_AmountCodecPlanProvider";
+  /**
+   * 提供者接口类名
+   */
+  static final String PROVIDER_INTERFACE = "org.caotc.unit4j.support.plan.AmountCodecPlanProvider";
+  /**
+   * 提供者注册文件
+   */
+  static final String SERVICE_FILE = "META-INF/services/" + PROVIDER_INTERFACE;
+  private static final String AMOUNT = "org.caotc.unit4j.core.Amount";
+  private static final String AMOUNT_SERIALIZE = "org.caotc.unit4j.support.annotation.AmountSerialize";
+  private static final String AMOUNT_DESERIALIZE = "org.caotc.unit4j.support.annotation.AmountDeserialize";
+  private static final String CODEC_PLAN = "org.caotc.unit4j.support.plan.AmountCodecPlan";
+  private static final String PROPERTY_PLAN = "org.caotc.unit4j.support.plan.AmountPropertyPlan";
+  private static final String LITERAL_SUFFIX = "Literal";
+  private static final String GET_PREFIX = "get";
+  private static final String SET_PREFIX = "set";
+
+  /**
+   * 本次编译生成的提供者类名
+   */
+  private final Set<String> providers = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement amount = processingEnv.getElementUtils().getTypeElement(AMOUNT);
+    if (amount != null) {
+      for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+        processType(type, amount.asType());
+      }
+    }
+    if (roundEnv.processingOver() && !providers.isEmpty()) {
+      writeServiceFile();
+    }
+    return false;
+  }
+
+  /**
+   * 处理类及其内部类
+   *
+   * @param type 类
+   * @param amount {@code Amount}类型
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  private void processType(TypeElement type, TypeMirror amount) {
+    for (TypeElement nestedType : ElementFilter.typesIn(type.getEnclosedElements())) {
+      processType(nestedType, amount);
+    }
+    if (type.getKind() != ElementKind.CLASS || !accessible(type)) {
+      return;
+    }
+    Map<String, VariableElement> fields = amountFields(type, amount);
+    if (fields.isEmpty()) {
+      return;
+    }
+    List<String> propertyPlans = new ArrayList<>(fields.size());
+    fields.forEach((name, field) -> propertyPlans.add(propertyPlan(type, name, field, amount)));
+    writeProvider(type, propertyPlans);
+  }
+
+  /**
+   * 获取类及其超类中所有{@code Amount}类型的非静态属性,子类属性优先
+   *
+   * @param type 类
+   * @param amount {@code Amount}类型
+   * @return 属性名称与属性的映射
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  private Map<String, VariableElement> amountFields(TypeElement type, TypeMirror amount) {
+    Map<String, VariableElement> fields = new LinkedHashMap<>();
+    TypeElement current = type;
+    while (current != null) {
+      for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+        if (!field.getModifiers().contains(Modifier.STATIC) && isAmount(field.asType(), amount)) {
+          fields.putIfAbsent(field.getSimpleName().toString(), field);
+        }
+      }
+      TypeMirror superclass = current.getSuperclass();
+      current = superclass.getKind() == TypeKind.DECLARED
+          ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+    return fields;
+  }
+
+  /**
+   * 生成属性计划的创建表达式.优先使用get/set方法,其次使用属性,都无法直接访问时使用反射
+   *
+   * @param type 类
+   * @param name 属性名称
+   * @param field 属性
+   * @param amount {@code Amount}类型
+   * @return 属性计划的创建表达式
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  private String propertyPlan(TypeElement type, String name, VariableElement field,
+      TypeMirror amount) {
+    List<ExecutableElement> methods = ElementFilter
+        .methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+    ExecutableElement getter = findGetter(methods, name, amount);
+    ExecutableElement setter = findSetter(methods, name, amount);
+    String packageName = packageName(type);
+
+    String reader = null;
+    if (getter != null && accessible(getter, packageName)) {
+      reader = "object -> object." + getter.getSimpleName() + "()";
+    } else if (accessible(field, packageName)) {
+      reader = "object -> object." + name;
+    }
+    String writer = null;
+    if (setter != null && accessible(setter, packageName)) {
+      writer = "(object, value) -> object." + setter.getSimpleName() + "(value)";
+    } else if (!field.getModifiers().contains(Modifier.FINAL) && accessible(field, packageName)) {
+      writer = "(object, value) -> object." + name + " = value";
+    }
+
+    String typeName = type.getQualifiedName().toString();
+    StringBuilder plan = new StringBuilder();
+    if (reader != null && writer != null) {
+      plan.append(PROPERTY_PLAN).append(".<").append(typeName).append(">builder()")
+          .append("\n            .propertyName(")
+          .append(processingEnv.getElementUtils().getConstantExpression(name)).append(")");
+      annotation(AMOUNT_SERIALIZE, field, getter, setter).ifPresent(literal -> plan
+          .append("\n            .amountSerialize(").append(literal).append(")"));
+      annotation(AMOUNT_DESERIALIZE, field, setter, getter).ifPresent(literal -> plan
+          .append("\n            .amountDeserialize(").append(literal).append(")"));
+    } else {
+      plan.append(PROPERTY_PLAN).append(".reflective(").append(typeName).append(".class, ")
+          .append(processingEnv.getElementUtils().getConstantExpression(name))
+          .append(").toBuilder()");
+    }
+    if (reader != null) {
+      plan.append("\n            .reader(").append(reader).append(")");
+    }
+    if (writer != null) {
+      plan.append("\n            .writer(").append(writer).append(")");
+    }
+    return plan.append("\n            .build()").toString();
+  }
+
+  private ExecutableElement findGetter(List<ExecutableElement> methods, String name,
+      TypeMirror amount) {
+    ExecutableElement fluentGetter = null;
+    for (ExecutableElement method : methods) {
+      if (method.getModifiers().contains(Modifier.STATIC) || !method.getParameters().isEmpty()
+          || !isAmount(method.getReturnType(), amount)) {
+        continue;
+      }
+      String methodName = method.getSimpleName().toString();
+      if (methodName.equals(GET_PREFIX + capitalize(name))) {
+        return method;
+      }
+      if (methodName.equals(name)) {
+        fluentGetter = method;
+      }
+    }
+    return fluentGetter;
+  }
+
+  private ExecutableElement findSetter(List<ExecutableElement> methods, String name,
+      TypeMirror amount) {
+    ExecutableElement fluentSetter = null;
+    for (ExecutableElement method : methods) {
+      if (method.getModifiers().contains(Modifier.STATIC) || method.getParameters().size() != 1
+          || !isAmount(method.getParameters().get(0).asType(), amount)) {
+        continue;
+      }
+      String methodName = method.getSimpleName().toString();
+      if (methodName.equals(SET_PREFIX + capitalize(name))) {
+        return method;
+      }
+      if (methodName.equals(name)) {
+        fluentSetter = method;
+      }
+    }
+    return fluentSetter;
+  }
+
+  /**
+   * 按顺序在元素中查找注解,生成注解实现类的创建表达式
+   *
+   * @param annotationName 注解类名
+   * @param elements 查找注解的元素,可以为null
+   * @return 注解实现类的创建表达式
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  private Optional<String> annotation(String annotationName, Element... elements) {
+    for (Element element : elements) {
+      if (element == null) {
+        continue;
+      }
+      for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+        TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+        if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+          StringBuilder literal = new StringBuilder(annotationName).append(LITERAL_SUFFIX)
+              .append(".builder()");
+          mirror.getElementValues().forEach((method, value) -> literal.append('.')
+              .append(method.getSimpleName()).append('(')
+              .append(value.accept(new LiteralVisitor(), null)).append(')'));
+          return Optional.of(literal.append(".build()").toString());
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * 写入提供者源码
+   *
+   * @param type 类
+   * @param propertyPlans 属性计划的创建表达式
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  private void writeProvider(TypeElement type, List<String> propertyPlans) {
+    String packageName = packageName(type);
+    String simpleName = binaryName(type).substring(packageName.isEmpty() ? 0
+        : packageName.length() + 1).replace('$', '_') + PROVIDER_SUFFIX;
+    String providerName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    String typeName = type.getQualifiedName().toString();
+
+    StringBuilder source = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source.append("/**\n * {@link ").append(typeName).append("}的编码解码计划,由")
+        .append(getClass().getSimpleName()).append("生成\n */\n")
+        .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+        .append("public final class ").append(simpleName).append(" implements ")
+        .append(PROVIDER_INTERFACE).append(" {\n\n")
+        .append("  @Override\n")
+        .append("  public ").append(CODEC_PLAN).append("<?> plan() {\n")
+        .append("    return ").append(CODEC_PLAN).append(".create(").append(typeName)
+        .append(".class, java.util.Arrays.asList(\n        ")
+        .append(String.join(",\n        ", propertyPlans))
+        .append("));\n  }\n}\n");
+
+    try (Writer writer = processingEnv.getFiler().createSourceFile(providerName, type)
+        .openWriter()) {
+      writer.write(source.toString());
+      providers.add(providerName);
+    } catch (IOException e) {
+      processingEnv.getMessager()
+          .printMessage(Kind.ERROR, "can't write " + providerName + ": " + e, type);
+    }
+  }
+
+  /**
+   * 写入提供者注册文件,增量编译时合并已有的注册内容
+   *
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  private void writeServiceFile() {
+    Set<String> allProviders = new TreeSet<>(providers);
+    try {
+      FileObject existing = processingEnv.getFiler()
+          .getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (!line.trim().isEmpty()) {
+            allProviders.add(line.trim());
+          }
+        }
+      }
+    } catch (IOException e) {
+      //注册文件不存在
+    }
+    try (Writer writer = processingEnv.getFiler()
+        .createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE).openWriter()) {
+      for (String provider : allProviders) {
+        writer.write(provider);
+        writer.write("\n");
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Kind.ERROR, "can't write " + SERVICE_FILE + ": " + e);
+    }
+  }
+
+  private boolean isAmount(TypeMirror type, TypeMirror amount) {
+    return processingEnv.getTypeUtils()
+        .isSameType(processingEnv.getTypeUtils().erasure(type), amount);
+  }
+
+  /**
+   * 类是否可以在生成的同包类中访问
+   *
+   * @param type 类
+   * @return 是否可以访问
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  private boolean accessible(TypeElement type) {
+    Element current = type;
+    while (current instanceof TypeElement) {
+      if (current.getModifiers().contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      current = current.getEnclosingElement();
+    }
+    return true;
+  }
+
+  /**
+   * 属性或方法是否可以在生成的类中访问.为了生成的代码在任何编译器和运行时下都可以访问,
+   * 除了public类中的public成员,只允许访问同包类中的非private成员
+   *
+   * @param member 属性或方法
+   * @param packageName 生成的类所在的包
+   * @return 是否可以访问
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  private boolean accessible(Element member, String packageName) {
+    if (member.getModifiers().contains(Modifier.PRIVATE)) {
+      return false;
+    }
+    TypeElement declaringType = (TypeElement) member.getEnclosingElement();
+    if (!accessible(declaringType)) {
+      return false;
+    }
+    if (packageName(declaringType).equals(packageName)) {
+      return true;
+    }
+    return member.getModifiers().contains(Modifier.PUBLIC) && declaringType.getModifiers()
+        .contains(Modifier.PUBLIC);
+  }
+
+  private String packageName(TypeElement type) {
+    PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+    return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+  }
+
+  private String binaryName(TypeElement type) {
+    return processingEnv.getElementUtils().getBinaryName(type).toString();
+  }
+
+  private static String capitalize(String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /**
+   * 将注解属性值转换为java表达式
+   */
+  private class LiteralVisitor extends SimpleAnnotationValueVisitor8<String, Void> {
+
+    @Override
+    protected String defaultAction(Object value, Void unused) {
+      return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    @Override
+    public String visitType(TypeMirror type, Void unused) {
+      return processingEnv.getTypeUtils().erasure(type) + ".class";
+    }
+
+    @Override
+    public String visitEnumConstant(VariableElement constant, Void unused) {
+      return ((TypeElement) constant.getEnclosingElement()).getQualifiedName() + "." + constant
+          .getSimpleName();
+    }
+
+    @Override
+    public String visitArray(List<? extends AnnotationValue> values, Void unused) {
+      StringBuilder array = new StringBuilder("{");
+      for (AnnotationValue value : values) {
+        if (array.length() > 1) {
+          array.append(", ");
+        }
+        array.append(value.accept(this, null));
+      }
+      return array.append('}').toString();
+    }
+  }
+}
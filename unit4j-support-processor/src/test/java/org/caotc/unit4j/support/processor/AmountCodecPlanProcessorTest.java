@@ -0,0 +1,114 @@
+package org.caotc.unit4j.support.processor;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.constant.UnitConstant;
+import org.caotc.unit4j.support.CodecStrategy;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.caotc.unit4j.support.plan.AmountCodecPlan;
+import org.caotc.unit4j.support.plan.AmountCodecPlans;
+import org.caotc.unit4j.support.plan.AmountPropertyPlan;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class AmountCodecPlanProcessorTest {
+
+  static final String SAMPLE_SOURCE = "package sample;\n"
+      + "import org.caotc.unit4j.core.Amount;\n"
+      + "import org.caotc.unit4j.support.CodecStrategy;\n"
+      + "import org.caotc.unit4j.support.annotation.AmountSerialize;\n"
+      + "public class Sample {\n"
+      + "  @AmountSerialize(strategy = CodecStrategy.FLAT, targetUnitId = \"KILOGRAM\")\n"
+      + "  private Amount weight;\n"
+      + "  Amount height;\n"
+      + "  private Amount hidden;\n"
+      + "  private String name;\n"
+      + "  public Amount getWeight() { return weight; }\n"
+      + "  public void setWeight(Amount weight) { this.weight = weight; }\n"
+      + "  public Amount hidden() { return hidden; }\n"
+      + "}\n";
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void generatePlan() throws Exception {
+    Path output = Files.createTempDirectory("unit4j-processor");
+    compile(output);
+
+    Path serviceFile = output.resolve(AmountCodecPlanProcessor.SERVICE_FILE);
+    Assertions.assertTrue(Files.exists(serviceFile));
+    Assertions.assertEquals(ImmutableList.of("sample.Sample_AmountCodecPlanProvider"),
+        Files.readAllLines(serviceFile, StandardCharsets.UTF_8));
+    log.debug("generated:{}", new String(Files.readAllBytes(
+        output.resolve("sample/Sample" + AmountCodecPlanProcessor.PROVIDER_SUFFIX + ".java")),
+        StandardCharsets.UTF_8));
+
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()},
+        getClass().getClassLoader())) {
+      Class<Object> sampleClass = (Class<Object>) classLoader.loadClass("sample.Sample");
+      AmountCodecPlan<Object> plan = AmountCodecPlans.get(sampleClass);
+      log.debug("plan:{}", plan);
+      Assertions.assertTrue(plan.generated());
+      Assertions.assertEquals(ImmutableList.of("weight", "height", "hidden"),
+          plan.properties().stream().map(AmountPropertyPlan::propertyName)
+              .collect(Collectors.toList()));
+
+      AmountPropertyPlan<Object> weight = plan.property("weight").get();
+      Assertions.assertEquals(CodecStrategy.FLAT, weight.amountSerialize().get().strategy());
+      Assertions.assertEquals("KILOGRAM", weight.amountSerialize().get().targetUnitId());
+      Assertions.assertFalse(plan.property("height").get().amountSerialize().isPresent());
+      //生成计划中的注解实现类与jdk注解对象互相相等
+      AmountSerialize annotation = sampleClass.getDeclaredField("weight")
+          .getAnnotation(AmountSerialize.class);
+      Assertions.assertEquals(annotation, weight.amountSerialize().get());
+      Assertions.assertEquals(weight.amountSerialize().get(), annotation);
+      Assertions.assertEquals(annotation.hashCode(), weight.amountSerialize().get().hashCode());
+
+      Object sample = sampleClass.newInstance();
+      Amount amount = Amount.create("123.56", UnitConstant.SECOND);
+      for (AmountPropertyPlan<Object> propertyPlan : plan.properties()) {
+        Assertions.assertFalse(propertyPlan.read(sample).isPresent());
+        propertyPlan.write(sample, amount);
+        Assertions.assertEquals(amount, propertyPlan.read(sample).get());
+      }
+    }
+  }
+
+  void compile(Path output) throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager = compiler
+        .getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///sample/Sample.java"),
+          JavaFileObject.Kind.SOURCE) {
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+          return SAMPLE_SOURCE;
+        }
+      };
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+          ImmutableList.of("-d", output.toString(), "-classpath",
+              System.getProperty("java.class.path")), null, Collections.singletonList(source));
+      task.setProcessors(Collections.singletonList(new AmountCodecPlanProcessor()));
+      Boolean success = task.call();
+      diagnostics.getDiagnostics().forEach(diagnostic -> log.debug("{}", diagnostic));
+      Assertions.assertTrue(success, diagnostics.getDiagnostics().toString());
+    }
+  }
+}
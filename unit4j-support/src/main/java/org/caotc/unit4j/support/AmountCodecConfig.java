@@ -1,10 +1,17 @@
 package org.caotc.unit4j.support;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import java.io.IOException;
 import java.util.Objects;
 import java.util.function.Function;
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
 import org.caotc.unit4j.core.Amount;
 import org.caotc.unit4j.core.Configuration;
@@ -21,8 +28,14 @@ import org.caotc.unit4j.core.unit.Unit;
 @Builder(toBuilder = true)
 public class AmountCodecConfig {
 
-  private static final String AMOUNT_VALUE_FIELD_NAME = "value";
-  private static final String AMOUNT_UNIT_FIELD_NAME = "unit";
+  /**
+   * {@link Amount#value()}的属性名称
+   */
+  public static final String AMOUNT_VALUE_FIELD_NAME = "value";
+  /**
+   * {@link Amount#unit()}的属性名称
+   */
+  public static final String AMOUNT_UNIT_FIELD_NAME = "unit";
 
   /**
    * 配置
@@ -33,6 +46,18 @@ public class AmountCodecConfig {
    * 目标单位//TODO 待处理
    */
   Unit targetUnit;
+  /**
+   * 源单位,反序列化时数据中没有单位则使用该单位
+   */
+  Unit sourceUnit;
+  /**
+   * 二进制数据格式中是否使用紧凑编码,单位写出为{@link UnitDictionary}中的编号,整数数值写出为long
+   */
+  boolean binaryCompact;
+  /**
+   * 数据库中{@link CodecStrategy#FLAT}策略的单位列是否保存{@link UnitDictionary}中的SMALLINT编号,否则保存单位别名
+   */
+  boolean unitColumnCode;
   /**
    * 序列化和反序列化策略
    */
@@ -58,20 +83,44 @@ public class AmountCodecConfig {
    */
   @NonNull
   UnitCodecConfig unitCodecConfig;
+  /**
+   * 输出名称,首次使用时计算
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Supplier<String> outputName = Suppliers
+      .memoize(() -> fieldNameConverter().apply(ImmutableList.of()));
+  /**
+   * 数值的输出名称,首次使用时计算
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Supplier<String> outputValueName = Suppliers.memoize(
+      () -> fieldNameConverter().apply(ImmutableList.of(AMOUNT_VALUE_FIELD_NAME)));
+  /**
+   * 单位的输出名称,首次使用时计算
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Supplier<String> outputUnitName = Suppliers.memoize(
+      () -> fieldNameConverter().apply(ImmutableList.of(AMOUNT_UNIT_FIELD_NAME)));
 
   @NonNull
   public String outputName() {
-    return fieldNameConverter.apply(ImmutableList.of());
+    return outputName.get();
   }
 
   @NonNull
   public String outputValueName() {
-    return fieldNameConverter.apply(ImmutableList.of(AMOUNT_VALUE_FIELD_NAME));
+    return outputValueName.get();
   }
 
   @NonNull
   public String outputUnitName() {
-    return fieldNameConverter.apply(ImmutableList.of(AMOUNT_UNIT_FIELD_NAME));
+    return outputUnitName.get();
   }
 
   /**
@@ -84,13 +133,29 @@ public class AmountCodecConfig {
    * @since 1.0.0
    */
   @NonNull
-  protected Amount beforeCodec(@NonNull Amount amount) {
+  public Amount beforeCodec(@NonNull Amount amount) {
     if (Objects.isNull(targetUnit())) {
       return amount;
     }
     return amount.convertTo(targetUnit(), configuration());
   }
 
+  /**
+   * 转换{@link Amount}后按{@link #strategy()}推送到写出目标
+   *
+   * @param amount 数量
+   * @param writer 写出目标
+   * @param context 写出上下文
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public <C> void write(@NonNull Amount amount, @NonNull AmountWriter<C> writer, C context)
+      throws IOException {
+    strategy().write(beforeCodec(amount), this, writer, context);
+  }
+
   /**
    * 获取传入数量对象的序列化指令
    *
@@ -99,7 +164,9 @@ public class AmountCodecConfig {
    * @author caotc
    * @date 2019-05-29
    * @since 1.0.0
+   * @deprecated 使用{@link #write(Amount, AmountWriter, Object)}
    */
+  @Deprecated
   @NonNull
   public <T> SerializeCommands serializeCommandsFromAmount(@NonNull Amount amount) {
 //    Function<Class<? extends T>, ? extends Set<FieldWrapper<T, ?>>> kvRemovalListener = type -> ReflectionUtil
@@ -0,0 +1,86 @@
+package org.caotc.unit4j.support;
+
+import com.google.common.collect.Maps;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.Value;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+
+/**
+ * {@link Unit4jProperties}创建的{@link AmountCodecConfig}的共享缓存.以属性版本,属性名称与注解的值作为键,
+ * 相同的键共享同一个不可变的配置对象,{@link Unit4jProperties}修改时版本递增,旧版本的配置不再被使用
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see Unit4jProperties
+ * @since 1.0.0
+ */
+final class AmountCodecConfigCache {
+
+  /**
+   * 键与序列化反序列化配置的缓存
+   */
+  ConcurrentMap<Key, AmountCodecConfig> configs = Maps.newConcurrentMap();
+
+  /**
+   * 获取缓存的序列化反序列化配置,不存在时使用传入的方法创建
+   *
+   * @param version {@link Unit4jProperties}的版本
+   * @param fieldName 属性名称
+   * @param annotation {@link AmountSerialize}或{@link AmountDeserialize}注解
+   * @param loader 配置创建方法,不可以再访问该缓存
+   * @return 序列化反序列化配置
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  AmountCodecConfig get(long version, String fieldName, Annotation annotation,
+      @NonNull Supplier<AmountCodecConfig> loader) {
+    Key key = new Key(version, fieldName, annotation);
+    //先无锁读取,computeIfAbsent在键已存在时仍会锁住桶
+    AmountCodecConfig config = configs.get(key);
+    if (config != null) {
+      return config;
+    }
+    return configs.computeIfAbsent(key, k -> loader.get());
+  }
+
+  /**
+   * 清空缓存
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  void clear() {
+    configs.clear();
+  }
+
+  /**
+   * 缓存的键,注解按值比较
+   *
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @Value
+  static class Key {
+
+    /**
+     * {@link Unit4jProperties}的版本
+     */
+    long version;
+    /**
+     * 属性名称
+     */
+    String fieldName;
+    /**
+     * {@link AmountSerialize}或{@link AmountDeserialize}注解
+     */
+    Annotation annotation;
+  }
+}
@@ -0,0 +1,103 @@
+package org.caotc.unit4j.support;
+
+import java.io.IOException;
+import lombok.NonNull;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
+
+/**
+ * {@link Amount}写出目标.由{@link CodecStrategy#write(Amount, AmountCodecConfig, AmountWriter, Object)}
+ * 按策略依次调用,各框架直接实现为对自身输出的操作,写出过程中不产生{@link SerializeCommands}等中间对象.
+ * 每次写出的状态放在上下文中传入,实现类可以是无状态的单例
+ *
+ * @param <C> 写出上下文类型,如json生成器
+ * @author caotc
+ * @date 2019-07-24
+ * @see CodecStrategy
+ * @since 1.0.0
+ */
+public interface AmountWriter<C> {
+
+  /**
+   * 开始写出一个对象,只有{@link CodecStrategy#OBJECT}会调用
+   *
+   * @param context 写出上下文
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  void startObject(C context) throws IOException;
+
+  /**
+   * 结束写出一个对象,只有{@link CodecStrategy#OBJECT}会调用
+   *
+   * @param context 写出上下文
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  void endObject(C context) throws IOException;
+
+  /**
+   * 写出属性名称,之后紧跟一次{@link #value(Object, AbstractNumber)}或{@link #unit(Object, Unit)}
+   *
+   * @param context 写出上下文
+   * @param name 属性名称
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  void field(C context, @NonNull String name) throws IOException;
+
+  /**
+   * 写出属性之间的分隔符,默认不做任何操作
+   *
+   * @param context 写出上下文
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  default void fieldSeparator(C context) throws IOException {
+  }
+
+  /**
+   * 写出数值
+   *
+   * @param context 写出上下文
+   * @param value 数值
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  void value(C context, @NonNull AbstractNumber value) throws IOException;
+
+  /**
+   * 写出单位
+   *
+   * @param context 写出上下文
+   * @param unit 单位
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  void unit(C context, @NonNull Unit unit) throws IOException;
+
+  /**
+   * 取消原始属性的输出,只有{@link CodecStrategy#FLAT}会调用,默认不做任何操作
+   *
+   * @param context 写出上下文
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  default void removeOriginal(C context) throws IOException {
+  }
+}
@@ -4,9 +4,11 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import java.io.IOException;
 import java.util.Set;
 import java.util.function.Function;
 import lombok.NonNull;
+import org.caotc.unit4j.core.Amount;
 import org.caotc.unit4j.core.common.base.CaseFormat;
 import org.caotc.unit4j.core.common.reflect.PropertyReader;
 import org.caotc.unit4j.support.SerializeCommand.Type;
@@ -27,6 +29,7 @@ public enum CodecStrategy {
     @SuppressWarnings("unchecked")
     @NonNull
     @Override
+    @Deprecated
     public <T> SerializeCommands createSerializeCommands(@NonNull T value,
         @NonNull Function<ImmutableList<String>, String> fieldNameConverter,
         @NonNull Function<Class<? extends T>, ? extends Set<PropertyReader<T, ?>>> fieldWrapperConverter,
@@ -46,6 +49,19 @@ public enum CodecStrategy {
 
       return builder.command(SerializeCommand.END_OBJECT).build();
     }
+
+    @Override
+    public <C> void write(@NonNull Amount amount, @NonNull AmountCodecConfig amountCodecConfig,
+        @NonNull AmountWriter<C> writer, C context) throws IOException {
+      //属性位于独立的对象中,不需要带上外层属性名称
+      writer.startObject(context);
+      writer.field(context, AmountCodecConfig.AMOUNT_VALUE_FIELD_NAME);
+      writer.value(context, amount.value());
+      writer.fieldSeparator(context);
+      writer.field(context, AmountCodecConfig.AMOUNT_UNIT_FIELD_NAME);
+      writer.unit(context, amount.unit());
+      writer.endObject(context);
+    }
   },
   /**
    * 只输出一个属性的值
@@ -54,6 +70,7 @@ public enum CodecStrategy {
     @SuppressWarnings("unchecked")
     @NonNull
     @Override
+    @Deprecated
     public <T> SerializeCommands createSerializeCommands(@NonNull T value,
         @NonNull Function<ImmutableList<String>, String> fieldNameConverter,
         @NonNull Function<Class<? extends T>, ? extends Set<PropertyReader<T, ?>>> fieldWrapperConverter,
@@ -68,6 +85,12 @@ public enum CodecStrategy {
               Iterables.getOnlyElement(propertyReaders).read(value).orElse(null)))
           .build();
     }
+
+    @Override
+    public <C> void write(@NonNull Amount amount, @NonNull AmountCodecConfig amountCodecConfig,
+        @NonNull AmountWriter<C> writer, C context) throws IOException {
+      writer.value(context, amount.value());
+    }
   },
   /**
    * 与{@see OBJECT}一样输出所有属性, 但是改为扁平化输出，即自己不是一个对象，而是多个字段
@@ -76,6 +99,7 @@ public enum CodecStrategy {
     @SuppressWarnings("unchecked")
     @NonNull
     @Override
+    @Deprecated
     public <T> SerializeCommands createSerializeCommands(@NonNull T value,
         @NonNull Function<ImmutableList<String>, String> fieldNameConverter,
         @NonNull Function<Class<? extends T>, ? extends Set<PropertyReader<T, ?>>> fieldWrapperConverter,
@@ -95,6 +119,16 @@ public enum CodecStrategy {
       return builder.command(SerializeCommand.REMOVE_ORIGINAL_FIELD).build();
     }
 
+    @Override
+    public <C> void write(@NonNull Amount amount, @NonNull AmountCodecConfig amountCodecConfig,
+        @NonNull AmountWriter<C> writer, C context) throws IOException {
+      writer.field(context, amountCodecConfig.outputValueName());
+      writer.value(context, amount.value());
+      writer.fieldSeparator(context);
+      writer.field(context, amountCodecConfig.outputUnitName());
+      writer.unit(context, amount.unit());
+      writer.removeOriginal(context);
+    }
   };
 
   /**
@@ -107,11 +141,30 @@ public enum CodecStrategy {
    * @author caotc
    * @date 2019-05-29
    * @since 1.0.0
+   * @deprecated 每次序列化都会创建指令对象,使用{@link #write(Amount, AmountCodecConfig, AmountWriter,
+   * Object)}
    */
+  @Deprecated
   @NonNull
   public abstract <T> SerializeCommands createSerializeCommands(@NonNull T value,
       @NonNull Function<ImmutableList<String>, String> fieldNameConverter,
       @NonNull Function<Class<? extends T>, ? extends Set<PropertyReader<T, ?>>> fieldWrapperConverter
       , @NonNull CaseFormat fieldNameFormat);
 
+  /**
+   * 按策略将{@link Amount}推送到写出目标,不创建中间对象
+   *
+   * @param amount 已经过{@link AmountCodecConfig#beforeCodec(Amount)}转换的数量
+   * @param amountCodecConfig 序列化反序列化配置
+   * @param writer 写出目标
+   * @param context 写出上下文
+   * @throws IOException 写出异常
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public abstract <C> void write(@NonNull Amount amount,
+      @NonNull AmountCodecConfig amountCodecConfig, @NonNull AmountWriter<C> writer, C context)
+      throws IOException;
+
 }
@@ -0,0 +1,26 @@
+package org.caotc.unit4j.support;
+
+import org.caotc.unit4j.core.Amount;
+
+/**
+ * {@link Amount}集合序列化时的策略
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see SharedUnitAmounts
+ * @since 1.0.0
+ */
+public enum CollectionCodecStrategy {
+  /**
+   * 每个元素单独序列化
+   */
+  ELEMENT,
+  /**
+   * 整个集合选择同一个目标单位,转换后每个元素单独序列化
+   */
+  SHARED_UNIT,
+  /**
+   * 整个集合选择同一个目标单位,单位只输出一次,数值输出为数组.即{"unit":单位,"values":[数值...]}
+   */
+  COLUMNAR
+}
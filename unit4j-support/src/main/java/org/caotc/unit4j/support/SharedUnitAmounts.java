@@ -0,0 +1,138 @@
+package org.caotc.unit4j.support;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.reflect.TypeToken;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.Configuration;
+import org.caotc.unit4j.core.convert.UnitConverter;
+import org.caotc.unit4j.core.math.number.AbstractNumber;
+import org.caotc.unit4j.core.unit.Unit;
+
+/**
+ * 转换到同一个单位的{@link Amount}集合.目标单位对整个集合只选择一次,每种源单位只创建一个预编译的单位转换器.
+ * null元素保持在原位置,数值为null
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @see CollectionCodecStrategy
+ * @since 1.0.0
+ */
+@Value
+public class SharedUnitAmounts {
+
+  /**
+   * 列式输出时数值数组的属性名称
+   */
+  public static final String VALUES_FIELD_NAME = "values";
+
+  /**
+   * 工厂方法.配置了目标单位时使用目标单位,否则按配置自动选择目标单位.元素单位类型不一致时无法共用单位
+   *
+   * @param amounts 数量对象集合
+   * @param amountCodecConfig 序列化反序列化配置
+   * @return 转换到同一个单位的数量对象集合
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static Optional<SharedUnitAmounts> create(@NonNull Collection<?> amounts,
+      @NonNull AmountCodecConfig amountCodecConfig) {
+    ImmutableList.Builder<Amount> nonNullAmounts = ImmutableList.builder();
+    for (Object amount : amounts) {
+      if (amount instanceof Amount) {
+        nonNullAmounts.add((Amount) amount);
+      } else if (amount != null) {
+        return Optional.empty();
+      }
+    }
+    ImmutableList<Amount> elements = nonNullAmounts.build();
+    if (elements.stream().map(amount -> amount.unit().type()).distinct().count() > 1) {
+      return Optional.empty();
+    }
+    Configuration configuration = amountCodecConfig.configuration();
+    Unit unit = elements.isEmpty() ? null : amountCodecConfig.targetUnit() != null
+        ? amountCodecConfig.targetUnit() : configuration.getTargetUnit(elements);
+    Map<Unit, UnitConverter> converters = Maps.newHashMapWithExpectedSize(1);
+    List<AbstractNumber> values = new ArrayList<>(amounts.size());
+    for (Object element : amounts) {
+      Amount amount = (Amount) element;
+      if (amount == null) {
+        values.add(null);
+      } else if (Objects.equals(amount.unit(), unit)) {
+        values.add(amount.value());
+      } else {
+        values.add(converters.computeIfAbsent(amount.unit(),
+            source -> UnitConverter.create(source, unit, configuration)).convert(amount.value()));
+      }
+    }
+    return Optional.of(new SharedUnitAmounts(unit, Collections.unmodifiableList(values)));
+  }
+
+  /**
+   * 类型是否为元素类型为{@link Amount}的集合
+   *
+   * @param type 类型
+   * @return 是否为{@link Amount}集合
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static boolean isAmountCollection(@NonNull TypeToken<?> type) {
+    return type.isSubtypeOf(Collection.class) && Amount.class.equals(
+        type.getSupertype((Class) Collection.class)
+            .resolveType(Collection.class.getTypeParameters()[0]).getRawType());
+  }
+
+  /**
+   * 列式输出时数值数组的属性名称
+   *
+   * @param amountCodecConfig 序列化反序列化配置
+   * @return 数值数组的属性名称
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static String valuesName(@NonNull AmountCodecConfig amountCodecConfig) {
+    return amountCodecConfig.fieldNameConverter().apply(ImmutableList.of(VALUES_FIELD_NAME));
+  }
+
+  /**
+   * 共用的单位,集合中没有非null元素时为null
+   */
+  Unit unit;
+  /**
+   * 转换后的数值,null元素对应的数值为null
+   */
+  @NonNull
+  List<AbstractNumber> values;
+
+  /**
+   * 获取转换后的数量对象
+   *
+   * @return 转换后的数量对象,null元素保持为null
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public List<Amount> amounts() {
+    List<Amount> amounts = new ArrayList<>(values.size());
+    for (AbstractNumber value : values) {
+      amounts.add(value == null ? null : Amount.create(value, unit));
+    }
+    return amounts;
+  }
+}
@@ -1,18 +1,32 @@
 package org.caotc.unit4j.support;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import lombok.experimental.FieldDefaults;
 import org.caotc.unit4j.core.Alias;
@@ -20,7 +34,11 @@ import org.caotc.unit4j.core.Alias.Type;
 import org.caotc.unit4j.core.Amount;
 import org.caotc.unit4j.core.Configuration;
 import org.caotc.unit4j.core.common.base.CaseFormat;
+import org.caotc.unit4j.core.unit.Unit;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
 import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.caotc.unit4j.support.plan.AmountCodecPlans;
+import org.caotc.unit4j.support.plan.AmountPropertyPlan;
 
 /**
  * 属性,生成{@link AmountCodecConfig}对象使用 //TODO 可变性考虑
@@ -79,7 +97,18 @@ public class Unit4jProperties {
    * 默认单位别名未定义策略
    */
   public static final AliasUndefinedStrategy DEFAULT_UNIT_UNDEFINED_STRATEGY = AliasUndefinedStrategy.THROW_EXCEPTION;
-
+  /**
+   * 默认{@link Amount}集合序列化策略
+   */
+  public static final CollectionCodecStrategy DEFAULT_COLLECTION_STRATEGY = CollectionCodecStrategy.ELEMENT;
+  /**
+   * 默认二进制数据格式中是否使用紧凑编码
+   */
+  public static final boolean DEFAULT_BINARY_COMPACT = false;
+  /**
+   * 默认数据库中的单位列是否保存单位字典编号
+   */
+  public static final boolean DEFAULT_UNIT_COLUMN_CODE = false;
   /**
    * 数学运算的舍入模式
    */
@@ -116,6 +145,25 @@ public class Unit4jProperties {
    */
   @NonNull
   CodecStrategy fieldStrategy = DEFAULT_STRATEGY;
+  /**
+   * {@link Amount}集合的序列化策略
+   */
+  @NonNull
+  CollectionCodecStrategy collectionStrategy = DEFAULT_COLLECTION_STRATEGY;
+  /**
+   * 二进制数据格式中是否使用紧凑编码,单位写出为{@link UnitDictionary}中的编号,整数数值写出为long.
+   * 开启时必须设置{@link #unitDictionaryIds},通信双方使用相同的单位id
+   */
+  boolean binaryCompact = DEFAULT_BINARY_COMPACT;
+  /**
+   * 数据库中{@link CodecStrategy#FLAT}策略的单位列是否保存{@link UnitDictionary}中的SMALLINT编号,
+   * 与二进制数据格式的{@link #binaryCompact}互不影响.开启时必须设置{@link #unitDictionaryIds}
+   */
+  boolean unitColumnCode = DEFAULT_UNIT_COLUMN_CODE;
+  /**
+   * 已持久化的按编号排列的单位id,如从单位字典表中读取的结果,用于恢复编号不变的{@link UnitDictionary}
+   */
+  ImmutableList<String> unitDictionaryIds;
   /**
    * 单独的{@link Amount}对象的名称拼接器
    */
@@ -145,6 +193,43 @@ public class Unit4jProperties {
    */
   @NonNull
   Map<String, Map<String, String>> unitConvertConfigs = Maps.newHashMap();
+  /**
+   * 版本,影响{@link AmountCodecConfig}或序列化计划的属性修改时递增,可以作为依赖配置的缓存的键
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  final AtomicLong version = new AtomicLong();
+  /**
+   * 已创建的{@link AmountCodecConfig}的缓存
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  final AmountCodecConfigCache codecConfigCache = new AmountCodecConfigCache();
+  /**
+   * 配置与解析注解中单位id使用的单位序列化反序列化配置的缓存.配置是可变对象,按实例区分
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  final ConcurrentMap<Configuration, UnitCodecConfig> unitIdCodecConfigs = new MapMaker()
+      .weakKeys().makeMap();
+
+  /**
+   * 获取版本,影响{@link AmountCodecConfig}的属性修改时递增
+   *
+   * @return 版本
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public long getVersion() {
+    return version.get();
+  }
 
   /**
    * 获取单独的{@link Amount}对象的序列化反序列化配置
@@ -156,12 +241,25 @@ public class Unit4jProperties {
    */
   @NonNull
   public AmountCodecConfig createAmountCodecConfig() {
+    return codecConfigCache.get(getVersion(), null, null, this::buildAmountCodecConfig);
+  }
+
+  /**
+   * 创建单独的{@link Amount}对象的序列化反序列化配置
+   *
+   * @return 序列化反序列化配置
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private AmountCodecConfig buildAmountCodecConfig() {
     return AmountCodecConfig.builder().configuration(getConfiguration()).strategy(getStrategy())
+        .binaryCompact(isBinaryCompact()).unitColumnCode(isUnitColumnCode())
 //        .nameTransformer()
         .fieldNameConverter(getNameJoiner())
         .valueCodecConfig(new AmountValueCodecConfig(getValueType(), getMathContext()))
-        .unitCodecConfig(new UnitCodecConfig(getUnitAliasType(), getConfiguration(),
-            getUnitAliasUndefinedStrategy())).build();
+        .unitCodecConfig(unitCodecConfig()).build();
   }
 
   /**
@@ -180,26 +278,186 @@ public class Unit4jProperties {
     if (Objects.isNull(fieldName)) {
       return createAmountCodecConfig();
     }
+    return codecConfigCache.get(getVersion(), fieldName, amountSerialize,
+        () -> buildAmountCodecConfig(fieldName, amountSerialize));
+  }
+
+  /**
+   * 创建作为其他类属性的{@link Amount}对象的序列化反序列化配置
+   *
+   * @param fieldName 属性名称
+   * @param amountSerialize 序列化注解
+   * @return 序列化反序列化配置
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private AmountCodecConfig buildAmountCodecConfig(@NonNull String fieldName,
+      AmountSerialize amountSerialize) {
     if (Objects.isNull(amountSerialize)) {
       //TODO 封装
       return AmountCodecConfig.builder().configuration(getConfiguration())
-          .strategy(getFieldStrategy())
+          .strategy(getFieldStrategy()).binaryCompact(isBinaryCompact())
+          .unitColumnCode(isUnitColumnCode())
           .fieldNameConverter(
               valueFieldNameWords -> getFieldNameJoiner()
                   .apply(valueFieldNameWords, getFieldNameSplitter().apply(fieldName)))
           .valueCodecConfig(new AmountValueCodecConfig(getValueType(), getMathContext()))
-          .unitCodecConfig(new UnitCodecConfig(getUnitAliasType(), getConfiguration(),
-              getUnitAliasUndefinedStrategy())).build();
+          .unitCodecConfig(unitCodecConfig()).build();
     }
+    Configuration configuration = Configuration.getById(amountSerialize.configId())
+        .orElseThrow(IllegalArgumentException::new);
     return AmountCodecConfig.builder()
-        .configuration(Configuration.getById(amountSerialize.configId())
-            .orElseThrow(IllegalArgumentException::new)).strategy(amountSerialize.strategy())
+        .configuration(configuration).strategy(amountSerialize.strategy())
+        .binaryCompact(isBinaryCompact()).unitColumnCode(isUnitColumnCode())
+        .targetUnit(unitById(configuration, amountSerialize.targetUnitId()))
         .fieldNameConverter(valueFieldNameWords -> getFieldNameJoiner()
             .apply(valueFieldNameWords, amountSerialize.caseFormat().split(fieldName)))
         .valueCodecConfig(new AmountValueCodecConfig(amountSerialize.valueType(),
             new MathContext(amountSerialize.precision(), amountSerialize.roundingMode())))
-        .unitCodecConfig(new UnitCodecConfig(getUnitAliasType(), getConfiguration(),
-            getUnitAliasUndefinedStrategy())).build();
+        .unitCodecConfig(unitCodecConfig()).build();
+  }
+
+  /**
+   * 获取作为其他类属性的{@link Amount}对象的反序列化配置
+   *
+   * @param fieldName 属性名称
+   * @param amountDeserialize 反序列化注解
+   * @return 序列化反序列化配置
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public AmountCodecConfig createAmountCodecConfig(String fieldName,
+      AmountDeserialize amountDeserialize) {
+    if (Objects.isNull(fieldName) || Objects.isNull(amountDeserialize)) {
+      return createAmountCodecConfig(fieldName, (AmountSerialize) null);
+    }
+    return codecConfigCache.get(getVersion(), fieldName, amountDeserialize,
+        () -> buildAmountCodecConfig(fieldName, amountDeserialize));
+  }
+
+  /**
+   * 创建作为其他类属性的{@link Amount}对象的反序列化配置
+   *
+   * @param fieldName 属性名称
+   * @param amountDeserialize 反序列化注解
+   * @return 序列化反序列化配置
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private AmountCodecConfig buildAmountCodecConfig(@NonNull String fieldName,
+      @NonNull AmountDeserialize amountDeserialize) {
+    Configuration configuration = Configuration.getById(amountDeserialize.configId())
+        .orElseThrow(IllegalArgumentException::new);
+    return AmountCodecConfig.builder()
+        .configuration(configuration).strategy(amountDeserialize.strategy())
+        .binaryCompact(isBinaryCompact()).unitColumnCode(isUnitColumnCode())
+        .targetUnit(unitById(configuration, amountDeserialize.targetUnitId()))
+        .sourceUnit(unitById(configuration, amountDeserialize.sourceUnitId()))
+        .fieldNameConverter(valueFieldNameWords -> getFieldNameJoiner()
+            .apply(valueFieldNameWords, amountDeserialize.caseFormat().split(fieldName)))
+        .valueCodecConfig(new AmountValueCodecConfig(amountDeserialize.valueType(),
+            new MathContext(amountDeserialize.precision(), amountDeserialize.roundingMode())))
+        .unitCodecConfig(unitCodecConfig()).build();
+  }
+
+  /**
+   * 创建单位的序列化反序列化配置
+   *
+   * @return 单位的序列化反序列化配置
+   * @throws IllegalStateException 如果开启了{@link #unitColumnCode}或{@link #binaryCompact}但没有设置{@link
+   * #unitDictionaryIds}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private UnitCodecConfig unitCodecConfig() {
+    //按id排序的编号在配置增加单位后会变化,不能用于数据库中保存的编号,也不能用于配置不同的通信双方
+    Preconditions.checkState(!isUnitColumnCode() || getUnitDictionaryIds() != null,
+        "unitColumnCode requires unitDictionaryIds persisted from UnitDictionary.unitIds()");
+    Preconditions.checkState(!isBinaryCompact() || getUnitDictionaryIds() != null,
+        "binaryCompact requires unitDictionaryIds shared by both sides of the stream");
+    return new UnitCodecConfig(getUnitAliasType(), getConfiguration(),
+        getUnitAliasUndefinedStrategy(), getUnitDictionaryIds());
+  }
+
+  /**
+   * 根据注解中的单位id获取单位,单位id为单位的英文名称
+   *
+   * @param configuration 配置
+   * @param unitId 单位id
+   * @return 单位,单位id为空时返回null
+   * @throws IllegalArgumentException 如果单位id无法对应到单位
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  private Unit unitById(@NonNull Configuration configuration, @NonNull String unitId) {
+    if (unitId.isEmpty()) {
+      return null;
+    }
+    return unitIdCodecConfigs.computeIfAbsent(configuration,
+        key -> new UnitCodecConfig(Type.ENGLISH_NAME, configuration,
+            AliasUndefinedStrategy.AUTO_COMPOSITE)).deserialize(unitId);
+  }
+
+  /**
+   * 预加载类的{@link Amount}属性的编码解码计划与序列化反序列化配置,并预热配置中的单位转换缓存,避免首次序列化时的延迟
+   *
+   * @param types 需要预加载的类
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public Unit4jProperties preload(@NonNull Class<?>... types) {
+    return preload(Arrays.asList(types));
+  }
+
+  /**
+   * 预加载类的{@link Amount}属性的编码解码计划与序列化反序列化配置,并预热配置中的单位转换缓存,避免首次序列化时的延迟
+   *
+   * @param types 需要预加载的类
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public Unit4jProperties preload(@NonNull Iterable<? extends Class<?>> types) {
+    Set<Configuration> configurations = Sets.newIdentityHashSet();
+    configurations.add(getConfiguration());
+    configurations.add(createAmountCodecConfig().configuration());
+    for (Class<?> type : types) {
+      for (AmountPropertyPlan<?> propertyPlan : AmountCodecPlans.get(type).properties()) {
+        configurations.add(propertyPlan.codecConfig(this).configuration());
+      }
+    }
+    configurations.forEach(Configuration::warmUp);
+    return this;
+  }
+
+  /**
+   * 在传入的线程池中异步执行{@link #preload(Iterable)}
+   *
+   * @param executor 线程池
+   * @param types 需要预加载的类
+   * @return 预加载完成的future
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public CompletableFuture<Unit4jProperties> preloadAsync(@NonNull Executor executor,
+      @NonNull Iterable<? extends Class<?>> types) {
+    return CompletableFuture.supplyAsync(() -> preload(types), executor);
   }
 
   /**
@@ -214,7 +472,7 @@ public class Unit4jProperties {
   public Unit4jProperties setRoundingMode(@NonNull RoundingMode roundingMode) {
     this.roundingMode = roundingMode;
     mathContext = new MathContext(precision, roundingMode);
-    return this;
+    return modified();
   }
 
   /**
@@ -229,7 +487,7 @@ public class Unit4jProperties {
   public Unit4jProperties setPrecision(int precision) {
     this.precision = precision;
     mathContext = new MathContext(precision, roundingMode);
-    return this;
+    return modified();
   }
 
   /**
@@ -245,6 +503,224 @@ public class Unit4jProperties {
     this.mathContext = mathContext;
     this.roundingMode = mathContext.getRoundingMode();
     this.precision = mathContext.getPrecision();
+    return modified();
+  }
+
+  /**
+   * 数值转换类set方法
+   *
+   * @param valueType 数值转换类
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setValueType(@NonNull Class<?> valueType) {
+    this.valueType = valueType;
+    return modified();
+  }
+
+  /**
+   * 配置set方法
+   *
+   * @param configuration 配置
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setConfiguration(@NonNull Configuration configuration) {
+    this.configuration = configuration;
+    return modified();
+  }
+
+  /**
+   * 单独的{@link Amount}对象的序列化反序列化策略set方法
+   *
+   * @param strategy 单独的{@link Amount}对象的序列化反序列化策略
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setStrategy(@NonNull CodecStrategy strategy) {
+    this.strategy = strategy;
+    return modified();
+  }
+
+  /**
+   * 作为其他类属性的{@link Amount}对象的序列化反序列化策略set方法
+   *
+   * @param fieldStrategy 作为其他类属性的{@link Amount}对象的序列化反序列化策略
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setFieldStrategy(@NonNull CodecStrategy fieldStrategy) {
+    this.fieldStrategy = fieldStrategy;
+    return modified();
+  }
+
+  /**
+   * {@link Amount}集合的序列化策略set方法
+   *
+   * @param collectionStrategy {@link Amount}集合的序列化策略
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setCollectionStrategy(
+      @NonNull CollectionCodecStrategy collectionStrategy) {
+    this.collectionStrategy = collectionStrategy;
+    return modified();
+  }
+
+  /**
+   * 是否使用紧凑编码set方法
+   *
+   * @param binaryCompact 是否使用紧凑编码
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setBinaryCompact(boolean binaryCompact) {
+    this.binaryCompact = binaryCompact;
+    return modified();
+  }
+
+  /**
+   * 数据库中的单位列是否保存单位字典编号set方法
+   *
+   * @param unitColumnCode 是否保存单位字典编号
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setUnitColumnCode(boolean unitColumnCode) {
+    this.unitColumnCode = unitColumnCode;
+    return modified();
+  }
+
+  /**
+   * 已持久化的单位id set方法
+   *
+   * @param unitDictionaryIds 已持久化的按编号排列的单位id
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setUnitDictionaryIds(@NonNull List<String> unitDictionaryIds) {
+    this.unitDictionaryIds = ImmutableList.copyOf(unitDictionaryIds);
+    return modified();
+  }
+
+  /**
+   * 名称拼接器set方法
+   *
+   * @param nameJoiner 名称拼接器
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setNameJoiner(
+      Function<@NonNull ImmutableList<String>, @NonNull String> nameJoiner) {
+    this.nameJoiner = nameJoiner;
+    return modified();
+  }
+
+  /**
+   * 属性名称拆分器set方法
+   *
+   * @param fieldNameSplitter 属性名称拆分器
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setFieldNameSplitter(
+      Function<@NonNull String, @NonNull ImmutableList<String>> fieldNameSplitter) {
+    this.fieldNameSplitter = fieldNameSplitter;
+    return modified();
+  }
+
+  /**
+   * 属性名称拼接器set方法
+   *
+   * @param fieldNameJoiner 属性名称拼接器
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setFieldNameJoiner(
+      BiFunction<@NonNull ImmutableList<String>, @NonNull ImmutableList<String>,
+          @NonNull String> fieldNameJoiner) {
+    this.fieldNameJoiner = fieldNameJoiner;
+    return modified();
+  }
+
+  /**
+   * 单位的别名类型set方法
+   *
+   * @param unitAliasType 单位的别名类型
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setUnitAliasType(@NonNull Alias.Type unitAliasType) {
+    this.unitAliasType = unitAliasType;
+    return modified();
+  }
+
+  /**
+   * 别名未定义策略set方法
+   *
+   * @param unitAliasUndefinedStrategy 别名未定义策略
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setUnitAliasUndefinedStrategy(
+      @NonNull AliasUndefinedStrategy unitAliasUndefinedStrategy) {
+    this.unitAliasUndefinedStrategy = unitAliasUndefinedStrategy;
+    return modified();
+  }
+
+  /**
+   * 单位转换关系额外注入set方法
+   *
+   * @param unitConvertConfigs 单位转换关系额外注入
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  public Unit4jProperties setUnitConvertConfigs(
+      @NonNull Map<String, Map<String, String>> unitConvertConfigs) {
+    this.unitConvertConfigs = unitConvertConfigs;
+    return modified();
+  }
+
+  /**
+   * 影响{@link AmountCodecConfig}的属性修改后调用,递增版本并清空已创建的配置缓存
+   *
+   * @return {@code this}
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  private Unit4jProperties modified() {
+    version.incrementAndGet();
+    codecConfigCache.clear();
+    unitIdCodecConfigs.clear();
     return this;
   }
 }
@@ -1,9 +1,21 @@
 package org.caotc.unit4j.support;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 import lombok.Value;
 import org.caotc.unit4j.core.Alias;
 import org.caotc.unit4j.core.Configuration;
+import org.caotc.unit4j.core.exception.AliasUndefinedException;
 import org.caotc.unit4j.core.unit.Unit;
 
 /**
@@ -31,6 +43,39 @@ public class UnitCodecConfig {
    */
   @NonNull
   AliasUndefinedStrategy aliasUndefinedStrategy;
+  /**
+   * 已持久化的按编号排列的单位id,为null时不能使用单位字典
+   */
+  ImmutableList<String> unitDictionaryIds;
+  /**
+   * 序列化结果到单位的索引,首次反序列化时创建
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Supplier<ImmutableMap<String, Unit>> aliasIndex = Suppliers.memoize(this::createAliasIndex);
+  /**
+   * 单位字典,首次使用时创建
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  Supplier<UnitDictionary> unitDictionary = Suppliers.memoize(this::createUnitDictionary);
+
+  public UnitCodecConfig(@NonNull Alias.Type type, @NonNull Configuration configuration,
+      @NonNull AliasUndefinedStrategy aliasUndefinedStrategy) {
+    this(type, configuration, aliasUndefinedStrategy, null);
+  }
+
+  public UnitCodecConfig(@NonNull Alias.Type type, @NonNull Configuration configuration,
+      @NonNull AliasUndefinedStrategy aliasUndefinedStrategy,
+      List<String> unitDictionaryIds) {
+    this.type = type;
+    this.configuration = configuration;
+    this.aliasUndefinedStrategy = aliasUndefinedStrategy;
+    this.unitDictionaryIds =
+        unitDictionaryIds == null ? null : ImmutableList.copyOf(unitDictionaryIds);
+  }
 
   /**
    * 获取单位的序列化指令
@@ -47,4 +92,81 @@ public class UnitCodecConfig {
     return unit.aliasFromConfiguration(configuration(), type()).map(Alias::value)
         .orElseGet(() -> aliasUndefinedStrategy().execute(unit, configuration(), type()));
   }
+
+  /**
+   * 根据别名获取单位,是{@link #serialize(Unit)}的逆操作
+   *
+   * @param alias 别名
+   * @return 单位
+   * @throws IllegalArgumentException 如果别名无法对应到单位
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public Unit deserialize(@NonNull String alias) {
+    Unit unit = aliasIndex.get().get(alias);
+    if (unit != null) {
+      return unit;
+    }
+    //索引创建后注册的别名
+    return configuration().aliasRegistrableByAlias(Alias.create(type(), alias))
+        .filter(Unit.class::isInstance).map(Unit.class::cast)
+        .orElseThrow(() -> new IllegalArgumentException(alias + " can't parse a Unit"));
+  }
+
+  /**
+   * 获取由已持久化的单位id恢复的单位字典
+   *
+   * @return 单位字典
+   * @throws IllegalStateException 如果没有设置已持久化的单位id
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public UnitDictionary unitDictionary() {
+    return unitDictionary.get();
+  }
+
+  /**
+   * 由已持久化的单位id创建单位字典.按id排序的编号在配置增加单位后会变化,已保存的编号会对应到错误的单位,
+   * 所以没有已持久化的单位id时不创建字典
+   *
+   * @return 单位字典
+   * @throws IllegalStateException 如果没有设置已持久化的单位id
+   * @author caotc
+   * @date 2019-07-24
+   * @see UnitDictionary#create(Configuration, List)
+   * @since 1.0.0
+   */
+  @NonNull
+  private UnitDictionary createUnitDictionary() {
+    if (unitDictionaryIds == null) {
+      throw new IllegalStateException("unit dictionary requires persisted unit ids,"
+          + " set Unit4jProperties.unitDictionaryIds from UnitDictionary.unitIds()");
+    }
+    return UnitDictionary.create(configuration(), unitDictionaryIds);
+  }
+
+  /**
+   * 创建配置中所有单位组内单位的序列化结果到单位的索引
+   *
+   * @return 序列化结果到单位的索引
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  private ImmutableMap<String, Unit> createAliasIndex() {
+    Map<String, Unit> index = Maps.newHashMap();
+    for (Unit unit : configuration().groupedUnits()) {
+      try {
+        index.putIfAbsent(serialize(unit), unit);
+      } catch (AliasUndefinedException e) {
+        //没有别名的单位无法通过别名反序列化
+      }
+    }
+    return ImmutableMap.copyOf(index);
+  }
 }
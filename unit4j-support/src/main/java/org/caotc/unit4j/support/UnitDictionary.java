@@ -0,0 +1,168 @@
+package org.caotc.unit4j.support;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.caotc.unit4j.core.Configuration;
+import org.caotc.unit4j.core.unit.Unit;
+
+/**
+ * 单位字典.把配置中所有单位组内的单位按id排序后编号,二进制数据格式中用编号代替单位别名. 相同单位集合的配置得到相同的编号和版本号,通信双方可以通过{@link
+ * #version()}确认字典一致
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@Value
+public class UnitDictionary {
+
+  /**
+   * 工厂方法
+   *
+   * @param configuration 配置
+   * @return 配置中所有单位组内单位的字典
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static UnitDictionary create(@NonNull Configuration configuration) {
+    return create(configuration, ImmutableList.of());
+  }
+
+  /**
+   * 工厂方法,保持已持久化的编号不变.已持久化的单位按原编号排列,配置中新增的单位按id排序后追加,
+   * 数据库中保存的编号在配置增加单位后仍然有效
+   *
+   * @param configuration 配置
+   * @param unitIds 已持久化的按编号排列的单位id,如从单位字典表中读取的结果
+   * @return 配置中所有单位组内单位的字典
+   * @throws IllegalArgumentException 如果已持久化的单位id不在配置中或重复
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public static UnitDictionary create(@NonNull Configuration configuration,
+      @NonNull List<String> unitIds) {
+    ImmutableMap<String, Unit> groupedUnits = configuration.groupedUnits().stream()
+        .collect(ImmutableMap.toImmutableMap(Unit::id, Function.identity(), (a, b) -> a));
+    Set<String> persistedUnitIds = Sets.newHashSet();
+    ImmutableList.Builder<Unit> units = ImmutableList.builder();
+    for (String unitId : unitIds) {
+      Unit unit = groupedUnits.get(unitId);
+      Preconditions.checkArgument(unit != null, "unit %s not in configuration", unitId);
+      Preconditions.checkArgument(persistedUnitIds.add(unitId), "duplicate unit %s", unitId);
+      units.add(unit);
+    }
+    groupedUnits.values().stream().filter(unit -> !persistedUnitIds.contains(unit.id()))
+        .sorted(Comparator.comparing(Unit::id)).forEach(units::add);
+    return create(units.build());
+  }
+
+  /**
+   * 工厂方法
+   *
+   * @param units 按编号排列的单位
+   * @return 单位字典
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  private static UnitDictionary create(@NonNull ImmutableList<Unit> units) {
+    int version = Hashing.murmur3_32()
+        .hashString(Joiner.on(',').join(units.stream().map(Unit::id).iterator()),
+            StandardCharsets.UTF_8).asInt();
+    return new UnitDictionary(version, units);
+  }
+
+  /**
+   * 版本号,由字典中所有单位的id计算得出
+   */
+  int version;
+  /**
+   * 按编号排列的单位
+   */
+  @NonNull
+  ImmutableList<Unit> units;
+  /**
+   * 单位到编号的索引
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @NonNull
+  ImmutableMap<Unit, Integer> ids;
+
+  private UnitDictionary(int version, @NonNull ImmutableList<Unit> units) {
+    this.version = version;
+    this.units = units;
+    this.ids = IntStream.range(0, units.size()).boxed()
+        .collect(ImmutableMap.toImmutableMap(units::get, Integer::valueOf, (a, b) -> a));
+  }
+
+  /**
+   * 获取单位的编号
+   *
+   * @param unit 单位
+   * @return 单位的编号,不在字典中的单位返回空
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public OptionalInt id(@NonNull Unit unit) {
+    Integer id = ids.get(unit);
+    return id == null ? OptionalInt.empty() : OptionalInt.of(id);
+  }
+
+  /**
+   * 获取按编号排列的单位id,用于持久化到单位字典表,之后通过{@link #create(Configuration, List)}恢复相同的编号
+   *
+   * @return 按编号排列的单位id
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public ImmutableList<String> unitIds() {
+    return units.stream().map(Unit::id).collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * 根据编号获取单位,是{@link #id(Unit)}的逆操作
+   *
+   * @param id 编号
+   * @return 单位
+   * @throws IllegalArgumentException 如果编号不在字典中
+   * @author caotc
+   * @date 2019-07-24
+   * @since 1.0.0
+   */
+  @NonNull
+  public Unit unit(int id) {
+    if (id < 0 || id >= units.size()) {
+      throw new IllegalArgumentException(
+          String.format("unit id %s not in dictionary version %s", id, version));
+    }
+    return units.get(id);
+  }
+}
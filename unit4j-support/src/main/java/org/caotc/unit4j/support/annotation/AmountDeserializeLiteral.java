@@ -0,0 +1,139 @@
+package org.caotc.unit4j.support.annotation;
+
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.caotc.unit4j.core.Configuration;
+import org.caotc.unit4j.core.common.base.CaseFormat;
+import org.caotc.unit4j.support.CodecStrategy;
+
+/**
+ * {@link AmountDeserialize}注解的实现类,编译期生成的编码解码计划使用,各属性默认值与注解一致.
+ * equals与hashCode遵循{@link Annotation}的约定,可以与jdk生成的注解对象混合作为缓存键
+ *
+ * @author caotc
+ * @date 2019-07-22
+ * @since 1.0.0
+ */
+@Value
+@Builder(toBuilder = true)
+public class AmountDeserializeLiteral implements AmountDeserialize {
+
+  /**
+   * 复制注解的各属性值,得到可以作为缓存键使用的对象
+   *
+   * @param amountDeserialize 注解
+   * @return 注解的实现类对象
+   * @author caotc
+   * @date 2019-07-23
+   * @since 1.0.0
+   */
+  @NonNull
+  public static AmountDeserializeLiteral copyOf(@NonNull AmountDeserialize amountDeserialize) {
+    if (amountDeserialize instanceof AmountDeserializeLiteral) {
+      return (AmountDeserializeLiteral) amountDeserialize;
+    }
+    return builder().strategy(amountDeserialize.strategy())
+        .roundingMode(amountDeserialize.roundingMode()).precision(amountDeserialize.precision())
+        .valueType(amountDeserialize.valueType()).configId(amountDeserialize.configId())
+        .caseFormat(amountDeserialize.caseFormat()).targetUnitId(amountDeserialize.targetUnitId())
+        .sourceUnitId(amountDeserialize.sourceUnitId()).build();
+  }
+
+  /**
+   * 反序列化策略
+   */
+  @Builder.Default
+  @NonNull
+  CodecStrategy strategy = CodecStrategy.VALUE;
+  /**
+   * 数学计算中的舍入模式
+   */
+  @Builder.Default
+  @NonNull
+  RoundingMode roundingMode = RoundingMode.UNNECESSARY;
+  /**
+   * 数学计算精度
+   */
+  @Builder.Default
+  int precision = 0;
+  /**
+   * 数值序列化时使用的类
+   */
+  @Builder.Default
+  @NonNull
+  Class<?> valueType = BigDecimal.class;
+  /**
+   * 配置对象主键
+   */
+  @Builder.Default
+  @NonNull
+  String configId = Configuration.DEFAULT_ID;
+  /**
+   * 当前属性名称格式
+   */
+  @Builder.Default
+  @NonNull
+  CaseFormat caseFormat = CaseFormat.LOWER_CAMEL;
+  /**
+   * 目标单位id
+   */
+  @Builder.Default
+  @NonNull
+  String targetUnitId = "";
+  /**
+   * 来源单位id
+   */
+  @Builder.Default
+  @NonNull
+  String sourceUnitId = "";
+
+  @Override
+  public Class<? extends Annotation> annotationType() {
+    return AmountDeserialize.class;
+  }
+
+  /**
+   * 按{@link Annotation#equals(Object)}的约定比较,与相同值的jdk注解对象相等
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof AmountDeserialize)) {
+      return false;
+    }
+    AmountDeserialize that = (AmountDeserialize) o;
+    return strategy == that.strategy() && roundingMode == that.roundingMode()
+        && precision == that.precision() && valueType.equals(that.valueType())
+        && configId.equals(that.configId()) && caseFormat == that.caseFormat()
+        && targetUnitId.equals(that.targetUnitId()) && sourceUnitId.equals(that.sourceUnitId());
+  }
+
+  /**
+   * 按{@link Annotation#hashCode()}的约定计算,与相同值的jdk注解对象相同
+   */
+  @Override
+  public int hashCode() {
+    return AnnotationLiterals.memberHashCode("strategy", strategy)
+        + AnnotationLiterals.memberHashCode("roundingMode", roundingMode)
+        + AnnotationLiterals.memberHashCode("precision", precision)
+        + AnnotationLiterals.memberHashCode("valueType", valueType)
+        + AnnotationLiterals.memberHashCode("configId", configId)
+        + AnnotationLiterals.memberHashCode("caseFormat", caseFormat)
+        + AnnotationLiterals.memberHashCode("targetUnitId", targetUnitId)
+        + AnnotationLiterals.memberHashCode("sourceUnitId", sourceUnitId);
+  }
+
+  @Override
+  public String toString() {
+    return AnnotationLiterals.toString(annotationType(), "strategy", strategy,
+        "roundingMode", roundingMode, "precision", precision, "valueType", valueType,
+        "configId", configId, "caseFormat", caseFormat, "targetUnitId", targetUnitId,
+        "sourceUnitId", sourceUnitId);
+  }
+}
@@ -0,0 +1,48 @@
+package org.caotc.unit4j.support.annotation;
+
+import java.lang.annotation.Annotation;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * 注解实现类的工具类,按{@link Annotation}接口的约定计算hashCode与toString,
+ * 实现类与jdk生成的注解对象互相相等且hashCode相同
+ *
+ * @author caotc
+ * @date 2019-07-24
+ * @since 1.0.0
+ */
+@UtilityClass
+class AnnotationLiterals {
+
+  /**
+   * 计算注解成员的hashCode,注解的hashCode为所有成员的hashCode之和
+   *
+   * @param name 成员名称
+   * @param value 成员值,只支持非数组类型
+   * @return 成员的hashCode
+   * @see Annotation#hashCode()
+   */
+  static int memberHashCode(@NonNull String name, @NonNull Object value) {
+    return (127 * name.hashCode()) ^ value.hashCode();
+  }
+
+  /**
+   * 生成与jdk注解对象格式相同的字符串
+   *
+   * @param annotationType 注解类型
+   * @param members 交替排列的成员名称与成员值
+   * @return 注解的字符串表示
+   */
+  @NonNull
+  static String toString(@NonNull Class<? extends Annotation> annotationType,
+      @NonNull Object... members) {
+    StringBuilder builder = new StringBuilder("@").append(annotationType.getName()).append('(');
+    for (int i = 0; i < members.length; i += 2) {
+      Object value = members[i + 1];
+      builder.append(i == 0 ? "" : ", ").append(members[i]).append('=')
+          .append(value instanceof Class ? ((Class<?>) value).getName() + ".class" : value);
+    }
+    return builder.append(')').toString();
+  }
+}
@@ -0,0 +1,128 @@
+package org.caotc.unit4j.support.plan;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.common.util.ReflectionUtil;
+
+/**
+ * 一个类中所有{@link Amount}属性的编码解码计划.可以由注解处理器在编译期生成, 也可以在运行时通过反射创建
+ *
+ * @param <T> 计划对应的类
+ * @author caotc
+ * @date 2019-07-22
+ * @see AmountCodecPlans
+ * @see AmountCodecPlanProvider
+ * @since 1.0.0
+ */
+@Value
+public class AmountCodecPlan<T> {
+
+  /**
+   * 工厂方法,供编译期生成的{@link AmountCodecPlanProvider}使用
+   *
+   * @param type 计划对应的类
+   * @param properties 属性计划
+   * @return 编码解码计划
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  public static <T> AmountCodecPlan<T> create(@NonNull Class<T> type,
+      @NonNull Iterable<AmountPropertyPlan<T>> properties) {
+    return new AmountCodecPlan<>(type, ImmutableList.copyOf(properties), true);
+  }
+
+  /**
+   * 通过反射创建编码解码计划
+   *
+   * @param type 计划对应的类
+   * @return 编码解码计划
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  public static <T> AmountCodecPlan<T> reflective(@NonNull Class<T> type) {
+    ImmutableSet<String> propertyNames = Stream
+        .concat(ReflectionUtil.readablePropertiesFromClass(type).stream()
+                .filter(property -> Amount.class.equals(property.propertyType().getRawType()))
+                .map(property -> property.propertyName()),
+            ReflectionUtil.writablePropertiesFromClass(type).stream()
+                .filter(property -> Amount.class.equals(property.propertyType().getRawType()))
+                .map(property -> property.propertyName()))
+        .collect(ImmutableSet.toImmutableSet());
+    return new AmountCodecPlan<>(type, propertyNames.stream()
+        .map(propertyName -> AmountPropertyPlan.reflective(type, propertyName))
+        .collect(ImmutableList.toImmutableList()), false);
+  }
+
+  /**
+   * 计划对应的类
+   */
+  @NonNull
+  Class<T> type;
+  /**
+   * 属性计划
+   */
+  @NonNull
+  ImmutableList<AmountPropertyPlan<T>> properties;
+  /**
+   * 是否为编译期生成的计划
+   */
+  boolean generated;
+  /**
+   * 属性名称与属性计划的映射
+   */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  ImmutableMap<String, AmountPropertyPlan<T>> propertiesByName;
+
+  private AmountCodecPlan(@NonNull Class<T> type,
+      @NonNull ImmutableList<AmountPropertyPlan<T>> properties, boolean generated) {
+    this.type = type;
+    this.properties = properties;
+    this.generated = generated;
+    this.propertiesByName = properties.stream().collect(ImmutableMap
+        .toImmutableMap(AmountPropertyPlan::propertyName, Function.identity(),
+            (property, otherProperty) -> property));
+  }
+
+  /**
+   * 获取指定名称的属性计划
+   *
+   * @param propertyName 属性名称
+   * @return 属性计划
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  public Optional<AmountPropertyPlan<T>> property(@NonNull String propertyName) {
+    return Optional.ofNullable(propertiesByName.get(propertyName));
+  }
+
+  /**
+   * 是否没有任何{@link Amount}属性
+   *
+   * @return 是否没有任何{@link Amount}属性
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  public boolean isEmpty() {
+    return properties.isEmpty();
+  }
+}
@@ -0,0 +1,32 @@
+package org.caotc.unit4j.support.plan;
+
+import java.util.ServiceLoader;
+import lombok.NonNull;
+
+/**
+ * 编译期生成的{@link AmountCodecPlan}提供者.运行时按类名从对应类的类加载器加载,
+ * 同时注册到{@link ServiceLoader}的配置文件中,便于枚举所有生成的计划
+ *
+ * @author caotc
+ * @date 2019-07-22
+ * @see AmountCodecPlans
+ * @since 1.0.0
+ */
+public interface AmountCodecPlanProvider {
+
+  /**
+   * 提供者类名的后缀,提供者与对应类在同一个包中,类名为对应类包名之后的二进制名称中的{@code $}替换为{@code _}加上该后缀
+   */
+  String CLASS_NAME_SUFFIX = "_AmountCodecPlanProvider";
+
+  /**
+   * 获取编码解码计划
+   *
+   * @return 编码解码计划
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  AmountCodecPlan<?> plan();
+}
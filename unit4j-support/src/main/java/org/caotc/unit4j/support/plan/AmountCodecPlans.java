@@ -0,0 +1,79 @@
+package org.caotc.unit4j.support.plan;
+
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link AmountCodecPlan}的获取入口.优先使用编译期生成的计划,没有生成计划的类退化为反射创建的计划.
+ * 生成的{@link AmountCodecPlanProvider}按命名约定从类自身的类加载器加载,计划保存在{@link ClassValue}中,
+ * 不会阻止类加载器卸载
+ *
+ * @author caotc
+ * @date 2019-07-22
+ * @since 1.0.0
+ */
+@Slf4j
+@UtilityClass
+public class AmountCodecPlans {
+
+  /**
+   * 类与编码解码计划的缓存
+   */
+  private static final ClassValue<AmountCodecPlan<?>> PLANS = new ClassValue<AmountCodecPlan<?>>() {
+    @Override
+    protected AmountCodecPlan<?> computeValue(Class<?> type) {
+      return generatedPlan(type).orElseGet(() -> AmountCodecPlan.reflective(type));
+    }
+  };
+
+  /**
+   * 获取类的编码解码计划
+   *
+   * @param type 类
+   * @return 编码解码计划
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull
+  public static <T> AmountCodecPlan<T> get(@NonNull Class<T> type) {
+    return (AmountCodecPlan<T>) PLANS.get(type);
+  }
+
+  /**
+   * 获取类的生成计划.提供者与类在同一个包中,类名为类的二进制名称中的{@code $}替换为{@code _}后加上
+   * {@link AmountCodecPlanProvider#CLASS_NAME_SUFFIX},加载失败的提供者会被忽略
+   *
+   * @param type 类
+   * @return 生成计划,没有生成计划时为空
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  private static Optional<AmountCodecPlan<?>> generatedPlan(@NonNull Class<?> type) {
+    String typeName = type.getName();
+    int simpleNameStart = typeName.lastIndexOf('.') + 1;
+    String providerName = typeName.substring(0, simpleNameStart)
+        + typeName.substring(simpleNameStart).replace('$', '_')
+        + AmountCodecPlanProvider.CLASS_NAME_SUFFIX;
+    ClassLoader classLoader = type.getClassLoader() == null ? ClassLoader.getSystemClassLoader()
+        : type.getClassLoader();
+    try {
+      Class<?> providerType = Class.forName(providerName, true, classLoader);
+      if (!AmountCodecPlanProvider.class.isAssignableFrom(providerType)) {
+        return Optional.empty();
+      }
+      AmountCodecPlan<?> plan = ((AmountCodecPlanProvider) providerType.newInstance()).plan();
+      return plan.type() == type ? Optional.of(plan) : Optional.empty();
+    } catch (ClassNotFoundException e) {
+      return Optional.empty();
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      log.warn("can't load {}, use reflection instead", providerName, e);
+      return Optional.empty();
+    }
+  }
+}
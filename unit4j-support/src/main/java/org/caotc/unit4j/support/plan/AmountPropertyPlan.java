@@ -0,0 +1,192 @@
+package org.caotc.unit4j.support.plan;
+
+import com.google.common.base.Preconditions;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.common.reflect.ReadableProperty;
+import org.caotc.unit4j.core.common.reflect.WritableProperty;
+import org.caotc.unit4j.core.common.util.ReflectionUtil;
+import org.caotc.unit4j.support.AmountCodecConfig;
+import org.caotc.unit4j.support.Unit4jProperties;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+
+/**
+ * 类中一个{@link Amount}属性的编码解码计划,包含属性的读写函数与注解配置
+ *
+ * @param <T> 属性所属的类
+ * @author caotc
+ * @date 2019-07-22
+ * @see AmountCodecPlan
+ * @since 1.0.0
+ */
+@Value
+@Builder(toBuilder = true)
+public class AmountPropertyPlan<T> {
+
+  /**
+   * 通过反射创建编码解码计划,编译期无法直接访问的属性使用
+   *
+   * @param type 属性所属的类
+   * @param propertyName 属性名称
+   * @return 编码解码计划
+   * @throws IllegalArgumentException 如果类中没有该属性
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  public static <T> AmountPropertyPlan<T> reflective(@NonNull Class<T> type,
+      @NonNull String propertyName) {
+    Optional<ReadableProperty<T, Amount>> readableProperty = ReflectionUtil
+        .readablePropertyFromClass(type, propertyName);
+    Optional<WritableProperty<T, Amount>> writableProperty = ReflectionUtil
+        .writablePropertyFromClass(type, propertyName);
+    Preconditions.checkArgument(readableProperty.isPresent() || writableProperty.isPresent(),
+        "%s has no property named %s", type, propertyName);
+
+    AmountPropertyPlanBuilder<T> builder = AmountPropertyPlan.<T>builder()
+        .propertyName(propertyName);
+    readableProperty.ifPresent(property -> builder
+        .reader(object -> property.read(object).orElse(null))
+        .amountSerialize(property.annotation(AmountSerialize.class).orElse(null))
+        .amountDeserialize(property.annotation(AmountDeserialize.class).orElse(null)));
+    //WritableProperty不允许写入null,null值保持属性原值
+    writableProperty.ifPresent(property -> builder.writer((object, amount) -> {
+      if (amount != null) {
+        property.write(object, amount);
+      }
+    }));
+    if (!readableProperty.isPresent()) {
+      writableProperty.ifPresent(property -> builder
+          .amountSerialize(property.annotation(AmountSerialize.class).orElse(null))
+          .amountDeserialize(property.annotation(AmountDeserialize.class).orElse(null)));
+    }
+    return builder.build();
+  }
+
+  /**
+   * 属性名称
+   */
+  @NonNull
+  String propertyName;
+  /**
+   * 读取函数,属性不可读时为null
+   */
+  Function<T, Amount> reader;
+  /**
+   * 写入函数,属性不可写时为null
+   */
+  BiConsumer<T, Amount> writer;
+  /**
+   * 序列化注解
+   */
+  AmountSerialize amountSerialize;
+  /**
+   * 反序列化注解
+   */
+  AmountDeserialize amountDeserialize;
+
+  /**
+   * 属性是否可读
+   *
+   * @return 是否可读
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  public boolean readable() {
+    return reader != null;
+  }
+
+  /**
+   * 属性是否可写
+   *
+   * @return 是否可写
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  public boolean writable() {
+    return writer != null;
+  }
+
+  /**
+   * 读取属性值
+   *
+   * @param object 对象
+   * @return 属性值
+   * @throws IllegalStateException 如果属性不可读
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  public Optional<Amount> read(@NonNull T object) {
+    Preconditions.checkState(readable(), "property %s is not readable", propertyName);
+    return Optional.ofNullable(reader.apply(object));
+  }
+
+  /**
+   * 写入属性值
+   *
+   * @param object 对象
+   * @param amount 属性值
+   * @return {@code this}
+   * @throws IllegalStateException 如果属性不可写
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  public AmountPropertyPlan<T> write(@NonNull T object, Amount amount) {
+    Preconditions.checkState(writable(), "property %s is not writable", propertyName);
+    writer.accept(object, amount);
+    return this;
+  }
+
+  /**
+   * 序列化注解
+   *
+   * @return 序列化注解
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  public Optional<AmountSerialize> amountSerialize() {
+    return Optional.ofNullable(amountSerialize);
+  }
+
+  /**
+   * 反序列化注解
+   *
+   * @return 反序列化注解
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  public Optional<AmountDeserialize> amountDeserialize() {
+    return Optional.ofNullable(amountDeserialize);
+  }
+
+  /**
+   * 获取该属性的序列化反序列化配置
+   *
+   * @param unit4jProperties 属性
+   * @return 序列化反序列化配置
+   * @author caotc
+   * @date 2019-07-22
+   * @since 1.0.0
+   */
+  @NonNull
+  public AmountCodecConfig codecConfig(@NonNull Unit4jProperties unit4jProperties) {
+    return unit4jProperties.createAmountCodecConfig(propertyName, amountSerialize);
+  }
+}
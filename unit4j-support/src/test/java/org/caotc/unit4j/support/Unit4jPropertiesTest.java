@@ -0,0 +1,118 @@
+package org.caotc.unit4j.support;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.caotc.unit4j.core.Alias;
+import org.caotc.unit4j.core.Amount;
+import org.caotc.unit4j.core.Configuration;
+import org.caotc.unit4j.core.math.number.BigDecimal;
+import org.caotc.unit4j.support.annotation.AmountDeserialize;
+import org.caotc.unit4j.support.annotation.AmountSerialize;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@Slf4j
+class Unit4jPropertiesTest {
+
+  /**
+   * 所有显式set方法及其调用,新增set方法时需要同时加入
+   */
+  static final ImmutableMap<String, Consumer<Unit4jProperties>> SETTERS = ImmutableMap
+      .<String, Consumer<Unit4jProperties>>builder()
+      .put("setRoundingMode", properties -> properties.setRoundingMode(RoundingMode.DOWN))
+      .put("setPrecision", properties -> properties.setPrecision(10))
+      .put("setMathContext", properties -> properties.setMathContext(MathContext.DECIMAL32))
+      .put("setValueType", properties -> properties.setValueType(java.math.BigDecimal.class))
+      .put("setConfiguration",
+          properties -> properties.setConfiguration(Configuration.defaultInstance()))
+      .put("setStrategy", properties -> properties.setStrategy(CodecStrategy.OBJECT))
+      .put("setFieldStrategy", properties -> properties.setFieldStrategy(CodecStrategy.FLAT))
+      .put("setCollectionStrategy",
+          properties -> properties.setCollectionStrategy(CollectionCodecStrategy.COLUMNAR))
+      .put("setBinaryCompact", properties -> properties.setBinaryCompact(true))
+      .put("setUnitColumnCode", properties -> properties.setUnitColumnCode(true))
+      .put("setUnitDictionaryIds",
+          properties -> properties.setUnitDictionaryIds(ImmutableList.of("SECOND", "MINUTE")))
+      .put("setNameJoiner", properties -> properties.setNameJoiner(words -> words.get(0)))
+      .put("setFieldNameSplitter",
+          properties -> properties.setFieldNameSplitter(ImmutableList::of))
+      .put("setFieldNameJoiner", properties -> properties
+          .setFieldNameJoiner((valueWords, fieldWords) -> fieldWords.get(0)))
+      .put("setUnitAliasType",
+          properties -> properties.setUnitAliasType(Alias.Type.ABBREVIATION))
+      .put("setUnitAliasUndefinedStrategy", properties -> properties
+          .setUnitAliasUndefinedStrategy(AliasUndefinedStrategy.THROW_EXCEPTION))
+      .put("setUnitConvertConfigs",
+          properties -> properties.setUnitConvertConfigs(ImmutableMap.of()))
+      .build();
+
+  @Test
+  void internEqualPairs() throws NoSuchFieldException {
+    Unit4jProperties properties = new Unit4jProperties();
+    AmountSerialize serialize = AmountField.class.getDeclaredField("annotationValueAmount")
+        .getAnnotation(AmountSerialize.class);
+    AmountSerialize equalSerialize = EqualAnnotationField.class
+        .getDeclaredField("annotationValueAmount").getAnnotation(AmountSerialize.class);
+    Assertions.assertEquals(serialize, equalSerialize);
+    AmountCodecConfig config = properties.createAmountCodecConfig("amount", serialize);
+    Assertions.assertSame(config, properties.createAmountCodecConfig("amount", serialize));
+    Assertions.assertSame(config, properties.createAmountCodecConfig("amount", equalSerialize));
+    Assertions.assertNotSame(config, properties.createAmountCodecConfig("other", serialize));
+
+    AmountDeserialize deserialize = EqualAnnotationField.class
+        .getDeclaredField("annotationValueAmount").getAnnotation(AmountDeserialize.class);
+    AmountCodecConfig deserializeConfig = properties.createAmountCodecConfig("amount", deserialize);
+    Assertions.assertSame(deserializeConfig,
+        properties.createAmountCodecConfig("amount", deserialize));
+
+    Assertions.assertSame(properties.createAmountCodecConfig(),
+        properties.createAmountCodecConfig());
+    Assertions.assertSame(properties.createAmountCodecConfig("amount", (AmountSerialize) null),
+        properties.createAmountCodecConfig("amount", (AmountSerialize) null));
+  }
+
+  @Test
+  void settersCovered() {
+    ImmutableList<String> setters = Arrays.stream(Unit4jProperties.class.getDeclaredMethods())
+        .filter(method -> Modifier.isPublic(method.getModifiers()))
+        .map(Method::getName).filter(name -> name.startsWith("set")).sorted().distinct()
+        .collect(ImmutableList.toImmutableList());
+    Assertions.assertEquals(setters,
+        SETTERS.keySet().stream().sorted().collect(Collectors.toList()));
+  }
+
+  @Test
+  void settersModify() {
+    SETTERS.forEach((name, setter) -> {
+      Unit4jProperties properties = new Unit4jProperties()
+          .setUnitDictionaryIds(ImmutableList.of("SECOND"));
+      long version = properties.getVersion();
+      AmountCodecConfig config = properties.createAmountCodecConfig();
+      AmountCodecConfig fieldConfig = properties
+          .createAmountCodecConfig("amount", (AmountSerialize) null);
+      setter.accept(properties);
+      log.debug("{} version:{}", name, properties.getVersion());
+      Assertions.assertTrue(properties.getVersion() > version, name);
+      Assertions.assertNotSame(config, properties.createAmountCodecConfig(), name);
+      Assertions.assertNotSame(fieldConfig,
+          properties.createAmountCodecConfig("amount", (AmountSerialize) null), name);
+    });
+  }
+
+  @Value
+  static class EqualAnnotationField {
+
+    @AmountSerialize(strategy = CodecStrategy.VALUE, valueType = BigDecimal.class)
+    @AmountDeserialize(strategy = CodecStrategy.VALUE)
+    Amount annotationValueAmount;
+  }
+}